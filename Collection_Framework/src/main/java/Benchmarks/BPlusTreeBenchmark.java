@@ -0,0 +1,110 @@
+package Benchmarks;
+
+import Map.BPlusTreeMap;
+import Map.LongBPlusTreeMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * SORTED MAP POINT AND RANGE QUERIES
+ * - pointGet:   get of a random present key
+ * - rangeScan:  sum the values of the 100 entries in [k, k + 300) for a
+ *               random k (keys are multiples of 3)
+ * - floorMiss:  floorKey of a random absent key (k + 1)
+ *
+ * implementation: TreeMap, ConcurrentSkipListMap, BPlusTreeMap (Long keys,
+ * NavigableMap API) and LongBPlusTreeMap (primitive keys, forEachInRange).
+ * All are built from the same sorted input in O(n) (TreeMap/CSLM copy
+ * constructors from a SortedMap, B+trees by bulk load).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class BPlusTreeBenchmark {
+    private static final int RANGE_ENTRIES = 100;
+
+    @Param({"TreeMap", "ConcurrentSkipListMap", "BPlusTreeMap", "LongBPlusTreeMap"})
+    String implementation;
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    NavigableMap<Long, Long> map;
+    LongBPlusTreeMap<Long> primitive;
+    long[] rangeSum = new long[1];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TreeMap<Long, Long> sorted = new TreeMap<>();
+        for (long i = 0; i < size; i++) {
+            sorted.put(i * 3, i);
+        }
+        switch (implementation) {
+            case "TreeMap" -> map = sorted;
+            case "ConcurrentSkipListMap" -> map = new ConcurrentSkipListMap<>(sorted);
+            case "BPlusTreeMap" -> map = BPlusTreeMap.fromSorted(sorted);
+            case "LongBPlusTreeMap" -> {
+                long[] keys = new long[size];
+                Long[] values = new Long[size];
+                int i = 0;
+                for (var entry : sorted.entrySet()) {
+                    keys[i] = entry.getKey();
+                    values[i++] = entry.getValue();
+                }
+                primitive = LongBPlusTreeMap.bulkLoad(keys, values);
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    private long randomKey() {
+        return ThreadLocalRandom.current().nextInt(size - RANGE_ENTRIES) * 3L;
+    }
+
+    @Benchmark
+    public Long pointGet() {
+        long key = randomKey();
+        return primitive != null ? primitive.get(key) : map.get(key);
+    }
+
+    @Benchmark
+    public long rangeScan() {
+        long from = randomKey();
+        long to = from + RANGE_ENTRIES * 3L;
+        if (primitive != null) {
+            rangeSum[0] = 0;
+            primitive.forEachInRange(from, to, (key, value) -> rangeSum[0] += value);
+            return rangeSum[0];
+        }
+        long sum = 0;
+        for (Long value : map.subMap(from, true, to, false).values()) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long floorMiss() {
+        long key = randomKey() + 1;
+        return primitive != null ? primitive.floor(key).key() : map.floorKey(key);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BPlusTreeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
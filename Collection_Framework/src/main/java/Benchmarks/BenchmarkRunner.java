@@ -0,0 +1,129 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * BENCHMARK RUNNER: every benchmark of this module, one JSON report
+ *
+ * For each selected benchmark it measures
+ *   Throughput  (thrpt)  → ops per time unit
+ *   SampleTime  (sample) → latency distribution (p50, p90, p99, p99.99, max)
+ *   GC profiler (gc)     → gc.alloc.rate.norm (bytes/op), gc.count, gc.time
+ * and writes JMH's JSON result format (one entry per benchmark × params ×
+ * mode, with primary and secondary metrics) so runs on different machines
+ * or commits can be diffed, or loaded into a JMH result visualizer.
+ *
+ * COVERAGE (structure → benchmark):
+ * List:  ArrayList, LinkedList, Vector, Stack,
+ *        CopyOnWriteArrayList                → ListOperationsBenchmark
+ *        ComparatorImpl comparators          → ComparatorCompilerBenchmark
+ *        IntArrayList / BigIntList           → IntArrayListBenchmark / BigIntListBenchmark
+ *        TieredList                          → TieredListBenchmark
+ *        Scalar/Simd/PrimitiveKernels        → PrimitiveKernelsBenchmark (-P simd)
+ *        UnrolledDeque                       → DequeBenchmark
+ *        MpmcRingBuffer                      → MpmcQueueBenchmark
+ *        StampedList                         → ConcurrentListBenchmark, ThreadSafeListBenchmark
+ *        ExpressionEngine                    → ExpressionEngineBenchmark
+ *        EliminationStack                    → StackContentionBenchmark
+ *        CoalescingCopyOnWriteList           → BurstWriteBenchmark, ThreadSafeListBenchmark
+ *        PersistentVector                    → PersistentVectorBenchmark
+ *        ConcurrentVector                    → PersistentVectorBenchmark, ThreadSafeListBenchmark
+ * Map:   HashMap, LinkedHashMap,
+ *        IdentityHashMap                     → MapOperationsBenchmark
+ *        LRUCache (LruCacheImpl)             → LruCacheBenchmark
+ *        OffHeapLongLongMap                  → OffHeapMapBenchmark
+ *        BPlusTreeMap / LongBPlusTreeMap     → BPlusTreeBenchmark
+ *        StringInterner                      → StringInternerBenchmark
+ * Filter: BlockedBloomFilter, CuckooFilter,
+ *        FilterGuardedMap                    → FilterBenchmark
+ * Set:   RoaringBitmap                       → RoaringBitmapBenchmark
+ * Sort:  RadixSort, TopK, ExternalSorter,
+ *        PackedKeySort                       → RadixSortBenchmark, TopKBenchmark,
+ *                                              ExternalSortBenchmark, PackedKeySortBenchmark
+ * Not JMH (plain main): VirtualThreadStress (lists under 1M virtual threads,
+ *        JFR pinning); bytes per invocation of hot paths are budgeted by
+ *        AllocationBudget in the unit tests (../test-support)
+ *
+ * USAGE (key=value arguments, all optional):
+ *   mvn -P benchmarks package           (-P benchmarks,simd adds PrimitiveKernelsBenchmark)
+ *   java -jar target/benchmarks.jar include=ListOperations,MapOperations size=1000
+ *
+ *   include   comma-separated regexes (default: every benchmark in this package)
+ *   modes     JMH mode ids, or "default" for each benchmark's own (default thrpt,sample)
+ *   profilers JMH profiler names (default gc)
+ *   out       report path (default target/jmh-results-<timestamp>.json)
+ *   quick     true → 1 warmup + 2 measurement iterations of 1s (smoke runs)
+ *   any other key is passed to JMH as a @Param override (comma-separated values)
+ */
+public final class BenchmarkRunner {
+    private static final Set<String> OPTIONS = Set.of("include", "modes", "profilers", "out", "quick");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> config = new LinkedHashMap<>();
+        config.put("include", "Benchmarks\\.");
+        config.put("modes", "thrpt,sample");
+        config.put("profilers", "gc");
+        config.put("out", "target/jmh-results-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        config.put("quick", "false");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            config.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        Path out = Path.of(config.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(out.toString());
+        for (String include : config.get("include").split(",")) {
+            builder.include(include);
+        }
+        if (!config.get("modes").equals("default")) {
+            for (String mode : config.get("modes").split(",")) {
+                builder.mode(Mode.deepValueOf(mode));
+            }
+        }
+        for (String profiler : config.get("profilers").split(",")) {
+            if (!profiler.isBlank()) {
+                builder.addProfiler(profiler);
+            }
+        }
+        if (Boolean.parseBoolean(config.get("quick"))) {
+            builder.warmupIterations(1).warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(2).measurementTime(TimeValue.seconds(1))
+                    .forks(1);
+        }
+        config.forEach((key, value) -> {
+            if (!OPTIONS.contains(key)) {
+                builder.param(key, value.split(","));
+            }
+        });
+
+        new Runner(builder.build()).run();
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+}
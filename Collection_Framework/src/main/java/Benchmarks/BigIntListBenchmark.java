@@ -0,0 +1,133 @@
+package Benchmarks;
+
+import List.BigIntList;
+import List.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CHUNKED GROWTH vs COPYING GROWTH:
+ * - append*: SampleTime mode records every single add(), so the p99.99/max
+ *   percentiles expose the resize spikes of IntArrayList (Arrays.copyOf of
+ *   the whole array) that BigIntList does not have
+ * - scan*: cost of the extra directory indirection on sequential reads
+ *
+ * Each append benchmark fills a fresh list up to `size` elements and then
+ * starts over, so resizes keep occurring throughout the measurement.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Thread)
+public class BigIntListBenchmark {
+
+    @Param({"16777216"})
+    int size;
+
+    IntArrayList arrayList;
+    BigIntList onHeap;
+    BigIntList offHeap;
+    int counter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        arrayList = new IntArrayList();
+        onHeap = BigIntList.onHeap();
+        offHeap = BigIntList.offHeap();
+        counter = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        onHeap.close();
+        offHeap.close();
+    }
+
+    @Benchmark
+    public int appendIntArrayList() {
+        if (arrayList.size() == size) {
+            arrayList = new IntArrayList();
+        }
+        arrayList.add(counter++);
+        return arrayList.size();
+    }
+
+    @Benchmark
+    public long appendOnHeapChunks() {
+        if (onHeap.size() == size) {
+            onHeap.close();
+            onHeap = BigIntList.onHeap();
+        }
+        onHeap.add(counter++);
+        return onHeap.size();
+    }
+
+    @Benchmark
+    public long appendOffHeapChunks() {
+        if (offHeap.size() == size) {
+            offHeap.close();
+            offHeap = BigIntList.offHeap();
+        }
+        offHeap.add(counter++);
+        return offHeap.size();
+    }
+
+    @State(Scope.Thread)
+    public static class Filled {
+        IntArrayList arrayList = new IntArrayList();
+        BigIntList onHeap = BigIntList.onHeap();
+        BigIntList offHeap = BigIntList.offHeap();
+
+        @Setup(Level.Trial)
+        public void fill(BigIntListBenchmark bench) {
+            for (int i = 0; i < bench.size; i++) {
+                arrayList.add(i);
+                onHeap.add(i);
+                offHeap.add(i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void free() {
+            onHeap.close();
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanIntArrayList(Filled filled) {
+        return filled.arrayList.sum();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanOnHeapChunks(Filled filled) {
+        return filled.onHeap.sum();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanOffHeapChunks(Filled filled) {
+        return filled.offHeap.sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BigIntListBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package Benchmarks;
+
+import List.CoalescingCopyOnWriteList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * BURST WRITES ON COPY-ON-WRITE LISTS:
+ * A listener registry of `initialSize` entries receives `burst` individual
+ * add() calls (startup / rebalance), then must be fully visible to readers.
+ *
+ * - CopyOnWriteArrayList:  burst × add()        → one array copy per add
+ * - Coalescing-batch:      batch(m -> burst × m.add()) → one copy
+ * - Coalescing-combining:  writeCombining(burst, 10ms) list, burst × add()
+ *                          then flush() → one copy in, one trimmed copy out
+ *
+ * Score is microseconds per burst; gc.alloc.rate.norm (GC profiler in main)
+ * shows the copied bytes per burst.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurstWriteBenchmark {
+
+    @Param({"CopyOnWriteArrayList", "Coalescing-batch", "Coalescing-combining"})
+    String implementation;
+
+    @Param({"0", "10000"})
+    int initialSize;
+
+    @Param({"100", "1000"})
+    int burst;
+
+    List<Integer> list;
+    Integer[] listeners;
+
+    @Setup(Level.Trial)
+    public void createListeners() {
+        listeners = new Integer[burst];
+        for (int i = 0; i < burst; i++) {
+            listeners[i] = i;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        List<Integer> initial = new java.util.ArrayList<>(initialSize);
+        for (int i = 0; i < initialSize; i++) {
+            initial.add(-i);
+        }
+        list = switch (implementation) {
+            case "CopyOnWriteArrayList" -> new CopyOnWriteArrayList<>(initial);
+            case "Coalescing-batch" -> new CoalescingCopyOnWriteList<>(initial);
+            case "Coalescing-combining" -> {
+                CoalescingCopyOnWriteList<Integer> combining = CoalescingCopyOnWriteList.writeCombining(burst, Duration.ofMillis(10));
+                combining.addAll(initial);
+                combining.flush();
+                yield combining;
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Benchmark
+    public int burstAdd() {
+        switch (implementation) {
+            case "Coalescing-batch" -> ((CoalescingCopyOnWriteList<Integer>) list).batch(m -> {
+                for (Integer listener : listeners) {
+                    m.add(listener);
+                }
+            });
+            case "Coalescing-combining" -> {
+                for (Integer listener : listeners) {
+                    list.add(listener);
+                }
+                ((CoalescingCopyOnWriteList<Integer>) list).flush();
+            }
+            default -> {
+                for (Integer listener : listeners) {
+                    list.add(listener);
+                }
+            }
+        }
+        return list.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BurstWriteBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,132 @@
+package Benchmarks;
+
+import Sort.ComparatorCompiler;
+import Sort.ComparatorCompiler.SortKey;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MULTI-FIELD SORT: thenComparing CHAIN vs COMPILED COMPARATOR
+ * Sorts `size` employees by (dept ASC nulls last, level DESC, salary DESC,
+ * name ASC) with Arrays.sort (TimSort). Each invocation sorts a fresh copy.
+ *
+ * - chain:       Comparator.comparing(...).thenComparing(...) x 3
+ * - compiled:    ComparatorCompiler.compile(lookup, Employee.class, keys)
+ * - handWritten: the same logic written by hand (upper bound)
+ *
+ * Setup also sorts with two other chains, as any real application does, so
+ * the shared lambda bodies inside Comparator are megamorphic like in
+ * production rather than profiled for one chain only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComparatorCompilerBenchmark {
+
+    public record Employee(String dept, int level, long salary, String name) {
+    }
+
+    private static final Comparator<Employee> CHAIN = Comparator
+            .comparing(Employee::dept, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Comparator.comparingInt(Employee::level).reversed())
+            .thenComparing(Comparator.comparingLong(Employee::salary).reversed())
+            .thenComparing(Employee::name, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private static final Comparator<Employee> COMPILED = ComparatorCompiler.compile(
+            MethodHandles.lookup(), Employee.class,
+            SortKey.asc("dept").nullsLast(),
+            SortKey.desc("level"),
+            SortKey.desc("salary"),
+            SortKey.asc("name"));
+
+    private static final Comparator<Employee> HAND_WRITTEN = (a, b) -> {
+        int c;
+        if (a.dept() == null || b.dept() == null) {
+            c = a.dept() == null ? (b.dept() == null ? 0 : 1) : -1;
+        } else {
+            c = a.dept().compareTo(b.dept());
+        }
+        if (c != 0) {
+            return c;
+        }
+        c = Integer.compare(b.level(), a.level());
+        if (c != 0) {
+            return c;
+        }
+        c = Long.compare(b.salary(), a.salary());
+        if (c != 0) {
+            return c;
+        }
+        if (a.name() == null || b.name() == null) {
+            return a.name() == null ? (b.name() == null ? 0 : -1) : 1;
+        }
+        return a.name().compareTo(b.name());
+    };
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    Employee[] employees;
+    Employee[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] depts = {"Eng", "Sales", "Ops", "Legal", "Support", null};
+        employees = new Employee[size];
+        for (int i = 0; i < size; i++) {
+            employees[i] = new Employee(depts[random.nextInt(depts.length)], random.nextInt(8),
+                    30_000 + random.nextInt(20) * 5_000L, "emp-" + random.nextInt(size));
+        }
+        work = new Employee[size];
+
+        // Profile pollution: other chains go through the same Comparator lambdas
+        Employee[] sample = Arrays.copyOf(employees, Math.min(size, 20_000));
+        for (int i = 0; i < 5; i++) {
+            Arrays.sort(sample.clone(), Comparator.comparing(Employee::name).thenComparingLong(Employee::salary));
+            Arrays.sort(sample.clone(), Comparator.comparingInt(Employee::level)
+                    .thenComparing(Employee::dept, Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+            Arrays.sort(sample.clone(), CHAIN);
+        }
+    }
+
+    private Employee[] sorted(Comparator<Employee> comparator) {
+        System.arraycopy(employees, 0, work, 0, size);
+        Arrays.sort(work, comparator);
+        return work;
+    }
+
+    @Benchmark
+    public Employee[] chain() {
+        return sorted(CHAIN);
+    }
+
+    @Benchmark
+    public Employee[] compiled() {
+        return sorted(COMPILED);
+    }
+
+    @Benchmark
+    public Employee[] handWritten() {
+        return sorted(HAND_WRITTEN);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ComparatorCompilerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import List.StampedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * THREAD-SAFE LIST UNDER MIXED READ/WRITE LOAD:
+ * - mixed:        each operation is a get(random) with probability
+ *                 readPercent, otherwise a set(random) - size stays constant
+ * - checkThenAct: "add if absent, else remove" on a small key range; Vector
+ *                 and synchronizedList need an external synchronized block,
+ *                 StampedList uses addIfAbsent/remove directly
+ *
+ * All threads share one list (Scope.Benchmark). Run with -t to change the
+ * thread count; main() uses 4.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentListBenchmark {
+    private static final int KEYS = 64;
+
+    @Param({"Vector", "SynchronizedList", "StampedList"})
+    String implementation;
+
+    @Param({"50", "90", "99"})
+    int readPercent;
+
+    @Param({"1000"})
+    int size;
+
+    List<Integer> list;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        list = switch (implementation) {
+            case "Vector" -> new Vector<>();
+            case "SynchronizedList" -> Collections.synchronizedList(new ArrayList<>());
+            case "StampedList" -> new StampedList<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+        if (random.nextInt(100) < readPercent) {
+            return list.get(index);
+        }
+        return list.set(index, index);
+    }
+
+    @Benchmark
+    public boolean checkThenAct() {
+        Integer key = size + ThreadLocalRandom.current().nextInt(KEYS);
+        if (list instanceof StampedList<Integer> stamped) {
+            return stamped.addIfAbsent(key) || stamped.remove(key);
+        }
+        // Vector locks on itself; synchronizedList's mutex is the wrapper
+        synchronized (list) {
+            if (!list.contains(key)) {
+                return list.add(key);
+            }
+            return list.remove(key);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ConcurrentListBenchmark.class.getSimpleName())
+                .threads(4)
+                .build();
+        new Runner(options).run();
+    }
+}
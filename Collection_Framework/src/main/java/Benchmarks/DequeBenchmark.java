@@ -0,0 +1,107 @@
+package Benchmarks;
+
+import List.UnrolledDeque;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * DEQUE THROUGHPUT AND ALLOCATION RATE:
+ * - fifoBurst:  addLast 1000 elements, then removeFirst them all (queue)
+ * - lifoBurst:  addFirst 1000 elements, then removeFirst them all (stack)
+ * - slidingWindow: steady-state queue of `windowSize` elements, one add + one
+ *                  remove per operation (the common producer/consumer shape)
+ *
+ * The GC profiler (enabled in main) reports gc.alloc.rate.norm in bytes per
+ * operation: LinkedList allocates one Node per element, UnrolledDeque one
+ * block per 64 elements, ArrayDeque only when it doubles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DequeBenchmark {
+
+    @Param({"LinkedList", "ArrayDeque", "UnrolledDeque"})
+    String implementation;
+
+    @Param({"1000", "100000"})
+    int windowSize;
+
+    Deque<Integer> deque;
+    Integer element = 42;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        deque = switch (implementation) {
+            case "LinkedList" -> new LinkedList<>();
+            case "ArrayDeque" -> new ArrayDeque<>();
+            case "UnrolledDeque" -> new UnrolledDeque<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int fifoBurst() {
+        int sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            deque.addLast(element);
+        }
+        for (int i = 0; i < 1000; i++) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int lifoBurst() {
+        int sum = 0;
+        for (int i = 0; i < 1000; i++) {
+            deque.addFirst(element);
+        }
+        for (int i = 0; i < 1000; i++) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    @State(Scope.Thread)
+    public static class Window {
+        Deque<Integer> deque;
+
+        @Setup(Level.Iteration)
+        public void fill(DequeBenchmark bench) {
+            bench.setUp();
+            deque = bench.deque;
+            for (int i = 0; i < bench.windowSize; i++) {
+                deque.addLast(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer slidingWindow(Window window) {
+        window.deque.addLast(element);
+        return window.deque.removeFirst();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DequeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,232 @@
+package Benchmarks;
+
+import List.ExpressionEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * EXPRESSIONENGINE vs STACK-BASED EVALUATOR ON LARGE INPUTS:
+ * - validate: bracket matching only
+ * - evaluate: full shunting-yard evaluation
+ *
+ * The input is a generated file of `inputMegabytes` (default 16 MB and 1 GB)
+ * of terms like (12*34-[5+{6%7}]) joined by '+'. It is read either through a
+ * Reader (InputStreamReader, ISO-8859-1) or a MappedByteBuffer.
+ *
+ * The baseline is the textbook version from StackImplementation.stackUseCases:
+ * Stack<Character> for brackets/operators, Stack<Long> for values and a
+ * StringBuilder per number. Score is milliseconds per pass over the file; the GC
+ * profiler shows the per-token allocation the baseline pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExpressionEngineBenchmark {
+
+    @Param({"Stack", "ExpressionEngine"})
+    String implementation;
+
+    @Param({"Reader", "MappedByteBuffer"})
+    String source;
+
+    @Param({"16", "1024"})
+    int inputMegabytes;
+
+    Path file;
+    FileChannel channel;
+    ByteBuffer mapped;
+    ExpressionEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("expression", ".txt");
+        writeExpression(file, (long) inputMegabytes << 20);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        engine = new ExpressionEngine();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    // Repeats a 1 MB block of random terms; blocks are joined by '+'
+    static void writeExpression(Path file, long bytes) throws IOException {
+        Random random = new Random(42);
+        StringBuilder block = new StringBuilder(1 << 20);
+        while (block.length() < (1 << 20) - 32) {
+            if (!block.isEmpty()) {
+                block.append('+');
+            }
+            block.append('(').append(random.nextInt(1000)).append('*').append(random.nextInt(1000))
+                    .append("-[").append(random.nextInt(1000)).append('+')
+                    .append('{').append(random.nextInt(1000)).append('%').append(random.nextInt(1, 10)).append("}])");
+        }
+        byte[] chunk = block.toString().getBytes(StandardCharsets.US_ASCII);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            for (long written = 0; written + chunk.length < bytes; written += chunk.length + 1) {
+                if (written > 0) {
+                    out.write('+');
+                }
+                out.write(chunk);
+            }
+        }
+    }
+
+    private Reader reader() throws IOException {
+        return new InputStreamReader(Files.newInputStream(file), StandardCharsets.ISO_8859_1);
+    }
+
+    @Benchmark
+    public long validate() throws IOException {
+        boolean useEngine = implementation.equals("ExpressionEngine");
+        if (source.equals("Reader")) {
+            try (Reader in = reader()) {
+                return useEngine ? engine.validate(in) : StackEvaluator.run(new ReaderChars(in), false);
+            }
+        }
+        return useEngine ? engine.validate(mapped) : StackEvaluator.run(new BufferChars(mapped), false);
+    }
+
+    @Benchmark
+    public long evaluate() throws IOException {
+        boolean useEngine = implementation.equals("ExpressionEngine");
+        if (source.equals("Reader")) {
+            try (Reader in = reader()) {
+                return useEngine ? engine.evaluate(in) : StackEvaluator.run(new ReaderChars(in), true);
+            }
+        }
+        return useEngine ? engine.evaluate(mapped) : StackEvaluator.run(new BufferChars(mapped), true);
+    }
+
+    // ---- baseline: Stack<Character> / Stack<Long> ----
+
+    interface Chars {
+        int next() throws IOException; // -1 at end
+    }
+
+    static final class ReaderChars implements Chars {
+        private final Reader in;
+
+        ReaderChars(Reader in) {
+            this.in = new BufferedReader(in, 1 << 16);
+        }
+
+        @Override
+        public int next() throws IOException {
+            return in.read();
+        }
+    }
+
+    static final class BufferChars implements Chars {
+        private final ByteBuffer buffer;
+        private int index;
+
+        BufferChars(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int next() {
+            return index < buffer.limit() ? buffer.get(index++) & 0xFF : -1;
+        }
+    }
+
+    static final class StackEvaluator {
+        // Returns the value (evaluate) or -1 when brackets balance (validate); throws on errors
+        static long run(Chars chars, boolean evaluate) throws IOException {
+            Stack<Character> ops = new Stack<>();
+            Stack<Long> values = new Stack<>();
+            StringBuilder number = new StringBuilder();
+            int c;
+            while ((c = chars.next()) >= 0) {
+                char ch = (char) c;
+                if (Character.isDigit(ch)) {
+                    if (evaluate) {
+                        number.append(ch);
+                    }
+                    continue;
+                }
+                if (number.length() > 0) {
+                    values.push(Long.parseLong(number.toString()));
+                    number.setLength(0);
+                }
+                if (ch == '(' || ch == '[' || ch == '{') {
+                    ops.push(ch);
+                } else if (ch == ')' || ch == ']' || ch == '}') {
+                    while (evaluate && !isOpen(ops.peek())) {
+                        apply(ops, values);
+                    }
+                    char open = ops.pop();
+                    if (open != (ch == ')' ? '(' : ch == ']' ? '[' : '{')) {
+                        throw new IllegalArgumentException("Mismatched " + ch);
+                    }
+                } else if (evaluate && "+-*/%".indexOf(ch) >= 0) {
+                    while (!ops.isEmpty() && precedence(ops.peek()) >= precedence(ch)) {
+                        apply(ops, values);
+                    }
+                    ops.push(ch);
+                }
+            }
+            if (number.length() > 0) {
+                values.push(Long.parseLong(number.toString()));
+            }
+            while (evaluate && !ops.isEmpty() && !isOpen(ops.peek())) {
+                apply(ops, values);
+            }
+            if (!ops.isEmpty()) {
+                throw new IllegalArgumentException("Unclosed " + ops.peek());
+            }
+            return evaluate ? values.pop() : -1;
+        }
+
+        private static boolean isOpen(char c) {
+            return c == '(' || c == '[' || c == '{';
+        }
+
+        private static int precedence(char op) {
+            return op == '+' || op == '-' ? 1 : op == '*' || op == '/' || op == '%' ? 2 : 0;
+        }
+
+        private static void apply(Stack<Character> ops, Stack<Long> values) {
+            char op = ops.pop();
+            long right = values.pop();
+            long left = values.pop();
+            values.push(switch (op) {
+                case '+' -> left + right;
+                case '-' -> left - right;
+                case '*' -> left * right;
+                case '/' -> left / right;
+                default -> left % right;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExpressionEngineBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
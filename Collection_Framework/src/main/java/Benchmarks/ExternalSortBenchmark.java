@@ -0,0 +1,121 @@
+package Benchmarks;
+
+import Sort.ExternalSorter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * EXTERNAL SORT OF A RECORD FILE (12-byte records: long id, int marks)
+ * Each invocation sorts the input file by marks into an output file.
+ *
+ * - runLength 100000 / 1000000: spills n / runLength runs, merged with a
+ *   fan-in of 64 (10M records at 100K → 100 runs → two merge passes)
+ * - runLength 100000000: the whole input is one in-memory run, no spill
+ *   (the baseline an external sort must be compared with)
+ *
+ * The spill and merge throughput (MB/s) of the last sort is printed after
+ * every iteration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ExternalSortBenchmark {
+
+    public record Row(long id, int marks) {
+    }
+
+    private static final ExternalSorter.RecordCodec<Row> CODEC = new ExternalSorter.RecordCodec<>() {
+        @Override
+        public int maxRecordBytes() {
+            return 12;
+        }
+
+        @Override
+        public void encode(Row row, ByteBuffer out) {
+            out.putLong(row.id()).putInt(row.marks());
+        }
+
+        @Override
+        public Row decode(ByteBuffer in) {
+            return new Row(in.getLong(), in.getInt());
+        }
+    };
+
+    @Param({"1000000", "10000000"})
+    int records;
+
+    @Param({"100000", "1000000", "100000000"})
+    int runLength;
+
+    Path input;
+    Path output;
+    ExternalSorter<Row> sorter;
+    ExternalSorter.Stats last;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Files.createTempFile("external-sort-input-", ".bin");
+        output = Files.createTempFile("external-sort-output-", ".bin");
+        SplittableRandom random = new SplittableRandom(42);
+        Iterator<Row> rows = new Iterator<>() {
+            long id;
+
+            @Override
+            public boolean hasNext() {
+                return id < records;
+            }
+
+            @Override
+            public Row next() {
+                return new Row(id++, random.nextInt(1_000_000));
+            }
+        };
+        // Writing the input is itself a single-run "sort" by id
+        ExternalSorter.builder(CODEC).comparator(Comparator.comparingLong(Row::id)).runLength(records).build()
+                .sort(rows, input);
+        sorter = ExternalSorter.builder(CODEC)
+                .comparator(Comparator.comparingInt(Row::marks))
+                .runLength(runLength)
+                .bufferBytes(1 << 20)
+                .build();
+    }
+
+    @Benchmark
+    public ExternalSorter.Stats sortFile() throws IOException {
+        last = sorter.sort(input, output);
+        return last;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.println("  " + last);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExternalSortBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,125 @@
+package Benchmarks;
+
+import Filter.BlockedBloomFilter;
+import Filter.CuckooFilter;
+import Filter.FilterGuardedMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * NEGATIVE LOOKUPS WITH AND WITHOUT A MEMBERSHIP FILTER
+ * - getMiss: get of an absent key (the case the filter is for)
+ * - getHit:  get of a present key (what the filter costs when it cannot help)
+ *
+ * guard=none:   the backend alone
+ * guard=bloom:  FilterGuardedMap with a BlockedBloomFilter, 1% FPP
+ * guard=cuckoo: FilterGuardedMap with a CuckooFilter, 1% FPP
+ *
+ * backend=HashMap: in-memory probe (String.hashCode is cached, so a miss is
+ *                  one bucket read plus equals on collisions)
+ * backend=TreeMap: O(log n) string comparisons per miss
+ * backend=remote:  HashMap behind a simulated round-trip (Blackhole.consumeCPU,
+ *                  a few microseconds) — a disk or network store
+ *
+ * Expect the filter to LOSE against an in-memory HashMap: a HashMap miss
+ * uses the String's cached hashCode and often ends at an empty bucket,
+ * while the filter must hash the characters and read a random filter line
+ * (Bloom: one, cuckoo: two cache misses). It wins once a miss in the
+ * backend costs more than that — TreeMap's comparisons, and by an order of
+ * magnitude for the remote store (1% of misses still reach it).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterBenchmark {
+    private static final int KEYS = 1_000_000;
+
+    @Param({"none", "bloom", "cuckoo"})
+    String guard;
+
+    @Param({"HashMap", "TreeMap", "remote"})
+    String backend;
+
+    Map<String, Integer> map;
+    String[] present;
+    String[] absent;
+
+    // A store whose every lookup costs a simulated round-trip
+    static final class RemoteStore extends AbstractMap<String, Integer> {
+        private static final long ROUND_TRIP_TOKENS = 2_000;
+        private final Map<String, Integer> data = new HashMap<>();
+
+        @Override
+        public Integer get(Object key) {
+            Blackhole.consumeCPU(ROUND_TRIP_TOKENS);
+            return data.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Blackhole.consumeCPU(ROUND_TRIP_TOKENS);
+            return data.containsKey(key);
+        }
+
+        @Override
+        public Integer put(String key, Integer value) {
+            return data.put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Integer>> entrySet() {
+            return data.entrySet();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Integer> store = switch (backend) {
+            case "HashMap" -> new HashMap<>();
+            case "TreeMap" -> new TreeMap<>();
+            case "remote" -> new RemoteStore();
+            default -> throw new IllegalArgumentException(backend);
+        };
+        present = new String[KEYS];
+        absent = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            present[i] = "user-" + i;
+            absent[i] = "absent-" + i;
+            store.put(present[i], i);
+        }
+        map = switch (guard) {
+            case "none" -> store;
+            case "bloom" -> new FilterGuardedMap<>(store, BlockedBloomFilter.create(KEYS, 0.01));
+            case "cuckoo" -> new FilterGuardedMap<>(store, CuckooFilter.create(KEYS, 0.01));
+            default -> throw new IllegalArgumentException(guard);
+        };
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        return map.get(absent[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public Integer getHit() {
+        return map.get(present[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package Benchmarks;
+
+import List.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * INTARRAYLIST vs ARRAYLIST<INTEGER>:
+ * - build:  append n values (growth + boxing cost)
+ * - scan:   sum all values (sequential int[] vs pointer chasing)
+ * - search: indexOf a value near the end
+ * - sort:   Arrays.sort(int[]) vs TimSort over Integer objects
+ *
+ * MEMORY:
+ * Run with the GC profiler (enabled in main) and read gc.alloc.rate.norm on
+ * the build benchmarks: that is the number of bytes one fully built list
+ * costs, i.e. ~4n for IntArrayList vs ~20n for ArrayList<Integer>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntArrayListBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    int[] values;
+    IntArrayList primitive;
+    List<Integer> boxed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            // Outside the Integer cache so every boxed element is a real object
+            values[i] = random.nextInt(1_000, Integer.MAX_VALUE);
+        }
+        primitive = IntArrayList.of(values);
+        boxed = new ArrayList<>(size);
+        for (int value : values) {
+            boxed.add(value);
+        }
+    }
+
+    @Benchmark
+    public IntArrayList buildIntArrayList() {
+        IntArrayList list = new IntArrayList();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> buildArrayList() {
+        List<Integer> list = new ArrayList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long scanIntArrayList() {
+        long sum = 0;
+        for (int i = 0, n = primitive.size(); i < n; i++) {
+            sum += primitive.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanArrayList() {
+        long sum = 0;
+        for (int i = 0, n = boxed.size(); i < n; i++) {
+            sum += boxed.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int indexOfIntArrayList() {
+        return primitive.indexOf(values[size - 1]);
+    }
+
+    @Benchmark
+    public int indexOfArrayList() {
+        return boxed.indexOf(values[size - 1]);
+    }
+
+    @Benchmark
+    public void sortIntArrayList(Blackhole bh) {
+        IntArrayList copy = IntArrayList.of(values);
+        copy.sort();
+        bh.consume(copy);
+    }
+
+    @Benchmark
+    public void sortArrayList(Blackhole bh) {
+        List<Integer> copy = new ArrayList<>(boxed);
+        copy.sort(null);
+        bh.consume(copy);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IntArrayListBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
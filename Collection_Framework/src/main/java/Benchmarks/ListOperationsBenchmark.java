@@ -0,0 +1,95 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CORE LIST OPERATIONS for the structures demonstrated in the List package
+ * (ListImplementation, LinkedListImplementation, VectorImplementation,
+ * StackImplementation, CopyOnWriteArrayListImplementation):
+ * - get:                random index (O(1) arrays vs O(n/4) LinkedList walk)
+ * - iterate:            for-each over all elements
+ * - appendRemoveLast:   add at the end, remove the last (Stack push/pop)
+ * - insertRemoveMiddle: add at size/2, remove at size/2 (shifting / walking)
+ *
+ * Size stays constant across invocations. BenchmarkRunner runs this in
+ * throughput and sample-time mode with the GC profiler and writes JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListOperationsBenchmark {
+    private static final Integer ELEMENT = -1;
+
+    @Param({"ArrayList", "LinkedList", "Vector", "Stack", "CopyOnWriteArrayList"})
+    String implementation;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = switch (implementation) {
+            case "ArrayList" -> new ArrayList<>();
+            case "LinkedList" -> new LinkedList<>();
+            case "Vector" -> new Vector<>();
+            case "Stack" -> new Stack<>();
+            case "CopyOnWriteArrayList" -> new CopyOnWriteArrayList<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        List<Integer> initial = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            initial.add(i);
+        }
+        list.addAll(initial);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer appendRemoveLast() {
+        list.add(ELEMENT);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddle() {
+        int middle = size / 2;
+        list.add(middle, ELEMENT);
+        return list.remove(middle);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ListOperationsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
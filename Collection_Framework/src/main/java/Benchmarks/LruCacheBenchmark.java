@@ -0,0 +1,77 @@
+package Benchmarks;
+
+import Map.LruCacheImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * LRU CACHE (Map.LruCacheImpl, access-ordered LinkedHashMap with eviction)
+ * - getOrLoad: get a random key of a key space `keySpaceFactor` × capacity;
+ *              on a miss put it (evicting the eldest entry)
+ * - getHit:    get a key that was just put (always a hit, relinks the entry)
+ *
+ * keySpaceFactor 1 → every get hits after warmup; 4 → ~25% hits, so most
+ * operations pay put + eviction (one entry allocated, one unlinked).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LruCacheBenchmark {
+
+    @Param({"1000", "100000"})
+    int capacity;
+
+    @Param({"1", "4"})
+    int keySpaceFactor;
+
+    LruCacheImpl cache;
+    String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new LruCacheImpl(capacity);
+        keys = new String[capacity * keySpaceFactor];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key-" + i;
+        }
+        for (int i = 0; i < capacity; i++) {
+            cache.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public int getOrLoad() {
+        int i = ThreadLocalRandom.current().nextInt(keys.length);
+        int value = cache.get(keys[i]);
+        if (value == -1) {
+            cache.put(keys[i], i);
+            return i;
+        }
+        return value;
+    }
+
+    @Benchmark
+    public int getHit() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        cache.put(key, 1);
+        return cache.get(key);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LruCacheBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,119 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CORE MAP OPERATIONS for the structures demonstrated in the Map package
+ * (HashMapImplementation, LinkedHashMapImpl, IdentityHashMapImpl):
+ * - getHit:    lookup with the exact key instance stored in the map
+ * - getMiss:   lookup with an absent key (IdentityHashMap: an EQUAL but
+ *              different String instance, which identity semantics miss)
+ * - putRemove: remove a present key and put it back
+ * - iterate:   sum the values over entrySet()
+ *
+ * keys=distinct:  "key-<i>" strings
+ * keys=colliding: strings built from "Aa"/"BB" blocks, which all share one
+ *                 hashCode (HashMapImplementation's collision example), so
+ *                 HashMap treeifies the single bucket: O(log n) lookups
+ *
+ * This replaces the timing loop in IdentityHashMapImpl.performanceDemo,
+ * which has no warmup and no blackhole.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapOperationsBenchmark {
+
+    @Param({"HashMap", "LinkedHashMap", "LinkedHashMap-accessOrder", "IdentityHashMap", "ConcurrentHashMap"})
+    String implementation;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"distinct", "colliding"})
+    String keys;
+
+    Map<String, Integer> map;
+    String[] present;
+    String[] absent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = switch (implementation) {
+            case "HashMap" -> new HashMap<>();
+            case "LinkedHashMap" -> new LinkedHashMap<>();
+            case "LinkedHashMap-accessOrder" -> new LinkedHashMap<>(16, 0.75f, true);
+            case "IdentityHashMap" -> new IdentityHashMap<>();
+            case "ConcurrentHashMap" -> new ConcurrentHashMap<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        present = new String[size];
+        absent = new String[size];
+        for (int i = 0; i < size; i++) {
+            present[i] = key(i);
+            map.put(present[i], i);
+            // An equal copy misses only in IdentityHashMap; the others need a new key
+            absent[i] = implementation.equals("IdentityHashMap") ? new String(present[i]) : key(size + i);
+        }
+    }
+
+    private String key(int i) {
+        if (keys.equals("distinct")) {
+            return "key-" + i;
+        }
+        // 18 blocks of "Aa" or "BB" chosen by the bits of i: same hashCode for all
+        StringBuilder sb = new StringBuilder(36);
+        for (int bit = 0; bit < 18; bit++) {
+            sb.append(((i >>> bit) & 1) == 0 ? "Aa" : "BB");
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public Integer getHit() {
+        return map.get(present[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Integer getMiss() {
+        return map.get(absent[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public Integer putRemove() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        Integer old = map.remove(present[i]);
+        map.put(present[i], old);
+        return old;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MapOperationsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
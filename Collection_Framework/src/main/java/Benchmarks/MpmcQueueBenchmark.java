@@ -0,0 +1,134 @@
+package Benchmarks;
+
+import List.MpmcRingBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MPMC QUEUE CONTENTION:
+ * - roundTrip:        every thread offers then polls (queue stays near-empty,
+ *                     all threads hit both ends) - scaled by thread count
+ * - batchRoundTrip:   every thread offers 32 then drains 32; MpmcRingBuffer
+ *                     uses offerAll (one CAS per batch) / drainTo
+ * - producerConsumer: dedicated producer and consumer threads (JMH group of
+ *                     one each); main() runs n/2 groups on the shared queue
+ *
+ * main() runs each benchmark with 1, 2, 4, ... 64 threads. On machines with
+ * fewer cores the upper counts measure oversubscription, which is still the
+ * interesting case for lock-based queues.
+ *
+ * ConcurrentLinkedQueue is unbounded: in producerConsumer its size can grow
+ * while producers outrun consumers, so the queue is cleared every iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MpmcQueueBenchmark {
+    private static final int BATCH = 32;
+    private static final Integer ELEMENT = 1;
+
+    @Param({"ArrayBlockingQueue", "ConcurrentLinkedQueue", "MpmcRingBuffer"})
+    String implementation;
+
+    @Param({"1024"})
+    int capacity;
+
+    Queue<Integer> queue;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = switch (implementation) {
+            case "ArrayBlockingQueue" -> new ArrayBlockingQueue<>(capacity);
+            case "ConcurrentLinkedQueue" -> new ConcurrentLinkedQueue<>();
+            case "MpmcRingBuffer" -> new MpmcRingBuffer<>(capacity, MpmcRingBuffer.WaitStrategy.SPIN);
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadBuffers {
+        final Integer[] batch = new Integer[BATCH];
+        final List<Integer> drained = new ArrayList<>(BATCH);
+
+        @Setup
+        public void fill() {
+            for (int i = 0; i < BATCH; i++) {
+                batch[i] = i;
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer roundTrip() {
+        queue.offer(ELEMENT);
+        return queue.poll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batchRoundTrip(ThreadBuffers buffers) {
+        buffers.drained.clear();
+        if (queue instanceof MpmcRingBuffer<Integer> ring) {
+            ring.offerAll(buffers.batch, 0, BATCH);
+            return ring.drainTo(buffers.drained, BATCH);
+        }
+        for (Integer value : buffers.batch) {
+            queue.offer(value);
+        }
+        if (queue instanceof ArrayBlockingQueue<Integer> abq) {
+            return abq.drainTo(buffers.drained, BATCH);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            Integer value = queue.poll();
+            if (value == null) {
+                break;
+            }
+            buffers.drained.add(value);
+        }
+        return buffers.drained.size();
+    }
+
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(1)
+    public boolean produce() {
+        return queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(1)
+    public Integer consume() {
+        return queue.poll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            Options symmetric = new OptionsBuilder()
+                    .include(MpmcQueueBenchmark.class.getSimpleName() + ".(roundTrip|batchRoundTrip)")
+                    .threads(threads)
+                    .build();
+            new Runner(symmetric).run();
+            if (threads > 1) {
+                Options split = new OptionsBuilder()
+                        .include(MpmcQueueBenchmark.class.getSimpleName() + ".producerConsumer")
+                        .threadGroups(threads / 2)
+                        .build();
+                new Runner(split).run();
+            }
+        }
+    }
+}
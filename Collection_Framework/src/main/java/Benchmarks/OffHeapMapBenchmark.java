@@ -0,0 +1,156 @@
+package Benchmarks;
+
+import Map.OffHeapLongLongMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * LONG → LONG ID MAPPING: HashMap<Long, Long> vs Map.OffHeapLongLongMap
+ * - getHit:    lookup of a present key
+ * - getMiss:   lookup of an absent key
+ * - putRemove: remove a present key and put it back (HashMap allocates a
+ *              new Node each time; the off-heap map allocates nothing)
+ *
+ * implementation=OffHeap-file maps the table from a temp file.
+ *
+ * GC PAUSES: besides the GC profiler's gc.count / gc.time per iteration,
+ * each trial prints the stop-the-world time (GarbageCollectorMXBeans,
+ * concurrent-cycle beans excluded) spent while filling the map and during
+ * the measured iterations. Filling a 20M-entry HashMap creates ~60M objects
+ * that survive into the old generation; the off-heap map's fill does not
+ * trigger a single collection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class OffHeapMapBenchmark {
+
+    @Param({"HashMap", "OffHeap", "OffHeap-file"})
+    String implementation;
+
+    @Param({"1000000", "20000000"})
+    int entries;
+
+    HashMap<Long, Long> boxed;
+    OffHeapLongLongMap offHeap;
+    Path file;
+    long[] keys;
+    long[] absent;
+    long pausesBeforeRun;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new long[entries];
+        absent = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            keys[i] = random.nextLong();
+            absent[i] = random.nextLong();   // 2^-64 chance of colliding with a key
+        }
+
+        long pauses = gcPauseMillis();
+        long start = System.nanoTime();
+        switch (implementation) {
+            case "HashMap" -> {
+                boxed = new HashMap<>();
+                for (long key : keys) {
+                    boxed.put(key, key);
+                }
+            }
+            case "OffHeap" -> offHeap = OffHeapLongLongMap.allocate(16);
+            case "OffHeap-file" -> {
+                file = Files.createTempFile("offheap-bench", ".map");
+                Files.delete(file);
+                offHeap = OffHeapLongLongMap.mapFile(file, 16);
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        }
+        if (offHeap != null) {
+            for (long key : keys) {
+                offHeap.put(key, key);
+            }
+        }
+        System.out.printf("%nfill %,d entries: %d ms, GC pauses %d ms%n",
+                entries, (System.nanoTime() - start) / 1_000_000, gcPauseMillis() - pauses);
+        pausesBeforeRun = gcPauseMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nGC pauses during warmup + measurement: %d ms%n", gcPauseMillis() - pausesBeforeRun);
+        if (offHeap != null) {
+            offHeap.close();
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Accumulated stop-the-world time of all collectors, in ms
+    private static long gcPauseMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!gc.getName().contains("Concurrent")) {
+                total += Math.max(0, gc.getCollectionTime());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long getHit() {
+        long key = keys[ThreadLocalRandom.current().nextInt(entries)];
+        if (boxed != null) {
+            return boxed.get(key);
+        }
+        return offHeap.getOrDefault(key, -1);
+    }
+
+    @Benchmark
+    public long getMiss() {
+        long key = absent[ThreadLocalRandom.current().nextInt(entries)];
+        if (boxed != null) {
+            Long value = boxed.get(key);
+            return value == null ? -1 : value;
+        }
+        return offHeap.getOrDefault(key, -1);
+    }
+
+    @Benchmark
+    public boolean putRemove() {
+        long key = keys[ThreadLocalRandom.current().nextInt(entries)];
+        if (boxed != null) {
+            boolean removed = boxed.remove(key) != null;
+            boxed.put(key, key);
+            return removed;
+        }
+        boolean removed = offHeap.remove(key);
+        offHeap.put(key, key);
+        return removed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OffHeapMapBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
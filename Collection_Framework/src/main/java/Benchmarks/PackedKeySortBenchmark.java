@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import Sort.ComparatorCompiler.Direction;
+import Sort.PackedKeySort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * SORT STUDENTS BY (marks DESC, name ASC)
+ * - comparator:         Arrays.sort with comparingInt(marks).reversed().thenComparing(name)
+ * - parallelComparator: Arrays.parallelSort with the same comparator
+ * - packedKeys:         PackedKeySort, 4 key bytes of marks + 6 chars of name
+ *
+ * Marks are 0..100 (heavy ties, so the comparator usually reaches the name),
+ * names are 5-10 random lowercase letters. Each invocation sorts a fresh
+ * copy of the input.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PackedKeySortBenchmark {
+
+    public record Student(String name, int marks) {
+    }
+
+    private static final Comparator<Student> COMPARATOR =
+            Comparator.comparingInt(Student::marks).reversed().thenComparing(Student::name);
+
+    private static final PackedKeySort<Student> PACKED = PackedKeySort.<Student>builder()
+            .intKey(Student::marks, Direction.DESC)
+            .stringKey(Student::name, 6, Direction.ASC)
+            .build();
+
+    @Param({"1000000", "10000000"})
+    int records;
+
+    Student[] students;
+    Student[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        students = new Student[records];
+        char[] name = new char[10];
+        for (int i = 0; i < records; i++) {
+            int length = 5 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                name[c] = (char) ('a' + random.nextInt(26));
+            }
+            students[i] = new Student(new String(name, 0, length), random.nextInt(101));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        work = students.clone();
+    }
+
+    @Benchmark
+    public Student[] comparator() {
+        Arrays.sort(work, COMPARATOR);
+        return work;
+    }
+
+    @Benchmark
+    public Student[] parallelComparator() {
+        Arrays.parallelSort(work, COMPARATOR);
+        return work;
+    }
+
+    @Benchmark
+    public Student[] packedKeys() {
+        PACKED.sort(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PackedKeySortBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
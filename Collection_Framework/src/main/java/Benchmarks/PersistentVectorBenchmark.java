@@ -0,0 +1,100 @@
+package Benchmarks;
+
+import List.ConcurrentVector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * WRITE COST AND MEMORY CHURN: COPYONWRITEARRAYLIST vs CONCURRENTVECTOR
+ * - set:         replace a random element
+ * - appendTrim:  add at the end, then remove the last element (size stays n)
+ * - get:         random read (the price of the trie's pointer hops)
+ * - snapshotIterate: take a snapshot and iterate 1000 elements of it
+ *
+ * Sizes 1K, 100K and 10M. gc.alloc.rate.norm (GC profiler in main) is the
+ * garbage per write: ~4n bytes for CopyOnWriteArrayList, a few path copies
+ * of 32-slot arrays for ConcurrentVector regardless of n.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class PersistentVectorBenchmark {
+    private static final Integer ELEMENT = -1;
+
+    @Param({"CopyOnWriteArrayList", "ConcurrentVector"})
+    String implementation;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Integer> initial = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            initial.add(i);
+        }
+        list = switch (implementation) {
+            case "CopyOnWriteArrayList" -> new CopyOnWriteArrayList<>(initial);
+            case "ConcurrentVector" -> new ConcurrentVector<>(initial);
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Benchmark
+    public Integer set() {
+        // ELEMENT and the original value alternate, so CopyOnWriteArrayList never skips the copy
+        int index = ThreadLocalRandom.current().nextInt(size);
+        Integer old = list.set(index, ELEMENT);
+        if (old == ELEMENT) {
+            list.set(index, index);
+        }
+        return old;
+    }
+
+    @Benchmark
+    public Integer appendTrim() {
+        list.add(ELEMENT);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public long snapshotIterate() {
+        long sum = 0;
+        int n = 0;
+        for (Integer value : list) {
+            sum += value;
+            if (++n == 1000) {
+                break;
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PersistentVectorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,127 @@
+package Benchmarks;
+
+import List.ScalarKernels;
+import List.SimdKernels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * SIMD vs SCALAR KERNELS:
+ * Same kernel, same data, scalar loop vs jdk.incubator.vector loop.
+ * The speedup printed by JMH depends on this machine's vector width
+ * (SimdKernels.intLanes(): 4 on NEON/SSE, 8 on AVX2, 16 on AVX-512).
+ * Compiled by the simd profile only: mvn -P benchmarks,simd package
+ *
+ * Note: C2 auto-vectorizes some simple scalar loops (e.g. int sum/min/max),
+ * so those show a smaller gap than search/filter, which the JIT cannot
+ * vectorize on its own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class PrimitiveKernelsBenchmark {
+
+    @Param({"1024", "1048576"})
+    int size;
+
+    int[] ints;
+    long[] longs;
+    float[] floats;
+    int[] intOut;
+    int missing;
+    SimdKernels simd = new SimdKernels();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        ints = new int[size];
+        longs = new long[size];
+        floats = new float[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt(0, 1_000_000);
+            longs[i] = ints[i];
+            floats[i] = ints[i] / 7.0f;
+        }
+        intOut = new int[size + 64];
+        missing = -1; // forces a full scan in indexOf
+    }
+
+    @Benchmark
+    public int indexOfIntScalar() {
+        return ScalarKernels.indexOf(ints, 0, size, missing);
+    }
+
+    @Benchmark
+    public int indexOfIntSimd() {
+        return simd.indexOf(ints, 0, size, missing);
+    }
+
+    @Benchmark
+    public int indexOfLongScalar() {
+        return ScalarKernels.indexOf(longs, 0, size, missing);
+    }
+
+    @Benchmark
+    public int indexOfLongSimd() {
+        return simd.indexOf(longs, 0, size, missing);
+    }
+
+    @Benchmark
+    public int filterIntScalar() {
+        return ScalarKernels.filterGreaterThan(ints, 0, size, 500_000, intOut);
+    }
+
+    @Benchmark
+    public int filterIntSimd() {
+        return simd.filterGreaterThan(ints, 0, size, 500_000, intOut);
+    }
+
+    @Benchmark
+    public long sumIntScalar() {
+        return ScalarKernels.sum(ints, 0, size);
+    }
+
+    @Benchmark
+    public long sumIntSimd() {
+        return simd.sum(ints, 0, size);
+    }
+
+    @Benchmark
+    public float sumFloatScalar() {
+        return ScalarKernels.sum(floats, 0, size);
+    }
+
+    @Benchmark
+    public float sumFloatSimd() {
+        return simd.sum(floats, 0, size);
+    }
+
+    @Benchmark
+    public void minMaxLongScalar(Blackhole bh) {
+        bh.consume(ScalarKernels.min(longs, 0, size));
+        bh.consume(ScalarKernels.max(longs, 0, size));
+    }
+
+    @Benchmark
+    public void minMaxLongSimd(Blackhole bh) {
+        bh.consume(simd.min(longs, 0, size));
+        bh.consume(simd.max(longs, 0, size));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PrimitiveKernelsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import Sort.RadixSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * SORTING STUDENT RECORDS BY AN INT FIELD:
+ * - listSortComparator:     List.sort(Comparator.comparingInt(...)) (TimSort)
+ * - arraysParallelSort:     Arrays.parallelSort(T[], comparator) (parallel merge sort)
+ * - radixSortList/Array:    RadixSort with a ToIntFunction key extractor
+ *
+ * `marks` uses the full int range so every radix pass runs (worst case);
+ * `smallRange` keys (0..100) show the pass-skipping fast path.
+ * Each invocation sorts a fresh copy of the same shuffled input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class RadixSortBenchmark {
+
+    record Student(String name, int marks) {
+    }
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"fullRange", "smallRange"})
+    String keys;
+
+    Student[] input;
+    Student[] work;
+    List<Student> workList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(3);
+        input = new Student[size];
+        for (int i = 0; i < size; i++) {
+            int marks = keys.equals("fullRange") ? random.nextInt() : random.nextInt(101);
+            input[i] = new Student("s" + i, marks);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        work = input.clone();
+        workList = new ArrayList<>(Arrays.asList(input));
+    }
+
+    @Benchmark
+    public List<Student> listSortComparator() {
+        workList.sort(Comparator.comparingInt(Student::marks));
+        return workList;
+    }
+
+    @Benchmark
+    public Student[] arraysParallelSort() {
+        Arrays.parallelSort(work, Comparator.comparingInt(Student::marks));
+        return work;
+    }
+
+    @Benchmark
+    public List<Student> radixSortList() {
+        RadixSort.sort(workList, Student::marks);
+        return workList;
+    }
+
+    @Benchmark
+    public Student[] radixSortArray() {
+        RadixSort.sort(work, Student::marks);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RadixSortBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
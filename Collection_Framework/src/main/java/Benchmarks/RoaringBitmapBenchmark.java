@@ -0,0 +1,224 @@
+package Benchmarks;
+
+import Set.RoaringBitmap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/*
+ * INTEGER ID SETS: RoaringBitmap vs BitSet vs HashSet<Integer>
+ * Two independent sets A and B drawn from the same distribution:
+ *
+ * sparse:    1M random IDs in [0, 2^30)             (BitSet: 128 MB per set)
+ * dense:     each ID in [0, 8M) with probability ½  (4M IDs)
+ * clustered: runs of 1..4000 consecutive IDs separated by gaps of
+ *            1..20000 (~2M IDs), like ranges of rows or time buckets
+ *
+ * - intersectCount: |A ∧ B| (HashSet: probe B for every element of A;
+ *                   BitSet: clone + and + cardinality;
+ *                   Roaring: andCardinality, nothing materialized)
+ * - union:          A ∨ B as a new set
+ * - iterate:        sum of all IDs (HashSet order is unsorted)
+ * - contains:       random probe in the value range (ns)
+ *
+ * The set sizes are printed per trial (layout estimates with compressed
+ * oops): HashSet pays ~50 bytes per Integer (32-byte node + 16-byte Integer
+ * + table slot); BitSet pays for the whole range; Roaring pays ~2 bytes per
+ * sparse ID, ~1 bit per dense ID and a few bytes per run.
+ *
+ * Expect Roaring to win every set operation by one to four orders of
+ * magnitude over HashSet and to match or beat BitSet (whole words when
+ * dense, run merges when clustered, no 128 MB scans when sparse), and to
+ * LOSE on single contains: it binary-searches the key directory (16K
+ * chunks when sparse) before the container, where BitSet reads one word
+ * and HashSet one bucket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class RoaringBitmapBenchmark {
+    @Param({"RoaringBitmap", "BitSet", "HashSet"})
+    String impl;
+
+    @Param({"sparse", "dense", "clustered"})
+    String distribution;
+
+    RoaringBitmap roaringA;
+    RoaringBitmap roaringB;
+    BitSet bitSetA;
+    BitSet bitSetB;
+    HashSet<Integer> hashSetA;
+    HashSet<Integer> hashSetB;
+    int range;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] a = generate(new SplittableRandom(1));
+        int[] b = generate(new SplittableRandom(2));
+        long bytes;
+        switch (impl) {
+            case "RoaringBitmap" -> {
+                roaringA = new RoaringBitmap();
+                roaringB = new RoaringBitmap();
+                for (int v : a) {
+                    roaringA.add(v);
+                }
+                for (int v : b) {
+                    roaringB.add(v);
+                }
+                roaringA.runOptimize();
+                roaringB.runOptimize();
+                bytes = roaringA.sizeInBytes();
+            }
+            case "BitSet" -> {
+                bitSetA = new BitSet();
+                bitSetB = new BitSet();
+                for (int v : a) {
+                    bitSetA.set(v);
+                }
+                for (int v : b) {
+                    bitSetB.set(v);
+                }
+                bytes = bitSetA.size() / 8 + 40;
+            }
+            case "HashSet" -> {
+                hashSetA = new HashSet<>();
+                hashSetB = new HashSet<>();
+                for (int v : a) {
+                    hashSetA.add(v);
+                }
+                for (int v : b) {
+                    hashSetB.add(v);
+                }
+                long table = Integer.highestOneBit((int) (hashSetA.size() / 0.75f)) * 2L;
+                bytes = 48L * hashSetA.size() + 4 * table + 64;
+            }
+            default -> throw new IllegalArgumentException(impl);
+        }
+        System.out.printf("%n%s/%s: %,d IDs, ~%,d bytes (%.2f bytes/ID)%n",
+                impl, distribution, a.length, bytes, (double) bytes / a.length);
+    }
+
+    private int[] generate(SplittableRandom random) {
+        switch (distribution) {
+            case "sparse" -> {
+                range = 1 << 30;
+                return random.ints(1_000_000, 0, range).toArray();
+            }
+            case "dense" -> {
+                range = 8_000_000;
+                return IntStream.range(0, range).filter(i -> random.nextBoolean()).toArray();
+            }
+            case "clustered" -> {
+                IntStream.Builder ids = IntStream.builder();
+                int next = 0;
+                for (int count = 0; count < 2_000_000; ) {
+                    next += 1 + random.nextInt(20_000);
+                    int length = 1 + random.nextInt(4_000);
+                    for (int i = 0; i < length; i++) {
+                        ids.add(next++);
+                    }
+                    count += length;
+                }
+                range = next;
+                return ids.build().toArray();
+            }
+            default -> throw new IllegalArgumentException(distribution);
+        }
+    }
+
+    @Benchmark
+    public long intersectCount() {
+        return switch (impl) {
+            case "RoaringBitmap" -> RoaringBitmap.andCardinality(roaringA, roaringB);
+            case "BitSet" -> {
+                BitSet both = (BitSet) bitSetA.clone();
+                both.and(bitSetB);
+                yield both.cardinality();
+            }
+            default -> {
+                long count = 0;
+                for (Integer id : hashSetA) {
+                    if (hashSetB.contains(id)) {
+                        count++;
+                    }
+                }
+                yield count;
+            }
+        };
+    }
+
+    @Benchmark
+    public Object union() {
+        return switch (impl) {
+            case "RoaringBitmap" -> RoaringBitmap.or(roaringA, roaringB);
+            case "BitSet" -> {
+                BitSet either = (BitSet) bitSetA.clone();
+                either.or(bitSetB);
+                yield either;
+            }
+            default -> {
+                HashSet<Integer> either = new HashSet<>(hashSetA);
+                either.addAll(hashSetB);
+                yield either;
+            }
+        };
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        switch (impl) {
+            case "RoaringBitmap" -> {
+                for (PrimitiveIterator.OfInt it = roaringA.iterator(); it.hasNext(); ) {
+                    sum += it.nextInt();
+                }
+            }
+            case "BitSet" -> {
+                for (int i = bitSetA.nextSetBit(0); i >= 0; i = bitSetA.nextSetBit(i + 1)) {
+                    sum += i;
+                }
+            }
+            default -> {
+                for (Integer id : hashSetA) {
+                    sum += id;
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void contains(Blackhole blackhole) {
+        int probe = ThreadLocalRandom.current().nextInt(range);
+        blackhole.consume(switch (impl) {
+            case "RoaringBitmap" -> roaringA.contains(probe);
+            case "BitSet" -> bitSetA.get(probe);
+            default -> hashSetA.contains(probe);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RoaringBitmapBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,152 @@
+package Benchmarks;
+
+import List.EliminationStack;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CONCURRENT STACK CONTENTION:
+ * - pushPop:   every thread pushes then pops (symmetric load, the case
+ *              elimination is built for)
+ * - pushOrPop: every thread flips a coin per operation (push and pop
+ *              interleave randomly, stack depth random-walks around `prefill`)
+ *
+ * The stack is shared by all threads (Scope.Benchmark) and starts with
+ * `prefill` elements so pops rarely see an empty stack. main() runs 1, 2,
+ * 4, ... 64 threads.
+ *
+ * SynchronizedArrayDeque is an ArrayDeque guarded by synchronized (this) -
+ * the usual replacement for Stack when a lock is acceptable.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackContentionBenchmark {
+    private static final Integer ELEMENT = 1;
+
+    @Param({"Stack", "SynchronizedArrayDeque", "ConcurrentLinkedDeque", "EliminationStack"})
+    String implementation;
+
+    @Param({"1000"})
+    int prefill;
+
+    // Minimal push/pop surface shared by all candidates
+    interface ConcurrentStack {
+        void push(Integer e);
+
+        Integer pop();
+    }
+
+    ConcurrentStack stack;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        stack = switch (implementation) {
+            case "Stack" -> {
+                Stack<Integer> s = new Stack<>();
+                yield new ConcurrentStack() {
+                    public void push(Integer e) {
+                        s.push(e);
+                    }
+
+                    public Integer pop() {
+                        // empty() + pop() is not atomic: poll-style pop needs the monitor
+                        synchronized (s) {
+                            return s.empty() ? null : s.pop();
+                        }
+                    }
+                };
+            }
+            case "SynchronizedArrayDeque" -> {
+                ArrayDeque<Integer> d = new ArrayDeque<>();
+                yield new ConcurrentStack() {
+                    public synchronized void push(Integer e) {
+                        d.push(e);
+                    }
+
+                    public synchronized Integer pop() {
+                        return d.pollFirst();
+                    }
+                };
+            }
+            case "ConcurrentLinkedDeque" -> {
+                ConcurrentLinkedDeque<Integer> d = new ConcurrentLinkedDeque<>();
+                yield new ConcurrentStack() {
+                    public void push(Integer e) {
+                        d.push(e);
+                    }
+
+                    public Integer pop() {
+                        return d.pollFirst();
+                    }
+                };
+            }
+            case "EliminationStack" -> {
+                EliminationStack<Integer> s = new EliminationStack<>();
+                yield new ConcurrentStack() {
+                    public void push(Integer e) {
+                        s.push(e);
+                    }
+
+                    public Integer pop() {
+                        return s.pop();
+                    }
+                };
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        for (int i = 0; i < prefill; i++) {
+            stack.push(ELEMENT);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer pushPop() {
+        stack.push(ELEMENT);
+        return stack.pop();
+    }
+
+    @State(Scope.Thread)
+    public static class Coin {
+        int bits = (int) System.nanoTime() | 1;
+
+        // xorshift: cheaper than ThreadLocalRandom inside a contention benchmark
+        boolean flip() {
+            bits ^= bits << 13;
+            bits ^= bits >>> 17;
+            bits ^= bits << 5;
+            return bits < 0;
+        }
+    }
+
+    @Benchmark
+    public Integer pushOrPop(Coin coin) {
+        if (coin.flip()) {
+            stack.push(ELEMENT);
+            return ELEMENT;
+        }
+        return stack.pop();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            Options options = new OptionsBuilder()
+                    .include(StackContentionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package Benchmarks;
+
+import Map.StringInterner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * DEDUPLICATING PARSED STRINGS: StringInterner vs String.intern() vs nothing
+ * Tokens come from a low-cardinality vocabulary (250 country codes, 6
+ * statuses, 1000 city names) — the fields a CSV/JSON parser sees over and over.
+ *
+ * - internString: the parser already built a String; return the canonical one
+ * - internBytes:  the parser has the token as a byte slice of its input buffer
+ *                 StringInterner: intern(bytes, off, len), no String on a hit
+ *                 String.intern:  new String(bytes, off, len).intern()
+ *                 none:           new String(bytes, off, len)
+ *
+ * Run with the GC profiler: gc.alloc.rate.norm shows the temporary String
+ * (~48-56 bytes/op) that internBytes avoids.
+ *
+ * Heap per 1M retained tokens is printed per trial (distinct String objects
+ * × String + byte[] layout): none keeps 1M copies, both interners keep one
+ * per distinct value (see also Map.StringInterner's demo).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringInternerBenchmark {
+    private static final int TOKENS = 1 << 16;
+    private static final int RETAINED = 1_000_000;
+
+    @Param({"StringInterner", "String.intern", "none"})
+    String impl;
+
+    StringInterner interner;
+    String[] tokens;          // distinct String objects, duplicate contents
+    byte[] buffer;            // the same tokens as one comma-separated input
+    int[] offsets;
+    int[] lengths;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = vocabulary();
+        SplittableRandom random = new SplittableRandom(7);
+        tokens = new String[TOKENS];
+        offsets = new int[TOKENS];
+        lengths = new int[TOKENS];
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < TOKENS; i++) {
+            String token = vocabulary[random.nextInt(vocabulary.length)];
+            tokens[i] = new String(token);
+            offsets[i] = input.length();
+            lengths[i] = token.length();
+            input.append(token).append(',');
+        }
+        buffer = input.toString().getBytes(StandardCharsets.US_ASCII);
+        interner = new StringInterner(100_000);
+
+        IdentityHashMap<String, Boolean> distinct = new IdentityHashMap<>();
+        long bytes = 0;
+        for (int i = 0; i < RETAINED; i++) {
+            String token = internBytes();
+            if (distinct.put(token, Boolean.TRUE) == null) {
+                bytes += 24 + ((16 + token.length() + 7) & ~7);
+            }
+        }
+        System.out.printf("%n%s: %,d tokens retained → %,d String objects, ~%,d bytes%n",
+                impl, RETAINED, distinct.size(), bytes);
+    }
+
+    private static String[] vocabulary() {
+        String[] statuses = {"ACTIVE", "SUSPENDED", "PENDING_REVIEW", "CLOSED", "TRIAL", "DELINQUENT"};
+        String[] words = new String[250 + statuses.length + 1000];
+        for (int i = 0; i < 250; i++) {
+            words[i] = "" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+        }
+        System.arraycopy(statuses, 0, words, 250, statuses.length);
+        for (int i = 0; i < 1000; i++) {
+            words[256 + i] = "city-" + Integer.toString(i * 7919, 36);
+        }
+        return words;
+    }
+
+    @Benchmark
+    public String internString() {
+        String token = tokens[next++ & (TOKENS - 1)];
+        return switch (impl) {
+            case "StringInterner" -> interner.intern(token);
+            case "String.intern" -> token.intern();
+            default -> token;
+        };
+    }
+
+    @Benchmark
+    public String internBytes() {
+        int i = next++ & (TOKENS - 1);
+        return switch (impl) {
+            case "StringInterner" -> interner.intern(buffer, offsets[i], lengths[i]);
+            case "String.intern" -> new String(buffer, offsets[i], lengths[i], StandardCharsets.US_ASCII).intern();
+            default -> new String(buffer, offsets[i], lengths[i], StandardCharsets.US_ASCII);
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StringInternerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,201 @@
+package Benchmarks;
+
+import List.CoalescingCopyOnWriteList;
+import List.ConcurrentVector;
+import List.StampedList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * THREAD-SAFE LIST CONTENTION HARNESS:
+ * Replaces the hardcoded "Vector: slower" / "CopyOnWriteArrayList: fastest"
+ * claims in the List demos with measurements.
+ *
+ * - mixed: each operation is get(random) with probability readPercent,
+ *          otherwise set(random) (size stays constant, so every write to a
+ *          CopyOnWriteArrayList copies `size` elements)
+ * - scan:  same mix, but a read iterates the whole list with forEach
+ *
+ * Writes store a freshly boxed value (16 bytes/write for every list):
+ * CopyOnWriteArrayList.set skips the copy when the new element is the same
+ * reference, which a cached small Integer would be.
+ *
+ * main() is the runner. For every executor (PLATFORM threads or VIRTUAL
+ * threads, via JMH's jmh.executor) and every thread count it runs:
+ *   Throughput  → ops/us
+ *   SampleTime  → p99 latency (us/op)
+ *   GC profiler → allocation (bytes/op)
+ * and writes all rows to one JSON report.
+ *
+ * USAGE (all arguments optional):
+ *   ThreadSafeListBenchmark threads=1,4,16 executors=PLATFORM,VIRTUAL
+ *                           out=target/thread-safe-lists.json
+ *   Any other key=value is passed through as a JMH @Param, e.g.
+ *   implementation=Vector,StampedList readPercent=90 size=1000
+ *
+ * Adding a list: add a case to create() and its name to @Param.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadSafeListBenchmark {
+
+    @Param({"Vector", "SynchronizedList", "CopyOnWriteArrayList", "StampedList",
+            "CoalescingCopyOnWriteList", "ConcurrentVector"})
+    String implementation;
+
+    @Param({"50", "90", "99"})
+    int readPercent;
+
+    @Param({"100", "10000"})
+    int size;
+
+    List<Integer> list;
+
+    static List<Integer> create(String implementation) {
+        return switch (implementation) {
+            case "Vector" -> new Vector<>();
+            case "SynchronizedList" -> Collections.synchronizedList(new ArrayList<>());
+            case "CopyOnWriteArrayList" -> new CopyOnWriteArrayList<>();
+            case "StampedList" -> new StampedList<>();
+            // Default (publish-every-write) mode: same visibility as CopyOnWriteArrayList
+            case "CoalescingCopyOnWriteList" -> new CoalescingCopyOnWriteList<>();
+            // set() path-copies one leaf and its ancestors instead of the whole array
+            case "ConcurrentVector" -> new ConcurrentVector<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<Integer> filled = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            filled.add(i);
+        }
+        list = create(implementation);
+        list.addAll(filled);
+    }
+
+    @Benchmark
+    public Integer mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+        if (random.nextInt(100) < readPercent) {
+            return list.get(index);
+        }
+        return list.set(index, freshValue(random));
+    }
+
+    private static Integer freshValue(ThreadLocalRandom random) {
+        return Integer.valueOf(1024 + random.nextInt(1 << 20)); // outside the Integer cache
+    }
+
+    @State(Scope.Thread)
+    public static class Sum {
+        long value;
+    }
+
+    @Benchmark
+    public long scan(Sum sum) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) >= readPercent) {
+            return list.set(random.nextInt(size), freshValue(random));
+        }
+        sum.value = 0;
+        // Vector/synchronizedList lock once for forEach; the copy-on-write lists and
+        // ConcurrentVector iterate a snapshot
+        list.forEach(v -> sum.value += v);
+        return sum.value;
+    }
+
+    // ---- runner and JSON report ----
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> config = new LinkedHashMap<>();
+        config.put("threads", "1,2,4,8");
+        config.put("executors", "PLATFORM,VIRTUAL");
+        config.put("out", "target/thread-safe-lists.json");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            config.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (String executor : config.get("executors").split(",")) {
+            for (String threads : config.get("threads").split(",")) {
+                OptionsBuilder builder = new OptionsBuilder();
+                builder.include(ThreadSafeListBenchmark.class.getSimpleName())
+                        .mode(Mode.Throughput)
+                        .mode(Mode.SampleTime)
+                        .threads(Integer.parseInt(threads))
+                        .jvmArgsAppend("-Djmh.executor=" + executor)
+                        .addProfiler(GCProfiler.class);
+                config.forEach((key, value) -> {
+                    if (!Set.of("threads", "executors", "out").contains(key)) {
+                        builder.param(key, value.split(","));
+                    }
+                });
+                Options options = builder.build();
+                for (RunResult run : new Runner(options).run()) {
+                    rows.add(toJson(executor, Integer.parseInt(threads), run));
+                }
+            }
+        }
+
+        Path out = Path.of(config.get("out"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, "[\n  " + String.join(",\n  ", rows) + "\n]\n");
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    // One row: which run (executor, threads, benchmark, params) and its metrics
+    private static String toJson(String executor, int threads, RunResult run) {
+        var params = run.getParams();
+        Result<?> primary = run.getPrimaryResult();
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"executor\":\"").append(executor).append('"');
+        json.append(",\"threads\":").append(threads);
+        String benchmark = params.getBenchmark();
+        json.append(",\"benchmark\":\"").append(benchmark.substring(benchmark.lastIndexOf('.') + 1)).append('"');
+        for (String key : params.getParamsKeys()) {
+            json.append(",\"").append(key).append("\":\"").append(params.getParam(key)).append('"');
+        }
+        if (params.getMode() == Mode.Throughput) {
+            json.append(",\"throughputOpsPerUs\":").append(number(primary.getScore()));
+        } else {
+            json.append(",\"p50LatencyUs\":").append(number(primary.getStatistics().getPercentile(50)));
+            json.append(",\"p99LatencyUs\":").append(number(primary.getStatistics().getPercentile(99)));
+        }
+        Result<?> alloc = run.getSecondaryResults().get("gc.alloc.rate.norm");
+        if (alloc != null) {
+            json.append(",\"allocBytesPerOp\":").append(number(alloc.getScore()));
+        }
+        return json.append('}').toString();
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.4f", value) : "null";
+    }
+}
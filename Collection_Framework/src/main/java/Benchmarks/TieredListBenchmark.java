@@ -0,0 +1,85 @@
+package Benchmarks;
+
+import List.TieredList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MIXED POSITIONAL WORKLOAD (order-book style):
+ * Each operation picks a random index and does one of
+ *   insert (40%), remove (40%), get (20%)
+ * so the list size stays roughly constant at `size`.
+ *
+ * Expected: ArrayList O(n) shifting, LinkedList O(n) traversal,
+ * TieredList O(√n) for inserts/removes and O(1) for gets.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TieredListBenchmark {
+
+    @Param({"ArrayList", "LinkedList", "TieredList"})
+    String implementation;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    List<Integer> list;
+    SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<Integer> seed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            seed.add(i);
+        }
+        list = switch (implementation) {
+            case "ArrayList" -> new ArrayList<>(seed);
+            case "LinkedList" -> new LinkedList<>(seed);
+            case "TieredList" -> new TieredList<>(seed);
+            default -> throw new IllegalArgumentException(implementation);
+        };
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public Integer mixedPositional() {
+        int op = random.nextInt(10);
+        int n = list.size();
+        if (op < 4 || n == 0) {
+            list.add(random.nextInt(n + 1), op);
+            return op;
+        } else if (op < 8) {
+            return list.remove(random.nextInt(n));
+        }
+        return list.get(random.nextInt(n));
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TieredListBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,96 @@
+package Benchmarks;
+
+import Sort.TopK;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TOP K OF N STUDENTS BY MARKS
+ * - fullSort:        copy + List.sort + subList (what ComparatorImpl does)
+ * - streamSorted:    stream().sorted(comparator).limit(k)
+ * - heap:            TopK.largest (bounded 4-ary heap, one pass)
+ * - parallelHeap:    TopK.parallelLargest (per-slice heaps, merged)
+ * - collector:       parallelStream().collect(TopK.collector(...))
+ * - partialSort:     copy + TopK.partialSort (quickselect + sort k)
+ *
+ * Marks are uniform in [0, 10M), so after the first few thousand elements
+ * almost every element is rejected at the heap root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TopKBenchmark {
+
+    public record Student(int id, int marks) {
+    }
+
+    private static final Comparator<Student> BY_MARKS = Comparator.comparingInt(Student::marks);
+    private static final Comparator<Student> BY_MARKS_DESC = BY_MARKS.reversed();
+
+    @Param({"1000000", "10000000"})
+    int n;
+
+    @Param({"100", "10000"})
+    int k;
+
+    List<Student> students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            students.add(new Student(i, random.nextInt(10_000_000)));
+        }
+    }
+
+    @Benchmark
+    public List<Student> fullSort() {
+        List<Student> copy = new ArrayList<>(students);
+        copy.sort(BY_MARKS_DESC);
+        return copy.subList(0, k);
+    }
+
+    @Benchmark
+    public List<Student> streamSorted() {
+        return students.stream().sorted(BY_MARKS_DESC).limit(k).toList();
+    }
+
+    @Benchmark
+    public List<Student> heap() {
+        return TopK.largest(students, k, BY_MARKS);
+    }
+
+    @Benchmark
+    public List<Student> parallelHeap() {
+        return TopK.parallelLargest(students, k, BY_MARKS);
+    }
+
+    @Benchmark
+    public List<Student> collector() {
+        return students.parallelStream().collect(TopK.collector(k, BY_MARKS_DESC));
+    }
+
+    @Benchmark
+    public List<Student> partialSort() {
+        Student[] copy = students.toArray(new Student[0]);
+        TopK.partialSort(copy, k, BY_MARKS_DESC);
+        return Arrays.asList(copy).subList(0, k);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TopKBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
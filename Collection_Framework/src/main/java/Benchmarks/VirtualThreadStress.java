@@ -0,0 +1,428 @@
+package Benchmarks;
+
+import List.ConcurrentVector;
+import List.StampedList;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * VIRTUAL-THREAD STRESS HARNESS OVERVIEW:
+ * - Starts up to 1M virtual threads that hammer ONE shared list with a
+ *   configurable operation mix, then checks the final state for lost,
+ *   duplicated or invented elements and reports throughput and pinning
+ *
+ * OPERATIONS (mix=add:30,get:30,remove:30,iterate:5,critical:5):
+ *   add       add a value unique to (thread, step)
+ *   get       get(random index < size())       — check-then-act
+ *   remove    remove the last element, record which value came out
+ *   iterate   walk the list (under the list's lock where its docs require)
+ *   critical  add + simulated I/O (parkNanos, io=µs) inside the structure's
+ *             own atomic-compound mechanism, if it has one:
+ *
+ *   ArrayList              none — unsynchronized control, should FAIL
+ *   Vector                 synchronized (list) { add; io }   → pins carrier
+ *   synchronizedList       synchronized (list) { add; io }   → pins carrier
+ *   CopyOnWriteArrayList   add; io        (no client-visible lock)
+ *   StampedList            transaction(view -> { add; io })  → write lock, no pin
+ *   ConcurrentVector       add; io        (CAS, no lock to hold)
+ *
+ * INVARIANTS (checked after all threads finish):
+ * Every value added exactly once (re-derived from each thread's seed) must
+ * end up either in the list or in the removed set — never both, never
+ * twice, never missing — and nothing else may appear in either; size()
+ * must agree with the final snapshot; every get() must return an added value.
+ *
+ * PINNING (JFR, in-process RecordingStream, threshold 0):
+ *   jdk.VirtualThreadPinned  a virtual thread parked while holding a monitor:
+ *                            its carrier OS thread is blocked for the park
+ *   jdk.JavaMonitorEnter     a thread blocked entering a contended monitor
+ *                            (on JDK 21 a virtual thread blocks its carrier)
+ * java.util.concurrent locks (StampedLock, ReentrantLock) unmount the
+ * virtual thread instead, so the carrier runs other virtual threads.
+ * CopyOnWriteArrayList writers use an internal synchronized block in
+ * JDK 21: expect monitor waits on writes, but no pinned parks.
+ *
+ * USAGE (key=value arguments, all optional):
+ *   java -cp target/classes Benchmarks.VirtualThreadStress threads=1000000 ops=10
+ *   threads     virtual threads (default 100000, at most 1000000)
+ *   ops         operations per thread (default 20)
+ *   mix         operation weights (default add:30,get:30,remove:30,iterate:5,critical:5)
+ *   io          µs of simulated I/O in critical (default 50)
+ *   carriers    carrier threads (jdk.virtualThreadScheduler.parallelism,
+ *               default max(4, CPUs) so races show up even on one CPU)
+ *   structures  comma-separated names (default: all six above)
+ *   seed        random seed (default 42)
+ */
+public final class VirtualThreadStress {
+    private static final int MAX_THREADS = 1_000_000;
+    private static final int MAX_RETRIES = 1_000;
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final List<String> STRUCTURES = List.of("ArrayList", "Vector", "synchronizedList",
+            "CopyOnWriteArrayList", "StampedList", "ConcurrentVector");
+
+    public enum Op { ADD, GET, REMOVE, ITERATE, CRITICAL }
+
+    private VirtualThreadStress() {
+    }
+
+    public record Config(int threads, int opsPerThread, Map<Op, Integer> mix, long ioNanos, long seed) {
+        public Config {
+            if (threads <= 0 || threads > MAX_THREADS) {
+                throw new IllegalArgumentException("threads must be in [1, " + MAX_THREADS + "]: " + threads);
+            }
+            if (opsPerThread <= 0 || (long) threads * opsPerThread > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("threads × ops must fit in an int: " + threads + " × " + opsPerThread);
+            }
+            if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("mix needs a positive total weight: " + mix);
+            }
+        }
+
+        long totalOps() {
+            return (long) threads * opsPerThread;
+        }
+    }
+
+    public record Result(String structure, Config config, long wallNanos, long pinnedEvents, long pinnedNanos,
+                         long monitorBlocks, long races, long iterationFailures, long crashes,
+                         List<String> violations) {
+        public double opsPerSecond() {
+            return config.totalOps() * 1e9 / wallNanos;
+        }
+
+        public boolean passed() {
+            return violations.isEmpty() && crashes == 0;
+        }
+    }
+
+    // Per-run shared state; counters are LongAdders so threads do not contend on them
+    private static final class Run {
+        final String structure;
+        final Config config;
+        final List<Integer> list;
+        final Op[] opTable;
+        final long[] removed;
+        final LongAdder races = new LongAdder();
+        final LongAdder iterationFailures = new LongAdder();
+        final LongAdder crashes = new LongAdder();
+        final LongAdder invalidReads = new LongAdder();
+        final LongAdder doubleRemovals = new LongAdder();
+
+        Run(String structure, Config config) {
+            this.structure = structure;
+            this.config = config;
+            this.list = newList(structure);
+            this.opTable = opTable(config.mix());
+            this.removed = new long[(int) ((config.totalOps() + 63) >>> 6)];
+        }
+    }
+
+    private static List<Integer> newList(String structure) {
+        return switch (structure) {
+            case "ArrayList" -> new ArrayList<>();
+            case "Vector" -> new Vector<>();
+            case "synchronizedList" -> Collections.synchronizedList(new ArrayList<>());
+            case "CopyOnWriteArrayList" -> new CopyOnWriteArrayList<>();
+            case "StampedList" -> new StampedList<>();
+            case "ConcurrentVector" -> new ConcurrentVector<>();
+            default -> throw new IllegalArgumentException("Unknown structure: " + structure);
+        };
+    }
+
+    // One slot per unit of weight: op = table[random.nextInt(table.length)]
+    private static Op[] opTable(Map<Op, Integer> mix) {
+        List<Op> table = new ArrayList<>();
+        mix.forEach((op, weight) -> table.addAll(Collections.nCopies(weight, op)));
+        return table.toArray(new Op[0]);
+    }
+
+    // ---- running ----
+
+    public static Result run(String structure, Config config) throws InterruptedException {
+        Run run = new Run(structure, config);
+        LongAdder pinnedEvents = new LongAdder();
+        LongAdder pinnedNanos = new LongAdder();
+        LongAdder monitorBlocks = new LongAdder();
+        long wallNanos;
+        try (RecordingStream jfr = new RecordingStream()) {
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withoutStackTrace();
+            jfr.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ZERO).withoutStackTrace();
+            jfr.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.increment();
+                pinnedNanos.add(event.getDuration().toNanos());
+            });
+            jfr.onEvent("jdk.JavaMonitorEnter", event -> {
+                if (event.getThread() != null && event.getThread().isVirtual()) {
+                    monitorBlocks.increment();
+                }
+            });
+            jfr.startAsync();
+
+            CountDownLatch start = new CountDownLatch(1);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < config.threads(); t++) {
+                    int thread = t;
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        worker(run, thread);
+                    });
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.DAYS);
+                wallNanos = System.nanoTime() - begin;
+            }
+            jfr.stop();
+        }
+        return new Result(structure, config, wallNanos, pinnedEvents.sum(), pinnedNanos.sum(), monitorBlocks.sum(),
+                run.races.sum(), run.iterationFailures.sum(), run.crashes.sum(), checkInvariants(run));
+    }
+
+    private static void worker(Run run, int thread) {
+        Config config = run.config;
+        SplittableRandom ops = opRandom(config, thread);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int base = thread * config.opsPerThread();
+        for (int step = 0; step < config.opsPerThread(); step++) {
+            Op op = run.opTable[ops.nextInt(run.opTable.length)];
+            try {
+                switch (op) {
+                    case ADD -> run.list.add(base + step);
+                    case GET -> get(run, random);
+                    case REMOVE -> remove(run);
+                    case ITERATE -> iterate(run);
+                    case CRITICAL -> critical(run, base + step);
+                }
+            } catch (RuntimeException e) {
+                run.crashes.increment();
+            }
+        }
+    }
+
+    // Same seed per thread → the invariant check can replay which values were added
+    private static SplittableRandom opRandom(Config config, int thread) {
+        return new SplittableRandom(config.seed() * 0x9E3779B97F4A7C15L + thread);
+    }
+
+    private static void get(Run run, ThreadLocalRandom random) {
+        int size = run.list.size();
+        if (size == 0) {
+            return;
+        }
+        try {
+            Integer value = run.list.get(random.nextInt(size));
+            if (value == null || value < 0 || value >= run.config.totalOps()) {
+                run.invalidReads.increment();
+            }
+        } catch (IndexOutOfBoundsException e) {
+            run.races.increment();          // size() was stale by the time get() ran
+        }
+    }
+
+    // Pops the last element; retries when another thread shrank the list in between
+    private static void remove(Run run) {
+        for (int attempt = 0; attempt < MAX_RETRIES; attempt++) {
+            Integer value;
+            try {
+                if (run.list instanceof ConcurrentVector<Integer> vector) {
+                    value = vector.removeLast();
+                } else {
+                    int size = run.list.size();
+                    if (size == 0) {
+                        return;
+                    }
+                    value = run.list.remove(size - 1);
+                }
+            } catch (IndexOutOfBoundsException e) {
+                run.races.increment();
+                continue;
+            } catch (NoSuchElementException e) {
+                return;
+            }
+            markRemoved(run, value);
+            return;
+        }
+        run.crashes.increment();
+    }
+
+    private static void markRemoved(Run run, Integer value) {
+        if (value == null || value < 0 || value >= run.config.totalOps()) {
+            run.invalidReads.increment();
+            return;
+        }
+        long bit = 1L << value;
+        long previous = (long) BITS.getAndBitwiseOr(run.removed, value >>> 6, bit);
+        if ((previous & bit) != 0) {
+            run.doubleRemovals.increment();
+        }
+    }
+
+    private static void iterate(Run run) {
+        long sum = 0;
+        try {
+            if (guardedByMonitor(run.structure)) {
+                synchronized (run.list) {
+                    for (Integer value : run.list) {
+                        sum += value;
+                    }
+                }
+            } else {
+                for (Integer value : run.list) {
+                    sum += value;
+                }
+            }
+        } catch (ConcurrentModificationException | NullPointerException e) {
+            run.iterationFailures.increment();
+        }
+        if (sum < 0) {
+            run.invalidReads.increment();
+        }
+    }
+
+    private static void critical(Run run, int value) {
+        long io = run.config.ioNanos();
+        if (guardedByMonitor(run.structure)) {
+            synchronized (run.list) {
+                run.list.add(value);
+                LockSupport.parkNanos(io);      // parks while holding the monitor: pinned
+            }
+        } else if (run.list instanceof StampedList<Integer> stamped) {
+            stamped.transaction(view -> {
+                view.add(value);
+                LockSupport.parkNanos(io);      // holds the write lock, but unmounts
+            });
+        } else {
+            run.list.add(value);
+            LockSupport.parkNanos(io);
+        }
+    }
+
+    private static boolean guardedByMonitor(String structure) {
+        return structure.equals("Vector") || structure.equals("synchronizedList");
+    }
+
+    // ---- invariants ----
+
+    private static List<String> checkInvariants(Run run) {
+        Config config = run.config;
+        List<String> violations = new ArrayList<>();
+        int total = (int) config.totalOps();
+        long[] added = new long[run.removed.length];
+        for (int thread = 0; thread < config.threads(); thread++) {
+            SplittableRandom ops = opRandom(config, thread);
+            int base = thread * config.opsPerThread();
+            for (int step = 0; step < config.opsPerThread(); step++) {
+                Op op = run.opTable[ops.nextInt(run.opTable.length)];
+                if (op == Op.ADD || op == Op.CRITICAL) {
+                    added[(base + step) >>> 6] |= 1L << (base + step);
+                }
+            }
+        }
+
+        Object[] snapshot = run.list.toArray();
+        if (snapshot.length != run.list.size()) {
+            violations.add("size() = " + run.list.size() + " but the snapshot has " + snapshot.length + " elements");
+        }
+        long[] present = new long[run.removed.length];
+        long duplicates = 0;
+        long phantoms = 0;
+        long resurrected = 0;
+        for (Object element : snapshot) {
+            if (!(element instanceof Integer value) || value < 0 || value >= total) {
+                phantoms++;
+                continue;
+            }
+            long bit = 1L << value;
+            if ((present[value >>> 6] & bit) != 0) {
+                duplicates++;
+            }
+            if ((run.removed[value >>> 6] & bit) != 0) {
+                resurrected++;
+            }
+            present[value >>> 6] |= bit;
+        }
+        long lost = 0;
+        for (int w = 0; w < added.length; w++) {
+            long accounted = present[w] | run.removed[w];
+            lost += Long.bitCount(added[w] & ~accounted);
+            phantoms += Long.bitCount(accounted & ~added[w]);
+        }
+        addIfNonZero(violations, lost, "added values missing from both the list and the removed set (lost updates)");
+        addIfNonZero(violations, duplicates, "values present more than once");
+        addIfNonZero(violations, resurrected, "values both removed and still present");
+        addIfNonZero(violations, phantoms, "values that were never added");
+        addIfNonZero(violations, run.doubleRemovals.sum(), "values removed twice");
+        addIfNonZero(violations, run.invalidReads.sum(), "reads that returned a value never added");
+        return violations;
+    }
+
+    private static void addIfNonZero(List<String> violations, long count, String description) {
+        if (count != 0) {
+            violations.add(String.format("%,d %s", count, description));
+        }
+    }
+
+    // ---- command line ----
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("threads", "100000");
+        options.put("ops", "20");
+        options.put("mix", "add:30,get:30,remove:30,iterate:5,critical:5");
+        options.put("io", "50");
+        options.put("carriers", String.valueOf(Math.max(4, Runtime.getRuntime().availableProcessors())));
+        options.put("structures", String.join(",", STRUCTURES));
+        options.put("seed", "42");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !options.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Expected key=value with key in " + options.keySet() + ": " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        // Read once when the virtual-thread scheduler starts: set before the first virtual thread
+        System.setProperty("jdk.virtualThreadScheduler.parallelism", options.get("carriers"));
+
+        Map<Op, Integer> mix = new EnumMap<>(Op.class);
+        for (String entry : options.get("mix").split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected op:weight in mix: " + entry);
+            }
+            mix.put(Op.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        Config config = new Config(Integer.parseInt(options.get("threads")), Integer.parseInt(options.get("ops")),
+                mix, TimeUnit.MICROSECONDS.toNanos(Long.parseLong(options.get("io"))), Long.parseLong(options.get("seed")));
+
+        System.out.println("=== Virtual-Thread Stress ===");
+        System.out.printf("%,d virtual threads × %d ops, mix %s, io %s µs, %s carriers%n%n",
+                config.threads(), config.opsPerThread(), mix, options.get("io"), options.get("carriers"));
+        System.out.printf("%-21s %12s %9s %13s %14s %9s %8s %8s  %s%n", "structure", "ops/s", "pinned",
+                "pinned ms", "monitor waits", "races", "CMEs", "crashes", "invariants");
+        for (String structure : options.get("structures").split(",")) {
+            Result result = run(structure.trim(), config);
+            System.out.printf("%-21s %,12.0f %,9d %,13.1f %,14d %,9d %,8d %,8d  %s%n", result.structure(),
+                    result.opsPerSecond(), result.pinnedEvents(), result.pinnedNanos() / 1e6, result.monitorBlocks(),
+                    result.races(), result.iterationFailures(), result.crashes(),
+                    result.violations().isEmpty() ? "OK" : "VIOLATED");
+            for (String violation : result.violations()) {
+                System.out.println("    - " + violation);
+            }
+        }
+        System.out.println("\npinned / monitor waits: carrier threads blocked (bad under virtual threads)");
+        System.out.println("races: check-then-act (size() then get/remove) lost a race — expected, and retried");
+    }
+}
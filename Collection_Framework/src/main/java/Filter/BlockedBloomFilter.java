@@ -0,0 +1,278 @@
+package Filter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/*
+ * BLOCKED BLOOM FILTER OVERVIEW:
+ * - Bit array split into 512-bit blocks (one 64-byte cache line each)
+ * - An item picks ONE block from its hash, then sets/tests k bits inside it
+ * - A classic Bloom filter spreads the k bits over the whole array:
+ *   k cache misses per lookup; here it is one miss, whatever k is
+ *
+ * INTERNAL STRUCTURE:
+ * long[] bits: [block 0: 8 longs][block 1: 8 longs]...
+ * block  = high 32 bits of the hash, reduced to [0, blocks) by multiply-shift
+ * bit i  = top 9 bits of the i-th step of a 64-bit LCG seeded with the hash
+ *          (a + i·b double hashing repeats positions inside a 512-bit block
+ *          often enough to miss the target FPP)
+ *
+ * SIZING:
+ * Blocks receive a Poisson-distributed number of items, and overfull blocks
+ * have a higher false positive rate than a classic filter of the same size.
+ * The filter is sized with the exact blocked formula (Poisson mixture over
+ * per-block FPPs), which needs ~10-20% more bits than a classic filter:
+ *   1% FPP → ~10 bits/key, 0.1% → ~15.6 bits/key
+ *
+ * vs CuckooFilter:
+ * - Faster inserts (no relocation), never "full" (FPP degrades instead)
+ * - No removal: clearing a bit could erase other items
+ *
+ * PROS:
+ * - One cache line per add / lookup; no allocation
+ * - Predictable memory: fixed bit array, serialized as-is
+ *
+ * CONS:
+ * - Cannot remove items; FPP rises if more items than expected are added
+ * - Not thread-safe for add (lookups are safe once building is done)
+ *
+ * WHEN TO USE:
+ * - Guarding lookups that mostly miss (caches, disk or remote stores)
+ * - Insert-only key sets: SSTables, crawled URLs, seen-event IDs
+ */
+public final class BlockedBloomFilter<T> implements MembershipFilter<T> {
+    private static final int MAGIC = 0x424C4246; // "BLBF"
+    private static final int BLOCK_BITS = 512;
+    private static final int LONGS_PER_BLOCK = BLOCK_BITS / 64;
+    private static final int MAX_HASHES = 16;
+    // 64-bit LCG (Knuth MMIX constants): its high bits give the k positions
+    private static final long LCG_MULTIPLIER = 6364136223846793005L;
+    private static final long LCG_INCREMENT = 1442695040888963407L;
+
+    private final long[] bits;
+    private final int blocks;
+    private final int hashes;
+    private final ToLongFunction<? super T> hasher;
+    private long count;
+
+    private BlockedBloomFilter(int blocks, int hashes, ToLongFunction<? super T> hasher) {
+        this.blocks = blocks;
+        this.hashes = hashes;
+        this.hasher = Objects.requireNonNull(hasher);
+        this.bits = new long[blocks * LONGS_PER_BLOCK];
+    }
+
+    // ---- factories ----
+
+    public static <T> BlockedBloomFilter<T> create(long expectedItems, double fpp) {
+        return create(expectedItems, fpp, FilterHash.defaultHasher());
+    }
+
+    // Smallest filter whose FPP at expectedItems is <= fpp
+    public static <T> BlockedBloomFilter<T> create(long expectedItems, double fpp, ToLongFunction<? super T> hasher) {
+        if (expectedItems < 0) {
+            throw new IllegalArgumentException("expectedItems must be >= 0: " + expectedItems);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        long n = Math.max(1, expectedItems);
+        // Start from the classic optimum m = -n ln p / ln²2 and grow by 2%
+        double classicBits = -n * Math.log(fpp) / (Math.log(2) * Math.log(2));
+        long blocks = Math.max(1, (long) Math.ceil(classicBits / BLOCK_BITS));
+        while (bestFpp(blocks, n)[0] > fpp) {
+            blocks = Math.max(blocks + 1, (long) (blocks * 1.02));
+        }
+        if (blocks > Integer.MAX_VALUE / LONGS_PER_BLOCK) {
+            throw new IllegalArgumentException("Filter too large: " + blocks + " blocks");
+        }
+        return new BlockedBloomFilter<>((int) blocks, (int) bestFpp(blocks, n)[1], hasher);
+    }
+
+    // {fpp, k} for the k in [1, MAX_HASHES] that minimizes the blocked FPP
+    private static double[] bestFpp(long blocks, long items) {
+        double best = 1;
+        int bestK = 1;
+        for (int k = 1; k <= MAX_HASHES; k++) {
+            double p = blockedFpp(blocks, items, k);
+            if (p < best) {
+                best = p;
+                bestK = k;
+            }
+        }
+        return new double[]{best, bestK};
+    }
+
+    // Σ Poisson(i; n / blocks) · (1 - (1 - 1/512)^(k·i))^k
+    private static double blockedFpp(long blocks, long items, int k) {
+        double lambda = (double) items / blocks;
+        if (lambda == 0) {
+            return 0;
+        }
+        long upper = (long) (lambda + 12 * Math.sqrt(lambda) + 20);
+        double logLambda = Math.log(lambda);
+        double logPoisson = -lambda;           // log P(0)
+        double missOne = Math.log1p(-1.0 / BLOCK_BITS);
+        double fpp = 0;
+        for (long i = 0; i <= upper; i++) {
+            double bitSet = -Math.expm1(k * i * missOne);
+            fpp += Math.exp(logPoisson) * Math.pow(bitSet, k);
+            logPoisson += logLambda - Math.log(i + 1);
+        }
+        return Math.min(1, fpp);
+    }
+
+    // ---- filter operations ----
+
+    // O(k) bit operations within one cache line
+    @Override
+    public boolean add(T item) {
+        addHash(hasher.applyAsLong(item));
+        return true;
+    }
+
+    @Override
+    public boolean mightContain(T item) {
+        return mightContainHash(hasher.applyAsLong(item));
+    }
+
+    public void addHash(long hash) {
+        int base = blockOf(hash) * LONGS_PER_BLOCK;
+        long x = hash;
+        for (int i = 0; i < hashes; i++) {
+            x = x * LCG_MULTIPLIER + LCG_INCREMENT;
+            int bit = (int) (x >>> 55);              // top 9 bits: 0..511
+            bits[base + (bit >>> 6)] |= 1L << bit;
+        }
+        count++;
+    }
+
+    public boolean mightContainHash(long hash) {
+        int base = blockOf(hash) * LONGS_PER_BLOCK;
+        long x = hash;
+        for (int i = 0; i < hashes; i++) {
+            x = x * LCG_MULTIPLIER + LCG_INCREMENT;
+            int bit = (int) (x >>> 55);
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int blockOf(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32);
+    }
+
+    // Union: both filters must have the same shape and hasher
+    public void addAll(BlockedBloomFilter<T> other) {
+        if (other.blocks != blocks || other.hashes != hashes) {
+            throw new IllegalArgumentException("Filters have different shapes");
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+        count += other.count;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public double expectedFpp() {
+        return blockedFpp(blocks, count, hashes);
+    }
+
+    @Override
+    public long bitSize() {
+        return (long) bits.length * 64;
+    }
+
+    public int hashFunctions() {
+        return hashes;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0);
+        count = 0;
+    }
+
+    // ---- serialization ----
+    // [magic int][blocks int][hashes int][count long][bits: blocks × 8 longs]
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(blocks);
+        data.writeInt(hashes);
+        data.writeLong(count);
+        for (long word : bits) {
+            data.writeLong(word);
+        }
+        data.flush();
+    }
+
+    // The hasher must be the one the filter was built with
+    public static <T> BlockedBloomFilter<T> readFrom(InputStream in, ToLongFunction<? super T> hasher) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized BlockedBloomFilter");
+        }
+        int blocks = data.readInt();
+        int hashes = data.readInt();
+        if (blocks <= 0 || blocks > Integer.MAX_VALUE / LONGS_PER_BLOCK || hashes <= 0 || hashes > MAX_HASHES) {
+            throw new IllegalArgumentException("Corrupt BlockedBloomFilter header");
+        }
+        BlockedBloomFilter<T> filter = new BlockedBloomFilter<>(blocks, hashes, hasher);
+        filter.count = data.readLong();
+        for (int i = 0; i < filter.bits.length; i++) {
+            filter.bits[i] = data.readLong();
+        }
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockedBloomFilter[count=" + count + ", bits=" + bitSize() + ", k=" + hashes
+                + String.format(", fpp=%.4f%%]", expectedFpp() * 100);
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Blocked Bloom Filter ===");
+        int items = 1_000_000;
+        for (double fpp : new double[]{0.01, 0.001}) {
+            BlockedBloomFilter<String> filter = create(items, fpp);
+            for (int i = 0; i < items; i++) {
+                filter.add("user-" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < items; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            System.out.printf("target %.2f%%: %.1f bits/key, k=%d, expected %.3f%%, measured %.3f%%%n",
+                    fpp * 100, (double) filter.bitSize() / items, filter.hashFunctions(),
+                    filter.expectedFpp() * 100, falsePositives * 100.0 / items);
+        }
+
+        BlockedBloomFilter<String> filter = create(1000, 0.01);
+        filter.add("alice");
+        byte[] bytes = filter.toByteArray();
+        BlockedBloomFilter<String> copy = readFrom(new java.io.ByteArrayInputStream(bytes), FilterHash.defaultHasher());
+        System.out.println("Serialized 1000-key filter: " + bytes.length + " bytes, copy contains alice: "
+                + copy.mightContain("alice") + ", bob: " + copy.mightContain("bob"));
+    }
+}
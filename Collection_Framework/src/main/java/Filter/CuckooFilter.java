@@ -0,0 +1,416 @@
+package Filter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.function.ToLongFunction;
+
+/*
+ * CUCKOO FILTER OVERVIEW:
+ * - Stores a short FINGERPRINT (f bits of the hash) of every item, not the item
+ * - Each item has two candidate buckets of 4 fingerprint slots:
+ *     i1 = hash bits,   i2 = (H(fingerprint) - i1) mod buckets
+ *   so either bucket can be computed from the other plus the fingerprint
+ *   ("partial-key cuckoo hashing"), which is what makes relocation possible
+ * - Insert: free slot in i1 or i2, otherwise evict a random fingerprint to
+ *   ITS other bucket, up to MAX_KICKS times
+ * - Lookup: compare 8 slots; Remove: clear one matching slot
+ *
+ * INTERNAL STRUCTURE:
+ * long[] with fingerprints bit-packed: bucket b, slot s → entry 4·b + s,
+ * f bits each (f = 4..32); a fingerprint of 0 means "empty slot".
+ * A one-entry victim stash keeps the last evicted fingerprint when an insert
+ * gives up, so nothing already added is ever lost.
+ *
+ * SIZING:
+ * f = ceil(log2(8 / fpp))  (8 = 2 buckets × 4 slots compared per lookup)
+ * buckets = expected / (4 × 0.95); 95% load is reachable with 4-slot buckets
+ *   1% FPP → 10-bit fingerprints, ~10.5 bits/key; 0.1% → 13 bits, ~13.7
+ * The subtraction form of the alternate bucket is an involution for any
+ * bucket count, so the table is not rounded up to a power of two (the usual
+ * XOR form needs one and can waste up to half the space).
+ *
+ * vs BlockedBloomFilter:
+ * - Supports remove(); better space below ~0.3% FPP
+ * - Inserts can fail when the table is full (add() returns false)
+ * - remove() of an item that was never added can delete another item's
+ *   fingerprint (false negative) — only remove what you added
+ * - The same item added more than 8 times fills both buckets
+ *
+ * PROS:
+ * - Deletion, so it can track a changing key set (cache contents)
+ * - Lookups touch at most two buckets
+ *
+ * CONS:
+ * - Not thread-safe
+ * - Inserts slow down near full load (many relocations)
+ *
+ * WHEN TO USE:
+ * - Guarding a map or cache whose keys are removed as well as added
+ * - Very low false positive rates with the fewest bits
+ */
+public final class CuckooFilter<T> implements MembershipFilter<T> {
+    private static final int MAGIC = 0x434B4F46; // "CKOF"
+    private static final int SLOTS = 4;
+    private static final int MAX_KICKS = 500;
+    private static final double MAX_LOAD = 0.95;
+
+    private final long[] table;
+    private final int fingerprintBits;
+    private final long fingerprintMask;
+    private final long buckets;
+    private final ToLongFunction<? super T> hasher;
+    private final SplittableRandom random = new SplittableRandom(0xC0C0);
+    private long count;
+    private long victimFingerprint;      // 0 = no victim
+    private long victimBucket;
+
+    private CuckooFilter(long buckets, int fingerprintBits, ToLongFunction<? super T> hasher) {
+        this.fingerprintBits = fingerprintBits;
+        this.fingerprintMask = (1L << fingerprintBits) - 1;
+        this.buckets = buckets;
+        this.hasher = Objects.requireNonNull(hasher);
+        long tableBits = buckets * SLOTS * fingerprintBits;
+        // One spare word so a fingerprint straddling the last boundary can be read
+        this.table = new long[(int) ((tableBits + 63) / 64) + 1];
+    }
+
+    // ---- factories ----
+
+    public static <T> CuckooFilter<T> create(long expectedItems, double fpp) {
+        return create(expectedItems, fpp, FilterHash.defaultHasher());
+    }
+
+    public static <T> CuckooFilter<T> create(long expectedItems, double fpp, ToLongFunction<? super T> hasher) {
+        if (expectedItems < 0) {
+            throw new IllegalArgumentException("expectedItems must be >= 0: " + expectedItems);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        int bits = (int) Math.ceil(Math.log(2.0 * SLOTS / fpp) / Math.log(2));
+        bits = Math.max(4, Math.min(32, bits));
+        long buckets = Math.max(2, (long) Math.ceil(Math.max(1, expectedItems) / (SLOTS * MAX_LOAD)));
+        if (buckets * SLOTS * bits / 64 >= Integer.MAX_VALUE - 8 || buckets > 1L << 32) {
+            throw new IllegalArgumentException("Filter too large: " + expectedItems + " items");
+        }
+        return new CuckooFilter<>(buckets, bits, hasher);
+    }
+
+    // ---- filter operations ----
+
+    // O(1) amortized; false when the filter is full (the item is NOT added)
+    @Override
+    public boolean add(T item) {
+        return addHash(hasher.applyAsLong(item));
+    }
+
+    @Override
+    public boolean mightContain(T item) {
+        return mightContainHash(hasher.applyAsLong(item));
+    }
+
+    @Override
+    public boolean remove(T item) {
+        return removeHash(hasher.applyAsLong(item));
+    }
+
+    @Override
+    public boolean supportsRemoval() {
+        return true;
+    }
+
+    public boolean addHash(long hash) {
+        if (victimFingerprint != 0) {
+            return false;                      // full: the stash is taken
+        }
+        long fingerprint = fingerprintOf(hash);
+        long i1 = bucketOf(hash);
+        long i2 = altBucket(i1, fingerprint);
+        if (insertIntoBucket(i1, fingerprint) || insertIntoBucket(i2, fingerprint)) {
+            count++;
+            return true;
+        }
+        // Relocate: evict a random resident to its alternate bucket
+        long bucket = random.nextBoolean() ? i1 : i2;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = random.nextInt(SLOTS);
+            long evicted = slotValue(bucket, slot);
+            setSlot(bucket, slot, fingerprint);
+            fingerprint = evicted;
+            bucket = altBucket(bucket, fingerprint);
+            if (insertIntoBucket(bucket, fingerprint)) {
+                count++;
+                return true;
+            }
+        }
+        // The new item is stored, but one older fingerprint has no slot: stash it
+        victimFingerprint = fingerprint;
+        victimBucket = bucket;
+        count++;
+        return true;
+    }
+
+    public boolean mightContainHash(long hash) {
+        long fingerprint = fingerprintOf(hash);
+        long i1 = bucketOf(hash);
+        long i2 = altBucket(i1, fingerprint);
+        if (bucketContains(i1, fingerprint) || bucketContains(i2, fingerprint)) {
+            return true;
+        }
+        return victimFingerprint == fingerprint && (victimBucket == i1 || victimBucket == i2);
+    }
+
+    public boolean removeHash(long hash) {
+        long fingerprint = fingerprintOf(hash);
+        long i1 = bucketOf(hash);
+        long i2 = altBucket(i1, fingerprint);
+        if (removeFromBucket(i1, fingerprint) || removeFromBucket(i2, fingerprint)) {
+            count--;
+            // A slot opened up: move the stashed victim back into the table
+            if (victimFingerprint != 0) {
+                long victim = victimFingerprint;
+                long bucket = victimBucket;
+                victimFingerprint = 0;
+                count--;
+                addVictim(victim, bucket);
+            }
+            return true;
+        }
+        if (victimFingerprint == fingerprint && (victimBucket == i1 || victimBucket == i2)) {
+            victimFingerprint = 0;
+            count--;
+            return true;
+        }
+        return false;
+    }
+
+    // Re-inserts a stashed fingerprint (it may end up in the stash again)
+    private void addVictim(long fingerprint, long bucket) {
+        if (insertIntoBucket(bucket, fingerprint) || insertIntoBucket(altBucket(bucket, fingerprint), fingerprint)) {
+            count++;
+            return;
+        }
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = random.nextInt(SLOTS);
+            long evicted = slotValue(bucket, slot);
+            setSlot(bucket, slot, fingerprint);
+            fingerprint = evicted;
+            bucket = altBucket(bucket, fingerprint);
+            if (insertIntoBucket(bucket, fingerprint)) {
+                count++;
+                return;
+            }
+        }
+        victimFingerprint = fingerprint;
+        victimBucket = bucket;
+        count++;
+    }
+
+    // ---- hashing ----
+
+    private long fingerprintOf(long hash) {
+        long fingerprint = hash & fingerprintMask;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    // High 32 hash bits reduced to [0, buckets) by multiply-shift
+    private long bucketOf(long hash) {
+        return ((hash >>> 32) * buckets) >>> 32;
+    }
+
+    // Involution: altBucket(altBucket(i, fp), fp) == i
+    private long altBucket(long bucket, long fingerprint) {
+        long alt = bucketOf(FilterHash.mix(fingerprint)) - bucket;
+        return alt < 0 ? alt + buckets : alt;
+    }
+
+    // ---- bucket access (bit-packed fingerprints) ----
+
+    private boolean insertIntoBucket(long bucket, long fingerprint) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotValue(bucket, slot) == 0) {
+                setSlot(bucket, slot, fingerprint);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bucketContains(long bucket, long fingerprint) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotValue(bucket, slot) == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeFromBucket(long bucket, long fingerprint) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (slotValue(bucket, slot) == fingerprint) {
+                setSlot(bucket, slot, 0);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long slotValue(long bucket, int slot) {
+        long bitIndex = (bucket * SLOTS + slot) * fingerprintBits;
+        int word = (int) (bitIndex >>> 6);
+        int shift = (int) (bitIndex & 63);
+        long value = table[word] >>> shift;
+        if (shift + fingerprintBits > 64) {
+            value |= table[word + 1] << (64 - shift);
+        }
+        return value & fingerprintMask;
+    }
+
+    private void setSlot(long bucket, int slot, long fingerprint) {
+        long bitIndex = (bucket * SLOTS + slot) * fingerprintBits;
+        int word = (int) (bitIndex >>> 6);
+        int shift = (int) (bitIndex & 63);
+        table[word] = (table[word] & ~(fingerprintMask << shift)) | (fingerprint << shift);
+        if (shift + fingerprintBits > 64) {
+            int spill = 64 - shift;
+            table[word + 1] = (table[word + 1] & ~(fingerprintMask >>> spill)) | (fingerprint >>> spill);
+        }
+    }
+
+    // ---- stats ----
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    public long capacity() {
+        return buckets * SLOTS;
+    }
+
+    public double loadFactor() {
+        return (double) count / capacity();
+    }
+
+    public boolean isFull() {
+        return victimFingerprint != 0;
+    }
+
+    // 8 fingerprints compared per lookup, scaled by the fraction of used slots
+    @Override
+    public double expectedFpp() {
+        double comparedSlots = 2.0 * SLOTS * Math.min(1, loadFactor());
+        return -Math.expm1(comparedSlots * Math.log1p(-1.0 / ((1L << fingerprintBits) - 1)));
+    }
+
+    @Override
+    public long bitSize() {
+        return capacity() * fingerprintBits;
+    }
+
+    public int fingerprintBits() {
+        return fingerprintBits;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0);
+        count = 0;
+        victimFingerprint = 0;
+    }
+
+    // ---- serialization ----
+    // [magic int][buckets long][fingerprint bits int][count long]
+    // [victim fingerprint long][victim bucket long][table words]
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeLong(buckets);
+        data.writeInt(fingerprintBits);
+        data.writeLong(count);
+        data.writeLong(victimFingerprint);
+        data.writeLong(victimBucket);
+        for (long word : table) {
+            data.writeLong(word);
+        }
+        data.flush();
+    }
+
+    // The hasher must be the one the filter was built with
+    public static <T> CuckooFilter<T> readFrom(InputStream in, ToLongFunction<? super T> hasher) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a serialized CuckooFilter");
+        }
+        long buckets = data.readLong();
+        int bits = data.readInt();
+        if (buckets < 2 || buckets > 1L << 32 || bits < 4 || bits > 32) {
+            throw new IllegalArgumentException("Corrupt CuckooFilter header");
+        }
+        CuckooFilter<T> filter = new CuckooFilter<>(buckets, bits, hasher);
+        filter.count = data.readLong();
+        filter.victimFingerprint = data.readLong();
+        filter.victimBucket = data.readLong();
+        for (int i = 0; i < filter.table.length; i++) {
+            filter.table[i] = data.readLong();
+        }
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return "CuckooFilter[count=" + count + ", slots=" + capacity() + ", f=" + fingerprintBits
+                + String.format(", load=%.1f%%, fpp=%.4f%%]", loadFactor() * 100, expectedFpp() * 100);
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Cuckoo Filter ===");
+        int items = 1_000_000;
+        for (double fpp : new double[]{0.01, 0.001}) {
+            CuckooFilter<String> filter = create(items, fpp);
+            for (int i = 0; i < items; i++) {
+                filter.add("user-" + i);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < items; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            System.out.printf("target %.2f%%: f=%d, %.1f bits/key, load %.0f%%, expected %.3f%%, measured %.3f%%%n",
+                    fpp * 100, filter.fingerprintBits(), (double) filter.bitSize() / items,
+                    filter.loadFactor() * 100, filter.expectedFpp() * 100, falsePositives * 100.0 / items);
+        }
+
+        System.out.println("\n--- Deletion ---");
+        CuckooFilter<String> sessions = create(1000, 0.01);
+        sessions.add("session-1");
+        sessions.add("session-2");
+        System.out.println("contains session-1: " + sessions.mightContain("session-1"));
+        sessions.remove("session-1");
+        System.out.println("after remove, session-1: " + sessions.mightContain("session-1")
+                + ", session-2: " + sessions.mightContain("session-2") + ", count: " + sessions.count());
+
+        System.out.println("\n--- Filling past capacity ---");
+        CuckooFilter<Integer> small = create(100, 0.01);
+        int added = 0;
+        while (small.add(added)) {
+            added++;
+        }
+        System.out.println("capacity " + small.capacity() + " slots, accepted " + added + " items before add() returned false");
+
+        byte[] bytes = sessions.toByteArray();
+        CuckooFilter<String> copy = readFrom(new java.io.ByteArrayInputStream(bytes), FilterHash.defaultHasher());
+        System.out.println("Serialized: " + bytes.length + " bytes, copy contains session-2: " + copy.mightContain("session-2"));
+    }
+}
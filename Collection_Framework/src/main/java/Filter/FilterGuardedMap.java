@@ -0,0 +1,199 @@
+package Filter;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ * FILTER-GUARDED MAP: a MembershipFilter in front of any Map
+ * - get / containsKey / getOrDefault ask the filter first; "definitely
+ *   absent" answers without touching the map (no probe, no round-trip)
+ * - put adds the key to the filter; remove removes it when the filter
+ *   supports removal (CuckooFilter); with a Bloom filter the stale bits only
+ *   cost false positives, never wrong answers
+ * - Correctness never depends on the filter: every "maybe" goes to the map
+ *
+ * INVARIANT: every key of the delegate is in the filter (the filter is a
+ * superset), so "definitely absent" is never wrong. That only holds if every
+ * insertion goes through this map: it takes ownership of the delegate, and a
+ * key written to the delegate directly is missing from the filter, so lookups
+ * of it answer "absent" (a false negative). entrySet() is the live view of
+ * the delegate: removing through it is safe (the filter keeps a stale entry,
+ * costing only false positives). A full CuckooFilter breaks the invariant;
+ * from then on every lookup falls through to the delegate (tracked by
+ * filterRejections()).
+ *
+ * STATS:
+ * skippedLookups → lookups answered by the filter alone
+ * falsePositives → filter said "maybe", map said "absent"
+ *
+ * Not thread-safe (neither filter is); wrap with external locking, like
+ * Collections.synchronizedMap.
+ */
+public final class FilterGuardedMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> delegate;
+    private final MembershipFilter<? super K> filter;
+    private boolean exact = true;          // false once the filter rejected a key
+    private long skippedLookups;
+    private long falsePositives;
+    private long filterRejections;
+
+    // Takes ownership of the delegate (write to it only through this map) and adds its current keys to the filter
+    public FilterGuardedMap(Map<K, V> delegate, MembershipFilter<? super K> filter) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.filter = Objects.requireNonNull(filter);
+        for (K key : delegate.keySet()) {
+            track(key);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        if (definitelyAbsent(key)) {
+            return null;
+        }
+        V value = delegate.get(key);
+        if (value == null && !delegate.containsKey(key)) {
+            falsePositives++;
+        }
+        return value;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        if (definitelyAbsent(key)) {
+            return defaultValue;
+        }
+        if (!delegate.containsKey(key)) {
+            falsePositives++;
+            return defaultValue;
+        }
+        return delegate.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (definitelyAbsent(key)) {
+            return false;
+        }
+        boolean present = delegate.containsKey(key);
+        if (!present) {
+            falsePositives++;
+        }
+        return present;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        boolean existed = delegate.containsKey(key);
+        V previous = delegate.put(key, value);
+        // An overwrite re-adds a key the filter misses (written to the delegate directly)
+        if (!existed || (key != null && !filter.mightContain(key))) {
+            track(key);
+        }
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (definitelyAbsent(key) || !delegate.containsKey(key)) {
+            return null;
+        }
+        V previous = delegate.remove(key);
+        if (filter.supportsRemoval() && exact) {
+            ((MembershipFilter<Object>) filter).remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter.clear();
+        exact = true;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    // The live entry set of the delegate: removals through it are safe, see INVARIANT above
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return delegate.entrySet();
+    }
+
+    public long skippedLookups() {
+        return skippedLookups;
+    }
+
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    public long filterRejections() {
+        return filterRejections;
+    }
+
+    public MembershipFilter<? super K> filter() {
+        return filter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean definitelyAbsent(Object key) {
+        if (key == null || !exact) {
+            return false;          // null keys and a lossy filter go to the map
+        }
+        boolean absent;
+        try {
+            absent = !((MembershipFilter<Object>) filter).mightContain(key);
+        } catch (ClassCastException e) {
+            return false;          // hasher cannot handle this type: ask the map
+        }
+        if (absent) {
+            skippedLookups++;
+        }
+        return absent;
+    }
+
+    private void track(K key) {
+        if (key == null) {
+            return;
+        }
+        if (!filter.add(key)) {
+            // The filter is full: it no longer covers every key, so stop trusting it
+            exact = false;
+            filterRejections++;
+        }
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) {
+        System.out.println("=== Filter-Guarded Map ===");
+        Map<String, Integer> accounts = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            accounts.put("user-" + i, i);
+        }
+        FilterGuardedMap<String, Integer> guarded =
+                new FilterGuardedMap<>(accounts, CuckooFilter.create(200_000, 0.001));
+
+        int hits = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (guarded.containsKey("user-" + (i * 7 - 100_000))) {   // mostly absent keys
+                hits++;
+            }
+        }
+        System.out.println("Lookups: 200000, hits: " + hits + ", answered by the filter: "
+                + guarded.skippedLookups() + ", false positives: " + guarded.falsePositives());
+
+        guarded.remove("user-42");
+        System.out.println("After remove, get(user-42): " + guarded.get("user-42")
+                + ", get(user-43): " + guarded.get("user-43"));
+        System.out.println("Filter: " + guarded.filter());
+    }
+}
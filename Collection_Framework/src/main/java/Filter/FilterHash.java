@@ -0,0 +1,72 @@
+package Filter;
+
+import java.util.function.ToLongFunction;
+
+/*
+ * 64-BIT HASHES FOR FILTERS
+ * - hashCode() has only 32 bits: with hundreds of millions of keys, distinct
+ *   keys share a hashCode often enough to raise a filter's false positive
+ *   rate, so strings, byte arrays and numbers get a full 64-bit hash
+ * - Any other object falls back to its (mixed) hashCode()
+ * - Only the explicitly hashed types (CharSequence, byte[], Long, Integer)
+ *   hash the same in every JVM run, so only filters over them survive
+ *   writeTo/readFrom. The hashCode() fallback is as stable as the key's
+ *   hashCode: identity hashes (and enums, which use them) change between
+ *   runs, so serialize such filters with a hasher of your own (e.g. one
+ *   hashing Enum.name())
+ */
+public final class FilterHash {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+    private FilterHash() {
+    }
+
+    public static <T> ToLongFunction<T> defaultHasher() {
+        return FilterHash::hash64;
+    }
+
+    public static long hash64(Object item) {
+        return switch (item) {
+            case CharSequence chars -> hash64(chars);
+            case Long value -> hash64(value.longValue());
+            case Integer value -> hash64(value.longValue());
+            case byte[] bytes -> hash64(bytes, 0, bytes.length);
+            case null -> throw new IllegalArgumentException("null items are not supported");
+            default -> mix(item.hashCode() * SEED);
+        };
+    }
+
+    public static long hash64(long value) {
+        return mix(value ^ SEED);
+    }
+
+    // O(length)
+    public static long hash64(CharSequence chars) {
+        long h = SEED ^ chars.length();
+        for (int i = 0; i < chars.length(); i++) {
+            h = (h ^ chars.charAt(i)) * MULTIPLIER;
+        }
+        return mix(h);
+    }
+
+    // O(length); hash64(byte[]) of the ASCII bytes of a string differs from
+    // hash64(String), so pick one representation per filter
+    public static long hash64(byte[] bytes, int offset, int length) {
+        long h = SEED ^ length;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ (bytes[i] & 0xFF)) * MULTIPLIER;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 fmix64: every input bit affects every output bit
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
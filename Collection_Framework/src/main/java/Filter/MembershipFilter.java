@@ -0,0 +1,62 @@
+package Filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/*
+ * MEMBERSHIP FILTER: "is this key DEFINITELY absent?"
+ * - mightContain(x) == false → x was never added (no false negatives)
+ * - mightContain(x) == true  → x was probably added; wrong with probability
+ *   expectedFpp() (false positive rate)
+ *
+ * IMPLEMENTATIONS:
+ * BlockedBloomFilter: k bits inside one 64-byte block, one cache miss per
+ *                     lookup, no removal
+ * CuckooFilter:       fingerprints in 4-slot buckets, supports remove(),
+ *                     fewer bits than Bloom below ~0.3% FPP
+ *
+ * Items are reduced to a 64-bit hash by a ToLongFunction (FilterHash by
+ * default); all filter logic works on that hash.
+ */
+public interface MembershipFilter<T> {
+
+    // Returns false when the filter could not store the item (cuckoo: full)
+    boolean add(T item);
+
+    boolean mightContain(T item);
+
+    // Filters without removal throw UnsupportedOperationException
+    default boolean remove(T item) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support removal");
+    }
+
+    default boolean supportsRemoval() {
+        return false;
+    }
+
+    // Items added (minus items removed)
+    long count();
+
+    // False positive probability at the current count
+    double expectedFpp();
+
+    // Size of the filter's table in bits
+    long bitSize();
+
+    void clear();
+
+    // Compact binary form; each filter class has a matching readFrom
+    void writeTo(OutputStream out) throws IOException;
+
+    default byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8, bitSize() / 8 + 64));
+        try {
+            writeTo(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,359 @@
+package List;
+
+import Memory.DirectBuffers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/*
+ * BIGINTLIST OVERVIEW:
+ * - Segmented list of primitive ints addressed by a long index
+ * - Elements live in fixed-size chunks (default 2^20 ints = 4MB per chunk)
+ * - Growth allocates one new chunk; existing elements are never copied
+ * - Chunks can be on-heap (int[]) or off-heap (direct ByteBuffer)
+ *
+ * STRUCTURE:
+ * directory: [chunk0][chunk1][chunk2]...      (only references, tiny)
+ *               ↓       ↓       ↓
+ *             [int x 2^20][int x 2^20][int x 2^20 (partially filled)]
+ *
+ * index → chunk = index >>> chunkShift, offset = index & chunkMask
+ *
+ * ARRAYLIST GROWTH vs CHUNKED GROWTH:
+ * ArrayList: full copy on resize (old + new array alive → ~2.5x peak memory)
+ * BigIntList: one chunk allocation on resize (peak = size + one chunk)
+ *
+ * PROS:
+ * - More than Integer.MAX_VALUE elements (long index)
+ * - No O(n) copy and no latency spike on growth
+ * - Off-heap mode keeps billions of ints out of the GC's way
+ * - O(1) get(long)/set(long) with a shift and a mask
+ *
+ * CONS:
+ * - One extra indirection per access (directory lookup)
+ * - Append/get/set only (no middle insertion)
+ * - Off-heap chunks must be freed with close() (try-with-resources); the
+ *   list is unusable afterwards (checked: IllegalStateException)
+ * - Not thread-safe
+ *
+ * WHEN TO USE:
+ * - Very large append-mostly primitive datasets
+ * - Latency-sensitive paths that cannot tolerate resize pauses
+ */
+public abstract class BigIntList implements AutoCloseable {
+    public static final int DEFAULT_CHUNK_SHIFT = 20;
+
+    final int chunkShift;
+    final int chunkSize;
+    final int chunkMask;
+    private long size;
+    private int chunkCount;
+    private boolean closed;
+
+    BigIntList(int chunkShift) {
+        if (chunkShift < 4 || chunkShift > 28) {
+            throw new IllegalArgumentException("chunkShift must be in [4, 28]: " + chunkShift);
+        }
+        this.chunkShift = chunkShift;
+        this.chunkSize = 1 << chunkShift;
+        this.chunkMask = chunkSize - 1;
+    }
+
+    // On-heap list backed by int[] chunks
+    public static BigIntList onHeap() {
+        return new OnHeap(DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static BigIntList onHeap(int chunkShift) {
+        return new OnHeap(chunkShift);
+    }
+
+    // Off-heap list backed by direct ByteBuffer chunks in native byte order
+    public static BigIntList offHeap() {
+        return new OffHeap(DEFAULT_CHUNK_SHIFT);
+    }
+
+    public static BigIntList offHeap(int chunkShift) {
+        return new OffHeap(chunkShift);
+    }
+
+    abstract int read(int chunk, int offset);
+
+    abstract void write(int chunk, int offset, int value);
+
+    abstract void allocateChunk(int chunk);
+
+    abstract void releaseChunks();
+
+    // Directory growth copies chunk references only (size / chunkSize entries)
+    static int newDirectoryLength(int current, int required) {
+        int length = Math.max(current + (current >> 1), 8);
+        return Math.max(length, required);
+    }
+
+    // Append - O(1), allocates a new chunk every chunkSize elements
+    public void add(int value) {
+        ensureOpen();
+        long index = size;
+        int chunk = (int) (index >>> chunkShift);
+        if (chunk == chunkCount) {
+            allocateChunk(chunk);
+            chunkCount++;
+        }
+        write(chunk, (int) (index & chunkMask), value);
+        size = index + 1;
+    }
+
+    public void addAll(int[] values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    // Random access - O(1)
+    public int get(long index) {
+        ensureOpen();
+        Objects.checkIndex(index, size);
+        return read((int) (index >>> chunkShift), (int) (index & chunkMask));
+    }
+
+    public int set(long index, int value) {
+        ensureOpen();
+        Objects.checkIndex(index, size);
+        int chunk = (int) (index >>> chunkShift);
+        int offset = (int) (index & chunkMask);
+        int old = read(chunk, offset);
+        write(chunk, offset, value);
+        return old;
+    }
+
+    // Drop the last element - O(1), chunks are kept for reuse
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int value = get(size - 1);
+        size--;
+        return value;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Keeps allocated chunks so refilling does not allocate again
+    public void clear() {
+        ensureOpen();
+        size = 0;
+    }
+
+    // Chunk-at-a-time traversal, no per-element index arithmetic
+    public void forEach(IntConsumer action) {
+        ensureOpen();
+        long remaining = size;
+        for (int chunk = 0; remaining > 0; chunk++) {
+            int limit = (int) Math.min(remaining, chunkSize);
+            for (int offset = 0; offset < limit; offset++) {
+                action.accept(read(chunk, offset));
+            }
+            remaining -= limit;
+        }
+    }
+
+    public long sum() {
+        long[] sum = new long[1];
+        forEach(value -> sum[0] += value);
+        return sum[0];
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    public Spliterator.OfInt spliterator() {
+        ensureOpen();
+        return new ChunkSpliterator(0, size);
+    }
+
+    // Streaming view; parallel streams split on chunk boundaries
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    // Frees all chunks now (off-heap: native memory back to the OS); idempotent
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunkCount = 0;
+        size = 0;
+        releaseChunks();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void ensureOpen() {
+        // Off-heap: reading a freed chunk would crash the JVM, not throw
+        if (closed) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    private final class ChunkSpliterator implements Spliterator.OfInt {
+        private long index;
+        private final long end;
+
+        ChunkSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            ensureOpen();
+            if (index >= end) {
+                return false;
+            }
+            action.accept(read((int) (index >>> chunkShift), (int) (index & chunkMask)));
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            ensureOpen();
+            long i = index;
+            while (i < end) {
+                int chunk = (int) (i >>> chunkShift);
+                int offset = (int) (i & chunkMask);
+                int limit = (int) Math.min(chunkSize, offset + (end - i));
+                for (int o = offset; o < limit; o++) {
+                    action.accept(read(chunk, o));
+                }
+                i += limit - offset;
+            }
+            index = end;
+        }
+
+        // Split at a chunk boundary so each half walks whole chunks
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long mid = ((index + end) >>> 1) & ~(long) chunkMask;
+            if (mid <= index || mid >= end) {
+                return null;
+            }
+            ChunkSpliterator prefix = new ChunkSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    private static final class OnHeap extends BigIntList {
+        private int[][] chunks = new int[0][];
+
+        OnHeap(int chunkShift) {
+            super(chunkShift);
+        }
+
+        @Override
+        int read(int chunk, int offset) {
+            return chunks[chunk][offset];
+        }
+
+        @Override
+        void write(int chunk, int offset, int value) {
+            chunks[chunk][offset] = value;
+        }
+
+        @Override
+        void allocateChunk(int chunk) {
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, newDirectoryLength(chunks.length, chunk + 1));
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new int[chunkSize];
+            }
+        }
+
+        @Override
+        void releaseChunks() {
+            chunks = new int[0][];
+        }
+    }
+
+    // Chunks are the original direct buffers (not asIntBuffer views) so close() can free them
+    private static final class OffHeap extends BigIntList {
+        private ByteBuffer[] chunks = new ByteBuffer[0];
+
+        OffHeap(int chunkShift) {
+            super(chunkShift);
+        }
+
+        @Override
+        int read(int chunk, int offset) {
+            return chunks[chunk].getInt(offset << 2);
+        }
+
+        @Override
+        void write(int chunk, int offset, int value) {
+            chunks[chunk].putInt(offset << 2, value);
+        }
+
+        @Override
+        void allocateChunk(int chunk) {
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, newDirectoryLength(chunks.length, chunk + 1));
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = ByteBuffer.allocateDirect(chunkSize * Integer.BYTES)
+                        .order(ByteOrder.nativeOrder());
+            }
+        }
+
+        @Override
+        void releaseChunks() {
+            ByteBuffer[] released = chunks;
+            chunks = new ByteBuffer[0];
+            DirectBuffers.releaseAll(released);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== BigIntList (chunked, long index) ===");
+        try (BigIntList list = BigIntList.offHeap(10)) {
+            for (int i = 0; i < 5_000; i++) {
+                list.add(i);  // New 1024-element chunk every 1024 adds, no copying
+            }
+            System.out.println("Size: " + list.size());
+            System.out.println("get(4_999): " + list.get(4_999L));
+            System.out.println("Sum via stream: " + list.stream().asLongStream().sum());
+            System.out.println("Parallel sum: " + list.parallelStream().asLongStream().sum());
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package List;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/*
+ * COALESCINGCOPYONWRITELIST OVERVIEW:
+ * - Copy-on-write list (reads lock-free on an immutable array snapshot,
+ *   snapshot iterators) whose writes can be COALESCED: many writes, one copy
+ * - batch(m -> ...): all mutations in the callback work on one private copy
+ *   and are published as a single new array (all-or-nothing)
+ * - Write-combining mode (writeCombining(maxPending, maxDelay)): plain
+ *   add/remove/set calls go to a private working copy that is published
+ *   when maxPending writes have accumulated or maxDelay has passed
+ *   (or on flush())
+ *
+ * BURST OF k ADDS ONTO n ELEMENTS:
+ * CopyOnWriteArrayList:      k copies of ~n elements → O(k·n + k²)
+ * batch / write-combining:   one copy in, one copy out → O(n + k)
+ *
+ * CONSISTENCY:
+ * - Default mode and batch(): a write is visible as soon as the call returns
+ * - Write-combining mode: readers (get, size, iterator, contains...) see the
+ *   last PUBLISHED array; a write becomes visible at most maxDelay later.
+ *   Return values of writes (remove(o), set) reflect all earlier writes.
+ *
+ * PROS:
+ * - Listener-registry style bursts cost one copy instead of hundreds
+ * - Same read path as CopyOnWriteArrayList (volatile read, no lock)
+ *
+ * CONS:
+ * - Write-combining trades read-your-writes for throughput
+ * - Single removes in default mode copy twice (copy in, trimmed copy out)
+ * - subList() is an immutable snapshot, iterators do not support remove()
+ *
+ * WHEN TO USE:
+ * - Read-mostly lists that receive writes in bursts (startup, rebalance)
+ */
+public class CoalescingCopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+    // Mutation surface handed to batch() callbacks
+    public interface Mutator<E> {
+        boolean add(E e);
+
+        void add(int index, E e);
+
+        E set(int index, E e);
+
+        E remove(int index);
+
+        boolean remove(Object o);
+
+        boolean addAll(Collection<? extends E> c);
+
+        boolean removeIf(Predicate<? super E> filter);
+
+        void clear();
+
+        E get(int index);
+
+        int size();
+
+        int indexOf(Object o);
+
+        default boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+
+    // One daemon thread publishes the time-bounded windows of every list
+    private static final class Flusher {
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "cow-list-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+
+        static {
+            // Windows closed early by maxPending/flush() cancel their task; drop it from the queue
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    private static final Object[] EMPTY = {};
+
+    private final Object lock = new Object();
+    private volatile Object[] array;
+
+    // Write-combining: 0 = disabled (every write publishes)
+    private final int maxPending;
+    private final long maxDelayNanos;
+    private Buffer working;
+    private int pendingWrites;
+    private ScheduledFuture<?> flushTask;
+
+    public CoalescingCopyOnWriteList() {
+        this(0, 0);
+    }
+
+    public CoalescingCopyOnWriteList(Collection<? extends E> c) {
+        this(0, 0);
+        Object[] source = c.toArray();
+        array = Arrays.copyOf(source, source.length, Object[].class);
+    }
+
+    private CoalescingCopyOnWriteList(int maxPending, long maxDelayNanos) {
+        this.maxPending = maxPending;
+        this.maxDelayNanos = maxDelayNanos;
+        this.array = EMPTY;
+    }
+
+    // Writes are published every maxPending writes or maxDelay after the first unpublished write
+    public static <E> CoalescingCopyOnWriteList<E> writeCombining(int maxPending, Duration maxDelay) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        }
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("maxDelay must be positive: " + maxDelay);
+        }
+        return new CoalescingCopyOnWriteList<>(maxPending, maxDelay.toNanos());
+    }
+
+    // ---- reads: lock-free on the published snapshot ----
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) array[index];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return indexOf(o, array, array.length);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (Object e : array) {
+            action.accept((E) e);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListIterator<E> listIterator(int index) {
+        return Collections.unmodifiableList((List<E>) Arrays.asList(array)).listIterator(index);
+    }
+
+    // Immutable copy of the range in the current snapshot
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> subList(int fromIndex, int toIndex) {
+        Object[] snapshot = array;
+        Objects.checkFromToIndex(fromIndex, toIndex, snapshot.length);
+        return Collections.unmodifiableList((List<E>) Arrays.asList(Arrays.copyOfRange(snapshot, fromIndex, toIndex)));
+    }
+
+    // ---- explicit batching ----
+
+    /*
+     * Runs body against one private copy and publishes it as a single new
+     * array. If body throws, nothing is published. Pending combined writes
+     * are published first so the batch starts from them.
+     */
+    public void batch(Consumer<? super Mutator<E>> body) {
+        synchronized (lock) {
+            publishPending();
+            Buffer buffer = new Buffer(array, 16);
+            try {
+                body.accept(buffer);
+            } finally {
+                buffer.open = false;
+            }
+            array = buffer.toArray();
+        }
+    }
+
+    // Publishes pending write-combined writes now (no-op otherwise)
+    public void flush() {
+        synchronized (lock) {
+            publishPending();
+        }
+    }
+
+    // ---- single writes ----
+
+    @Override
+    public boolean add(E e) {
+        synchronized (lock) {
+            Buffer buffer = writable(1);
+            buffer.add(e);
+            return written(buffer);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        synchronized (lock) {
+            Buffer buffer = writable(1);
+            buffer.add(index, element);
+            written(buffer);
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        synchronized (lock) {
+            Buffer buffer = writable(0);
+            E old = buffer.set(index, element);
+            written(buffer);
+            return old;
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        synchronized (lock) {
+            Buffer buffer = writable(0);
+            E old = buffer.remove(index);
+            written(buffer);
+            return old;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        synchronized (lock) {
+            if (working == null && indexOf(o) < 0) {
+                return false; // nothing to copy
+            }
+            Buffer buffer = writable(0);
+            boolean removed = buffer.remove(o);
+            written(buffer);
+            return removed;
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        synchronized (lock) {
+            Buffer buffer = writable(added.length);
+            buffer.addAll(added);
+            written(buffer);
+            return added.length > 0;
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        synchronized (lock) {
+            Buffer buffer = writable(0);
+            boolean removed = buffer.removeIf(filter);
+            written(buffer);
+            return removed;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            if (working != null) {
+                working = null;
+                pendingWrites = 0;
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            array = EMPTY;
+        }
+    }
+
+    // ---- write plumbing (caller holds lock) ----
+
+    // The buffer the next write goes to: the combining working copy, or a fresh copy with room for `extra`
+    private Buffer writable(int extra) {
+        if (maxPending == 0) {
+            return new Buffer(array, extra);
+        }
+        if (working == null) {
+            working = new Buffer(array, Math.max(extra, 16));
+            flushTask = Flusher.EXECUTOR.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+        return working;
+    }
+
+    // Publishes after a write: immediately, or once maxPending writes are buffered
+    private boolean written(Buffer buffer) {
+        if (maxPending == 0) {
+            array = buffer.toArray();
+        } else if (++pendingWrites >= maxPending) {
+            publishPending();
+        }
+        return true;
+    }
+
+    private void publishPending() {
+        if (working != null) {
+            array = working.toArray();
+            working = null;
+            pendingWrites = 0;
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+    }
+
+    private static int indexOf(Object o, Object[] es, int n) {
+        if (o == null) {
+            for (int i = 0; i < n; i++) {
+                if (es[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (o.equals(es[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Private growable copy of the array; published via toArray()
+    private final class Buffer implements Mutator<E> {
+        Object[] items;
+        int size;
+        boolean open = true;
+
+        Buffer(Object[] source, int extra) {
+            items = Arrays.copyOf(source, source.length + extra);
+            size = source.length;
+        }
+
+        private void checkOpen() {
+            if (!open) {
+                throw new IllegalStateException("Mutator used after batch() returned");
+            }
+        }
+
+        private void grow(int minCapacity) {
+            if (minCapacity > items.length) {
+                items = Arrays.copyOf(items, Math.max(minCapacity, items.length + (items.length >> 1)));
+            }
+        }
+
+        // Exact-length array for publication; no copy when it already fits
+        Object[] toArray() {
+            return items.length == size ? items : Arrays.copyOf(items, size);
+        }
+
+        @Override
+        public boolean add(E e) {
+            checkOpen();
+            grow(size + 1);
+            items[size++] = e;
+            return true;
+        }
+
+        @Override
+        public void add(int index, E e) {
+            checkOpen();
+            Objects.checkIndex(index, size + 1);
+            grow(size + 1);
+            System.arraycopy(items, index, items, index + 1, size - index);
+            items[index] = e;
+            size++;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E set(int index, E e) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            E old = (E) items[index];
+            items[index] = e;
+            return old;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E remove(int index) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            E old = (E) items[index];
+            System.arraycopy(items, index + 1, items, index, size - index - 1);
+            items[--size] = null;
+            return old;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            checkOpen();
+            int index = CoalescingCopyOnWriteList.indexOf(o, items, size);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> c) {
+            return addAll(c.toArray());
+        }
+
+        boolean addAll(Object[] added) {
+            checkOpen();
+            grow(size + added.length);
+            System.arraycopy(added, 0, items, size, added.length);
+            size += added.length;
+            return added.length > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean removeIf(Predicate<? super E> filter) {
+            checkOpen();
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                if (!filter.test((E) items[read])) {
+                    items[write++] = items[read];
+                }
+            }
+            Arrays.fill(items, write, size, null);
+            boolean removed = write != size;
+            size = write;
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            checkOpen();
+            Arrays.fill(items, 0, size, null);
+            size = 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            return (E) items[index];
+        }
+
+        @Override
+        public int size() {
+            checkOpen();
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            checkOpen();
+            return CoalescingCopyOnWriteList.indexOf(o, items, size);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== CoalescingCopyOnWriteList Demo ===");
+        CoalescingCopyOnWriteList<String> listeners = new CoalescingCopyOnWriteList<>();
+        // Startup burst: 3 registrations, one array copy
+        listeners.batch(m -> {
+            m.add("UIListener");
+            m.add("LoggingListener");
+            m.add("MetricsListener");
+        });
+        System.out.println("After batch: " + listeners);
+
+        Iterator<String> snapshot = listeners.iterator();
+        listeners.add("AuditListener");
+        System.out.print("Snapshot iterator (taken before add): ");
+        snapshot.forEachRemaining(l -> System.out.print(l + " "));
+        System.out.println();
+
+        CoalescingCopyOnWriteList<Integer> combined = writeCombining(100, Duration.ofMillis(50));
+        for (int i = 0; i < 10; i++) {
+            combined.add(i);
+        }
+        System.out.println("Write-combining, before publish: size=" + combined.size());
+        Thread.sleep(100);
+        System.out.println("Write-combining, after maxDelay:  size=" + combined.size());
+    }
+}
@@ -152,5 +152,9 @@ public class ComparatorImpl {
         students.sort(Comparator.comparing(s -> s.name));
         System.out.println("\nSorted by name:");
         students.forEach(System.out::println);
+
+        // Only the best few needed? Bounded heap instead of a full sort - O(n log k)
+        System.out.println("\nTop 2 by marks (Sort.TopK): "
+                + Sort.TopK.largest(students, 2, Comparator.comparingInt((Student s) -> s.marks)));
     }
 }
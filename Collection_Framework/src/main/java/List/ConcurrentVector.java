@@ -0,0 +1,230 @@
+package List;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/*
+ * CONCURRENTVECTOR OVERVIEW:
+ * - Mutable, thread-safe list on top of PersistentVector: one
+ *   AtomicReference holds the current immutable version
+ * - Reads: ref.get() then read the immutable vector - lock-free, wait-free
+ * - Writes: build the next version (O(log32 n) path copy) and CAS it in;
+ *   retry on conflict
+ * - snapshot(): the current PersistentVector, O(1)
+ *
+ * COPYONWRITEARRAYLIST vs CONCURRENTVECTOR:
+ * write at 10M elements: copy 10M references  vs  copy ~7 × 32 references
+ * snapshot iterator:     yes                  vs  yes (iterator() = snapshot)
+ * read:                  array index          vs  ≤ 7 pointer hops
+ *
+ * PROS:
+ * - Write cost and garbage stay flat as the list grows
+ * - Lock-free reads and writes; snapshots and iterators never see a write
+ *
+ * CONS:
+ * - Appends and removals only at the end (add, removeLast); set anywhere
+ * - Heavy write contention retries the CAS (work is repeated, not blocked)
+ * - Partial java.util.List: the position-shifting mutators throw
+ *   UnsupportedOperationException - add(int, E), remove(int) other than
+ *   the last index, remove(Object), removeIf, removeAll, retainAll, and
+ *   iterator().remove() (iterators are snapshots)
+ * - listIterator() and subList() are live views: each single get/set is
+ *   atomic, a sequence of them is not (use update() for that)
+ *
+ * WHEN TO USE:
+ * - Large shared lists (100K+) where CopyOnWriteArrayList's per-write copy
+ *   is too expensive but snapshot iteration is needed
+ */
+public class ConcurrentVector<E> extends AbstractList<E> implements RandomAccess {
+    private final AtomicReference<PersistentVector<E>> ref;
+
+    public ConcurrentVector() {
+        ref = new AtomicReference<>(PersistentVector.empty());
+    }
+
+    public ConcurrentVector(Collection<? extends E> c) {
+        ref = new AtomicReference<>(PersistentVector.from(c));
+    }
+
+    // Current version - O(1), immutable, safe to hand to other threads
+    public PersistentVector<E> snapshot() {
+        return ref.get();
+    }
+
+    // Atomically replaces the whole vector with fn(current); returns the new version
+    public PersistentVector<E> update(UnaryOperator<PersistentVector<E>> fn) {
+        return ref.updateAndGet(fn);
+    }
+
+    @Override
+    public E get(int index) {
+        return ref.get().get(index);
+    }
+
+    @Override
+    public int size() {
+        return ref.get().size();
+    }
+
+    @Override
+    public boolean add(E e) {
+        ref.updateAndGet(v -> v.plus(e));
+        return true;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        while (true) {
+            PersistentVector<E> current = ref.get();
+            E old = current.get(index);
+            if (ref.compareAndSet(current, current.with(index, element))) {
+                return old;
+            }
+        }
+    }
+
+    // Removes and returns the last element - O(log32 n)
+    public E removeLast() {
+        while (true) {
+            PersistentVector<E> current = ref.get();
+            if (current.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            E last = current.get(current.size() - 1);
+            if (ref.compareAndSet(current, current.minusLast())) {
+                return last;
+            }
+        }
+    }
+
+    /*
+     * Only the last index is removable. The index is checked against the
+     * same version the CAS replaces: if the size changes between the check
+     * and the CAS, the element at `index` is no longer the one the caller
+     * meant, so the call fails instead of removing whatever is last now.
+     */
+    @Override
+    public E remove(int index) {
+        PersistentVector<E> current = ref.get();
+        int size = current.size();
+        Objects.checkIndex(index, size);
+        if (index != size - 1) {
+            throw new UnsupportedOperationException("ConcurrentVector only removes the last element");
+        }
+        while (true) {
+            E last = current.get(index);
+            if (ref.compareAndSet(current, current.minusLast())) {
+                return last;
+            }
+            current = ref.get();
+            if (current.size() != size) {
+                throw new ConcurrentModificationException(
+                        "Size changed from " + size + " to " + current.size() + " while removing index " + index);
+            }
+        }
+    }
+
+    // Unsupported: would shift every later index (PersistentVector has no middle insert)
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("ConcurrentVector only appends: use add(e)");
+    }
+
+    // Unsupported: removal from the middle (see remove(int)), as are removeIf, removeAll and retainAll
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("ConcurrentVector only removes the last element");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException("ConcurrentVector only removes the last element");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException("ConcurrentVector only removes the last element");
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("ConcurrentVector only removes the last element");
+    }
+
+    // Atomic: the whole rewritten version is CAS'd in (the List default would set() element by element)
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        ref.updateAndGet(v -> {
+            PersistentVector.Builder<E> builder = PersistentVector.builder();
+            v.forEach(e -> builder.add(operator.apply(e)));
+            return builder.build();
+        });
+    }
+
+    // Atomic, like replaceAll
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        ref.updateAndGet(v -> {
+            Object[] sorted = v.toArray();
+            Arrays.sort(sorted, (Comparator<Object>) c);
+            return PersistentVector.from(Arrays.asList((E[]) sorted));
+        });
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        ref.updateAndGet(v -> {
+            for (Object e : added) {
+                @SuppressWarnings("unchecked")
+                E element = (E) e;
+                v = v.plus(element);
+            }
+            return v;
+        });
+        return added.length > 0;
+    }
+
+    @Override
+    public void clear() {
+        ref.set(PersistentVector.empty());
+    }
+
+    // Snapshot iteration: later writes are never visible to an iterator
+    @Override
+    public Iterator<E> iterator() {
+        return ref.get().iterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        ref.get().forEach(action);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== ConcurrentVector Demo ===");
+        ConcurrentVector<Integer> vector = new ConcurrentVector<>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    vector.add(i);
+                }
+            });
+            writers[t].start();
+        }
+        PersistentVector<Integer> early = vector.snapshot(); // O(1), frozen
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println("Early snapshot size: " + early.size() + " (frozen), final size: " + vector.size());
+        vector.set(0, -1);
+        System.out.println("After set(0, -1): first=" + vector.get(0) + ", removeLast=" + vector.removeLast()
+                + ", size=" + vector.size());
+    }
+}
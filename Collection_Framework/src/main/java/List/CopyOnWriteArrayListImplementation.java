@@ -41,6 +41,7 @@ import java.util.concurrent.*;
  * - Collections.synchronizedList() - synchronized wrapper
  * - Vector - legacy synchronized list
  * - ConcurrentLinkedQueue - for queue operations
+ * - CoalescingCopyOnWriteList - one array copy per burst of writes
  */
 public class CopyOnWriteArrayListImplementation {
 
@@ -112,6 +113,7 @@ public class CopyOnWriteArrayListImplementation {
             }
         }
         System.out.println("Final list: " + cowList);
+        System.out.println("Real concurrent load (virtual threads, invariants, JFR pinning): Benchmarks.VirtualThreadStress");
         System.out.println();
     }
     
@@ -173,6 +175,7 @@ public class CopyOnWriteArrayListImplementation {
         System.out.println("ArrayList: Not thread-safe");
         System.out.println("Vector: Thread-safe (synchronized methods)");
         System.out.println("CopyOnWriteArrayList: Thread-safe (copy-on-write)");
+        System.out.println("\nMeasured numbers: run Benchmarks.ThreadSafeListBenchmark (JSON report)");
         System.out.println();
     }
     
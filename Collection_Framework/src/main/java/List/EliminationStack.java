@@ -0,0 +1,199 @@
+package List;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * ELIMINATIONSTACK OVERVIEW:
+ * - Lock-free LIFO stack: a Treiber stack (singly-linked nodes, one CAS on
+ *   head per push/pop) plus an elimination array
+ * - When the head CAS fails (contention), the thread backs off into a random
+ *   slot of the elimination array instead of retrying head immediately:
+ *   a push parks its node in a slot, a concurrent pop that finds it takes the
+ *   node directly. The pair cancels out without touching head.
+ *
+ * TREIBER PUSH/POP:
+ * push: node.next = head; CAS(head, node.next, node)
+ * pop:  h = head; CAS(head, h, h.next) → h.item
+ *
+ * ELIMINATION SLOT PROTOCOL (slot holds a pusher's node or null):
+ * pusher: CAS(slot, null, node), spin briefly, then CAS(slot, node, null)
+ *         succeeds → nobody came, retry head; fails → a popper took it, done
+ * popper: s = slot; s != null && CAS(slot, s, null) → return s.item
+ *
+ * STACK (Vector) vs ELIMINATIONSTACK:
+ * Stack:            every push/pop enters one monitor
+ * EliminationStack: one CAS; under contention half of the push/pop pairs
+ *                   meet in the array and never touch head at all
+ *
+ * PROS:
+ * - Lock-free: a stalled thread never blocks others
+ * - Throughput holds up as symmetric push/pop load grows
+ *
+ * CONS:
+ * - One node allocation per push
+ * - No size() (would be O(n) and stale), no iteration, no null elements
+ * - pop()/peek() return null on an empty stack (like ConcurrentLinkedDeque's
+ *   pollFirst/peekFirst) instead of throwing EmptyStackException
+ *
+ * WHEN TO USE:
+ * - Shared stacks / free lists / work pools with many concurrent threads
+ */
+public class EliminationStack<E> {
+    private static final VarHandle HEAD;
+    // A class literal of a generic array type can only be written raw
+    @SuppressWarnings("rawtypes")
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    // Slots are this many references apart so neighbouring slots sit on different cache lines
+    private static final int SLOT_STRIDE = 16;
+    private static final int ELIMINATION_SPINS = 64;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(EliminationStack.class, "head", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private volatile Node<E> head;
+    private final Node<E>[] slots;
+    private final int width;
+
+    public EliminationStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    // width: number of elimination slots (about half the contending threads works well)
+    // Generic arrays cannot be created directly: allocate raw, cast once
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public EliminationStack(int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Elimination width must be positive: " + width);
+        }
+        this.width = width;
+        this.slots = (Node<E>[]) new Node[width * SLOT_STRIDE];
+    }
+
+    // Push - O(1), lock-free
+    public void push(E item) {
+        Node<E> node = new Node<>(Objects.requireNonNull(item));
+        while (true) {
+            Node<E> h = head;
+            node.next = h;
+            if (HEAD.compareAndSet(this, h, node) || eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    // Pop - O(1), lock-free; null if empty
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        while (true) {
+            Node<E> h = head;
+            if (h == null) {
+                return null;
+            }
+            if (HEAD.compareAndSet(this, h, h.next)) {
+                return h.item;
+            }
+            Node<E> partner = eliminatePop();
+            if (partner != null) {
+                return partner.item;
+            }
+        }
+    }
+
+    // Peek - O(1); null if empty
+    public E peek() {
+        Node<E> h = head;
+        return h == null ? null : h.item;
+    }
+
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    // ---- elimination array ----
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(width) * SLOT_STRIDE;
+    }
+
+    // True if a concurrent pop took the node
+    private boolean eliminatePush(Node<E> node) {
+        int slot = randomSlot();
+        if (!SLOT.compareAndSet(slots, slot, null, node)) {
+            return false; // slot busy: go back to head
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (SLOT.getVolatile(slots, slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // Withdraw; losing this CAS means a popper took the node at the last moment
+        return !SLOT.compareAndSet(slots, slot, node, null);
+    }
+
+    // A waiting pusher's node, or null if none was found
+    @SuppressWarnings("unchecked")
+    private Node<E> eliminatePop() {
+        int slot = randomSlot();
+        Node<E> node = (Node<E>) SLOT.getVolatile(slots, slot);
+        if (node != null && SLOT.compareAndSet(slots, slot, node, null)) {
+            return node;
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== EliminationStack Demo ===");
+        EliminationStack<String> stack = new EliminationStack<>();
+        stack.push("A");
+        stack.push("B");
+        stack.push("C");
+        System.out.println("peek: " + stack.peek() + ", pop: " + stack.pop() + ", pop: " + stack.pop());
+
+        // Concurrent push/pop pairs: every pushed element is popped exactly once
+        EliminationStack<Integer> shared = new EliminationStack<>(4);
+        int threads = 4;
+        int perThread = 100_000;
+        long[] sums = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    shared.push(i);
+                    Integer value;
+                    while ((value = shared.pop()) == null) {
+                        Thread.onSpinWait();
+                    }
+                    sums[id] += value;
+                }
+            });
+            workers[t].start();
+        }
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += sums[t];
+        }
+        long expected = (long) threads * perThread * (perThread - 1) / 2;
+        System.out.println("Concurrent sum: " + total + " (expected " + expected + "), empty: " + shared.isEmpty());
+    }
+}
@@ -0,0 +1,402 @@
+package List;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/*
+ * EXPRESSIONENGINE OVERVIEW:
+ * - Streaming bracket validator and integer expression evaluator
+ * - Input is consumed in chunks from a Reader or a ByteBuffer (ASCII), so
+ *   inputs far larger than the heap (e.g. a mapped 1GB file) work
+ * - Uses primitive stacks (char[] for brackets/operators, long[] for values
+ *   and offsets) that grow in place and are reused across calls: no boxing,
+ *   no per-token allocation, no synchronization
+ *
+ * Stack<Integer> (StackImplementation.stackUseCases) vs EXPRESSIONENGINE:
+ * Stack<Character>: boxes every push, every push/pop is synchronized (Vector)
+ * ExpressionEngine: ops[top++] = c
+ *
+ * GRAMMAR (evaluate):
+ * expr   := operand (op operand)*        op: + - * / %   (usual precedence)
+ * operand:= digits | '-' operand | '+' operand | open expr close
+ * brackets ( ) [ ] { } group and must match; whitespace is ignored
+ * Arithmetic is exact on long: overflow and division by zero are errors.
+ *
+ * SHUNTING-YARD, APPLIED ON THE FLY:
+ * operands go to the value stack, operators wait on the operator stack until
+ * an operator of lower precedence (or a closing bracket) arrives; they are
+ * then applied immediately, so no postfix form is ever materialized.
+ *
+ * ERRORS:
+ * validate(...) returns the offset of the first bracket error or VALID (-1).
+ * evaluate(...) throws IllegalArgumentException("... at offset N"); the
+ * offset is also available from errorOffset().
+ *
+ * PROS:
+ * - O(n) time, O(nesting depth) memory, constant allocation per call
+ * - Error offsets point at the offending character (or the unclosed opener)
+ *
+ * CONS:
+ * - Integers only
+ * - An engine instance is not thread-safe (reuse one per thread)
+ *
+ * WHEN TO USE:
+ * - Validating/evaluating very large generated expressions
+ * - Anywhere Stack<Character>/Stack<Integer> sits in a hot parsing loop
+ */
+public final class ExpressionEngine {
+    public static final long VALID = -1;
+
+    private static final int CHUNK = 1 << 16;
+    private static final char UNARY_MINUS = 'u';
+
+    private final char[] charChunk = new char[CHUNK];
+    private final byte[] byteChunk = new byte[CHUNK];
+
+    // Operator/bracket stack with the offset of each entry (for error reporting)
+    private final CharStack ops = new CharStack();
+    private final LongStack opOffsets = new LongStack();
+    private final LongStack values = new LongStack();
+
+    private boolean evaluating;
+    private long offset;
+    private boolean expectOperand;
+    private boolean inNumber;
+    private long number;
+    private long errorOffset = VALID;
+
+    // ---- public API ----
+
+    // Offset of the first bracket error, or VALID
+    public long validate(Reader reader) {
+        return validating(() -> run(reader));
+    }
+
+    public long validate(ByteBuffer buffer) {
+        return validating(() -> run(buffer));
+    }
+
+    public long validate(CharSequence text) {
+        return validate(new StringReader(text.toString()));
+    }
+
+    // Value of the expression; IllegalArgumentException with the error offset if malformed
+    public long evaluate(Reader reader) {
+        reset(true);
+        run(reader);
+        return finish();
+    }
+
+    public long evaluate(ByteBuffer buffer) {
+        reset(true);
+        run(buffer);
+        return finish();
+    }
+
+    public long evaluate(CharSequence text) {
+        return evaluate(new StringReader(text.toString()));
+    }
+
+    // Offset of the error reported by the last call, or VALID
+    public long errorOffset() {
+        return errorOffset;
+    }
+
+    private long validating(Runnable body) {
+        reset(false);
+        try {
+            body.run();
+            finish();
+            return VALID;
+        } catch (IllegalArgumentException e) {
+            return errorOffset;
+        }
+    }
+
+    // ---- chunked input ----
+
+    private void run(Reader reader) {
+        try {
+            int n;
+            while ((n = reader.read(charChunk, 0, CHUNK)) >= 0) {
+                long base = offset;
+                for (int i = 0; i < n; i++) {
+                    step(charChunk[i], base + i);
+                }
+                offset = base + n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Reads [position, limit) with absolute bulk gets: the buffer's position is not moved
+    private void run(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int from = buffer.position(); from < limit; from += CHUNK) {
+            int n = Math.min(CHUNK, limit - from);
+            buffer.get(from, byteChunk, 0, n);
+            long base = offset;
+            for (int i = 0; i < n; i++) {
+                step((char) (byteChunk[i] & 0xFF), base + i);
+            }
+            offset = base + n;
+        }
+    }
+
+    private void reset(boolean evaluate) {
+        evaluating = evaluate;
+        ops.clear();
+        opOffsets.clear();
+        values.clear();
+        offset = 0;
+        expectOperand = true;
+        inNumber = false;
+        number = 0;
+        errorOffset = VALID;
+    }
+
+    // ---- state machine: one character at a time, `at` is its offset ----
+
+    private void step(char c, long at) {
+        switch (c) {
+            case '(', '[', '{' -> open(c, at);
+            case ')', ']', '}' -> close(c, at);
+            case ' ', '\t', '\n', '\r' -> endNumber();
+            case '+', '-', '*', '/', '%' -> {
+                if (evaluating) {
+                    operator(c, at);
+                }
+            }
+            default -> {
+                if (evaluating) {
+                    if (c >= '0' && c <= '9') {
+                        digit(c - '0', at);
+                    } else {
+                        fail(at, "Unexpected character '" + c + "'");
+                    }
+                }
+            }
+        }
+    }
+
+    private void open(char c, long at) {
+        if (evaluating) {
+            endNumber();
+            if (!expectOperand) {
+                fail(at, "Operator expected before '" + c + "'");
+            }
+        }
+        ops.push(c);
+        opOffsets.push(at);
+    }
+
+    private void close(char c, long at) {
+        if (evaluating) {
+            endNumber();
+            if (expectOperand) {
+                fail(at, "Operand expected before '" + c + "'");
+            }
+            while (!ops.isEmpty() && !isOpen(ops.peek())) {
+                apply();
+            }
+        }
+        if (ops.isEmpty()) {
+            fail(at, "Unmatched '" + c + "'");
+        }
+        char open = ops.pop();
+        long openOffset = opOffsets.pop();
+        if (open != matching(c)) {
+            fail(at, "'" + c + "' does not close '" + open + "' at offset " + openOffset);
+        }
+    }
+
+    private void digit(int d, long at) {
+        if (!inNumber) {
+            if (!expectOperand) {
+                fail(at, "Operator expected");
+            }
+            inNumber = true;
+            number = 0;
+        }
+        if (number >= Long.MAX_VALUE / 10 && (number > Long.MAX_VALUE / 10 || d > Long.MAX_VALUE % 10)) {
+            fail(at, "Number too large");
+        }
+        number = number * 10 + d;
+    }
+
+    private void endNumber() {
+        if (inNumber) {
+            values.push(number);
+            inNumber = false;
+            expectOperand = false;
+        }
+    }
+
+    private void operator(char c, long at) {
+        endNumber();
+        if (expectOperand) {
+            // Prefix sign: '-' becomes unary minus, '+' is a no-op
+            if (c == '-') {
+                ops.push(UNARY_MINUS);
+                opOffsets.push(at);
+            } else if (c != '+') {
+                fail(at, "Operand expected before '" + c + "'");
+            }
+            return;
+        }
+        int precedence = precedence(c);
+        while (!ops.isEmpty() && precedence(ops.peek()) >= precedence) {
+            apply();
+        }
+        ops.push(c);
+        opOffsets.push(at);
+        expectOperand = true;
+    }
+
+    private long finish() {
+        endNumber();
+        if (evaluating) {
+            if (expectOperand) {
+                fail(offset, ops.isEmpty() && values.isEmpty() ? "Empty expression" : "Operand expected at end of input");
+            }
+            while (!ops.isEmpty() && !isOpen(ops.peek())) {
+                apply();
+            }
+        }
+        if (!ops.isEmpty()) {
+            // Report the innermost unclosed bracket
+            fail(opOffsets.peek(), "Unclosed '" + ops.peek() + "'");
+        }
+        return evaluating ? values.pop() : 0;
+    }
+
+    // Pops one operator and its operand(s), pushes the result
+    private void apply() {
+        char op = ops.pop();
+        long at = opOffsets.pop();
+        try {
+            if (op == UNARY_MINUS) {
+                values.push(Math.negateExact(values.pop()));
+                return;
+            }
+            long right = values.pop();
+            long left = values.pop();
+            values.push(switch (op) {
+                case '+' -> Math.addExact(left, right);
+                case '-' -> Math.subtractExact(left, right);
+                case '*' -> Math.multiplyExact(left, right);
+                case '/' -> Math.divideExact(left, right);
+                case '%' -> left % right;
+                default -> throw new IllegalStateException("Unknown operator " + op);
+            });
+        } catch (ArithmeticException e) {
+            fail(at, e.getMessage());
+        }
+    }
+
+    private void fail(long at, String message) {
+        errorOffset = at;
+        throw new IllegalArgumentException(message + " at offset " + at);
+    }
+
+    private static boolean isOpen(char c) {
+        return c == '(' || c == '[' || c == '{';
+    }
+
+    private static char matching(char close) {
+        return close == ')' ? '(' : close == ']' ? '[' : '{';
+    }
+
+    // Brackets have the lowest precedence so operators never pop past them
+    private static int precedence(char op) {
+        return switch (op) {
+            case '+', '-' -> 1;
+            case '*', '/', '%' -> 2;
+            case UNARY_MINUS -> 3;
+            default -> 0;
+        };
+    }
+
+    // ---- primitive stacks: grow in place, never shrink ----
+
+    private static final class CharStack {
+        private char[] items = new char[64];
+        private int top;
+
+        void push(char c) {
+            if (top == items.length) {
+                items = Arrays.copyOf(items, top << 1);
+            }
+            items[top++] = c;
+        }
+
+        char pop() {
+            return items[--top];
+        }
+
+        char peek() {
+            return items[top - 1];
+        }
+
+        boolean isEmpty() {
+            return top == 0;
+        }
+
+        void clear() {
+            top = 0;
+        }
+    }
+
+    private static final class LongStack {
+        private long[] items = new long[64];
+        private int top;
+
+        void push(long v) {
+            if (top == items.length) {
+                items = Arrays.copyOf(items, top << 1);
+            }
+            items[top++] = v;
+        }
+
+        long pop() {
+            return items[--top];
+        }
+
+        long peek() {
+            return items[top - 1];
+        }
+
+        boolean isEmpty() {
+            return top == 0;
+        }
+
+        void clear() {
+            top = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== ExpressionEngine Demo ===");
+        ExpressionEngine engine = new ExpressionEngine();
+        System.out.println("validate(\"{[()()]}\"): " + engine.validate("{[()()]}"));
+        System.out.println("validate(\"{[(])}\"): error at offset " + engine.validate("{[(])}"));
+        System.out.println("validate(\"((x)\"): unclosed at offset " + engine.validate("((x)"));
+
+        System.out.println("evaluate(\"3 + 4 * 2\"): " + engine.evaluate("3 + 4 * 2"));
+        System.out.println("evaluate(\"(3 + 4) * 2\"): " + engine.evaluate("(3 + 4) * 2"));
+        System.out.println("evaluate(\"-[2 * {10 - 4}] % 5\"): " + engine.evaluate("-[2 * {10 - 4}] % 5"));
+        ByteBuffer bytes = ByteBuffer.wrap("100 / (7 - 2)".getBytes(StandardCharsets.US_ASCII));
+        System.out.println("evaluate(ByteBuffer \"100 / (7 - 2)\"): " + engine.evaluate(bytes));
+        try {
+            engine.evaluate("1 + (2 * 3");
+        } catch (IllegalArgumentException e) {
+            System.out.println("evaluate(\"1 + (2 * 3\"): " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package List;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/*
+ * INTARRAYLIST OVERVIEW:
+ * - Resizable list of primitive ints backed directly by an int[]
+ * - Same growth policy as ArrayList (default capacity 10, grows by 50%)
+ * - No boxing: one int (4 bytes) per element instead of one Integer object
+ *   (16 bytes) plus a reference (4-8 bytes) in the backing Object[]
+ *
+ * STRUCTURE: int[] [v0][v1][v2]...[vN][0][0]... (values stored inline)
+ *
+ * ARRAYLIST<INTEGER> vs INTARRAYLIST:
+ * ArrayList<Integer>: [ref]→Integer{v0} [ref]→Integer{v1} ... (pointer chasing)
+ * IntArrayList:       [v0][v1][v2] ... (sequential scan, prefetch friendly)
+ *
+ * PROS:
+ * - ~4-6x less memory than ArrayList<Integer>
+ * - Scans (indexOf, contains, sum) touch one contiguous array
+ * - sort() uses Arrays.sort(int[]) (dual-pivot quicksort, no comparator calls)
+ * - elements() exposes the backing array without copying
+ *
+ * CONS:
+ * - Not a java.util.List (no generics, no null elements)
+ * - elements() is only valid until the next structural modification
+ * - Not thread-safe
+ *
+ * WHEN TO USE:
+ * - Large lists of ints in analytics / hot paths
+ * - When the list is mostly built once and then scanned or sorted
+ */
+public class IntArrayList {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int[] EMPTY = {};
+
+    private int[] elements;
+    private int size;
+    private int modCount;
+
+    public IntArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    // Copies the given values - O(n)
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+        return list;
+    }
+
+    // Wraps an existing array without copying; the list owns it afterwards
+    public static IntArrayList wrap(int[] values, int size) {
+        Objects.checkFromIndexSize(0, size, values.length);
+        IntArrayList list = new IntArrayList();
+        list.elements = values;
+        list.size = size;
+        return list;
+    }
+
+    // Append - O(1) amortized
+    public void add(int value) {
+        modCount++;
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    // Insert at index - O(n) due to shifting
+    public void add(int index, int value) {
+        Objects.checkIndex(index, size + 1);
+        modCount++;
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    // Bulk append - single capacity check and one arraycopy
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(int[] values, int from, int length) {
+        Objects.checkFromIndexSize(from, length, values.length);
+        modCount++;
+        ensureCapacity(size + length);
+        System.arraycopy(values, from, elements, size, length);
+        size += length;
+    }
+
+    public void addAll(IntArrayList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+    // Bulk insert at index - shifts the tail once
+    public void addAll(int index, int[] values) {
+        Objects.checkIndex(index, size + 1);
+        modCount++;
+        ensureCapacity(size + values.length);
+        System.arraycopy(elements, index, elements, index + values.length, size - index);
+        System.arraycopy(values, 0, elements, index, values.length);
+        size += values.length;
+    }
+
+    // Random access - O(1)
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    // Replace - O(1), returns previous value
+    public int set(int index, int value) {
+        Objects.checkIndex(index, size);
+        int old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    // Remove by index - O(n) due to shifting (named to avoid remove(int) ambiguity)
+    public int removeAt(int index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+        int old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        return old;
+    }
+
+    // Remove first occurrence of value - O(n)
+    public boolean removeValue(int value) {
+        int index = indexOf(value);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    // Remove [from, to) with a single shift
+    public void removeRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        modCount++;
+        System.arraycopy(elements, to, elements, from, size - to);
+        size -= to - from;
+    }
+
+    // Remove every element present in other - O(n + m log m), compacts in place
+    public boolean removeAll(IntArrayList other) {
+        int[] lookup = other.toArray();
+        Arrays.sort(lookup);
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            int value = elements[read];
+            if (Arrays.binarySearch(lookup, value) < 0) {
+                elements[write++] = value;
+            }
+        }
+        boolean changed = write != size;
+        if (changed) {
+            modCount++;
+            size = write;
+        }
+        return changed;
+    }
+
+    // Linear search over the primitive array - O(n)
+    public int indexOf(int value) {
+        return indexOf(elements, 0, size, value);
+    }
+
+    public int lastIndexOf(int value) {
+        int[] es = elements;
+        for (int i = size - 1; i >= 0; i--) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // O(1): values are primitives, no references to clear
+    public void clear() {
+        modCount++;
+        size = 0;
+    }
+
+    // Natural order via Arrays.sort(int[]) - O(n log n), no comparator calls
+    public void sort() {
+        modCount++;
+        Arrays.sort(elements, 0, size);
+    }
+
+    // Parallel sort for large lists (fork/join on the common pool)
+    public void parallelSort() {
+        modCount++;
+        Arrays.parallelSort(elements, 0, size);
+    }
+
+    // Binary search - list must be sorted
+    public int binarySearch(int value) {
+        return Arrays.binarySearch(elements, 0, size, value);
+    }
+
+    // Sequential IntStream view over the live elements (no boxing)
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public long sum() {
+        long sum = 0;
+        int[] es = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            sum += es[i];
+        }
+        return sum;
+    }
+
+    // View of [from, to) backed by this list
+    public View subList(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new SubList(from, to - from);
+    }
+
+    // Copying conversion - exactly size() elements
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /*
+     * Zero-copy access to the backing array. Only indices [0, size()) are
+     * meaningful, and the array is replaced on growth, so callers must not hold
+     * on to it across add() calls.
+     */
+    public int[] elements() {
+        return elements;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            modCount++;
+            elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+        }
+    }
+
+    // ArrayList growth policy: 50% larger, at least minCapacity
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity < minCapacity) {
+            newCapacity = Math.max(minCapacity, DEFAULT_CAPACITY);
+        }
+        if (newCapacity < 0) {
+            if (minCapacity < 0) {
+                throw new OutOfMemoryError("Required array length too large");
+            }
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private static int indexOf(int[] es, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntArrayList other)) {
+            return false;
+        }
+        return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    // Read/write view over a range of the parent list; structural changes go through the parent
+    public interface View {
+        int get(int index);
+
+        int set(int index, int value);
+
+        int size();
+
+        int indexOf(int value);
+
+        boolean contains(int value);
+
+        void sort();
+
+        IntStream stream();
+
+        int[] toArray();
+    }
+
+    private final class SubList implements View {
+        private final int offset;
+        private final int size;
+        private final int expectedModCount;
+
+        SubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public int get(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return elements[offset + index];
+        }
+
+        @Override
+        public int set(int index, int value) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            int old = elements[offset + index];
+            elements[offset + index] = value;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public int indexOf(int value) {
+            checkForComodification();
+            int index = IntArrayList.indexOf(elements, offset, offset + size, value);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public boolean contains(int value) {
+            return indexOf(value) >= 0;
+        }
+
+        @Override
+        public void sort() {
+            checkForComodification();
+            Arrays.sort(elements, offset, offset + size);
+        }
+
+        @Override
+        public IntStream stream() {
+            checkForComodification();
+            return Arrays.stream(elements, offset, offset + size);
+        }
+
+        @Override
+        public int[] toArray() {
+            checkForComodification();
+            return Arrays.copyOfRange(elements, offset, offset + size);
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(toArray());
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== IntArrayList Operations ===");
+        IntArrayList list = IntArrayList.of(2, 4, 2, 44);
+        list.add(2, 3); // Insert at index 2 - O(n) shift, no boxing
+        System.out.println("List: " + list);
+        System.out.println("Index of 4: " + list.indexOf(4));
+        list.removeValue(2);
+        list.sort();
+        System.out.println("Sorted: " + list);
+        System.out.println("Sublist (1-3): " + list.subList(1, 3));
+        System.out.println("Sum via IntStream: " + list.stream().sum());
+        System.out.println("Backing array length: " + list.elements().length + ", size: " + list.size());
+    }
+}
@@ -0,0 +1,530 @@
+package List;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * MPMCRINGBUFFER OVERVIEW:
+ * - Bounded, lock-free, multi-producer / multi-consumer queue
+ *   (Dmitry Vyukov's array queue): a power-of-two array of slots, each slot
+ *   carrying a sequence number that says whose turn it is
+ * - Producers race on one tail counter, consumers on one head counter (CAS);
+ *   no locks, no per-element node allocation
+ * - head and tail sit on their own cache lines (padding fields) so producers
+ *   and consumers do not invalidate each other's line (false sharing)
+ *
+ * SLOT PROTOCOL (capacity N, position p, slot p & (N-1)):
+ * sequence == p        → free for the producer of position p
+ * sequence == p + 1    → holds the element for the consumer of position p
+ * sequence == p + N    → released, free for the producer of position p + N
+ *
+ * BATCHING:
+ * - offerAll claims k consecutive free slots with a single CAS instead of k
+ * - drainTo takes one slot per element (a poll each): if the target
+ *   collection throws, only the element being added is lost, never the rest
+ *   of a claimed batch
+ *
+ * ITERATION / REMOVAL (weakly consistent, like ArrayBlockingQueue):
+ * - The iterator walks positions head → tail and returns an element only
+ *   while its slot still carries sequence p + 1 (published, not consumed);
+ *   it never throws ConcurrentModificationException
+ * - remove(Object) / Iterator.remove CAS the element in its slot to a
+ *   REMOVED marker; consumers skip marked slots. The slot is reclaimed when
+ *   a consumer passes it: until then size() subtracts it, but it still
+ *   takes up capacity (remainingCapacity(), offer)
+ *
+ * WAIT STRATEGIES (used by put/take and timed offer/poll):
+ * - SPIN:  busy spin with Thread.onSpinWait() (lowest latency, burns a core)
+ * - YIELD: spin briefly, then Thread.yield()
+ * - PARK:  spin, yield, then LockSupport.parkNanos with growing back-off
+ *
+ * LINKEDLIST / ARRAYBLOCKINGQUEUE vs MPMCRINGBUFFER:
+ * LinkedList:         not thread-safe
+ * ArrayBlockingQueue: one ReentrantLock for both ends
+ * MpmcRingBuffer:     CAS per operation, producers and consumers independent
+ *
+ * CONS:
+ * - Fixed capacity (rounded up to a power of two)
+ * - contains() / remove(Object) are O(capacity) scans
+ * - size() is a snapshot estimate under concurrency
+ * - No null elements
+ */
+public class MpmcRingBuffer<E> extends MpmcRingBufferPad2<E> implements BlockingQueue<E> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMENTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object REMOVED = new Object();   // slot emptied by remove(Object)
+
+    public enum WaitStrategy {
+        SPIN, YIELD, PARK;
+
+        // Called with the number of failed attempts so far
+        void idle(int attempt) {
+            switch (this) {
+                case SPIN -> Thread.onSpinWait();
+                case YIELD -> {
+                    if (attempt < 100) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                case PARK -> {
+                    if (attempt < 100) {
+                        Thread.onSpinWait();
+                    } else if (attempt < 200) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(Math.min(1_000L << Math.min(attempt - 200, 10), 1_000_000L));
+                    }
+                }
+            }
+        }
+    }
+
+    private final Object[] buffer;
+    private final long[] sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLong removedSlots = new AtomicLong();   // marked REMOVED, not yet passed by a consumer
+
+    public MpmcRingBuffer(int capacity) {
+        this(capacity, WaitStrategy.PARK);
+    }
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new Object[size];
+        this.sequences = new long[size];
+        this.mask = size - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        for (int i = 0; i < size; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // ---- non-blocking single-element operations ----
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long pos = tail;
+        while (true) {
+            int slot = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequences, slot);
+            long diff = seq - pos;
+            if (diff == 0) {
+                if (casTail(pos, pos + 1)) {
+                    buffer[slot] = e;
+                    SEQUENCE.setRelease(sequences, slot, pos + 1);
+                    return true;
+                }
+                pos = tail;
+            } else if (diff < 0) {
+                return false; // slot still holds the element from one lap ago → full
+            } else {
+                pos = tail;   // another producer took this position
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head;
+        while (true) {
+            int slot = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequences, slot);
+            long diff = seq - (pos + 1);
+            if (diff == 0) {
+                if (casHead(pos, pos + 1)) {
+                    // getAndSet: exactly one of this consumer and a concurrent remove(Object) gets the element
+                    Object e = ELEMENTS.getAndSet(buffer, slot, null);
+                    SEQUENCE.setRelease(sequences, slot, pos + mask + 1);
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                    removedSlots.decrementAndGet();
+                }
+                pos = head;
+            } else if (diff < 0) {
+                return null;  // producer has not published this position yet → empty
+            } else {
+                pos = head;
+            }
+        }
+    }
+
+    // First published element that was not removed in place
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        for (long pos = head; ; pos++) {
+            int slot = (int) pos & mask;
+            if ((long) SEQUENCE.getAcquire(sequences, slot) != pos + 1) {
+                return null;
+            }
+            Object e = ELEMENTS.getAcquire(buffer, slot);
+            if (e != null && e != REMOVED) {
+                return (E) e;
+            }
+        }
+    }
+
+    // ---- batched operations ----
+
+    /*
+     * Offers elements[from, to) in order; returns how many were accepted.
+     * Claims as many consecutive free slots as possible with a single CAS.
+     */
+    public int offerAll(E[] elements, int from, int to) {
+        Objects.checkFromToIndex(from, to, elements.length);
+        for (int i = from; i < to; i++) {
+            Objects.requireNonNull(elements[i]); // before claiming: a claimed slot must be published
+        }
+        int offered = from;
+        while (offered < to) {
+            long pos = tail;
+            int want = Math.min(to - offered, mask + 1);
+            int free = 0;
+            while (free < want && (long) SEQUENCE.getAcquire(sequences, (int) (pos + free) & mask) == pos + free) {
+                free++;
+            }
+            if (free == 0) {
+                if ((long) SEQUENCE.getAcquire(sequences, (int) pos & mask) < pos) {
+                    break; // full
+                }
+                continue;  // lost a race, reload tail
+            }
+            if (!casTail(pos, pos + free)) {
+                continue;
+            }
+            for (int i = 0; i < free; i++) {
+                int slot = (int) (pos + i) & mask;
+                buffer[slot] = elements[offered + i];
+                SEQUENCE.setRelease(sequences, slot, pos + i + 1);
+            }
+            offered += free;
+        }
+        return offered - from;
+    }
+
+    public int offerAll(Collection<? extends E> elements) {
+        @SuppressWarnings("unchecked")
+        E[] array = (E[]) elements.toArray();
+        return offerAll(array, 0, array.length);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    // One poll per element: a throwing c.add loses only the element it rejected
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int drained = 0;
+        for (E e; drained < maxElements && (e = poll()) != null; drained++) {
+            c.add(e);
+        }
+        return drained;
+    }
+
+    // ---- blocking operations driven by the wait strategy ----
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        for (int attempt = 0; !offer(e); attempt++) {
+            checkInterrupt();
+            waitStrategy.idle(attempt);
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e;
+        for (int attempt = 0; (e = poll()) == null; attempt++) {
+            checkInterrupt();
+            waitStrategy.idle(attempt);
+        }
+        return e;
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !offer(e); attempt++) {
+            checkInterrupt();
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return true;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E e;
+        for (int attempt = 0; (e = poll()) == null; attempt++) {
+            checkInterrupt();
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return e;
+    }
+
+    private static void checkInterrupt() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    // ---- size / capacity (estimates under concurrency) ----
+
+    // Claimed slots between head and tail, removed ones included
+    private int occupiedSlots() {
+        while (true) {
+            long h = head;
+            long t = tail;
+            if (h == head) {
+                return (int) Math.max(0, Math.min(t - h, mask + 1));
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, occupiedSlots() - removedSlots.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    // Removed slots count as used until a consumer passes them
+    @Override
+    public int remainingCapacity() {
+        return mask + 1 - occupiedSlots();
+    }
+
+    // ---- weakly consistent iteration and removal ----
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    // Not SIZED: size() is only an estimate under concurrency
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    // Removes one occurrence of o in place; O(capacity)
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Itr it = new Itr(); it.hasNext(); ) {
+            if (o.equals(it.next()) && it.removeLast()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Itr implements Iterator<E> {
+        private long pos = head;     // next position to inspect
+        private E next;
+        private long nextPos;
+        private E last;
+        private long lastPos;
+
+        Itr() {
+            advance();
+        }
+
+        // Finds the next position >= pos whose slot still holds its published element
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (true) {
+                pos = Math.max(pos, head);    // consumers overtook the iterator
+                int slot = (int) pos & mask;
+                long seq = (long) SEQUENCE.getAcquire(sequences, slot);
+                if (seq < pos + 1) {
+                    return;                   // not published (yet): end of the queue
+                }
+                if (seq == pos + 1) {
+                    Object e = ELEMENTS.getAcquire(buffer, slot);
+                    // Re-read: the element belongs to position pos only if the slot was not recycled meanwhile
+                    if (e != null && e != REMOVED && (long) SEQUENCE.getAcquire(sequences, slot) == pos + 1) {
+                        next = (E) e;
+                        nextPos = pos++;
+                        return;
+                    }
+                }
+                pos++;                        // consumed or removed
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            lastPos = nextPos;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            removeLast();
+        }
+
+        // false if a consumer took the element first
+        boolean removeLast() {
+            int slot = (int) lastPos & mask;
+            E e = last;
+            last = null;
+            if ((long) SEQUENCE.getAcquire(sequences, slot) == lastPos + 1
+                    && ELEMENTS.compareAndSet(buffer, slot, e, REMOVED)) {
+                removedSlots.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcRingBuffer{capacity=" + (mask + 1) + ", size=" + size() + ", wait=" + waitStrategy + '}';
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== MpmcRingBuffer Demo ===");
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(1024, WaitStrategy.PARK);
+        int producers = 4;
+        int perProducer = 100_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(base + i);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[p].start();
+        }
+        long sum = 0;
+        List<Integer> batch = new ArrayList<>();
+        for (int received = 0; received < producers * perProducer; ) {
+            batch.clear();
+            int n = queue.drainTo(batch, 256);
+            if (n == 0) {
+                sum += queue.take();
+                received++;
+                continue;
+            }
+            for (int value : batch) {
+                sum += value;
+            }
+            received += n;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        long n = (long) producers * perProducer;
+        System.out.println("Received sum: " + sum + " (expected " + (n * (n - 1) / 2) + ")");
+        System.out.println(queue);
+    }
+}
+
+/*
+ * Cache-line padding via class hierarchy: the JVM lays out superclass fields
+ * before subclass fields, so the long fields around tail and head keep each
+ * hot counter on its own 64-byte line.
+ */
+abstract class MpmcRingBufferPad0<E> extends AbstractQueue<E> {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcRingBufferTail<E> extends MpmcRingBufferPad0<E> {
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(MpmcRingBufferTail.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long tail;
+
+    final boolean casTail(long expect, long update) {
+        return TAIL.compareAndSet(this, expect, update);
+    }
+}
+
+abstract class MpmcRingBufferPad1<E> extends MpmcRingBufferTail<E> {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcRingBufferHead<E> extends MpmcRingBufferPad1<E> {
+    private static final VarHandle HEAD;
+
+    static {
+        try {
+            HEAD = MethodHandles.lookup().findVarHandle(MpmcRingBufferHead.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long head;
+
+    final boolean casHead(long expect, long update) {
+        return HEAD.compareAndSet(this, expect, update);
+    }
+}
+
+abstract class MpmcRingBufferPad2<E> extends MpmcRingBufferHead<E> {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
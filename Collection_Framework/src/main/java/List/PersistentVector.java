@@ -0,0 +1,359 @@
+package List;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/*
+ * PERSISTENTVECTOR OVERVIEW:
+ * - Immutable list where every "write" (plus, with, minusLast) returns a NEW
+ *   vector and leaves the old one untouched (persistent data structure)
+ * - 32-way bit-partitioned trie: index bits are consumed 5 at a time from
+ *   the top, so depth is log32(n) (7 levels cover 2^35 elements)
+ * - The last (up to) 32 elements live in a separate TAIL array, so append
+ *   usually copies only the tail
+ * - Structural sharing: a write copies only the path from root to the
+ *   touched leaf (≤ 7 arrays of 32); all other nodes are shared
+ *
+ * STRUCTURE (index 1234 = 00001 00110 10010):
+ * root ─[1]→ node ─[6]→ leaf ─[18]→ element
+ * tail: last 1-32 elements, pushed into the trie when full
+ *
+ * COPYONWRITEARRAYLIST vs PERSISTENTVECTOR (n elements):
+ * write:    O(n) full array copy   vs  O(log32 n) path copy (~7 × 32 refs)
+ * snapshot: the array itself       vs  the vector itself (O(1), immutable)
+ * read:     O(1) array access      vs  O(log32 n) (at most 7 hops)
+ *
+ * OPERATIONS:
+ * - get(i): O(log32 n) | plus(e): O(1) amortized (tail), O(log32 n) on tail push
+ * - with(i, e): O(log32 n) | minusLast(): O(log32 n)
+ * - builder(): O(n) bulk construction without intermediate vectors
+ *
+ * PROS:
+ * - Free snapshots and thread-safe sharing (immutable)
+ * - Write cost and garbage independent of size (unlike copy-on-write)
+ *
+ * CONS:
+ * - Reads are a few pointer hops slower than an array
+ * - No insert/remove in the middle (only at the end)
+ * - java.util.List mutators (add, set, remove) throw UnsupportedOperationException;
+ *   use plus/with/minusLast, or ConcurrentVector for a mutable shared list
+ *
+ * WHEN TO USE:
+ * - Large shared lists with occasional writes and frequent snapshots/iteration
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int count;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int count, int shift, Object[] root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    // Copies out of the varargs array element by element: the array itself never escapes
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        Builder<E> builder = builder();
+        for (E e : elements) {
+            builder.add(e);
+        }
+        return builder.build();
+    }
+
+    public static <E> PersistentVector<E> from(Collection<? extends E> c) {
+        return PersistentVector.<E>builder().addAll(c).build();
+    }
+
+    // ---- reads ----
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, count);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    // First index stored in the tail
+    private int tailOffset() {
+        return tailOffset(count);
+    }
+
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    // Leaf array holding index (the tail for the last elements)
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    // ---- persistent writes: return a new vector ----
+
+    // Append - O(1) amortized; copies the tail, and a root-to-leaf path every 32 appends
+    public PersistentVector<E> plus(E e) {
+        if (count - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = e;
+            return new PersistentVector<>(count + 1, shift, root, newTail);
+        }
+        // Tail full: push it into the trie, start a new tail
+        Object[] newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            // Root full: grow one level
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(count, shift, root, tail);
+        }
+        return new PersistentVector<>(count + 1, newShift, newRoot, new Object[]{e});
+    }
+
+    // Replace - O(log32 n) path copy
+    public PersistentVector<E> with(int index, E e) {
+        Objects.checkIndex(index, count);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = e;
+            return new PersistentVector<>(count, shift, root, newTail);
+        }
+        return new PersistentVector<>(count, shift, assoc(shift, root, index, e), tail);
+    }
+
+    // Remove last - O(log32 n)
+    public PersistentVector<E> minusLast() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        if (count == 1) {
+            return empty();
+        }
+        if (count - tailOffset() > 1) {
+            return new PersistentVector<>(count - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        // Tail becomes empty: the last leaf of the trie becomes the new tail
+        Object[] newTail = leafFor(count - 2);
+        Object[] newRoot = popTail(count, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(count - 1, newShift, newRoot, newTail);
+    }
+
+    // ---- trie plumbing (all copy-on-path, never mutate shared nodes) ----
+
+    // Copy of parent with the full tail leaf hung at the position of index count-1
+    private static Object[] pushTail(int count, int level, Object[] parent, Object[] tailNode) {
+        Object[] copy = parent.clone();
+        int sub = ((count - 1) >>> level) & MASK;
+        Object[] inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[sub];
+            inserted = child != null
+                    ? pushTail(count, level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        copy[sub] = inserted;
+        return copy;
+    }
+
+    // Chain of single-child nodes from level down to the leaf
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int sub = (index >>> level) & MASK;
+            copy[sub] = assoc(level - BITS, (Object[]) node[sub], index, value);
+        }
+        return copy;
+    }
+
+    // Copy of node without the last leaf; null if the node becomes empty
+    private static Object[] popTail(int count, int level, Object[] node) {
+        int sub = ((count - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = popTail(count, level - BITS, (Object[]) node[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[sub] = child;
+            return copy;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[sub] = null;
+        return copy;
+    }
+
+    // ---- iteration: one leaf at a time ----
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private final int end = count;
+        private int index;
+        private int leafEnd;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            int i = index;
+            if (i >= end) {
+                throw new NoSuchElementException();
+            }
+            if (i == leafEnd) {
+                leaf = leafFor(i);
+                leafEnd = i + WIDTH;
+            }
+            index = i + 1;
+            return (E) leaf[i & MASK];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int base = 0; base < count; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            int n = Math.min(WIDTH, count - base);
+            for (int i = 0; i < n; i++) {
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    // ---- bulk construction ----
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>();
+    }
+
+    /*
+     * Appends into a private 32-slot tail and pushes full leaves into the
+     * trie, so building n elements costs O(n) instead of n persistent appends.
+     */
+    public static final class Builder<E> {
+        private int count;
+        private int shift = BITS;
+        private Object[] root = EMPTY_NODE;
+        private Object[] tail = new Object[WIDTH];
+        private boolean built;
+
+        public Builder<E> add(E e) {
+            if (built) {
+                throw new IllegalStateException("Builder already built");
+            }
+            int inTail = count - tailOffset(count);
+            if (inTail == WIDTH) {
+                if ((count >>> BITS) > (1 << shift)) {
+                    Object[] newRoot = new Object[WIDTH];
+                    newRoot[0] = root;
+                    newRoot[1] = newPath(shift, tail);
+                    root = newRoot;
+                    shift += BITS;
+                } else {
+                    root = pushTail(count, shift, root, tail);
+                }
+                tail = new Object[WIDTH];
+                inTail = 0;
+            }
+            tail[inTail] = e;
+            count++;
+            return this;
+        }
+
+        public Builder<E> addAll(Collection<? extends E> c) {
+            for (E e : c) {
+                add(e);
+            }
+            return this;
+        }
+
+        public PersistentVector<E> build() {
+            built = true;
+            if (count == 0) {
+                return empty();
+            }
+            return new PersistentVector<>(count, shift, root, Arrays.copyOf(tail, count - tailOffset(count)));
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== PersistentVector Demo ===");
+        PersistentVector<String> v1 = PersistentVector.of("A", "B", "C");
+        PersistentVector<String> v2 = v1.plus("D");
+        PersistentVector<String> v3 = v2.with(0, "Z");
+        System.out.println("v1: " + v1 + "  (unchanged after v2/v3 were derived)");
+        System.out.println("v2: " + v2);
+        System.out.println("v3: " + v3);
+        System.out.println("v3.minusLast(): " + v3.minusLast());
+
+        // 100K elements: each write copies a handful of 32-slot arrays, not 100K slots
+        PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.add(i);
+        }
+        PersistentVector<Integer> big = builder.build();
+        PersistentVector<Integer> changed = big.with(54_321, -1);
+        System.out.println("big.get(54321): " + big.get(54_321) + ", changed.get(54321): " + changed.get(54_321));
+    }
+}
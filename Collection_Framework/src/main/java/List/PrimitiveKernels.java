@@ -0,0 +1,228 @@
+package List;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/*
+ * PRIMITIVEKERNELS OVERVIEW:
+ * - Bulk search / filter / reduction / prefix-sum kernels for int[], long[]
+ *   and float[] backed lists (e.g. IntArrayList.elements())
+ * - Dispatches to SimdKernels when it was compiled and jdk.incubator.vector
+ *   is in the boot layer, otherwise to ScalarKernels; the choice is made once
+ *   at class init (a static final backend, so the JIT folds the branch)
+ * - -Dkernels.scalar=true forces the scalar path (useful for comparisons)
+ * - Every range is checked once up front, like IntArrayList's bulk methods:
+ *   an inverted or out-of-bounds [from, to) throws IndexOutOfBoundsException
+ *   before any kernel runs
+ *
+ * RUNNING WITH SIMD:
+ * mvn -P simd package                        (compiles SimdKernels)
+ * java --add-modules jdk.incubator.vector ...
+ * The default build leaves the incubator module out entirely, so neither
+ * javac nor the JVM prints the incubator warning for the rest of the module.
+ *
+ * WHY IT IS FASTER:
+ * Scalar loop: 1 compare/add per element per iteration
+ * SIMD loop:   8 (AVX2) or 16 (AVX-512) ints per instruction, no branches
+ *              inside the vector body
+ */
+public final class PrimitiveKernels {
+    private static final Backend SIMD = loadSimd();
+    public static final boolean SIMD_ENABLED = SIMD != null;
+
+    private PrimitiveKernels() {
+    }
+
+    // The vectorized kernels; implemented by SimdKernels, looked up by name
+    interface Backend {
+        int intLanes();
+
+        int indexOf(int[] a, int from, int to, int value);
+
+        int indexOf(long[] a, int from, int to, long value);
+
+        int indexOf(float[] a, int from, int to, float value);
+
+        int filterGreaterThan(int[] a, int from, int to, int threshold, int[] dst);
+
+        int filterGreaterThan(long[] a, int from, int to, long threshold, long[] dst);
+
+        int filterGreaterThan(float[] a, int from, int to, float threshold, float[] dst);
+
+        long sum(int[] a, int from, int to);
+
+        long sum(long[] a, int from, int to);
+
+        float sum(float[] a, int from, int to);
+
+        int min(int[] a, int from, int to);
+
+        long min(long[] a, int from, int to);
+
+        float min(float[] a, int from, int to);
+
+        int max(int[] a, int from, int to);
+
+        long max(long[] a, int from, int to);
+
+        float max(float[] a, int from, int to);
+    }
+
+    private static Backend loadSimd() {
+        if (Boolean.getBoolean("kernels.scalar") || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (Backend) Class.forName("List.SimdKernels").getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;   // built without -P simd
+        }
+    }
+
+    // ---- search ----
+
+    public static int indexOf(int[] a, int from, int to, int value) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.indexOf(a, from, to, value) : ScalarKernels.indexOf(a, from, to, value);
+    }
+
+    public static int indexOf(long[] a, int from, int to, long value) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.indexOf(a, from, to, value) : ScalarKernels.indexOf(a, from, to, value);
+    }
+
+    public static int indexOf(float[] a, int from, int to, float value) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.indexOf(a, from, to, value) : ScalarKernels.indexOf(a, from, to, value);
+    }
+
+    public static int indexOf(IntArrayList list, int value) {
+        return indexOf(list.elements(), 0, list.size(), value);
+    }
+
+    public static boolean contains(IntArrayList list, int value) {
+        return indexOf(list, value) >= 0;
+    }
+
+    // ---- filtering ----
+
+    // Output buffer sized for the SIMD masked store (matches + one vector of slack)
+    public static int[] filterGreaterThan(int[] a, int from, int to, int threshold) {
+        Objects.checkFromToIndex(from, to, a.length);
+        int[] dst = new int[to - from + 64];
+        int count = SIMD_ENABLED
+                ? SIMD.filterGreaterThan(a, from, to, threshold, dst)
+                : ScalarKernels.filterGreaterThan(a, from, to, threshold, dst);
+        return Arrays.copyOf(dst, count);
+    }
+
+    public static long[] filterGreaterThan(long[] a, int from, int to, long threshold) {
+        Objects.checkFromToIndex(from, to, a.length);
+        long[] dst = new long[to - from + 64];
+        int count = SIMD_ENABLED
+                ? SIMD.filterGreaterThan(a, from, to, threshold, dst)
+                : ScalarKernels.filterGreaterThan(a, from, to, threshold, dst);
+        return Arrays.copyOf(dst, count);
+    }
+
+    public static float[] filterGreaterThan(float[] a, int from, int to, float threshold) {
+        Objects.checkFromToIndex(from, to, a.length);
+        float[] dst = new float[to - from + 64];
+        int count = SIMD_ENABLED
+                ? SIMD.filterGreaterThan(a, from, to, threshold, dst)
+                : ScalarKernels.filterGreaterThan(a, from, to, threshold, dst);
+        return Arrays.copyOf(dst, count);
+    }
+
+    public static IntArrayList filterGreaterThan(IntArrayList list, int threshold) {
+        int[] matches = filterGreaterThan(list.elements(), 0, list.size(), threshold);
+        return IntArrayList.wrap(matches, matches.length);
+    }
+
+    // ---- reductions ----
+
+    public static long sum(int[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.sum(a, from, to) : ScalarKernels.sum(a, from, to);
+    }
+
+    public static long sum(long[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.sum(a, from, to) : ScalarKernels.sum(a, from, to);
+    }
+
+    public static float sum(float[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.sum(a, from, to) : ScalarKernels.sum(a, from, to);
+    }
+
+    public static long sum(IntArrayList list) {
+        return sum(list.elements(), 0, list.size());
+    }
+
+    public static int min(int[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.min(a, from, to) : ScalarKernels.min(a, from, to);
+    }
+
+    public static long min(long[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.min(a, from, to) : ScalarKernels.min(a, from, to);
+    }
+
+    public static float min(float[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.min(a, from, to) : ScalarKernels.min(a, from, to);
+    }
+
+    public static int max(int[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.max(a, from, to) : ScalarKernels.max(a, from, to);
+    }
+
+    public static long max(long[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.max(a, from, to) : ScalarKernels.max(a, from, to);
+    }
+
+    public static float max(float[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return SIMD_ENABLED ? SIMD.max(a, from, to) : ScalarKernels.max(a, from, to);
+    }
+
+    // ---- inclusive prefix sums, in place ----
+
+    // Scalar only: each vector would wait for the previous one's carry (lane
+    // extract + broadcast), which measured slower than this loop
+    public static void prefixSum(int[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        ScalarKernels.prefixSum(a, from, to);
+    }
+
+    public static void prefixSum(long[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        ScalarKernels.prefixSum(a, from, to);
+    }
+
+    public static void prefixSum(float[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        ScalarKernels.prefixSum(a, from, to);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Primitive Kernels ===");
+        System.out.println("SIMD enabled: " + SIMD_ENABLED
+                + (SIMD_ENABLED ? " (" + SIMD.intLanes() + " int lanes)" : " (scalar fallback)"));
+        IntArrayList list = new IntArrayList();
+        for (int i = 1; i <= 100; i++) {
+            list.add(i);
+        }
+        System.out.println("indexOf(77): " + indexOf(list, 77));
+        System.out.println("sum: " + sum(list));
+        System.out.println("min/max: " + min(list.elements(), 0, list.size()) + "/" + max(list.elements(), 0, list.size()));
+        System.out.println("values > 95: " + filterGreaterThan(list, 95));
+        int[] prefix = list.toArray();
+        prefixSum(prefix, 0, prefix.length);
+        System.out.println("prefix[9]: " + prefix[9] + ", prefix[99]: " + prefix[99]);
+    }
+}
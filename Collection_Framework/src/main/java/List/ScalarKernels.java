@@ -0,0 +1,176 @@
+package List;
+
+/*
+ * SCALAR KERNELS:
+ * - One-element-at-a-time reference versions of the bulk kernels
+ * - Used by PrimitiveKernels when jdk.incubator.vector is not available,
+ *   and as the baseline in the SIMD benchmarks
+ * - All methods work on the half-open range [from, to)
+ */
+public final class ScalarKernels {
+    private ScalarKernels() {
+    }
+
+    // ---- search ----
+
+    public static int indexOf(int[] a, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int indexOf(long[] a, int from, int to, long value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Float search uses ==, so NaN is never found (same as the SIMD kernel)
+    public static int indexOf(float[] a, int from, int to, float value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ---- filtering: copy elements > threshold into dst, return count ----
+
+    public static int filterGreaterThan(int[] a, int from, int to, int threshold, int[] dst) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    public static int filterGreaterThan(long[] a, int from, int to, long threshold, long[] dst) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    public static int filterGreaterThan(float[] a, int from, int to, float threshold, float[] dst) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    // ---- reductions ----
+
+    // Sum widened to long so it cannot overflow for any int[] length
+    public static long sum(int[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static long sum(long[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static float sum(float[] a, int from, int to) {
+        float sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    public static int min(int[] a, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public static long min(long[] a, int from, int to) {
+        long min = Long.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public static float min(float[] a, int from, int to) {
+        float min = Float.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    public static int max(int[] a, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    public static long max(long[] a, int from, int to) {
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    public static float max(float[] a, int from, int to) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    // ---- inclusive prefix sums, in place ----
+
+    public static void prefixSum(int[] a, int from, int to) {
+        int running = 0;
+        for (int i = from; i < to; i++) {
+            running += a[i];
+            a[i] = running;
+        }
+    }
+
+    public static void prefixSum(long[] a, int from, int to) {
+        long running = 0;
+        for (int i = from; i < to; i++) {
+            running += a[i];
+            a[i] = running;
+        }
+    }
+
+    public static void prefixSum(float[] a, int from, int to) {
+        float running = 0;
+        for (int i = from; i < to; i++) {
+            running += a[i];
+            a[i] = running;
+        }
+    }
+}
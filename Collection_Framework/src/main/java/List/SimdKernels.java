@@ -0,0 +1,234 @@
+package List;
+
+import jdk.incubator.vector.*;
+
+/*
+ * SIMD KERNELS (jdk.incubator.vector):
+ * - Process a whole vector of lanes per instruction using the platform's
+ *   preferred species (e.g. 8 ints on AVX2, 16 ints on AVX-512)
+ * - Main loop runs up to species.loopBound(length); the tail is finished
+ *   with the scalar code so results match ScalarKernels exactly
+ *   (float sums may differ in the last bits: lanes are added in a
+ *   different order)
+ *
+ * TECHNIQUES:
+ * - search:     lane-wise compare → mask → firstTrue()
+ * - filter:     compare → compress(mask) → masked store of trueCount() lanes
+ * - reductions: keep a vector accumulator, reduceLanes() once at the end
+ *
+ * Requires --add-modules jdk.incubator.vector at compile and run time, so
+ * it is only compiled by the simd profile (mvn -P simd); callers go through
+ * PrimitiveKernels, which loads it by name and falls back to ScalarKernels
+ * when the class or the module is not present.
+ */
+public final class SimdKernels implements PrimitiveKernels.Backend {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    public SimdKernels() {
+    }
+
+    @Override
+    public int intLanes() {
+        return INTS.length();
+    }
+
+    // ---- search ----
+
+    @Override
+    public int indexOf(int[] a, int from, int to, int value) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            VectorMask<Integer> hits = IntVector.fromArray(INTS, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return ScalarKernels.indexOf(a, i, to, value);
+    }
+
+    @Override
+    public int indexOf(long[] a, int from, int to, long value) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            VectorMask<Long> hits = LongVector.fromArray(LONGS, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return ScalarKernels.indexOf(a, i, to, value);
+    }
+
+    @Override
+    public int indexOf(float[] a, int from, int to, float value) {
+        int i = from;
+        for (int bound = from + FLOATS.loopBound(to - from); i < bound; i += FLOATS.length()) {
+            VectorMask<Float> hits = FloatVector.fromArray(FLOATS, a, i).eq(value);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return ScalarKernels.indexOf(a, i, to, value);
+    }
+
+    // ---- filtering (dst needs room for the matches plus one vector) ----
+
+    @Override
+    public int filterGreaterThan(int[] a, int from, int to, int threshold, int[] dst) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            VectorMask<Integer> keep = v.compare(VectorOperators.GT, threshold);
+            int kept = keep.trueCount();
+            if (kept > 0) {
+                v.compress(keep).intoArray(dst, count, INTS.indexInRange(0, kept));
+                count += kept;
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int filterGreaterThan(long[] a, int from, int to, long threshold, long[] dst) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector v = LongVector.fromArray(LONGS, a, i);
+            VectorMask<Long> keep = v.compare(VectorOperators.GT, threshold);
+            int kept = keep.trueCount();
+            if (kept > 0) {
+                v.compress(keep).intoArray(dst, count, LONGS.indexInRange(0, kept));
+                count += kept;
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int filterGreaterThan(float[] a, int from, int to, float threshold, float[] dst) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + FLOATS.loopBound(to - from); i < bound; i += FLOATS.length()) {
+            FloatVector v = FloatVector.fromArray(FLOATS, a, i);
+            VectorMask<Float> keep = v.compare(VectorOperators.GT, threshold);
+            int kept = keep.trueCount();
+            if (kept > 0) {
+                v.compress(keep).intoArray(dst, count, FLOATS.indexInRange(0, kept));
+                count += kept;
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] > threshold) {
+                dst[count++] = a[i];
+            }
+        }
+        return count;
+    }
+
+    // ---- reductions ----
+
+    // ints are widened to two long vectors per step so the sum cannot overflow
+    @Override
+    public long sum(int[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            acc = acc.add((LongVector) v.convert(VectorOperators.I2L, 0))
+                    .add((LongVector) v.convert(VectorOperators.I2L, 1));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + ScalarKernels.sum(a, i, to);
+    }
+
+    @Override
+    public long sum(long[] a, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + ScalarKernels.sum(a, i, to);
+    }
+
+    @Override
+    public float sum(float[] a, int from, int to) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = from;
+        for (int bound = from + FLOATS.loopBound(to - from); i < bound; i += FLOATS.length()) {
+            acc = acc.add(FloatVector.fromArray(FLOATS, a, i));
+        }
+        return acc.reduceLanes(VectorOperators.ADD) + ScalarKernels.sum(a, i, to);
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), ScalarKernels.min(a, i, to));
+    }
+
+    @Override
+    public long min(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), ScalarKernels.min(a, i, to));
+    }
+
+    @Override
+    public float min(float[] a, int from, int to) {
+        FloatVector acc = FloatVector.broadcast(FLOATS, Float.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + FLOATS.loopBound(to - from); i < bound; i += FLOATS.length()) {
+            acc = acc.min(FloatVector.fromArray(FLOATS, a, i));
+        }
+        return Math.min(acc.reduceLanes(VectorOperators.MIN), ScalarKernels.min(a, i, to));
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), ScalarKernels.max(a, i, to));
+    }
+
+    @Override
+    public long max(long[] a, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), ScalarKernels.max(a, i, to));
+    }
+
+    @Override
+    public float max(float[] a, int from, int to) {
+        FloatVector acc = FloatVector.broadcast(FLOATS, Float.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + FLOATS.loopBound(to - from); i < bound; i += FLOATS.length()) {
+            acc = acc.max(FloatVector.fromArray(FLOATS, a, i));
+        }
+        return Math.max(acc.reduceLanes(VectorOperators.MAX), ScalarKernels.max(a, i, to));
+    }
+}
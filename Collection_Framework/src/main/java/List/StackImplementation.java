@@ -118,6 +118,7 @@ public class StackImplementation {
         System.out.println("1. Parentheses Matching:");
         System.out.println("   Expression: ((()))");
         System.out.println("   Use stack to match opening/closing brackets");
+        System.out.println("   Streaming, allocation-free version: ExpressionEngine.validate");
         
         // 2. Function call management
         System.out.println("\n2. Function Call Stack:");
@@ -138,6 +139,7 @@ public class StackImplementation {
         System.out.println("\n4. Expression Evaluation:");
         System.out.println("   Postfix: 3 4 + 2 * (evaluates to 14)");
         System.out.println("   Use stack to store operands");
+        System.out.println("   Infix with primitive stacks: ExpressionEngine.evaluate");
         System.out.println();
     }
     
@@ -167,6 +169,7 @@ public class StackImplementation {
         System.out.println("- Avoid Stack class for new code (legacy issues)");
         System.out.println("- ArrayDeque: Not synchronized, better performance");
         System.out.println("- LinkedList: Implements Deque, more flexible");
+        System.out.println("- EliminationStack: lock-free, for stacks shared by many threads");
     }
 }
 
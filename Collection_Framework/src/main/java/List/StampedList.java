@@ -0,0 +1,547 @@
+package List;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/*
+ * STAMPEDLIST OVERVIEW:
+ * - Thread-safe array list guarded by a StampedLock instead of synchronized
+ * - Reads (get, size, contains, indexOf, toArray) first try an OPTIMISTIC
+ *   read: no lock is taken, the stamp is validated afterwards and the read is
+ *   retried under a real read lock only if a writer got in between
+ * - Writes take the exclusive write lock
+ * - Compound check-then-act operations run atomically under one lock
+ *   acquisition: addIfAbsent, computeAt, replaceAllIf, transaction
+ *
+ * VECTOR vs SYNCHRONIZEDLIST vs STAMPEDLIST:
+ * Vector / synchronizedList: every get() enters a monitor (readers block
+ *                            each other, cache line of the lock bounces)
+ * StampedList:               get() is two volatile-ish reads + validate,
+ *                            readers never write shared memory
+ *
+ * COMPOUND OPERATIONS:
+ * Vector:      if (!v.contains(x)) v.add(x);   ← race between the two calls
+ * StampedList: list.addIfAbsent(x);            ← one atomic operation
+ *              list.transaction(l -> { ... }); ← any sequence, one write lock
+ *
+ * PROS:
+ * - Read-mostly workloads scale with the number of reader threads
+ * - Atomic compound operations without external synchronized blocks
+ *
+ * CONS:
+ * - StampedLock is not reentrant: never call the list itself from inside
+ *   transaction()/withReadLock(); use the view passed to the callback
+ * - iterator(), listIterator() and subList() are snapshots (no remove/set)
+ * - Writes are serialized
+ *
+ * WHEN TO USE:
+ * - Shared lists with many readers and some writers that need atomic
+ *   check-then-act sequences
+ */
+public class StampedList<E> extends AbstractList<E> implements RandomAccess {
+    private final StampedLock lock = new StampedLock();
+    private Object[] elements;
+    private int size;
+
+    public StampedList() {
+        elements = new Object[10];
+    }
+
+    public StampedList(Collection<? extends E> c) {
+        elements = c.toArray();
+        size = elements.length;
+        if (elements.length == 0) {
+            elements = new Object[10];
+        }
+    }
+
+    // ---- optimistic reads ----
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (lock.validate(stamp)) {
+            return n;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elements;
+        int n = size;
+        // es/n may be torn by a concurrent resize: bound by both before touching the array
+        Object e = index >= 0 && index < n && index < es.length ? es[index] : null;
+        if (lock.validate(stamp)) {
+            Objects.checkIndex(index, n);
+            return (E) e;
+        }
+        stamp = lock.readLock();
+        try {
+            Objects.checkIndex(index, size);
+            return (E) elements[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elements;
+        // Read the field once: a resize between two reads could pair the old array with the new length
+        int index = rawIndexOf(o, es, Math.min(size, es.length));
+        if (lock.validate(stamp)) {
+            return index;
+        }
+        stamp = lock.readLock();
+        try {
+            return rawIndexOf(o, elements, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        long stamp = lock.readLock();
+        try {
+            for (int i = size - 1; i >= 0; i--) {
+                if (Objects.equals(o, elements[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elements;
+        Object[] copy = Arrays.copyOf(es, Math.min(size, es.length));
+        if (lock.validate(stamp)) {
+            return copy;
+        }
+        stamp = lock.readLock();
+        try {
+            return Arrays.copyOf(elements, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] snapshot = toArray();
+        if (a.length < snapshot.length) {
+            return (T[]) Arrays.copyOf(snapshot, snapshot.length, a.getClass());
+        }
+        System.arraycopy(snapshot, 0, a, 0, snapshot.length);
+        if (a.length > snapshot.length) {
+            a[snapshot.length] = null;
+        }
+        return a;
+    }
+
+    // ---- single writes ----
+
+    @Override
+    public boolean add(E e) {
+        long stamp = lock.writeLock();
+        try {
+            rawAdd(size, e);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size + 1);
+            rawAdd(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            return rawSet(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            return rawRemove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            int index = rawIndexOf(o, elements, size);
+            if (index < 0) {
+                return false;
+            }
+            rawRemove(index);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + added.length);
+            System.arraycopy(added, 0, elements, size, added.length);
+            size += added.length;
+            modCount++;
+            return added.length > 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            elements = new Object[10];
+            size = 0;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return replaceAllIf(filter, null) > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < size; i++) {
+                elements[i] = operator.apply((E) elements[i]);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.sort((E[]) elements, 0, size, c);
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ---- atomic compound operations ----
+
+    /*
+     * Adds e unless an equal element is present. The presence check runs as
+     * an optimistic read first, so the common "already there" case takes no lock.
+     */
+    public boolean addIfAbsent(E e) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] es = elements;
+        boolean present = rawIndexOf(e, es, Math.min(size, es.length)) >= 0;
+        if (lock.validate(stamp)) {
+            if (present) {
+                return false;
+            }
+            // Nothing changed since the scan: upgrade in place, no second scan
+            long ws = lock.tryConvertToWriteLock(stamp);
+            if (ws != 0L) {
+                try {
+                    rawAdd(size, e);
+                    return true;
+                } finally {
+                    lock.unlockWrite(ws);
+                }
+            }
+        }
+        stamp = lock.writeLock();
+        try {
+            if (rawIndexOf(e, elements, size) >= 0) {
+                return false;
+            }
+            rawAdd(size, e);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Atomically replaces element[index] with fn(element[index]); returns the new value
+    @SuppressWarnings("unchecked")
+    public E computeAt(int index, UnaryOperator<E> fn) {
+        long stamp = lock.writeLock();
+        try {
+            Objects.checkIndex(index, size);
+            E updated = fn.apply((E) elements[index]);
+            elements[index] = updated;
+            return updated;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /*
+     * Atomically replaces every element matching the predicate with
+     * fn(element); a null fn removes the matches instead. Returns the number
+     * of elements replaced or removed.
+     */
+    @SuppressWarnings("unchecked")
+    public int replaceAllIf(Predicate<? super E> predicate, UnaryOperator<E> fn) {
+        long stamp = lock.writeLock();
+        try {
+            int matched = 0;
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                E e = (E) elements[read];
+                if (predicate.test(e)) {
+                    matched++;
+                    if (fn == null) {
+                        continue;
+                    }
+                    e = fn.apply(e);
+                }
+                elements[write++] = e;
+            }
+            if (write != size) {
+                Arrays.fill(elements, write, size, null);
+                size = write;
+                modCount++;
+            }
+            return matched;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /*
+     * Runs body with the write lock held. The body must use the list passed
+     * in (an unlocked view), not this list: StampedLock is not reentrant.
+     */
+    public void transaction(Consumer<? super List<E>> body) {
+        long stamp = lock.writeLock();
+        Direct view = new Direct();
+        try {
+            body.accept(view);
+        } finally {
+            view.open = false;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Runs fn against a consistent read-only view with the read lock held
+    public <R> R withReadLock(Function<? super List<E>, ? extends R> fn) {
+        long stamp = lock.readLock();
+        Direct view = new Direct();
+        try {
+            return fn.apply(Collections.unmodifiableList(view));
+        } finally {
+            view.open = false;
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ---- snapshot iteration ----
+
+    // Walks a copy taken under the lock; the callback runs after the lock is released, so it may write to the list
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (Object e : toArray()) {
+            action.accept((E) e);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListIterator<E> listIterator(int index) {
+        List<E> snapshot = (List<E>) Arrays.asList(toArray());
+        return Collections.unmodifiableList(snapshot).listIterator(index);
+    }
+
+    // Immutable copy of the range at the time of the call
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> subList(int fromIndex, int toIndex) {
+        Object[] snapshot = toArray();
+        Objects.checkFromToIndex(fromIndex, toIndex, snapshot.length);
+        return Collections.unmodifiableList((List<E>) Arrays.asList(Arrays.copyOfRange(snapshot, fromIndex, toIndex)));
+    }
+
+    // ---- raw operations (caller holds the write lock) ----
+
+    private void rawAdd(int index, E e) {
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = e;
+        size++;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E rawSet(int index, E e) {
+        E old = (E) elements[index];
+        elements[index] = e;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E rawRemove(int index) {
+        E old = (E) elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    private static int rawIndexOf(Object o, Object[] es, int n) {
+        if (o == null) {
+            for (int i = 0; i < n; i++) {
+                if (es[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (o.equals(es[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(minCapacity, elements.length + (elements.length >> 1)));
+        }
+    }
+
+    // Unlocked view handed to transaction()/withReadLock() callbacks
+    private final class Direct extends AbstractList<E> implements RandomAccess {
+        boolean open = true;
+
+        private void checkOpen() {
+            if (!open) {
+                throw new IllegalStateException("Transaction view used after the transaction ended");
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            return (E) elements[index];
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            return rawSet(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            checkOpen();
+            Objects.checkIndex(index, size + 1);
+            rawAdd(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            checkOpen();
+            Objects.checkIndex(index, size);
+            return rawRemove(index);
+        }
+
+        @Override
+        public int size() {
+            checkOpen();
+            return size;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== StampedList Demo ===");
+        StampedList<String> list = new StampedList<>(List.of("A", "B", "C"));
+        System.out.println("get(1) via optimistic read: " + list.get(1));
+        System.out.println("addIfAbsent(B): " + list.addIfAbsent("B") + ", addIfAbsent(D): " + list.addIfAbsent("D"));
+        list.computeAt(0, s -> s + "!");
+        System.out.println("After computeAt(0): " + list);
+        int replaced = list.replaceAllIf(s -> s.startsWith("C"), String::toLowerCase);
+        System.out.println("replaceAllIf replaced " + replaced + ": " + list);
+        // Check-then-act sequence as one atomic unit
+        list.transaction(l -> {
+            if (l.size() < 5) {
+                l.add("E");
+            }
+            l.remove("B");
+        });
+        System.out.println("After transaction: " + list);
+    }
+}
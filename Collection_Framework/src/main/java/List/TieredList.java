@@ -0,0 +1,268 @@
+package List;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/*
+ * TIEREDLIST OVERVIEW:
+ * - Tiered vector: the list is cut into tiers of k elements each (k ~ √n)
+ * - Every tier is a circular buffer, so a tier can gain or lose an element
+ *   at either end in O(1) by moving its head
+ * - All tiers are full except the last one, so get(i) is pure arithmetic:
+ *   tier = i / k, slot = (head[tier] + i % k) mod k
+ *
+ * STRUCTURE (k = 4):
+ * tier0: [c][d][a][b]  head=2  → a b c d
+ * tier1: [e][f][g][h]  head=0  → e f g h
+ * tier2: [ ][i][j][ ]  head=1  → i j      (last tier, partially filled)
+ *
+ * INSERT at i (O(k + n/k) = O(√n)):
+ * 1. Every full tier after tier(i) hands its last element to the front of
+ *    the next tier (O(1) per tier, circular head move)
+ * 2. Inside tier(i) shift the shorter side by one slot (at most k/2 moves)
+ * REMOVE is the mirror image (each later tier gives its first element back)
+ *
+ * ARRAYLIST vs LINKEDLIST vs TIEREDLIST:
+ * ArrayList:  get O(1), insert/remove in middle O(n) shifting
+ * LinkedList: get O(n), insert/remove O(n) to reach the node
+ * TieredList: get O(1), insert/remove anywhere O(√n)
+ *
+ * PROS:
+ * - Fast positional inserts/deletes with O(1) random access
+ * - Elements stay in a handful of arrays (cache-friendly iteration)
+ *
+ * CONS:
+ * - O(n) rebuild when size crosses k² (amortized away, like ArrayList growth)
+ * - get() costs a little more than ArrayList (two array loads + masking)
+ * - Not thread-safe
+ *
+ * WHEN TO USE:
+ * - Order-book style workloads: constant inserts/deletes at arbitrary
+ *   positions of a large ordered list that is also read by index
+ */
+public class TieredList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int MIN_SHIFT = 4;
+
+    private int shift;          // k = 1 << shift
+    private int tierSize;
+    private int tierMask;
+    private Object[][] tiers;   // at most k tiers → capacity k²
+    private int[] heads;
+    private int size;
+
+    public TieredList() {
+        init(MIN_SHIFT);
+    }
+
+    public TieredList(Collection<? extends E> c) {
+        Object[] values = c.toArray();
+        init(shiftFor(values.length));
+        fill(values, values.length);
+    }
+
+    private void init(int newShift) {
+        shift = newShift;
+        tierSize = 1 << newShift;
+        tierMask = tierSize - 1;
+        tiers = new Object[tierSize][];
+        heads = new int[tierSize];
+    }
+
+    // Smallest k (power of two) with k² > n
+    private static int shiftFor(int n) {
+        int s = MIN_SHIFT;
+        while ((1L << (2 * s)) <= n) {
+            s++;
+        }
+        return s;
+    }
+
+    private void fill(Object[] values, int count) {
+        for (int t = 0; t * tierSize < count; t++) {
+            Object[] tier = new Object[tierSize];
+            System.arraycopy(values, t * tierSize, tier, 0, Math.min(tierSize, count - t * tierSize));
+            tiers[t] = tier;
+        }
+        size = count;
+    }
+
+    // Random access - O(1): tier lookup + circular offset
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int t = index >>> shift;
+        return (E) tiers[t][(heads[t] + index) & tierMask];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size);
+        int t = index >>> shift;
+        Object[] tier = tiers[t];
+        int slot = (heads[t] + index) & tierMask;
+        E old = (E) tier[slot];
+        tier[slot] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    // Positional insert - O(√n)
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        modCount++;
+        if (size == tierSize * tierSize) {
+            rebuild(shift + 1);
+        }
+        int t = index >>> shift;
+        int last = size >>> shift;
+        if (tiers[last] == null) {
+            tiers[last] = new Object[tierSize];
+        }
+        // Cascade: each full tier passes its last element to the next tier's front
+        for (int j = last; j > t; j--) {
+            Object[] prev = tiers[j - 1];
+            int prevTail = (heads[j - 1] + tierMask) & tierMask;
+            Object carried = prev[prevTail];
+            prev[prevTail] = null;
+            heads[j] = (heads[j] - 1) & tierMask;
+            tiers[j][heads[j]] = carried;
+        }
+        int count = t == last ? size - (t << shift) : tierSize - 1;
+        insertInTier(t, index & tierMask, count, element);
+        size++;
+    }
+
+    // Positional remove - O(√n)
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+        int t = index >>> shift;
+        int last = (size - 1) >>> shift;
+        int count = t == last ? size - (t << shift) : tierSize;
+        E removed = (E) removeInTier(t, index & tierMask, count);
+        // Cascade back: each later tier gives its first element to the previous tier's end
+        for (int j = t + 1; j <= last; j++) {
+            Object[] next = tiers[j];
+            int head = heads[j];
+            Object carried = next[head];
+            next[head] = null;
+            heads[j] = (head + 1) & tierMask;
+            tiers[j - 1][(heads[j - 1] + tierMask) & tierMask] = carried;
+        }
+        size--;
+        return removed;
+    }
+
+    // Shift whichever side of the slot is shorter (at most k/2 moves)
+    private void insertInTier(int t, int offset, int count, Object element) {
+        Object[] tier = tiers[t];
+        int head = heads[t];
+        if (offset < (count >>> 1)) {
+            head = (head - 1) & tierMask;
+            for (int p = 0; p < offset; p++) {
+                tier[(head + p) & tierMask] = tier[(head + p + 1) & tierMask];
+            }
+            heads[t] = head;
+        } else {
+            for (int p = count; p > offset; p--) {
+                tier[(head + p) & tierMask] = tier[(head + p - 1) & tierMask];
+            }
+        }
+        tier[(head + offset) & tierMask] = element;
+    }
+
+    private Object removeInTier(int t, int offset, int count) {
+        Object[] tier = tiers[t];
+        int head = heads[t];
+        Object removed = tier[(head + offset) & tierMask];
+        if (offset < (count >>> 1)) {
+            for (int p = offset; p > 0; p--) {
+                tier[(head + p) & tierMask] = tier[(head + p - 1) & tierMask];
+            }
+            tier[head] = null;
+            heads[t] = (head + 1) & tierMask;
+        } else {
+            for (int p = offset; p < count - 1; p++) {
+                tier[(head + p) & tierMask] = tier[(head + p + 1) & tierMask];
+            }
+            tier[(head + count - 1) & tierMask] = null;
+        }
+        return removed;
+    }
+
+    // Re-tier with a new k - O(n), happens when size crosses k² (amortized O(1))
+    private void rebuild(int newShift) {
+        Object[] values = toArray();
+        init(newShift);
+        fill(values, values.length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        init(MIN_SHIFT);
+        size = 0;
+    }
+
+    // Tier-by-tier copy (two arraycopy calls per tier at most)
+    @Override
+    public Object[] toArray() {
+        Object[] out = new Object[size];
+        for (int t = 0, copied = 0; copied < size; t++) {
+            int count = Math.min(tierSize, size - copied);
+            int head = heads[t];
+            int firstPart = Math.min(count, tierSize - head);
+            System.arraycopy(tiers[t], head, out, copied, firstPart);
+            System.arraycopy(tiers[t], 0, out, copied + firstPart, count - firstPart);
+            copied += count;
+        }
+        return out;
+    }
+
+    // Sequential walk over each tier's slots, no per-element division
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (int t = 0, visited = 0; visited < size; t++) {
+            Object[] tier = tiers[t];
+            int head = heads[t];
+            int count = Math.min(tierSize, size - visited);
+            for (int p = 0; p < count; p++) {
+                action.accept((E) tier[(head + p) & tierMask]);
+            }
+            visited += count;
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== TieredList Operations ===");
+        TieredList<Integer> list = new TieredList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.add(5, 100);   // O(√n) middle insert
+        list.remove(2);     // O(√n) middle remove
+        System.out.println("List: " + list);
+        System.out.println("get(4): " + list.get(4) + " (O(1))");
+    }
+}
@@ -0,0 +1,503 @@
+package List;
+
+import java.util.*;
+
+/*
+ * UNROLLEDDEQUE OVERVIEW:
+ * - Deque built from a doubly-linked list of blocks, each block an array of
+ *   32-128 elements (default 64)
+ * - The head block fills from right to left, the tail block from left to
+ *   right; each block tracks its own live range [lo, hi)
+ * - One node allocation per block instead of one per element
+ *
+ * STRUCTURE (block size 4):
+ * head                                   tail
+ * [ ][ ][c][d] <-> [e][f][g][h] <-> [i][j][ ][ ]
+ *        lo=2          full              hi=2
+ *
+ * LINKEDLIST vs UNROLLEDDEQUE:
+ * LinkedList:    1 Node (24-32 bytes) per element, nodes scattered in memory
+ * UnrolledDeque: 1 block per 64 elements, elements contiguous inside a block
+ *
+ * PROS:
+ * - O(1) add/remove/peek at both ends (same API as LinkedList/ArrayDeque)
+ * - ~64x fewer allocations than LinkedList → far lower GC pressure
+ * - Good cache locality when iterating
+ * - Never copies the whole structure (unlike ArrayDeque's doubling)
+ * - Keeps one spare block so a queue hovering at a block boundary does not
+ *   allocate on every push/pop
+ *
+ * CONS:
+ * - Removing from the middle (remove(Object), iterator.remove) shifts
+ *   inside one block: O(block size)
+ * - No null elements (same as ArrayDeque)
+ * - Not thread-safe
+ *
+ * WHEN TO USE:
+ * - Queues, stacks and deques that previously used LinkedList
+ * - Long-lived queues whose size varies a lot (ArrayDeque never shrinks)
+ */
+public class UnrolledDeque<E> extends AbstractCollection<E> implements Deque<E> {
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private static final class Block {
+        final Object[] items;
+        int lo;
+        int hi;
+        Block prev;
+        Block next;
+
+        Block(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    private final int blockSize;
+    private Block head;
+    private Block tail;
+    private Block spare;
+    private int size;
+    private int modCount;
+
+    public UnrolledDeque() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public UnrolledDeque(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Block size must be at least 2: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        head = tail = newBlock();
+        head.lo = head.hi = blockSize >>> 1;
+    }
+
+    // Links directly instead of calling addAll, which a subclass could override
+    public UnrolledDeque(Collection<? extends E> c) {
+        this();
+        for (E e : c) {
+            linkLast(e);
+        }
+    }
+
+    private Block newBlock() {
+        Block b = spare;
+        if (b != null) {
+            spare = null;
+            b.prev = b.next = null;
+            return b;
+        }
+        return new Block(blockSize);
+    }
+
+    // Unlinked empty blocks are kept as a single spare (items already nulled)
+    private void recycle(Block b) {
+        b.prev = b.next = null;
+        spare = b;
+    }
+
+    // ---- insertion at the ends: O(1) ----
+
+    @Override
+    public void addFirst(E e) {
+        Objects.requireNonNull(e);
+        modCount++;
+        Block h = head;
+        if (h.lo == 0) {
+            Block b = newBlock();
+            b.lo = b.hi = blockSize;
+            b.next = h;
+            h.prev = b;
+            head = h = b;
+        }
+        h.items[--h.lo] = e;
+        size++;
+    }
+
+    @Override
+    public void addLast(E e) {
+        linkLast(e);
+    }
+
+    private void linkLast(E e) {
+        Objects.requireNonNull(e);
+        modCount++;
+        Block t = tail;
+        if (t.hi == blockSize) {
+            Block b = newBlock();
+            b.lo = b.hi = 0;
+            b.prev = t;
+            t.next = b;
+            tail = t = b;
+        }
+        t.items[t.hi++] = e;
+        size++;
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    // ---- removal at the ends: O(1) ----
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        modCount++;
+        Block h = head;
+        E e = (E) h.items[h.lo];
+        h.items[h.lo++] = null;
+        size--;
+        if (h.lo == h.hi) {
+            if (h.next != null) {
+                head = h.next;
+                head.prev = null;
+                recycle(h);
+            } else {
+                h.lo = h.hi = blockSize >>> 1; // sole block: re-center for both ends
+            }
+        }
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        modCount++;
+        Block t = tail;
+        E e = (E) t.items[--t.hi];
+        t.items[t.hi] = null;
+        size--;
+        if (t.lo == t.hi) {
+            if (t.prev != null) {
+                tail = t.prev;
+                tail.next = null;
+                recycle(t);
+            } else {
+                t.lo = t.hi = blockSize >>> 1;
+            }
+        }
+        return e;
+    }
+
+    @Override
+    public E removeFirst() {
+        E e = pollFirst();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @Override
+    public E removeLast() {
+        E e = pollLast();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // ---- inspection: O(1) ----
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return size == 0 ? null : (E) head.items[head.lo];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return size == 0 ? null : (E) tail.items[tail.hi - 1];
+    }
+
+    @Override
+    public E getFirst() {
+        E e = peekFirst();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @Override
+    public E getLast() {
+        E e = peekLast();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // ---- Queue / Stack views ----
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    // ---- removal from the middle: O(n) search + O(block) shift ----
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return removeOccurrence(o, iterator());
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return removeOccurrence(o, descendingIterator());
+    }
+
+    private static boolean removeOccurrence(Object o, Iterator<?> it) {
+        if (o == null) {
+            return false;
+        }
+        while (it.hasNext()) {
+            if (o.equals(it.next())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Remove items[index] of block b by shifting the block's tail left; true if b was unlinked
+    private boolean removeAt(Block b, int index) {
+        modCount++;
+        System.arraycopy(b.items, index + 1, b.items, index, b.hi - index - 1);
+        b.items[--b.hi] = null;
+        size--;
+        if (b.lo < b.hi) {
+            return false;
+        }
+        if (b.prev == null && b.next == null) {
+            b.lo = b.hi = blockSize >>> 1;
+            return false;
+        }
+        unlink(b);
+        return true;
+    }
+
+    private void unlink(Block b) {
+        if (b.prev != null) {
+            b.prev.next = b.next;
+        } else {
+            head = b.next;
+        }
+        if (b.next != null) {
+            b.next.prev = b.prev;
+        } else {
+            tail = b.prev;
+        }
+        recycle(b);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        head = tail = newBlock();
+        head.lo = head.hi = blockSize >>> 1;
+        spare = null;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new DescendingItr();
+    }
+
+    private final class Itr implements Iterator<E> {
+        private Block block = head;
+        private int index = head.lo;
+        private Block lastBlock;
+        private int lastIndex = -1;
+        private int remaining = size;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            if (index == block.hi) {
+                block = block.next;
+                index = block.lo;
+            }
+            lastBlock = block;
+            lastIndex = index;
+            remaining--;
+            return (E) block.items[index++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            Block next = lastBlock.next;
+            if (removeAt(lastBlock, lastIndex)) {
+                // Block vanished: continue at the start of the following block
+                block = next;
+                index = next == null ? 0 : next.lo;
+            } else {
+                block = lastBlock;
+                index = lastIndex; // the next element was shifted into this slot
+            }
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class DescendingItr implements Iterator<E> {
+        private Block block = tail;
+        private int index = tail.hi - 1;
+        private Block lastBlock;
+        private int lastIndex = -1;
+        private int remaining = size;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            if (index < block.lo) {
+                block = block.prev;
+                index = block.hi - 1;
+            }
+            lastBlock = block;
+            lastIndex = index;
+            remaining--;
+            return (E) block.items[index--];
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            Block prev = lastBlock.prev;
+            if (removeAt(lastBlock, lastIndex)) {
+                block = prev;
+                index = prev == null ? -1 : prev.hi - 1;
+            } else {
+                block = lastBlock;
+                index = lastIndex - 1; // elements before lastIndex did not move
+            }
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== UnrolledDeque Operations ===");
+        Deque<Integer> deque = new UnrolledDeque<>(4);
+        for (int i = 1; i <= 6; i++) {
+            deque.addLast(i);   // fills blocks left to right
+        }
+        deque.addFirst(0);      // head block grows right to left
+        System.out.println("Deque: " + deque);
+        System.out.println("removeFirst: " + deque.removeFirst() + ", removeLast: " + deque.removeLast());
+        deque.remove(3);        // middle removal shifts within one block
+        System.out.println("After remove(3): " + deque);
+        System.out.print("Descending: ");
+        deque.descendingIterator().forEachRemaining(e -> System.out.print(e + " "));
+        System.out.println();
+    }
+}
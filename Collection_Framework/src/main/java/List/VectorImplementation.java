@@ -126,6 +126,7 @@ public class VectorImplementation {
         vector.add(2);
         vector.add(3);
         System.out.println("Thread-safe additions: " + vector);
+        System.out.println("Under virtual threads synchronized pins carriers: see Benchmarks.VirtualThreadStress");
         System.out.println();
     }
     
@@ -150,5 +151,6 @@ public class VectorImplementation {
         System.out.println("- Collections.synchronizedList(new ArrayList<>())");
         System.out.println("- CopyOnWriteArrayList (for read-heavy scenarios)");
         System.out.println("- ConcurrentLinkedQueue (for concurrent access)");
+        System.out.println("\nMeasured numbers: run Benchmarks.ThreadSafeListBenchmark (JSON report)");
     }
 }
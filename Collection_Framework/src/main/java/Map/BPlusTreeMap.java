@@ -0,0 +1,1375 @@
+package Map;
+
+import java.util.*;
+
+/*
+ * B+TREE MAP OVERVIEW:
+ * - Sorted map (NavigableMap) like TreeMap, but with WIDE nodes: each node
+ *   holds up to 64 keys in one array instead of one entry per node
+ * - All entries live in the LEAVES; inner nodes only hold separator keys
+ * - Leaves are linked both ways, so range scans and iteration walk arrays
+ *   leaf after leaf instead of chasing parent/child pointers
+ * - Bulk loading from sorted input builds full leaves in O(n)
+ *
+ * INTERNAL STRUCTURE:
+ *                    [ 40 | 80 ]                 inner: separators + children
+ *                   /     |     \
+ *   [10 20 30] ⇄ [40 50 60 70] ⇄ [80 90]         leaves: keys[] + values[]
+ *
+ * child i of an inner node holds keys in [separator(i-1), separator(i))
+ *
+ * vs TreeMap (red-black tree):
+ * - TreeMap: one 40-byte Entry per mapping, ~2·log2(n) levels (≈50 for
+ *   30M keys), every level a dependent cache miss
+ * - B+tree: log64(n) levels (≈5 for 30M keys); the key array of a node is a
+ *   few contiguous cache lines that binary search walks with prefetchable
+ *   loads; a range of r entries touches r/64 leaves
+ *
+ * DELETION: "free-at-empty" — a leaf is unlinked only when it becomes empty
+ * and underfull nodes are never merged (the policy of many database B-trees,
+ * see Johnson & Shasha, "B-trees with inserts and deletes: why free-at-empty
+ * is better than merge-at-half"). Height never exceeds what the inserts
+ * built; bulkLoad / putAll into an empty map rebuilds a compact tree.
+ *
+ * PROS:
+ * - Fast point and range queries over tens of millions of keys
+ * - Far fewer objects than TreeMap (one per 64 entries, not one per entry)
+ * - Sorted bulk load, sequential-insert friendly splits
+ *
+ * CONS:
+ * - Inserts/removes shift up to 64 array slots (still cheap: memmove)
+ * - Not thread-safe (like TreeMap)
+ * - Sub-map size() is O(range), as in TreeMap
+ *
+ * WHEN TO USE:
+ * - Large sorted indexes with range queries (time series, ID ranges)
+ * - Read-mostly sorted maps built from sorted input
+ * - LongBPlusTreeMap for primitive long keys without boxing
+ */
+public class BPlusTreeMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+    static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final Comparator<? super K> comparator;   // null → natural ordering
+    private final int capacity;                       // max keys per node
+    private Node root;
+    private Leaf first;
+    private Leaf last;
+    private int size;
+    private int modCount;
+    private final RangeView all = new RangeView(true, null, false, true, null, false, false);
+
+    // Set by insert/delete to report a split or a removed child upwards
+    private Node splitNode;
+    private Object splitKey;
+    private boolean changed;
+
+    private abstract static class Node {
+        final Object[] keys;
+        int size;
+
+        Node(int capacity) {
+            keys = new Object[capacity];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] values;
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int capacity) {
+            super(capacity);
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children;     // size + 1 children
+
+        Inner(int capacity) {
+            super(capacity);
+            children = new Node[capacity + 1];
+        }
+    }
+
+    private record Position(Leaf leaf, int index) {
+    }
+
+    public BPlusTreeMap() {
+        this(null, DEFAULT_NODE_CAPACITY);
+    }
+
+    public BPlusTreeMap(Comparator<? super K> comparator) {
+        this(comparator, DEFAULT_NODE_CAPACITY);
+    }
+
+    public BPlusTreeMap(Comparator<? super K> comparator, int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("nodeCapacity must be >= 4: " + nodeCapacity);
+        }
+        this.comparator = comparator;
+        this.capacity = nodeCapacity;
+    }
+
+    // O(n) build from entries in strictly ascending key order
+    public static <K, V> BPlusTreeMap<K, V> bulkLoad(Iterator<? extends Map.Entry<? extends K, ? extends V>> sorted,
+                                                     Comparator<? super K> comparator) {
+        BPlusTreeMap<K, V> map = new BPlusTreeMap<>(comparator);
+        map.buildFromSorted(sorted);
+        return map;
+    }
+
+    public static <K, V> BPlusTreeMap<K, V> fromSorted(SortedMap<K, ? extends V> sorted) {
+        return bulkLoad(sorted.entrySet().iterator(), sorted.comparator());
+    }
+
+    // ---- comparisons ----
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator == null ? ((Comparable<Object>) a).compareTo(b) : comparator.compare((K) a, (K) b);
+    }
+
+    // Index of key in keys[0, size), or -(insertion point + 1)
+    private int search(Node node, Object key) {
+        int low = 0;
+        int high = node.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(node.keys[mid], key);
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // Child to descend into: number of separators <= key
+    private int childIndex(Inner inner, Object key) {
+        int i = search(inner, key);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    private Leaf leafFor(Object key) {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    // ---- point operations ----
+
+    // O(log n)
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Objects.requireNonNull(key);
+        if (root == null) {
+            return null;
+        }
+        Leaf leaf = leafFor(key);
+        int i = search(leaf, key);
+        return i >= 0 ? (V) leaf.values[i] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Objects.requireNonNull(key);
+        return root != null && search(leafFor(key), key) >= 0;
+    }
+
+    // O(log n) + O(capacity) shift; replacing a value is not a structural change
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        if (root == null) {
+            compare(key, key);               // type check, as TreeMap does
+            Leaf leaf = new Leaf(capacity);
+            root = first = last = leaf;
+        }
+        changed = false;
+        splitNode = null;
+        Object old = insert(root, key, value);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(capacity);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.size = 1;
+            root = newRoot;
+            splitNode = null;
+            splitKey = null;
+        }
+        if (changed) {
+            size++;
+            modCount++;
+        }
+        return (V) old;
+    }
+
+    private Object insert(Node node, Object key, Object value) {
+        if (node instanceof Leaf leaf) {
+            int i = search(leaf, key);
+            if (i >= 0) {
+                Object old = leaf.values[i];
+                leaf.values[i] = value;
+                return old;
+            }
+            changed = true;
+            insertIntoLeaf(leaf, -(i + 1), key, value);
+            return null;
+        }
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Object old = insert(inner.children[child], key, value);
+        if (splitNode != null) {
+            insertIntoInner(inner, child, splitKey, splitNode);
+        }
+        return old;
+    }
+
+    private void insertIntoLeaf(Leaf leaf, int at, Object key, Object value) {
+        if (leaf.size < capacity) {
+            System.arraycopy(leaf.keys, at, leaf.keys, at + 1, leaf.size - at);
+            System.arraycopy(leaf.values, at, leaf.values, at + 1, leaf.size - at);
+            leaf.keys[at] = key;
+            leaf.values[at] = value;
+            leaf.size++;
+            return;
+        }
+        Leaf right = new Leaf(capacity);
+        // Appending past the last key: keep the left leaf full (sequential
+        // inserts then fill leaves completely instead of half)
+        int keep = (at == capacity && leaf.next == null) ? capacity : (capacity + 1) / 2;
+        if (at < keep) {
+            moveTail(leaf, keep - 1, right);
+            System.arraycopy(leaf.keys, at, leaf.keys, at + 1, leaf.size - at);
+            System.arraycopy(leaf.values, at, leaf.values, at + 1, leaf.size - at);
+            leaf.keys[at] = key;
+            leaf.values[at] = value;
+            leaf.size++;
+        } else {
+            moveTail(leaf, keep, right);
+            int j = at - keep;
+            System.arraycopy(right.keys, j, right.keys, j + 1, right.size - j);
+            System.arraycopy(right.values, j, right.values, j + 1, right.size - j);
+            right.keys[j] = key;
+            right.values[j] = value;
+            right.size++;
+        }
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            last = right;
+        }
+        leaf.next = right;
+        splitKey = right.keys[0];
+        splitNode = right;
+    }
+
+    // Moves leaf entries [from, size) to the empty leaf right
+    private static void moveTail(Leaf leaf, int from, Leaf right) {
+        int count = leaf.size - from;
+        System.arraycopy(leaf.keys, from, right.keys, 0, count);
+        System.arraycopy(leaf.values, from, right.values, 0, count);
+        Arrays.fill(leaf.keys, from, leaf.size, null);
+        Arrays.fill(leaf.values, from, leaf.size, null);
+        right.size = count;
+        leaf.size = from;
+    }
+
+    // Adds separator key and its right child after children[child]; may split
+    private void insertIntoInner(Inner inner, int child, Object key, Node rightChild) {
+        if (inner.size < capacity) {
+            System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.size - child);
+            System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.size - child);
+            inner.keys[child] = key;
+            inner.children[child + 1] = rightChild;
+            inner.size++;
+            splitNode = null;
+            splitKey = null;
+            return;
+        }
+        // Full: lay out capacity + 1 keys, promote the middle one
+        Object[] keys = new Object[capacity + 1];
+        Node[] children = new Node[capacity + 2];
+        System.arraycopy(inner.keys, 0, keys, 0, child);
+        keys[child] = key;
+        System.arraycopy(inner.keys, child, keys, child + 1, capacity - child);
+        System.arraycopy(inner.children, 0, children, 0, child + 1);
+        children[child + 1] = rightChild;
+        System.arraycopy(inner.children, child + 1, children, child + 2, capacity - child);
+
+        int mid = (capacity + 1) / 2;
+        Inner right = new Inner(capacity);
+        Arrays.fill(inner.keys, null);
+        Arrays.fill(inner.children, null);
+        System.arraycopy(keys, 0, inner.keys, 0, mid);
+        System.arraycopy(children, 0, inner.children, 0, mid + 1);
+        inner.size = mid;
+        right.size = capacity - mid;
+        System.arraycopy(keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(children, mid + 1, right.children, 0, right.size + 1);
+        splitKey = keys[mid];
+        splitNode = right;
+    }
+
+    // O(log n) + O(capacity) shift
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        Objects.requireNonNull(key);
+        if (root == null) {
+            return null;
+        }
+        changed = false;
+        Object old = delete(root, key);
+        if (!changed) {
+            return null;
+        }
+        size--;
+        modCount++;
+        if (size == 0) {
+            root = first = last = null;
+            return (V) old;
+        }
+        while (root instanceof Inner inner && inner.size == 0) {
+            root = inner.children[0];           // collapse single-child roots
+        }
+        return (V) old;
+    }
+
+    // Returns the removed value; node.size == 0 afterwards means "node is empty"
+    private Object delete(Node node, Object key) {
+        if (node instanceof Leaf leaf) {
+            int i = search(leaf, key);
+            if (i < 0) {
+                return null;
+            }
+            changed = true;
+            Object old = leaf.values[i];
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+            leaf.size--;
+            leaf.keys[leaf.size] = null;
+            leaf.values[leaf.size] = null;
+            if (leaf.size == 0 && leaf != root) {
+                unlink(leaf);
+            }
+            return old;
+        }
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Node target = inner.children[child];
+        Object old = delete(target, key);
+        if (target.size == 0 && (target instanceof Leaf || ((Inner) target).children[0] == null)) {
+            removeChild(inner, child);
+        }
+        return old;
+    }
+
+    // Free-at-empty: drop an empty child and one adjacent separator
+    private void removeChild(Inner inner, int child) {
+        if (inner.size == 0) {
+            inner.children[0] = null;          // the inner node is now empty too
+            return;
+        }
+        int key = child == 0 ? 0 : child - 1;
+        System.arraycopy(inner.keys, key + 1, inner.keys, key, inner.size - key - 1);
+        System.arraycopy(inner.children, child + 1, inner.children, child, inner.size - child);
+        inner.size--;
+        inner.keys[inner.size] = null;
+        inner.children[inner.size + 1] = null;
+    }
+
+    private void unlink(Leaf leaf) {
+        if (leaf.prev != null) {
+            leaf.prev.next = leaf.next;
+        } else {
+            first = leaf.next;
+        }
+        if (leaf.next != null) {
+            leaf.next.prev = leaf.prev;
+        } else {
+            last = leaf.prev;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    // Bulk-loads when this map is empty and map is sorted the same way
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        if (size == 0 && !map.isEmpty() && map instanceof SortedMap<?, ?> sorted
+                && Objects.equals(sorted.comparator(), comparator)) {
+            buildFromSorted(map.entrySet().iterator());
+        } else {
+            super.putAll(map);
+        }
+    }
+
+    // ---- bulk loading ----
+
+    private void buildFromSorted(Iterator<? extends Map.Entry<? extends K, ? extends V>> sorted) {
+        List<Node> level = new ArrayList<>();
+        List<Object> minKeys = new ArrayList<>();
+        Leaf leaf = null;
+        Object previous = null;
+        int count = 0;
+        while (sorted.hasNext()) {
+            Map.Entry<? extends K, ? extends V> entry = sorted.next();
+            Object key = Objects.requireNonNull(entry.getKey());
+            if (previous == null) {
+                compare(key, key);
+            } else if (compare(previous, key) >= 0) {
+                throw new IllegalArgumentException("Input is not strictly ascending at key " + key);
+            }
+            if (leaf == null || leaf.size == capacity) {
+                Leaf next = new Leaf(capacity);
+                if (leaf != null) {
+                    leaf.next = next;
+                    next.prev = leaf;
+                }
+                leaf = next;
+                level.add(leaf);
+                minKeys.add(key);
+            }
+            leaf.keys[leaf.size] = key;
+            leaf.values[leaf.size++] = entry.getValue();
+            previous = key;
+            count++;
+        }
+        clear();
+        if (count == 0) {
+            return;
+        }
+        // Rebalance the last two leaves so the tail is not nearly empty
+        if (level.size() > 1 && leaf.size < capacity / 2) {
+            Leaf left = leaf.prev;
+            int move = (left.size - leaf.size) / 2;
+            System.arraycopy(leaf.keys, 0, leaf.keys, move, leaf.size);
+            System.arraycopy(leaf.values, 0, leaf.values, move, leaf.size);
+            System.arraycopy(left.keys, left.size - move, leaf.keys, 0, move);
+            System.arraycopy(left.values, left.size - move, leaf.values, 0, move);
+            Arrays.fill(left.keys, left.size - move, left.size, null);
+            Arrays.fill(left.values, left.size - move, left.size, null);
+            left.size -= move;
+            leaf.size += move;
+            minKeys.set(minKeys.size() - 1, leaf.keys[0]);
+        }
+        first = (Leaf) level.get(0);
+        last = leaf;
+        // Inner levels: children spread evenly over ceil(n / (capacity + 1)) nodes
+        while (level.size() > 1) {
+            int parents = (level.size() + capacity) / (capacity + 1);
+            List<Node> upper = new ArrayList<>(parents);
+            List<Object> upperMins = new ArrayList<>(parents);
+            int index = 0;
+            for (int p = 0; p < parents; p++) {
+                int children = level.size() / parents + (p < level.size() % parents ? 1 : 0);
+                Inner inner = new Inner(capacity);
+                upperMins.add(minKeys.get(index));
+                for (int c = 0; c < children; c++, index++) {
+                    inner.children[c] = level.get(index);
+                    if (c > 0) {
+                        inner.keys[c - 1] = minKeys.get(index);
+                    }
+                }
+                inner.size = children - 1;
+                upper.add(inner);
+            }
+            level = upper;
+            minKeys = upperMins;
+        }
+        root = level.get(0);
+        size = count;
+    }
+
+    // ---- positions (leaf, index) for navigation ----
+
+    private Position firstPosition() {
+        return first == null ? null : new Position(first, 0);
+    }
+
+    private Position lastPosition() {
+        return last == null ? null : new Position(last, last.size - 1);
+    }
+
+    // First entry >= key (inclusive) or > key
+    private Position ceilingPosition(Object key, boolean inclusive) {
+        if (root == null) {
+            return null;
+        }
+        Leaf leaf = leafFor(key);
+        int i = search(leaf, key);
+        int index = i >= 0 ? (inclusive ? i : i + 1) : -(i + 1);
+        while (index >= leaf.size) {
+            leaf = leaf.next;
+            if (leaf == null) {
+                return null;
+            }
+            index = 0;
+        }
+        return new Position(leaf, index);
+    }
+
+    // Last entry <= key (inclusive) or < key
+    private Position floorPosition(Object key, boolean inclusive) {
+        if (root == null) {
+            return null;
+        }
+        Leaf leaf = leafFor(key);
+        int i = search(leaf, key);
+        int index = i >= 0 ? (inclusive ? i : i - 1) : -(i + 1) - 1;
+        while (index < 0) {
+            leaf = leaf.prev;
+            if (leaf == null) {
+                return null;
+            }
+            index = leaf.size - 1;
+        }
+        return new Position(leaf, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(Position position) {
+        return (K) position.leaf.keys[position.index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> exportEntry(Position position) {
+        return position == null ? null
+                : new SimpleImmutableEntry<>((K) position.leaf.keys[position.index], (V) position.leaf.values[position.index]);
+    }
+
+    // ---- NavigableMap (delegates to the unbounded view) ----
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public K firstKey() {
+        return all.firstKey();
+    }
+
+    @Override
+    public K lastKey() {
+        return all.lastKey();
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return all.firstEntry();
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return all.lastEntry();
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        return all.pollFirstEntry();
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        return all.pollLastEntry();
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return all.lowerEntry(key);
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return all.lowerKey(key);
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return all.floorEntry(key);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return all.floorKey(key);
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return all.ceilingEntry(key);
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return all.ceilingKey(key);
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return all.higherEntry(key);
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return all.higherKey(key);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return all.entrySet();
+    }
+
+    @Override
+    public NavigableSet<K> keySet() {
+        return all.navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return all.navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return all.descendingKeySet();
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return all.descendingMap();
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return all.subMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        return all.headMap(toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return all.tailMap(fromKey, inclusive);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    // ---- range view: sub/head/tail maps, descending maps and the map itself ----
+
+    private final class RangeView extends AbstractMap<K, V> implements NavigableMap<K, V> {
+        private final boolean fromStart;
+        private final Object low;
+        private final boolean lowInclusive;
+        private final boolean toEnd;
+        private final Object high;
+        private final boolean highInclusive;
+        private final boolean descending;
+
+        RangeView(boolean fromStart, Object low, boolean lowInclusive,
+                  boolean toEnd, Object high, boolean highInclusive, boolean descending) {
+            if (!fromStart && !toEnd && compare(low, high) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            this.fromStart = fromStart;
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.toEnd = toEnd;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(Object key) {
+            if (fromStart) {
+                return false;
+            }
+            int c = compare(key, low);
+            return c < 0 || (c == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(Object key) {
+            if (toEnd) {
+                return false;
+            }
+            int c = compare(key, high);
+            return c > 0 || (c == 0 && !highInclusive);
+        }
+
+        private boolean inRange(Object key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        // A new bound is allowed if it lies in this range (an exclusive bound
+        // may equal this range's exclusive bound)
+        private boolean inRange(Object key, boolean inclusive) {
+            if (inclusive) {
+                return inRange(key);
+            }
+            return (fromStart || compare(key, low) >= 0) && (toEnd || compare(high, key) >= 0);
+        }
+
+        // -- absolute (ascending) navigation, clipped to the range --
+
+        private Position absLowest() {
+            Position p = fromStart ? firstPosition() : ceilingPosition(low, lowInclusive);
+            return p == null || tooHigh(keyAt(p)) ? null : p;
+        }
+
+        private Position absHighest() {
+            Position p = toEnd ? lastPosition() : floorPosition(high, highInclusive);
+            return p == null || tooLow(keyAt(p)) ? null : p;
+        }
+
+        private Position absCeiling(Object key, boolean inclusive) {
+            if (tooLow(key)) {
+                return absLowest();
+            }
+            Position p = ceilingPosition(key, inclusive);
+            return p == null || tooHigh(keyAt(p)) ? null : p;
+        }
+
+        private Position absFloor(Object key, boolean inclusive) {
+            if (tooHigh(key)) {
+                return absHighest();
+            }
+            Position p = floorPosition(key, inclusive);
+            return p == null || tooLow(keyAt(p)) ? null : p;
+        }
+
+        // -- view-relative navigation (descending swaps directions) --
+
+        private Position lowest() {
+            return descending ? absHighest() : absLowest();
+        }
+
+        private Position highest() {
+            return descending ? absLowest() : absHighest();
+        }
+
+        private Position ceiling(Object key, boolean inclusive) {
+            Objects.requireNonNull(key);
+            return descending ? absFloor(key, inclusive) : absCeiling(key, inclusive);
+        }
+
+        private Position floor(Object key, boolean inclusive) {
+            Objects.requireNonNull(key);
+            return descending ? absCeiling(key, inclusive) : absFloor(key, inclusive);
+        }
+
+        private K keyOrNull(Position p) {
+            return p == null ? null : keyAt(p);
+        }
+
+        private K keyOrThrow(Position p) {
+            if (p == null) {
+                throw new NoSuchElementException();
+            }
+            return keyAt(p);
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            if (!descending) {
+                return comparator;
+            }
+            return comparator == null ? Collections.reverseOrder() : Collections.reverseOrder(comparator);
+        }
+
+        @Override
+        public K firstKey() {
+            return keyOrThrow(lowest());
+        }
+
+        @Override
+        public K lastKey() {
+            return keyOrThrow(highest());
+        }
+
+        @Override
+        public Entry<K, V> firstEntry() {
+            return exportEntry(lowest());
+        }
+
+        @Override
+        public Entry<K, V> lastEntry() {
+            return exportEntry(highest());
+        }
+
+        @Override
+        public Entry<K, V> pollFirstEntry() {
+            Entry<K, V> entry = firstEntry();
+            if (entry != null) {
+                BPlusTreeMap.this.remove(entry.getKey());
+            }
+            return entry;
+        }
+
+        @Override
+        public Entry<K, V> pollLastEntry() {
+            Entry<K, V> entry = lastEntry();
+            if (entry != null) {
+                BPlusTreeMap.this.remove(entry.getKey());
+            }
+            return entry;
+        }
+
+        @Override
+        public Entry<K, V> lowerEntry(K key) {
+            return exportEntry(floor(key, false));
+        }
+
+        @Override
+        public K lowerKey(K key) {
+            return keyOrNull(floor(key, false));
+        }
+
+        @Override
+        public Entry<K, V> floorEntry(K key) {
+            return exportEntry(floor(key, true));
+        }
+
+        @Override
+        public K floorKey(K key) {
+            return keyOrNull(floor(key, true));
+        }
+
+        @Override
+        public Entry<K, V> ceilingEntry(K key) {
+            return exportEntry(ceiling(key, true));
+        }
+
+        @Override
+        public K ceilingKey(K key) {
+            return keyOrNull(ceiling(key, true));
+        }
+
+        @Override
+        public Entry<K, V> higherEntry(K key) {
+            return exportEntry(ceiling(key, false));
+        }
+
+        @Override
+        public K higherKey(K key) {
+            return keyOrNull(ceiling(key, false));
+        }
+
+        // -- map operations --
+
+        @Override
+        public V get(Object key) {
+            return inRange(Objects.requireNonNull(key)) ? BPlusTreeMap.this.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return inRange(Objects.requireNonNull(key)) && BPlusTreeMap.this.containsKey(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            if (!inRange(Objects.requireNonNull(key))) {
+                throw new IllegalArgumentException("key out of range: " + key);
+            }
+            return BPlusTreeMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRange(Objects.requireNonNull(key)) ? BPlusTreeMap.this.remove(key) : null;
+        }
+
+        // O(1) for the whole map, O(range) for a sub-map
+        @Override
+        public int size() {
+            if (fromStart && toEnd) {
+                return size;
+            }
+            int count = 0;
+            for (Iterator<Entry<K, V>> it = new EntryIterator(this); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return fromStart && toEnd ? size == 0 : absLowest() == null;
+        }
+
+        @Override
+        public void clear() {
+            if (fromStart && toEnd) {
+                BPlusTreeMap.this.clear();
+                return;
+            }
+            for (Iterator<Entry<K, V>> it = new EntryIterator(this); it.hasNext(); ) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator(RangeView.this);
+                }
+
+                @Override
+                public int size() {
+                    return RangeView.this.size();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Map.Entry<?, ?> entry) || entry.getKey() == null) {
+                        return false;
+                    }
+                    Object key = entry.getKey();
+                    return containsKey(key) && Objects.equals(get(key), entry.getValue());
+                }
+
+                @Override
+                public boolean remove(Object o) {
+                    if (contains(o)) {
+                        RangeView.this.remove(((Map.Entry<?, ?>) o).getKey());
+                        return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public void clear() {
+                    RangeView.this.clear();
+                }
+            };
+        }
+
+        @Override
+        public NavigableSet<K> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> navigableKeySet() {
+            return new KeySetView<>(this);
+        }
+
+        @Override
+        public NavigableSet<K> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableMap<K, V> descendingMap() {
+            return new RangeView(fromStart, low, lowInclusive, toEnd, high, highInclusive, !descending);
+        }
+
+        // -- sub-views (bounds given in this view's order) --
+
+        @Override
+        public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+            Objects.requireNonNull(fromKey);
+            Objects.requireNonNull(toKey);
+            if (!inRange(fromKey, fromInclusive) || !inRange(toKey, toInclusive)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            if (descending) {
+                return new RangeView(false, toKey, toInclusive, false, fromKey, fromInclusive, true);
+            }
+            return new RangeView(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+            Objects.requireNonNull(toKey);
+            if (!inRange(toKey, inclusive)) {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            if (descending) {
+                return new RangeView(false, toKey, inclusive, toEnd, high, highInclusive, true);
+            }
+            return new RangeView(fromStart, low, lowInclusive, false, toKey, inclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+            Objects.requireNonNull(fromKey);
+            if (!inRange(fromKey, inclusive)) {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            if (descending) {
+                return new RangeView(fromStart, low, lowInclusive, false, fromKey, inclusive, true);
+            }
+            return new RangeView(false, fromKey, inclusive, toEnd, high, highInclusive, false);
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey) {
+            return tailMap(fromKey, true);
+        }
+    }
+
+    // ---- iteration along the leaf chain ----
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final RangeView view;
+        private Leaf leaf;
+        private int index;
+        private K lastKey;
+        private int expectedModCount = modCount;
+
+        EntryIterator(RangeView view) {
+            this.view = view;
+            seek(view.lowest());
+        }
+
+        private void seek(Position position) {
+            if (position == null) {
+                leaf = null;
+            } else {
+                leaf = position.leaf;
+                index = position.index;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) leaf.keys[index];
+            Entry<K, V> entry = new WriteThroughEntry(key, (V) leaf.values[index]);
+            lastKey = key;
+            if (view.descending) {
+                if (--index < 0) {
+                    leaf = leaf.prev;
+                    index = leaf == null ? 0 : leaf.size - 1;
+                }
+                if (leaf != null && view.tooLow(leaf.keys[index])) {
+                    leaf = null;
+                }
+            } else {
+                if (++index == leaf.size) {
+                    leaf = leaf.next;
+                    index = 0;
+                }
+                if (leaf != null && view.tooHigh(leaf.keys[index])) {
+                    leaf = null;
+                }
+            }
+            return entry;
+        }
+
+        // O(log n): remove, then find the successor again (arrays shifted)
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            boolean exhausted = leaf == null;
+            BPlusTreeMap.this.remove(lastKey);
+            if (!exhausted) {
+                seek(view.descending ? view.absFloor(lastKey, false) : view.absCeiling(lastKey, false));
+            }
+            lastKey = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    // Entry returned by iterators: setValue writes through to the map
+    // (not a SimpleEntry: that one is Serializable, this one holds the map)
+    private final class WriteThroughEntry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+
+        WriteThroughEntry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            BPlusTreeMap.this.put(key, value);
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    // NavigableSet of the keys of a NavigableMap (any view)
+    private static final class KeySetView<K> extends AbstractSet<K> implements NavigableSet<K> {
+        private final NavigableMap<K, ?> map;
+
+        KeySetView(NavigableMap<K, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            Iterator<? extends Entry<K, ?>> entries = map.entrySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public K next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (map.containsKey(o)) {
+                map.remove(o);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public K first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public K last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public K lower(K key) {
+            return map.lowerKey(key);
+        }
+
+        @Override
+        public K floor(K key) {
+            return map.floorKey(key);
+        }
+
+        @Override
+        public K ceiling(K key) {
+            return map.ceilingKey(key);
+        }
+
+        @Override
+        public K higher(K key) {
+            return map.higherKey(key);
+        }
+
+        @Override
+        public K pollFirst() {
+            Entry<K, ?> entry = map.pollFirstEntry();
+            return entry == null ? null : entry.getKey();
+        }
+
+        @Override
+        public K pollLast() {
+            Entry<K, ?> entry = map.pollLastEntry();
+            return entry == null ? null : entry.getKey();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return new KeySetView<>(map.descendingMap());
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+            return new KeySetView<>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return new KeySetView<>(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return new KeySetView<>(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    // Tree height (1 = a single leaf), for demos and diagnostics
+    public int height() {
+        int height = 0;
+        for (Node node = root; node != null; node = node instanceof Inner inner ? inner.children[0] : null) {
+            height++;
+        }
+        return height;
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) {
+        System.out.println("=== B+Tree NavigableMap ===");
+
+        System.out.println("\n--- Basic operations (node capacity 4 to show splits) ---");
+        BPlusTreeMap<Integer, String> small = new BPlusTreeMap<>(null, 4);
+        for (int key : new int[]{50, 10, 40, 20, 30, 60, 70, 80, 90}) {
+            small.put(key, "v" + key);
+        }
+        System.out.println("Map: " + small + ", height " + small.height());
+        System.out.println("floorKey(35): " + small.floorKey(35) + ", ceilingKey(35): " + small.ceilingKey(35));
+        System.out.println("subMap[20, 60): " + small.subMap(20, 60));
+        System.out.println("descendingMap: " + small.descendingMap().keySet());
+        small.headMap(40).clear();
+        System.out.println("After headMap(40).clear(): " + small);
+
+        System.out.println("\n--- Bulk load + range scan ---");
+        TreeMap<Long, Long> sorted = new TreeMap<>();
+        for (long i = 0; i < 1_000_000; i++) {
+            sorted.put(i * 3, i);
+        }
+        long start = System.nanoTime();
+        BPlusTreeMap<Long, Long> tree = fromSorted(sorted);
+        System.out.printf("Bulk-loaded %,d entries in %d ms, height %d%n",
+                tree.size(), (System.nanoTime() - start) / 1_000_000, tree.height());
+        long sum = 0;
+        for (long value : tree.subMap(300_000L, true, 300_300L, false).values()) {
+            sum += value;
+        }
+        System.out.println("Sum of values for keys in [300000, 300300): " + sum);
+        System.out.println("Equal to the TreeMap: " + tree.equals(sorted));
+        System.out.println("(point/range query benchmark: Benchmarks.BPlusTreeBenchmark)");
+    }
+}
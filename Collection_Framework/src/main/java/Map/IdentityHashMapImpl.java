@@ -121,6 +121,11 @@ public class IdentityHashMapImpl {
         System.out.println("literal2 value: " + identityMap.get(literal2));      // 2
         System.out.println("newStr1 value: " + identityMap.get(newStr1));        // 3
         System.out.println("newStr2 value: " + identityMap.get(newStr2));        // 4
+        
+        // Deduplicating many equal strings without the JVM pool: see StringInterner
+        StringInterner interner = new StringInterner(1_000);
+        System.out.println("\ninterner.intern(newStr1) == interner.intern(newStr2): "
+                + (interner.intern(newStr1) == interner.intern(newStr2)));       // true
     }
     
     // Mutable key safety demonstration
@@ -276,10 +281,11 @@ public class IdentityHashMapImpl {
         System.out.println("Performance results (" + iterations + " operations):");
         System.out.println("HashMap time: " + (hashMapTime / 1_000_000) + " ms");
         System.out.println("IdentityHashMap time: " + (identityMapTime / 1_000_000) + " ms");
-        System.out.println("IdentityHashMap is " + 
-            String.format("%.2f", (double) hashMapTime / identityMapTime) + "x faster");
+        System.out.println("Ratio HashMap/IdentityHashMap: " +
+            String.format("%.2f", (double) hashMapTime / identityMapTime) + " (single run, no warmup - indicative only)");
         
-        System.out.println("\nNote: IdentityHashMap is faster because it doesn't call equals()/hashCode()");
+        System.out.println("\nNote: IdentityHashMap skips equals()/hashCode() and uses == with linear probing");
+        System.out.println("For reliable numbers run Benchmarks.MapOperationsBenchmark (JMH: warmup, forks, blackholes)");
     }
 }
 
@@ -1,44 +1,7 @@
 package Map;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
-class LruCacheImpl {
-    private final LinkedHashMap<String, Integer> cache;
-    private final int capacity;
-
-    LruCacheImpl(int capacity) {
-        this.capacity = capacity;
-        // LinkedHashMap with access-order and automatic eviction
-        this.cache = new LinkedHashMap<String, Integer>(capacity, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
-                return size() > LruCacheImpl.this.capacity;
-            }
-        };
-    }
-    
-    public int get(String key) {
-        return cache.getOrDefault(key, -1);
-    }
-    
-    // Simplified put method - LinkedHashMap handles eviction automatically
-    public void put(String key, Integer value) {
-        cache.put(key, value);  // That's it! LinkedHashMap handles everything
-    }
-
-    public Iterable<? extends Map.Entry<String, Integer>> entrySet() {
-        return cache.entrySet();
-    }
-    
-    public int size() {
-        return cache.size();
-    }
-    
-    public boolean containsKey(String key) {
-        return cache.containsKey(key);
-    }
-}
 public class LRUCache {
     public static void main(String[] args) {
         System.out.println("=== LRU Cache Demo ===");
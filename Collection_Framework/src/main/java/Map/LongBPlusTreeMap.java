@@ -0,0 +1,583 @@
+package Map;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/*
+ * LONG-KEY B+TREE OVERVIEW:
+ * - BPlusTreeMap specialized for primitive long keys: keys live in long[]
+ *   arrays inside the nodes, so a search compares numbers in contiguous
+ *   memory instead of dereferencing a Long per comparison
+ * - No boxing on get/put/remove/range scans; only values are objects
+ * - Same shape as BPlusTreeMap: wide nodes, entries in doubly linked leaves,
+ *   free-at-empty deletion, O(n) bulk load from sorted keys
+ *
+ * NODE SIZE vs CACHE LINES (64 bytes = 8 longs):
+ * capacity 64 → a node's keys are exactly 8 cache lines; binary search
+ * touches ~4 of them, the last steps within one line. Inner nodes for 30M
+ * keys: 4 levels, each a handful of lines, vs ~50 scattered TreeMap nodes.
+ *
+ * RANGE API (no allocation per entry):
+ * forEachInRange(from, to, (key, value) -> ...)   [from, to)
+ * countInRange(from, to)
+ * ceiling(key) / floor(key) → Cursor with key() / value() / next() / prev()
+ *
+ * PROS:
+ * - Lowest memory and fastest scans of the sorted maps in this package
+ *
+ * CONS:
+ * - Not a java.util.Map (primitive API); not thread-safe
+ *
+ * WHEN TO USE:
+ * - Time series, offsets, IDs: sorted long keys with range queries
+ */
+public final class LongBPlusTreeMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private final int capacity;
+    private Node root;
+    private Leaf first;
+    private Leaf last;
+    private int size;
+
+    private Node splitNode;
+    private long splitKey;
+    private boolean changed;
+
+    private abstract static class Node {
+        final long[] keys;
+        int size;
+
+        Node(int capacity) {
+            keys = new long[capacity];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] values;
+        Leaf prev;
+        Leaf next;
+
+        Leaf(int capacity) {
+            super(capacity);
+            values = new Object[capacity];
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children;
+
+        Inner(int capacity) {
+            super(capacity);
+            children = new Node[capacity + 1];
+        }
+    }
+
+    public LongBPlusTreeMap() {
+        this(BPlusTreeMap.DEFAULT_NODE_CAPACITY);
+    }
+
+    public LongBPlusTreeMap(int nodeCapacity) {
+        if (nodeCapacity < 4) {
+            throw new IllegalArgumentException("nodeCapacity must be >= 4: " + nodeCapacity);
+        }
+        this.capacity = nodeCapacity;
+    }
+
+    // O(n); keys strictly ascending, values[i] belongs to keys[i]
+    public static <V> LongBPlusTreeMap<V> bulkLoad(long[] sortedKeys, V[] values) {
+        if (sortedKeys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        LongBPlusTreeMap<V> map = new LongBPlusTreeMap<>();
+        map.buildFromSorted(sortedKeys, values);
+        return map;
+    }
+
+    // ---- search ----
+
+    // Index of key in keys[0, size), or -(insertion point + 1)
+    private static int search(Node node, long key) {
+        return Arrays.binarySearch(node.keys, 0, node.size, key);
+    }
+
+    private static int childIndex(Inner inner, long key) {
+        int i = search(inner, key);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    private Leaf leafFor(long key) {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    // ---- point operations ----
+
+    // O(log n)
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (root == null) {
+            return null;
+        }
+        Leaf leaf = leafFor(key);
+        int i = search(leaf, key);
+        return i >= 0 ? (V) leaf.values[i] : null;
+    }
+
+    public boolean containsKey(long key) {
+        return root != null && search(leafFor(key), key) >= 0;
+    }
+
+    // O(log n) + O(capacity) shift; returns the previous value or null
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (root == null) {
+            root = first = last = new Leaf(capacity);
+        }
+        changed = false;
+        splitNode = null;
+        Object old = insert(root, key, value);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(capacity);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.size = 1;
+            root = newRoot;
+            splitNode = null;
+        }
+        if (changed) {
+            size++;
+        }
+        return (V) old;
+    }
+
+    private Object insert(Node node, long key, Object value) {
+        if (node instanceof Leaf leaf) {
+            int i = search(leaf, key);
+            if (i >= 0) {
+                Object old = leaf.values[i];
+                leaf.values[i] = value;
+                return old;
+            }
+            changed = true;
+            insertIntoLeaf(leaf, -(i + 1), key, value);
+            return null;
+        }
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Object old = insert(inner.children[child], key, value);
+        if (splitNode != null) {
+            insertIntoInner(inner, child, splitKey, splitNode);
+        }
+        return old;
+    }
+
+    private void insertIntoLeaf(Leaf leaf, int at, long key, Object value) {
+        Leaf target = leaf;
+        int index = at;
+        if (leaf.size == capacity) {
+            Leaf right = new Leaf(capacity);
+            // Appending past the last key keeps the left leaf full
+            int keep = (at == capacity && leaf.next == null) ? capacity : (capacity + 1) / 2;
+            int from = at < keep ? keep - 1 : keep;
+            int count = leaf.size - from;
+            System.arraycopy(leaf.keys, from, right.keys, 0, count);
+            System.arraycopy(leaf.values, from, right.values, 0, count);
+            Arrays.fill(leaf.values, from, leaf.size, null);
+            right.size = count;
+            leaf.size = from;
+            if (at >= keep) {
+                target = right;
+                index = at - keep;
+            }
+            right.next = leaf.next;
+            right.prev = leaf;
+            if (leaf.next != null) {
+                leaf.next.prev = right;
+            } else {
+                last = right;
+            }
+            leaf.next = right;
+            splitNode = right;
+        }
+        System.arraycopy(target.keys, index, target.keys, index + 1, target.size - index);
+        System.arraycopy(target.values, index, target.values, index + 1, target.size - index);
+        target.keys[index] = key;
+        target.values[index] = value;
+        target.size++;
+        if (splitNode != null) {
+            splitKey = splitNode.keys[0];
+        }
+    }
+
+    private void insertIntoInner(Inner inner, int child, long key, Node rightChild) {
+        if (inner.size < capacity) {
+            System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.size - child);
+            System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.size - child);
+            inner.keys[child] = key;
+            inner.children[child + 1] = rightChild;
+            inner.size++;
+            splitNode = null;
+            return;
+        }
+        long[] keys = new long[capacity + 1];
+        Node[] children = new Node[capacity + 2];
+        System.arraycopy(inner.keys, 0, keys, 0, child);
+        keys[child] = key;
+        System.arraycopy(inner.keys, child, keys, child + 1, capacity - child);
+        System.arraycopy(inner.children, 0, children, 0, child + 1);
+        children[child + 1] = rightChild;
+        System.arraycopy(inner.children, child + 1, children, child + 2, capacity - child);
+
+        int mid = (capacity + 1) / 2;
+        Inner right = new Inner(capacity);
+        Arrays.fill(inner.children, null);
+        System.arraycopy(keys, 0, inner.keys, 0, mid);
+        System.arraycopy(children, 0, inner.children, 0, mid + 1);
+        inner.size = mid;
+        right.size = capacity - mid;
+        System.arraycopy(keys, mid + 1, right.keys, 0, right.size);
+        System.arraycopy(children, mid + 1, right.children, 0, right.size + 1);
+        splitKey = keys[mid];
+        splitNode = right;
+    }
+
+    // O(log n) + O(capacity) shift; free-at-empty, as in BPlusTreeMap
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (root == null) {
+            return null;
+        }
+        changed = false;
+        Object old = delete(root, key);
+        if (!changed) {
+            return null;
+        }
+        if (--size == 0) {
+            root = first = last = null;
+            return (V) old;
+        }
+        while (root instanceof Inner inner && inner.size == 0) {
+            root = inner.children[0];
+        }
+        return (V) old;
+    }
+
+    private Object delete(Node node, long key) {
+        if (node instanceof Leaf leaf) {
+            int i = search(leaf, key);
+            if (i < 0) {
+                return null;
+            }
+            changed = true;
+            Object old = leaf.values[i];
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+            leaf.values[--leaf.size] = null;
+            if (leaf.size == 0 && leaf != root) {
+                if (leaf.prev != null) {
+                    leaf.prev.next = leaf.next;
+                } else {
+                    first = leaf.next;
+                }
+                if (leaf.next != null) {
+                    leaf.next.prev = leaf.prev;
+                } else {
+                    last = leaf.prev;
+                }
+            }
+            return old;
+        }
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Node target = inner.children[child];
+        Object old = delete(target, key);
+        if (target.size == 0 && (target instanceof Leaf || ((Inner) target).children[0] == null)) {
+            if (inner.size == 0) {
+                inner.children[0] = null;
+            } else {
+                int separator = child == 0 ? 0 : child - 1;
+                System.arraycopy(inner.keys, separator + 1, inner.keys, separator, inner.size - separator - 1);
+                System.arraycopy(inner.children, child + 1, inner.children, child, inner.size - child);
+                inner.size--;
+                inner.children[inner.size + 1] = null;
+            }
+        }
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = first = last = null;
+        size = 0;
+    }
+
+    public long firstKey() {
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return first.keys[0];
+    }
+
+    public long lastKey() {
+        if (last == null) {
+            throw new NoSuchElementException();
+        }
+        return last.keys[last.size - 1];
+    }
+
+    // ---- bulk loading ----
+
+    private void buildFromSorted(long[] keys, Object[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("Keys are not strictly ascending at index " + i);
+            }
+        }
+        clear();
+        int n = keys.length;
+        if (n == 0) {
+            return;
+        }
+        // Leaves: full, except that the entries of the last two are split evenly
+        int leafCount = (n + capacity - 1) / capacity;
+        Node[] level = new Node[leafCount];
+        long[] minKeys = new long[leafCount];
+        Leaf previous = null;
+        int offset = 0;
+        for (int l = 0; l < leafCount; l++) {
+            int count = Math.min(capacity, n - offset);
+            if (l == leafCount - 2 && n - offset - capacity < capacity / 2) {
+                count = (n - offset + 1) / 2;
+            }
+            Leaf leaf = new Leaf(capacity);
+            System.arraycopy(keys, offset, leaf.keys, 0, count);
+            System.arraycopy(values, offset, leaf.values, 0, count);
+            leaf.size = count;
+            leaf.prev = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            } else {
+                first = leaf;
+            }
+            previous = leaf;
+            level[l] = leaf;
+            minKeys[l] = keys[offset];
+            offset += count;
+        }
+        last = previous;
+        // Inner levels: children spread evenly over ceil(n / (capacity + 1)) nodes
+        while (level.length > 1) {
+            int parents = (level.length + capacity) / (capacity + 1);
+            Node[] upper = new Node[parents];
+            long[] upperMins = new long[parents];
+            int index = 0;
+            for (int p = 0; p < parents; p++) {
+                int children = level.length / parents + (p < level.length % parents ? 1 : 0);
+                Inner inner = new Inner(capacity);
+                upperMins[p] = minKeys[index];
+                for (int c = 0; c < children; c++, index++) {
+                    inner.children[c] = level[index];
+                    if (c > 0) {
+                        inner.keys[c - 1] = minKeys[index];
+                    }
+                }
+                inner.size = children - 1;
+                upper[p] = inner;
+            }
+            level = upper;
+            minKeys = upperMins;
+        }
+        root = level[0];
+        size = n;
+    }
+
+    // ---- range queries ----
+
+    // Visits keys in [fromInclusive, toExclusive) in ascending order
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long fromInclusive, long toExclusive, EntryConsumer<? super V> consumer) {
+        Objects.requireNonNull(consumer);
+        if (root == null || fromInclusive >= toExclusive) {
+            return;
+        }
+        Leaf leaf = leafFor(fromInclusive);
+        int i = search(leaf, fromInclusive);
+        int index = i >= 0 ? i : -(i + 1);
+        while (leaf != null) {
+            long[] keys = leaf.keys;
+            Object[] values = leaf.values;
+            for (int end = leaf.size; index < end; index++) {
+                if (keys[index] >= toExclusive) {
+                    return;
+                }
+                consumer.accept(keys[index], (V) values[index]);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    // O(log n + range / capacity): whole leaves are counted by their size
+    public long countInRange(long fromInclusive, long toExclusive) {
+        if (root == null || fromInclusive >= toExclusive) {
+            return 0;
+        }
+        Leaf leaf = leafFor(fromInclusive);
+        int i = search(leaf, fromInclusive);
+        int index = i >= 0 ? i : -(i + 1);
+        long count = 0;
+        while (leaf != null) {
+            if (leaf.size > 0 && leaf.keys[leaf.size - 1] < toExclusive) {
+                count += leaf.size - index;
+            } else {
+                int end = search(leaf, toExclusive);
+                return count + (end >= 0 ? end : -(end + 1)) - index;
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+        return count;
+    }
+
+    // Cursor at the first key >= key (may be invalid if there is none)
+    public Cursor ceiling(long key) {
+        Cursor cursor = new Cursor();
+        if (root != null) {
+            Leaf leaf = leafFor(key);
+            int i = search(leaf, key);
+            cursor.leaf = leaf;
+            cursor.index = i >= 0 ? i : -(i + 1);
+            cursor.normalizeForward();
+        }
+        return cursor;
+    }
+
+    // Cursor at the last key <= key (may be invalid if there is none)
+    public Cursor floor(long key) {
+        Cursor cursor = new Cursor();
+        if (root != null) {
+            Leaf leaf = leafFor(key);
+            int i = search(leaf, key);
+            cursor.leaf = leaf;
+            cursor.index = i >= 0 ? i : -(i + 1) - 1;
+            cursor.normalizeBackward();
+        }
+        return cursor;
+    }
+
+    // Read-only position in the leaf chain; invalidated by structural changes
+    public final class Cursor {
+        private Leaf leaf;
+        private int index;
+
+        public boolean isValid() {
+            return leaf != null;
+        }
+
+        public long key() {
+            check();
+            return leaf.keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            check();
+            return (V) leaf.values[index];
+        }
+
+        // Moves to the next larger key; returns isValid()
+        public boolean next() {
+            check();
+            index++;
+            normalizeForward();
+            return leaf != null;
+        }
+
+        // Moves to the next smaller key; returns isValid()
+        public boolean prev() {
+            check();
+            index--;
+            normalizeBackward();
+            return leaf != null;
+        }
+
+        private void normalizeForward() {
+            while (leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        private void normalizeBackward() {
+            while (leaf != null && index < 0) {
+                leaf = leaf.prev;
+                index = leaf == null ? 0 : leaf.size - 1;
+            }
+        }
+
+        private void check() {
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+
+    public int height() {
+        int height = 0;
+        for (Node node = root; node != null; node = node instanceof Inner inner ? inner.children[0] : null) {
+            height++;
+        }
+        return height;
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) {
+        System.out.println("=== Long-Key B+Tree ===");
+        int n = 5_000_000;
+        long[] keys = new long[n];
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 1_700_000_000_000L + i * 1000L;   // one event per second (ms timestamps)
+            values[i] = (i % 10 == 0) ? "ERROR" : "OK";
+        }
+        long start = System.nanoTime();
+        LongBPlusTreeMap<String> events = bulkLoad(keys, values);
+        System.out.printf("Bulk-loaded %,d timestamps in %d ms, height %d%n",
+                events.size(), (System.nanoTime() - start) / 1_000_000, events.height());
+
+        long from = keys[1_000_000];
+        long to = from + 60 * 60 * 1000L;            // one hour
+        int[] errors = new int[1];
+        events.forEachInRange(from, to, (timestamp, status) -> {
+            if (status.equals("ERROR")) {
+                errors[0]++;
+            }
+        });
+        System.out.println("Events in one hour: " + events.countInRange(from, to) + ", errors: " + errors[0]);
+
+        LongBPlusTreeMap<String>.Cursor cursor = events.floor(from + 1500);
+        System.out.println("Latest event at or before from+1.5s: +" + (cursor.key() - from) + " ms");
+        events.put(from + 500, "MANUAL");
+        cursor = events.ceiling(from + 1);
+        System.out.println("First event after from: +" + (cursor.key() - from) + " ms, " + cursor.value());
+        System.out.println("remove: " + events.remove(from + 500) + ", size " + events.size());
+    }
+}
@@ -0,0 +1,612 @@
+package Map;
+
+import Memory.DirectBuffers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+ * OFF-HEAP LONG → LONG MAP OVERVIEW:
+ * - Open-addressing hash map whose table lives outside the Java heap
+ * - Keys and values are primitive longs: no Long boxes, no Node objects
+ * - The GC never sees the entries: a 500M-entry table is a handful of
+ *   buffer objects on the heap instead of ~1.5 billion objects
+ * - Memory is released explicitly with close() (also AutoCloseable)
+ * - Optional file-backed mode: the table is a memory-mapped file that
+ *   survives the process and can be reopened
+ *
+ * INTERNAL STRUCTURE:
+ * Pages of 2^26 slots (1 GiB), each a direct or mapped ByteBuffer
+ * (a single ByteBuffer is indexed by int, so it cannot exceed 2 GiB)
+ *
+ * slot = 16 bytes: [key: long][value: long], native byte order
+ * slot index = fmix64(key) & (capacity - 1), linear probing
+ * key 0 marks an empty slot; the real key 0 is kept in two fields
+ *
+ * FILE LAYOUT (file-backed mode):
+ * [64-byte header: magic, capacity, size, zero-key flag, zero value, load factor]
+ * [page 0][page 1]...
+ *
+ * OPERATIONS:
+ * - get / put / containsKey: O(1) expected, one probe run in one cache line
+ *   most of the time
+ * - remove: backward-shift deletion (no tombstones, probe runs stay short)
+ * - resize: rehash every entry into a new table twice the size, then free
+ *   the old one (file mode: a temp file that atomically replaces the old)
+ *
+ * vs HashMap<Long, Long>:
+ * - HashMap: ~70-90 bytes per entry (Node 32 + two Longs 32 + table slot),
+ *   all of it traced by every full GC and copied by young GCs while filling
+ * - Off-heap: 16 / loadFactor up to 32 / loadFactor bytes per entry
+ *   (21-43 at 0.75, capacity is a power of two), zero GC work, but no
+ *   generics and manual lifetime management
+ *
+ * WHY NOT java.lang.foreign:
+ * MemorySegment/Arena are a preview API in Java 21; compiling this module
+ * with --enable-preview would make every class (and every demo) require the
+ * flag at run time. Paged ByteBuffers give the same layout today; freeing is
+ * done with sun.misc.Unsafe.invokeCleaner (Memory.DirectBuffers), which is
+ * what Arena.close() does for a confined arena. Swapping the page accessors
+ * for MemorySegment.get(JAVA_LONG, offset) is a local change once FFM is final.
+ *
+ * PROS:
+ * - No GC pressure, no boxing, compact (16 bytes per slot)
+ * - Tables larger than the heap (file-backed mode, paged by the OS)
+ * - Deterministic release of memory with close()
+ *
+ * CONS:
+ * - Not thread-safe (external locking needed, like HashMap)
+ * - Use after close() must be prevented (checked: IllegalStateException)
+ * - Resizing needs old + new table at the same time (presize if you can)
+ * - long keys/values only
+ *
+ * WHEN TO USE:
+ * - Huge ID-mapping tables (hundreds of millions of long → long entries)
+ * - Latency-sensitive services where a big on-heap map drives GC pauses
+ * - Tables that should be reloaded instantly after a restart (file mode)
+ */
+public final class OffHeapLongLongMap implements AutoCloseable {
+
+    // Callback for forEach (avoids boxing through BiConsumer<Long, Long>)
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_PAGE_SHIFT = 26;   // 2^26 slots × 16 bytes = 1 GiB per page
+    private static final int HEADER_BYTES = 64;
+    private static final long MAGIC = 0x4F48_4C4C_4D41_5031L; // "OHLLMAP1"
+    private static final long MAX_CAPACITY = 1L << 40;
+
+    private final double loadFactor;
+    private final Path file;            // null for an anonymous (direct memory) map
+    private FileChannel channel;
+    private MappedByteBuffer header;
+
+    private ByteBuffer[] pages;
+    private int pageShift;
+    private long pageMask;
+    private long capacity;
+    private long mask;
+    private long size;
+    private long resizeAt;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private boolean closed;
+
+    private OffHeapLongLongMap(double loadFactor, Path file) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        this.file = file;
+    }
+
+    // ---- factories ----
+
+    // Direct-memory map presized for expectedEntries at load factor 0.75
+    public static OffHeapLongLongMap allocate(long expectedEntries) {
+        return allocate(expectedEntries, 0.75);
+    }
+
+    public static OffHeapLongLongMap allocate(long expectedEntries, double loadFactor) {
+        OffHeapLongLongMap map = new OffHeapLongLongMap(loadFactor, null);
+        map.setTable(map.allocatePages(capacityFor(expectedEntries, loadFactor), null));
+        return map;
+    }
+
+    // File-backed map: opens the table stored in file, or creates it if absent
+    public static OffHeapLongLongMap mapFile(Path file, long expectedEntries) throws IOException {
+        return mapFile(file, expectedEntries, 0.75);
+    }
+
+    public static OffHeapLongLongMap mapFile(Path file, long expectedEntries, double loadFactor) throws IOException {
+        if (Files.exists(file) && Files.size(file) > 0) {
+            return openExisting(file);
+        }
+        OffHeapLongLongMap map = new OffHeapLongLongMap(loadFactor, file);
+        map.channel = openChannel(file);
+        map.header = map.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        map.header.order(ByteOrder.nativeOrder());
+        map.setTable(map.allocatePages(capacityFor(expectedEntries, loadFactor), map.channel));
+        map.writeHeader();
+        return map;
+    }
+
+    private static OffHeapLongLongMap openExisting(Path file) throws IOException {
+        FileChannel channel = openChannel(file);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.order(ByteOrder.nativeOrder());
+        if (header.getLong(0) != MAGIC) {
+            DirectBuffers.release(header);
+            channel.close();
+            throw new IllegalArgumentException("Not an OffHeapLongLongMap file: " + file);
+        }
+        OffHeapLongLongMap map = new OffHeapLongLongMap(Double.longBitsToDouble(header.getLong(40)), file);
+        map.channel = channel;
+        map.header = header;
+        map.setTable(map.allocatePages(header.getLong(8), channel));
+        map.size = header.getLong(16);
+        map.hasZeroKey = header.getLong(24) != 0;
+        map.zeroValue = header.getLong(32);
+        return map;
+    }
+
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Smallest power of two holding expectedEntries below the load factor
+    private static long capacityFor(long expectedEntries, double loadFactor) {
+        if (expectedEntries < 0) {
+            throw new IllegalArgumentException("expectedEntries must be >= 0: " + expectedEntries);
+        }
+        long needed = Math.max(16, (long) Math.ceil(expectedEntries / loadFactor) + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many entries: " + expectedEntries);
+        }
+        return Long.highestOneBit(needed - 1) << 1;
+    }
+
+    // ---- core operations ----
+
+    // O(1) expected
+    public long getOrDefault(long key, long defaultValue) {
+        ensureOpen();
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        long slot = hash(key) & mask;
+        while (true) {
+            ByteBuffer page = pages[(int) (slot >>> pageShift)];
+            int offset = (int) ((slot & pageMask) * SLOT_BYTES);
+            long k = page.getLong(offset);
+            if (k == key) {
+                return page.getLong(offset + 8);
+            }
+            if (k == 0) {
+                return defaultValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        ensureOpen();
+        return key == 0 ? hasZeroKey : findSlot(key) >= 0;
+    }
+
+    // Inserts or overwrites; O(1) expected, O(n) when it triggers a resize
+    public void put(long key, long value) {
+        ensureOpen();
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        long slot = hash(key) & mask;
+        while (true) {
+            ByteBuffer page = pages[(int) (slot >>> pageShift)];
+            int offset = (int) ((slot & pageMask) * SLOT_BYTES);
+            long k = page.getLong(offset);
+            if (k == key) {
+                page.putLong(offset + 8, value);
+                return;
+            }
+            if (k == 0) {
+                page.putLong(offset, key);
+                page.putLong(offset + 8, value);
+                if (++size > resizeAt) {
+                    resize(capacity << 1);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Backward-shift deletion: entries after the hole move back if their
+    // home slot allows it, so lookups never need tombstones
+    public boolean remove(long key) {
+        ensureOpen();
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        long gap = findSlot(key);
+        if (gap < 0) {
+            return false;
+        }
+        long next = (gap + 1) & mask;
+        while (true) {
+            long k = keyAt(next);
+            if (k == 0) {
+                break;
+            }
+            long home = hash(k) & mask;
+            // The entry may move into the gap only if the gap lies on its
+            // probe path, i.e. between its home slot and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                writeSlot(gap, k, valueAt(next));
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        writeSlot(gap, 0, 0);
+        size--;
+        return true;
+    }
+
+    // Sequential scan of all pages: O(capacity)
+    public void forEach(EntryConsumer consumer) {
+        ensureOpen();
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (long slot = 0; slot < capacity; slot++) {
+            long k = keyAt(slot);
+            if (k != 0) {
+                consumer.accept(k, valueAt(slot));
+            }
+        }
+    }
+
+    // Zeroes the table, keeps the capacity
+    public void clear() {
+        ensureOpen();
+        for (ByteBuffer page : pages) {
+            int bytes = page.capacity();
+            for (int offset = 0; offset < bytes; offset += 8) {
+                page.putLong(offset, 0);
+            }
+        }
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    // Bytes of off-heap memory (or file) used by the table
+    public long offHeapBytes() {
+        return capacity * SLOT_BYTES + (file == null ? 0 : HEADER_BYTES);
+    }
+
+    public boolean isFileBacked() {
+        return file != null;
+    }
+
+    // File mode: writes the header and flushes dirty pages to the file
+    public void force() {
+        ensureOpen();
+        if (file == null) {
+            return;
+        }
+        writeHeader();
+        for (ByteBuffer page : pages) {
+            ((MappedByteBuffer) page).force();
+        }
+        header.force();
+    }
+
+    // Releases the memory (or unmaps the file); the map is unusable afterwards
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (file != null) {
+                force();
+            }
+        } finally {
+            closed = true;
+            DirectBuffers.releaseAll(pages);
+            pages = null;
+            if (file != null) {
+                DirectBuffers.release(header);
+                header = null;
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    // ---- table management ----
+
+    private void setTable(ByteBuffer[] newPages) {
+        long slotsPerPage = newPages[0].capacity() / SLOT_BYTES;
+        pages = newPages;
+        capacity = slotsPerPage * newPages.length;
+        mask = capacity - 1;
+        pageShift = Long.numberOfTrailingZeros(slotsPerPage);
+        pageMask = slotsPerPage - 1;
+        resizeAt = (long) (capacity * loadFactor);
+    }
+
+    // Pages of a fresh table: zeroed direct buffers, or regions of channel
+    private ByteBuffer[] allocatePages(long slots, FileChannel target) {
+        int shift = Math.min(MAX_PAGE_SHIFT, Long.numberOfTrailingZeros(slots));
+        long slotsPerPage = 1L << shift;
+        int pageBytes = (int) (slotsPerPage * SLOT_BYTES);
+        ByteBuffer[] result = new ByteBuffer[(int) (slots / slotsPerPage)];
+        try {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = target == null
+                        ? ByteBuffer.allocateDirect(pageBytes)
+                        : target.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) i * pageBytes, pageBytes);
+                result[i].order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException | OutOfMemoryError e) {
+            DirectBuffers.releaseAll(result);
+            if (e instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw (OutOfMemoryError) e;
+        }
+        return result;
+    }
+
+    // Rehash into a table of newCapacity slots, then free the old one
+    private void resize(long newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Capacity limit reached: " + capacity);
+        }
+        ByteBuffer[] oldPages = pages;
+        long oldCapacity = capacity;
+        int oldShift = pageShift;
+        long oldPageMask = pageMask;
+
+        Path tempFile = null;
+        FileChannel newChannel = null;
+        try {
+            if (file != null) {
+                tempFile = file.resolveSibling(file.getFileName() + ".resize");
+                Files.deleteIfExists(tempFile);
+                newChannel = openChannel(tempFile);
+            }
+            setTable(allocatePages(newCapacity, newChannel));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer page = oldPages[(int) (slot >>> oldShift)];
+            int offset = (int) ((slot & oldPageMask) * SLOT_BYTES);
+            long k = page.getLong(offset);
+            if (k != 0) {
+                long target = hash(k) & mask;
+                while (keyAt(target) != 0) {
+                    target = (target + 1) & mask;
+                }
+                writeSlot(target, k, page.getLong(offset + 8));
+            }
+        }
+        DirectBuffers.releaseAll(oldPages);
+
+        if (file != null) {
+            try {
+                // The new file replaces the old one; the open mappings stay valid
+                DirectBuffers.release(header);
+                channel.close();
+                channel = newChannel;
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.order(ByteOrder.nativeOrder());
+                writeHeader();
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeHeader() {
+        header.putLong(0, MAGIC);
+        header.putLong(8, capacity);
+        header.putLong(16, size);
+        header.putLong(24, hasZeroKey ? 1 : 0);
+        header.putLong(32, zeroValue);
+        header.putLong(40, Double.doubleToLongBits(loadFactor));
+    }
+
+    // Slot holding key, or -1
+    private long findSlot(long key) {
+        long slot = hash(key) & mask;
+        while (true) {
+            long k = keyAt(slot);
+            if (k == key) {
+                return slot;
+            }
+            if (k == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private long keyAt(long slot) {
+        return pages[(int) (slot >>> pageShift)].getLong((int) ((slot & pageMask) * SLOT_BYTES));
+    }
+
+    private long valueAt(long slot) {
+        return pages[(int) (slot >>> pageShift)].getLong((int) ((slot & pageMask) * SLOT_BYTES) + 8);
+    }
+
+    private void writeSlot(long slot, long key, long value) {
+        ByteBuffer page = pages[(int) (slot >>> pageShift)];
+        int offset = (int) ((slot & pageMask) * SLOT_BYTES);
+        page.putLong(offset, key);
+        page.putLong(offset + 8, value);
+    }
+
+    // MurmurHash3 finalizer: sequential IDs spread over the whole table
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private void ensureOpen() {
+        // Touching a freed buffer would crash the JVM, not throw
+        if (closed) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    // ---- demos ----
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Off-Heap long -> long Map ===");
+        basicDemo();
+        resizeDemo();
+        fileBackedDemo();
+        heapComparisonDemo();
+    }
+
+    private static void basicDemo() {
+        System.out.println("\n--- Basic operations ---");
+        try (OffHeapLongLongMap map = allocate(4)) {
+            map.put(1001L, 42L);
+            map.put(1002L, 7L);
+            map.put(0L, -1L);           // key 0 is stored outside the table
+            map.put(1001L, 43L);        // overwrite
+            System.out.println("get(1001): " + map.getOrDefault(1001L, -1));
+            System.out.println("get(0): " + map.getOrDefault(0L, Long.MIN_VALUE));
+            System.out.println("get(9999) with default: " + map.getOrDefault(9999L, -1));
+            System.out.println("remove(1002): " + map.remove(1002L) + ", size: " + map.size());
+            StringBuilder entries = new StringBuilder();
+            map.forEach((k, v) -> entries.append(k).append('=').append(v).append(' '));
+            System.out.println("entries: " + entries.toString().trim());
+        }
+    }
+
+    private static void resizeDemo() {
+        System.out.println("\n--- Resizing by rehash ---");
+        try (OffHeapLongLongMap map = allocate(16)) {
+            long previousCapacity = map.capacity();
+            for (long id = 1; id <= 1_000; id++) {
+                map.put(id, id * 10);
+                if (map.capacity() != previousCapacity) {
+                    System.out.println("size " + map.size() + ": capacity " + previousCapacity + " -> " + map.capacity());
+                    previousCapacity = map.capacity();
+                }
+            }
+            System.out.println("get(777): " + map.getOrDefault(777, -1)
+                    + ", off-heap bytes: " + map.offHeapBytes());
+        }
+    }
+
+    private static void fileBackedDemo() throws IOException {
+        System.out.println("\n--- File-backed mode ---");
+        Path file = Files.createTempFile("id-mapping", ".map");
+        Files.delete(file);
+        try {
+            try (OffHeapLongLongMap map = mapFile(file, 100)) {
+                for (long id = 1; id <= 500; id++) {   // grows past 100 → file is rehashed
+                    map.put(id, -id);
+                }
+            }
+            try (OffHeapLongLongMap reopened = mapFile(file, 0)) {
+                System.out.println("Reopened: size " + reopened.size() + ", capacity " + reopened.capacity()
+                        + ", get(321): " + reopened.getOrDefault(321, 0));
+                System.out.println("File size: " + Files.size(file) + " bytes");
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void heapComparisonDemo() {
+        System.out.println("\n--- Heap footprint vs HashMap<Long, Long> ---");
+        int entries = 2_000_000;
+        SplittableRandom random = new SplittableRandom(7);
+        long[] keys = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            keys[i] = random.nextLong();
+        }
+
+        long before = usedHeap();
+        Map<Long, Long> boxed = new HashMap<>();
+        for (long key : keys) {
+            boxed.put(key, key);
+        }
+        long boxedBytes = usedHeap() - before;
+        // Reading boxed after the measurement keeps it reachable while it is taken
+        System.out.println("HashMap<Long, Long>: ~" + boxedBytes / boxed.size() + " heap bytes per entry");
+        boxed = null;
+
+        before = usedHeap();
+        try (OffHeapLongLongMap map = allocate(entries)) {
+            for (long key : keys) {
+                map.put(key, key);
+            }
+            System.out.println("OffHeapLongLongMap:  ~" + Math.max(0, usedHeap() - before) / entries
+                    + " heap bytes per entry, " + map.offHeapBytes() / entries + " off-heap bytes per entry");
+        }
+        System.out.println("(GC pause and throughput comparison: Benchmarks.OffHeapMapBenchmark)");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,377 @@
+package Map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * STRING INTERNER OVERVIEW:
+ * - Maps every string to ONE canonical instance with the same contents,
+ *   so a million parsed "US" / "ACTIVE" values share one object
+ * - Bounded (at most maxEntries canonical strings), weakly referenced
+ *   (unused canonical strings are garbage collected), lock-striped
+ * - The bound is split evenly: each stripe holds maxEntries / stripes
+ *   (rounded down, so the total never exceeds maxEntries); the stripe count
+ *   is clamped to maxEntries so every stripe can hold at least one string
+ *
+ * INTERNAL STRUCTURE:
+ * stripes[hash >>> (32 - stripeBits)]   one ReentrantLock + table each
+ *   table: volatile Entry[] buckets, chains of IMMUTABLE entries
+ *   Entry extends WeakReference<String>: {hash, next}
+ *
+ * - Reads are lock-free: read the bucket head (acquire), walk the chain
+ * - Writes lock one stripe: prepend a new head (release); removals copy
+ *   the chain prefix before the removed entry, so readers never see a
+ *   half-updated chain
+ * - Cleared entries are expunged from the stripe's ReferenceQueue on writes
+ * - A full stripe evicts round-robin over its buckets: the next non-empty
+ *   bucket loses its head, i.e. its NEWEST entry (no chain copy needed).
+ *   Not LRU — an evicted string stays valid, it just stops being canonical
+ *
+ * BYTE-SLICE PATH:
+ * intern(bytes, offset, length) hashes and compares ASCII bytes directly
+ * against the canonical Strings (String.hashCode of an ASCII string is the
+ * same polynomial over its bytes), so a HIT allocates nothing; only a miss
+ * or non-ASCII input builds a String.
+ *
+ * vs String.intern():
+ * - String.intern uses the JVM's native StringTable: unbounded, needs a
+ *   String first (parsers allocate one per token, then throw it away)
+ * - This table is bounded, per-instance (per parser, per tenant), has stats,
+ *   and can skip the temporary String entirely
+ *
+ * PROS:
+ * - Heap: N duplicates cost one String instead of N
+ * - Lock-free hits; writers use j.u.c locks (no carrier pinning under
+ *   virtual threads)
+ *
+ * CONS:
+ * - A lookup costs a hash probe; worthless for mostly-unique strings
+ * - Not canonical across evictions or across interner instances
+ *
+ * WHEN TO USE:
+ * - Parsers of CSV/JSON/logs with low-cardinality fields (country codes,
+ *   status values, enum-like strings, repeated keys)
+ */
+public class StringInterner {
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Entry[].class);
+    private static final int INITIAL_BUCKETS = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final int maxEntriesPerStripe;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder collected = new LongAdder();
+
+    private static final class Entry extends WeakReference<String> {
+        final int hash;
+        final Entry next;
+
+        Entry(String value, int hash, Entry next, ReferenceQueue<String> queue) {
+            super(value, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    // One lock, one table, one ReferenceQueue
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final ReferenceQueue<String> queue = new ReferenceQueue<>();
+        volatile Entry[] table = new Entry[INITIAL_BUCKETS];
+        int count;      // guarded by the lock
+        int hand;       // next bucket to evict from, guarded by the lock
+    }
+
+    public record Stats(long hits, long misses, long evictions, long collected, int size) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    public StringInterner(int maxEntries) {
+        this(maxEntries, 64);
+    }
+
+    // stripes is clamped to the largest power of two <= maxEntries
+    public StringInterner(int maxEntries, int stripes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0: " + maxEntries);
+        }
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("stripes must be a power of two in [1, 65536]: " + stripes);
+        }
+        int count = Math.min(stripes, Integer.highestOneBit(maxEntries));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.maxEntriesPerStripe = maxEntries / count;
+    }
+
+    // Spread String.hashCode so both stripe (high bits) and bucket (low bits) vary
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Stripe stripeFor(int spread) {
+        return stripeShift == 32 ? stripes[0] : stripes[spread >>> stripeShift];
+    }
+
+    // ---- interning ----
+
+    // Canonical instance equal to value; O(1) expected, lock-free on a hit
+    public String intern(String value) {
+        Objects.requireNonNull(value, "value");
+        int hash = spread(value.hashCode());
+        Stripe stripe = stripeFor(hash);
+        String found = find(stripe, hash, value);
+        if (found != null) {
+            hits.increment();
+            return found;
+        }
+        return insert(stripe, hash, value);
+    }
+
+    // Canonical String for the bytes (UTF-8); a hit on ASCII bytes allocates nothing
+    public String intern(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            if (b < 0) {
+                return intern(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            }
+            h = 31 * h + b;
+        }
+        int hash = spread(h);
+        Stripe stripe = stripeFor(hash);
+        for (Entry e = bucketHead(stripe.table, hash); e != null; e = e.next) {
+            if (e.hash == hash) {
+                String candidate = e.get();
+                if (candidate != null && asciiEquals(candidate, bytes, offset, length)) {
+                    hits.increment();
+                    return candidate;
+                }
+            }
+        }
+        return insert(stripe, hash, new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean asciiEquals(String candidate, byte[] bytes, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Entry bucketHead(Entry[] table, int hash) {
+        return (Entry) BUCKETS.getAcquire(table, hash & (table.length - 1));
+    }
+
+    private static String find(Stripe stripe, int hash, String value) {
+        for (Entry e = bucketHead(stripe.table, hash); e != null; e = e.next) {
+            if (e.hash == hash) {
+                String candidate = e.get();
+                if (candidate != null && candidate.equals(value)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Miss path: re-check under the stripe lock, then publish value as the canonical instance
+    private String insert(Stripe stripe, int hash, String value) {
+        stripe.lock.lock();
+        try {
+            String found = find(stripe, hash, value);
+            if (found != null) {
+                hits.increment();
+                return found;
+            }
+            expungeCleared(stripe);
+            if (stripe.count >= maxEntriesPerStripe) {
+                evictOne(stripe);
+            }
+            Entry[] table = stripe.table;
+            if (stripe.count >= table.length * 3 / 4) {
+                table = resize(stripe);
+            }
+            int index = hash & (table.length - 1);
+            BUCKETS.setRelease(table, index, new Entry(value, hash, (Entry) BUCKETS.getAcquire(table, index), stripe.queue));
+            stripe.count++;
+            misses.increment();
+            return value;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // ---- maintenance (stripe lock held) ----
+
+    private void expungeCleared(Stripe stripe) {
+        Object cleared;
+        while ((cleared = stripe.queue.poll()) != null) {
+            Entry entry = (Entry) cleared;
+            if (unlink(stripe, stripe.table, entry)) {
+                collected.increment();
+            }
+        }
+    }
+
+    // Removes entry by copying the chain prefix in front of it
+    private boolean unlink(Stripe stripe, Entry[] table, Entry entry) {
+        int index = entry.hash & (table.length - 1);
+        Entry head = (Entry) BUCKETS.getAcquire(table, index);
+        Entry newHead = entry.next;
+        for (Entry e = head; e != null; e = e.next) {
+            if (e == entry) {
+                for (Entry p = head; p != entry; p = p.next) {
+                    String value = p.get();
+                    if (value != null) {
+                        newHead = new Entry(value, p.hash, newHead, stripe.queue);
+                    } else {
+                        stripe.count--;     // cleared on the way: drop it too
+                        collected.increment();
+                    }
+                }
+                BUCKETS.setRelease(table, index, newHead);
+                stripe.count--;
+                return true;
+            }
+        }
+        return false;   // already gone (resized away or evicted)
+    }
+
+    private void evictOne(Stripe stripe) {
+        Entry[] table = stripe.table;
+        for (int scanned = 0; scanned < table.length; scanned++) {
+            int index = stripe.hand;
+            stripe.hand = (stripe.hand + 1) & (table.length - 1);
+            Entry head = (Entry) BUCKETS.getAcquire(table, index);
+            if (head != null) {
+                BUCKETS.setRelease(table, index, head.next);
+                stripe.count--;
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    // Doubles the table; entries are immutable, so each live one is copied
+    private Entry[] resize(Stripe stripe) {
+        Entry[] old = stripe.table;
+        Entry[] table = new Entry[old.length * 2];
+        int live = 0;
+        for (int i = 0; i < old.length; i++) {
+            for (Entry e = (Entry) BUCKETS.getAcquire(old, i); e != null; e = e.next) {
+                String value = e.get();
+                if (value == null) {
+                    collected.increment();
+                    continue;
+                }
+                int index = e.hash & (table.length - 1);
+                table[index] = new Entry(value, e.hash, table[index], stripe.queue);
+                live++;
+            }
+        }
+        stripe.count = live;
+        stripe.hand = 0;
+        stripe.table = table;      // volatile write publishes the filled table
+        return table;
+    }
+
+    // ---- stats ----
+
+    // Canonical strings currently held (cleared ones count until expunged)
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.count;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), collected.sum(), size());
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) {
+        System.out.println("=== String Interner ===");
+
+        StringInterner interner = new StringInterner(10_000);
+        String a = new String("java");
+        String b = new String("java");
+        System.out.println("a == b: " + (a == b) + ", intern(a) == intern(b): " + (interner.intern(a) == interner.intern(b)));
+        byte[] line = "US,ACTIVE,42".getBytes(StandardCharsets.US_ASCII);
+        String fromBytes = interner.intern(line, 0, 2);
+        System.out.println("intern(bytes \"US\") == intern(\"US\"): " + (fromBytes == interner.intern(new String("US"))));
+
+        System.out.println("\n--- Heap: 1M parsed values of 250 country codes x 6 statuses ---");
+        String[] countries = new String[250];
+        for (int i = 0; i < countries.length; i++) {
+            countries[i] = "C" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+        }
+        String[] statuses = {"ACTIVE", "SUSPENDED", "PENDING_REVIEW", "CLOSED", "TRIAL", "DELINQUENT"};
+        int records = 1_000_000;
+        String[] plain = new String[2 * records];
+        String[] jvmInterned = new String[2 * records];
+        String[] interned = new String[2 * records];
+        StringInterner parserInterner = new StringInterner(100_000);
+        for (int i = 0; i < records; i++) {
+            byte[] record = (countries[i % countries.length] + "," + statuses[i % statuses.length])
+                    .getBytes(StandardCharsets.US_ASCII);
+            int comma = 0;
+            while (record[comma] != ',') {
+                comma++;
+            }
+            plain[2 * i] = new String(record, 0, comma, StandardCharsets.US_ASCII);
+            plain[2 * i + 1] = new String(record, comma + 1, record.length - comma - 1, StandardCharsets.US_ASCII);
+            jvmInterned[2 * i] = plain[2 * i].intern();
+            jvmInterned[2 * i + 1] = plain[2 * i + 1].intern();
+            interned[2 * i] = parserInterner.intern(record, 0, comma);
+            interned[2 * i + 1] = parserInterner.intern(record, comma + 1, record.length - comma - 1);
+        }
+        System.out.printf("no interning:    %,12d bytes of String%n", retainedStringBytes(plain));
+        System.out.printf("String.intern(): %,12d bytes of String%n", retainedStringBytes(jvmInterned));
+        System.out.printf("StringInterner:  %,12d bytes of String%n", retainedStringBytes(interned));
+        System.out.println(parserInterner.stats());
+        System.out.println("(throughput vs String.intern(): Benchmarks.StringInternerBenchmark)");
+    }
+
+    // Distinct String objects × (24-byte String + 16-byte byte[] header + Latin-1 bytes, 8-aligned)
+    private static long retainedStringBytes(String[] values) {
+        IdentityHashMap<String, Boolean> distinct = new IdentityHashMap<>();
+        long bytes = 0;
+        for (String value : values) {
+            if (distinct.put(value, Boolean.TRUE) == null) {
+                bytes += 24 + ((16 + value.length() + 7) & ~7);
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package Memory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/*
+ * DIRECT BUFFER RELEASE:
+ * - Frees the native memory of a direct or mapped ByteBuffer NOW instead of
+ *   when the GC collects the buffer object (which may be never, if the heap
+ *   is quiet while native memory runs out)
+ * - Uses sun.misc.Unsafe.invokeCleaner (jdk.unsupported), which is what
+ *   Arena.close() does for a confined arena; without it, release() is a
+ *   no-op and the memory goes back when the buffer is collected
+ *
+ * The caller must drop every reference to a released buffer (and to views
+ * of it): touching freed memory crashes the JVM instead of throwing.
+ * Used by List.BigIntList.offHeap() and Map.OffHeapLongLongMap.
+ */
+public final class DirectBuffers {
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private DirectBuffers() {
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;   // memory is then released when the buffers are collected
+        }
+    }
+
+    // Buffer must be direct and not a slice/duplicate (those share the original's memory)
+    public static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not release buffer", e);
+        }
+    }
+
+    // Skips null entries (unallocated chunks or pages)
+    public static void releaseAll(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer != null) {
+                release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,1304 @@
+package Set;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/*
+ * ROARING BITMAP OVERVIEW:
+ * - Compressed set of 32-bit integers (IDs, row numbers, document numbers)
+ * - The value space is cut into 2^16 CHUNKS by the high 16 bits; each chunk
+ *   present in the set has one CONTAINER holding the low 16 bits
+ * - Each container picks the cheapest of three representations:
+ *
+ *   ArrayContainer:  sorted char[] of values      (≤ 4096 values, 2 bytes each)
+ *   BitmapContainer: long[1024] = 65536 bits      (> 4096 values, 8 KB fixed)
+ *   RunContainer:    sorted (start, length-1) pairs (long consecutive runs)
+ *
+ *   4096 is the break-even point: 4096 × 2 bytes = 8 KB = one bitmap
+ *
+ * INTERNAL STRUCTURE:
+ * keys:       [ 0x0000 | 0x0003 | 0x00A1 ]     sorted high 16 bits
+ * containers: [ array  | bitmap | run    ]     low 16 bits per chunk
+ *
+ * OPERATIONS:
+ * - contains / add / remove: binary search over keys, then O(1) bitmap,
+ *   O(log 4096) array or O(log runs) run container
+ * - and / or / andNot: merge the key lists, combine containers pairwise
+ *   (bitmap ∧ bitmap = 1024 word ANDs; array ∧ array = sorted merge; ...)
+ * - cardinality: sum of per-container counts, O(containers)
+ * - iteration: ascending UNSIGNED order (-1 = 0xFFFFFFFF sorts last)
+ *
+ * vs Set<Integer> / List<Integer> / BitSet:
+ * - HashSet<Integer>: ~50 bytes per value, intersection = one hash probe
+ *   per element of the smaller set
+ * - BitSet: 1 bit per position of the whole range — great when dense,
+ *   128 MB for a handful of values near 2^30
+ * - Roaring: ~2 bytes per value when sparse, ~1 bit when dense, a few
+ *   bytes per run when clustered; set operations work on whole words
+ *
+ * SERIALIZATION: the portable Roaring format (RoaringFormatSpec, cookies
+ * 12346 / 12347, little-endian), readable by the Java, C, Go, Rust...
+ * Roaring libraries.
+ *
+ * PROS:
+ * - Small and fast for every distribution (sparse, dense, clustered)
+ * - Fast intersections / unions / cardinality without materializing
+ *
+ * CONS:
+ * - Mutating a RunContainer converts it back to array/bitmap
+ *   (call runOptimize() after bulk changes)
+ * - Not thread-safe
+ *
+ * WHEN TO USE:
+ * - Large sets of integer IDs, inverted indexes, filters by row number
+ * - Intersecting or unioning ID sets of millions of elements
+ */
+public final class RoaringBitmap implements Iterable<Integer> {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final int SERIAL_COOKIE_NO_RUN = 12346;
+    private static final int SERIAL_COOKIE = 12347;
+    private static final int NO_OFFSET_THRESHOLD = 4;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;   // number of containers
+
+    public RoaringBitmap() {
+    }
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    // ---- key directory ----
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    private void insertContainer(int at, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = key;
+        containers[at] = container;
+        size++;
+    }
+
+    private void removeContainer(int at) {
+        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+        containers[--size] = null;
+    }
+
+    // Appends a container with a key larger than all present (used by set operations)
+    private void append(char key, Container container) {
+        if (container != null) {
+            insertContainer(size, key, container);
+        }
+    }
+
+    // ---- point operations ----
+
+    public void add(int value) {
+        char key = high(value);
+        int i = indexOf(key);
+        if (i >= 0) {
+            containers[i] = containers[i].add(low(value));
+        } else {
+            ArrayContainer container = new ArrayContainer(4);
+            container.add(low(value));
+            insertContainer(-(i + 1), key, container);
+        }
+    }
+
+    // Adds [startInclusive, endExclusive) as unsigned values in 0..2^32
+    public void addRange(long startInclusive, long endExclusive) {
+        if (startInclusive < 0 || endExclusive > 1L << 32 || startInclusive > endExclusive) {
+            throw new IllegalArgumentException("Invalid range [" + startInclusive + ", " + endExclusive + ")");
+        }
+        if (startInclusive == endExclusive) {
+            return;
+        }
+        int firstKey = (int) (startInclusive >>> 16);
+        int lastKey = (int) ((endExclusive - 1) >>> 16);
+        for (int key = firstKey; key <= lastKey; key++) {
+            int from = key == firstKey ? (int) (startInclusive & 0xFFFF) : 0;
+            int to = key == lastKey ? (int) ((endExclusive - 1) & 0xFFFF) : 0xFFFF;
+            Container range = RunContainer.ofRange(from, to);
+            int i = indexOf((char) key);
+            if (i >= 0) {
+                containers[i] = or(containers[i], range);
+            } else {
+                insertContainer(-(i + 1), (char) key, range);
+            }
+        }
+    }
+
+    public boolean remove(int value) {
+        int i = indexOf(high(value));
+        if (i < 0 || !containers[i].contains(low(value))) {
+            return false;
+        }
+        Container container = containers[i].remove(low(value));
+        if (container.cardinality() == 0) {
+            removeContainer(i);
+        } else {
+            containers[i] = container;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        int i = indexOf(high(value));
+        return i >= 0 && containers[i].contains(low(value));
+    }
+
+    // O(containers)
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        size = 0;
+    }
+
+    // Converts containers to runs where that is smaller; true if any changed
+    public boolean runOptimize() {
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            Container optimized = containers[i].optimize();
+            changed |= optimized != containers[i];
+            containers[i] = optimized;
+        }
+        return changed;
+    }
+
+    // Estimated heap bytes of the containers and key directory
+    public long sizeInBytes() {
+        long bytes = 16 + 2L * keys.length + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(4, size));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    // Counts of array / bitmap / run containers, for demos and tuning
+    public String containerStats() {
+        int arrays = 0;
+        int bitmaps = 0;
+        int runs = 0;
+        for (int i = 0; i < size; i++) {
+            switch (containers[i]) {
+                case ArrayContainer a -> arrays++;
+                case BitmapContainer b -> bitmaps++;
+                case RunContainer r -> runs++;
+            }
+        }
+        return "containers: " + arrays + " array, " + bitmaps + " bitmap, " + runs + " run";
+    }
+
+    // ---- set operations (new bitmaps; inputs unchanged) ----
+
+    // O(containers of both), each pair combined word/element-wise
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(a.keys[i], and(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                result.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.append(a.keys[i], or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // Values of a that are not in b
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                result.append(a.keys[i], andNot(a.containers[i], b.containers[j]));
+            } else {
+                result.append(a.keys[i], a.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    // |a ∧ b| without building the intersection
+    public static long andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        long total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += andCardinality(a.containers[i++], b.containers[j++]);
+            }
+        }
+        return total;
+    }
+
+    // In-place variants
+    public void and(RoaringBitmap other) {
+        replaceWith(and(this, other));
+    }
+
+    public void or(RoaringBitmap other) {
+        replaceWith(or(this, other));
+    }
+
+    public void andNot(RoaringBitmap other) {
+        replaceWith(andNot(this, other));
+    }
+
+    private void replaceWith(RoaringBitmap result) {
+        keys = result.keys;
+        containers = result.containers;
+        size = result.size;
+    }
+
+    // ---- container-level operations ----
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y) {
+            return x.intersect(y);
+        }
+        if (a instanceof ArrayContainer x) {
+            return x.filter(b, true);
+        }
+        if (b instanceof ArrayContainer y) {
+            return y.filter(a, true);
+        }
+        if (a instanceof RunContainer x && b instanceof RunContainer y) {
+            return x.intersect(y).normalize();
+        }
+        long[] words = a.toWords();
+        long[] other = b.toWords();
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] &= other[w];
+        }
+        return fromWords(words);
+    }
+
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y
+                && x.cardinality + y.cardinality <= ARRAY_MAX) {
+            return x.union(y);
+        }
+        if (a instanceof RunContainer x && b instanceof RunContainer y) {
+            return x.union(y).normalize();
+        }
+        long[] words = a.toWords();
+        b.orInto(words);
+        Container result = fromWords(words);
+        return result != null && result.cardinality() == 1 << 16 ? RunContainer.ofRange(0, 0xFFFF) : result;
+    }
+
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer x) {
+            return x.filter(b, false);
+        }
+        long[] words = a.toWords();
+        long[] other = b.toWords();
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] &= ~other[w];
+        }
+        return fromWords(words);
+    }
+
+    private static int andCardinality(Container a, Container b) {
+        if (a instanceof BitmapContainer x && b instanceof BitmapContainer y) {
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                count += Long.bitCount(x.words[w] & y.words[w]);
+            }
+            return count;
+        }
+        if (a instanceof ArrayContainer x && b instanceof ArrayContainer y) {
+            return x.intersectionCount(y);
+        }
+        if (a instanceof ArrayContainer x) {
+            return x.countIn(b);
+        }
+        if (b instanceof ArrayContainer y) {
+            return y.countIn(a);
+        }
+        Container both = and(a, b);
+        return both == null ? 0 : both.cardinality();
+    }
+
+    // Array if ≤ 4096 values, bitmap otherwise, null if empty
+    private static Container fromWords(long[] words) {
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality == 0) {
+            return null;
+        }
+        if (cardinality <= ARRAY_MAX) {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    // ---- containers ----
+
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer, RunContainer {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        // May return a different container type (array ↔ bitmap)
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container copy();
+
+        // Sets this container's bits in a 1024-word bitmap
+        abstract void orInto(long[] words);
+
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            orInto(words);
+            return words;
+        }
+
+        abstract ContainerCursor cursor();
+
+        // Smallest of array / bitmap / run representation
+        abstract Container optimize();
+
+        abstract int runCount();
+
+        abstract long sizeInBytes();
+
+        abstract int serializedBytes();
+
+        abstract void write(ByteBuffer out);
+    }
+
+    private interface ContainerCursor {
+        // Next value (0..65535) or -1
+        int next();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int cardinality;
+
+        ArrayContainer(int capacity) {
+            values = new char[capacity];
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                BitmapContainer bitmap = new BitmapContainer(toWords(), cardinality);
+                return bitmap.add(value);
+            }
+            int at = -(i + 1);
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(8, cardinality * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        // Sorted merge: O(|a| + |b|)
+        Container intersect(ArrayContainer other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    result[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == 0 ? null : new ArrayContainer(result, n);
+        }
+
+        int intersectionCount(ArrayContainer other) {
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    n++;
+                    i++;
+                    j++;
+                }
+            }
+            return n;
+        }
+
+        Container union(ArrayContainer other) {
+            char[] result = new char[cardinality + other.cardinality];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i == cardinality || other.values[j] < values[i]) {
+                    result[n++] = other.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        // Values that are (keep = true) or are not (keep = false) in other
+        Container filter(Container other, boolean keep) {
+            char[] result = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == keep) {
+                    result[n++] = values[i];
+                }
+            }
+            return n == 0 ? null : new ArrayContainer(result, n);
+        }
+
+        int countIn(Container other) {
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        ContainerCursor cursor() {
+            return new ContainerCursor() {
+                int index;
+
+                @Override
+                public int next() {
+                    return index < cardinality ? values[index++] : -1;
+                }
+            };
+        }
+
+        @Override
+        int runCount() {
+            int runs = cardinality == 0 ? 0 : 1;
+            for (int i = 1; i < cardinality; i++) {
+                if (values[i] != values[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        Container optimize() {
+            int runs = runCount();
+            if (RunContainer.bytesFor(runs) < 2 * cardinality) {
+                return RunContainer.fromCursor(cursor(), runs);
+            }
+            if (values.length != cardinality) {
+                values = Arrays.copyOf(values, cardinality);
+            }
+            return this;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + 2L * values.length;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 2 * cardinality;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            for (int i = 0; i < cardinality; i++) {
+                out.putChar(values[i]);
+            }
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                if (--cardinality <= ARRAY_MAX) {
+                    return ArrayContainer.fromWords(words, cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void orInto(long[] target) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                target[w] |= words[w];
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        ContainerCursor cursor() {
+            return new ContainerCursor() {
+                int word;
+                long bits = words[0];
+
+                @Override
+                public int next() {
+                    while (bits == 0) {
+                        if (++word == BITMAP_WORDS) {
+                            return -1;
+                        }
+                        bits = words[word];
+                    }
+                    int value = word * 64 + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    return value;
+                }
+            };
+        }
+
+        // A run starts at every 1 bit whose predecessor bit is 0
+        @Override
+        int runCount() {
+            int runs = 0;
+            long previous = 0;
+            for (long word : words) {
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            return runs;
+        }
+
+        @Override
+        Container optimize() {
+            int runs = runCount();
+            return RunContainer.bytesFor(runs) < 8192 ? RunContainer.fromCursor(cursor(), runs) : this;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16 + 8L * BITMAP_WORDS;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 8 * BITMAP_WORDS;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            for (long word : words) {
+                out.putLong(word);
+            }
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        // [start0, length0, start1, length1, ...], length = run length - 1
+        char[] runs;
+        int count;     // number of runs
+
+        RunContainer(char[] runs, int count) {
+            this.runs = runs;
+            this.count = count;
+        }
+
+        static RunContainer ofRange(int from, int toInclusive) {
+            return new RunContainer(new char[]{(char) from, (char) (toInclusive - from)}, 1);
+        }
+
+        static int bytesFor(int runs) {
+            return 2 + 4 * runs;
+        }
+
+        static RunContainer fromCursor(ContainerCursor cursor, int runCount) {
+            char[] runs = new char[2 * runCount];
+            int n = 0;
+            int start = cursor.next();
+            int end = start;
+            for (int v = cursor.next(); v >= 0; v = cursor.next()) {
+                if (v != end + 1) {
+                    runs[2 * n] = (char) start;
+                    runs[2 * n + 1] = (char) (end - start);
+                    n++;
+                    start = v;
+                }
+                end = v;
+            }
+            if (start >= 0) {
+                runs[2 * n] = (char) start;
+                runs[2 * n + 1] = (char) (end - start);
+                n++;
+            }
+            return new RunContainer(runs, n);
+        }
+
+        private int start(int run) {
+            return runs[2 * run];
+        }
+
+        private int end(int run) {
+            return runs[2 * run] + runs[2 * run + 1];
+        }
+
+        @Override
+        int cardinality() {
+            int total = 0;
+            for (int r = 0; r < count; r++) {
+                total += runs[2 * r + 1] + 1;
+            }
+            return total;
+        }
+
+        // Binary search for the last run starting at or before value
+        @Override
+        boolean contains(char value) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (start(mid) <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high >= 0 && value <= end(high);
+        }
+
+        // Runs are immutable here: mutations go through array/bitmap form
+        @Override
+        Container add(char value) {
+            return contains(value) ? this : toNonRun().add(value);
+        }
+
+        @Override
+        Container remove(char value) {
+            return contains(value) ? toNonRun().remove(value) : this;
+        }
+
+        private Container toNonRun() {
+            int cardinality = cardinality();
+            return cardinality <= ARRAY_MAX
+                    ? ArrayContainer.fromWords(toWords(), cardinality)
+                    : new BitmapContainer(toWords(), cardinality);
+        }
+
+        @Override
+        Container copy() {
+            return new RunContainer(Arrays.copyOf(runs, 2 * count), count);
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (int r = 0; r < count; r++) {
+                int from = start(r);
+                int to = end(r) + 1;             // exclusive
+                int firstWord = from >>> 6;
+                int lastWord = (to - 1) >>> 6;
+                if (firstWord == lastWord) {
+                    words[firstWord] |= (-1L >>> (64 - (to - from))) << from;
+                } else {
+                    words[firstWord] |= -1L << from;
+                    for (int w = firstWord + 1; w < lastWord; w++) {
+                        words[w] = -1L;
+                    }
+                    words[lastWord] |= -1L >>> -to;
+                }
+            }
+        }
+
+        // Overlaps of two sorted interval lists
+        RunContainer intersect(RunContainer other) {
+            char[] result = new char[2 * (count + other.count)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < count && j < other.count) {
+                int from = Math.max(start(i), other.start(j));
+                int to = Math.min(end(i), other.end(j));
+                if (from <= to) {
+                    result[2 * n] = (char) from;
+                    result[2 * n + 1] = (char) (to - from);
+                    n++;
+                }
+                if (end(i) < other.end(j)) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return new RunContainer(result, n);
+        }
+
+        // Merge by start, coalescing overlapping and adjacent runs
+        RunContainer union(RunContainer other) {
+            char[] result = new char[2 * (count + other.count)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            int curStart = -1;
+            int curEnd = -2;
+            while (i < count || j < other.count) {
+                int from;
+                int to;
+                if (j == other.count || (i < count && start(i) <= other.start(j))) {
+                    from = start(i);
+                    to = end(i++);
+                } else {
+                    from = other.start(j);
+                    to = other.end(j++);
+                }
+                if (from <= curEnd + 1) {
+                    curEnd = Math.max(curEnd, to);
+                } else {
+                    if (curStart >= 0) {
+                        result[2 * n] = (char) curStart;
+                        result[2 * n + 1] = (char) (curEnd - curStart);
+                        n++;
+                    }
+                    curStart = from;
+                    curEnd = to;
+                }
+            }
+            if (curStart >= 0) {
+                result[2 * n] = (char) curStart;
+                result[2 * n + 1] = (char) (curEnd - curStart);
+                n++;
+            }
+            return new RunContainer(result, n);
+        }
+
+        // Empty → null; otherwise the smallest representation
+        Container normalize() {
+            return count == 0 ? null : optimize();
+        }
+
+        @Override
+        ContainerCursor cursor() {
+            return new ContainerCursor() {
+                int run;
+                int next = count > 0 ? start(0) : -1;
+
+                @Override
+                public int next() {
+                    if (run == count) {
+                        return -1;
+                    }
+                    int value = next;
+                    if (value == end(run)) {
+                        run++;
+                        next = run < count ? start(run) : -1;
+                    } else {
+                        next++;
+                    }
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        int runCount() {
+            return count;
+        }
+
+        @Override
+        Container optimize() {
+            int cardinality = cardinality();
+            int runBytes = bytesFor(count);
+            if (cardinality <= ARRAY_MAX ? runBytes < 2 * cardinality : runBytes < 8192) {
+                if (runs.length != 2 * count) {
+                    runs = Arrays.copyOf(runs, 2 * count);
+                }
+                return this;
+            }
+            return toNonRun();
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 20 + 2L * runs.length;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 2 + 4 * count;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.putChar((char) count);
+            for (int i = 0; i < 2 * count; i++) {
+                out.putChar(runs[i]);
+            }
+        }
+    }
+
+    // ---- iteration (ascending unsigned order) ----
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            int container = -1;
+            int high;
+            ContainerCursor cursor;
+            int next = advance();
+
+            private int advance() {
+                while (true) {
+                    if (cursor != null) {
+                        int low = cursor.next();
+                        if (low >= 0) {
+                            return high | low;
+                        }
+                    }
+                    if (++container >= size) {
+                        cursor = null;
+                        return 0;
+                    }
+                    high = keys[container] << 16;
+                    cursor = containers[container].cursor();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cursor != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                int value = next;
+                next = advance();
+                return value;
+            }
+        };
+    }
+
+    // Unboxed alternative to Iterable.forEach (a forEach(IntConsumer)
+    // overload would make lambdas passed to forEach ambiguous)
+    public void forEachInt(IntConsumer action) {
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            action.accept(it.nextInt());
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[Math.toIntExact(cardinality())];
+        int n = 0;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext(); ) {
+            result[n++] = it.nextInt();
+        }
+        return result;
+    }
+
+    // ---- portable serialization (RoaringFormatSpec) ----
+
+    public int serializedSizeInBytes() {
+        boolean hasRun = hasRunContainer();
+        int bytes = hasRun ? 4 + (size + 7) / 8 : 8;
+        bytes += 4 * size;                                       // key + cardinality - 1
+        if (!hasRun || size >= NO_OFFSET_THRESHOLD) {
+            bytes += 4 * size;                                   // offsets
+        }
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].serializedBytes();
+        }
+        return bytes;
+    }
+
+    private boolean hasRunContainer() {
+        for (int i = 0; i < size; i++) {
+            if (containers[i] instanceof RunContainer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Writes at the buffer's position, little-endian
+    public void serialize(ByteBuffer buffer) {
+        ByteBuffer out = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        boolean hasRun = hasRunContainer();
+        if (hasRun) {
+            out.putInt(SERIAL_COOKIE | ((size - 1) << 16));
+            byte[] runFlags = new byte[(size + 7) / 8];
+            for (int i = 0; i < size; i++) {
+                if (containers[i] instanceof RunContainer) {
+                    runFlags[i / 8] |= (byte) (1 << (i % 8));
+                }
+            }
+            out.put(runFlags);
+        } else {
+            out.putInt(SERIAL_COOKIE_NO_RUN);
+            out.putInt(size);
+        }
+        for (int i = 0; i < size; i++) {
+            out.putChar(keys[i]);
+            out.putChar((char) (containers[i].cardinality() - 1));
+        }
+        if (!hasRun || size >= NO_OFFSET_THRESHOLD) {
+            int offset = out.position() + 4 * size;
+            for (int i = 0; i < size; i++) {
+                out.putInt(offset);
+                offset += containers[i].serializedBytes();
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            containers[i].write(out);
+        }
+        buffer.position(buffer.position() + out.position());
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[serializedSizeInBytes()];
+        serialize(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    // Reads a bitmap written by serialize (or any Roaring implementation)
+    public static RoaringBitmap deserialize(ByteBuffer buffer) {
+        ByteBuffer in = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int cookie = in.getInt();
+        int count;
+        byte[] runFlags = null;
+        if ((cookie & 0xFFFF) == SERIAL_COOKIE) {
+            count = (cookie >>> 16) + 1;
+            runFlags = new byte[(count + 7) / 8];
+            in.get(runFlags);
+        } else if (cookie == SERIAL_COOKIE_NO_RUN) {
+            count = in.getInt();
+        } else {
+            throw new IllegalArgumentException("Not a serialized Roaring bitmap (cookie " + cookie + ")");
+        }
+        if (count < 0 || count > 1 << 16) {
+            throw new IllegalArgumentException("Corrupt container count: " + count);
+        }
+        char[] keys = new char[count];
+        int[] cardinalities = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = in.getChar();
+            cardinalities[i] = in.getChar() + 1;
+        }
+        if (runFlags == null || count >= NO_OFFSET_THRESHOLD) {
+            in.position(in.position() + 4 * count);
+        }
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < count; i++) {
+            Container container;
+            if (runFlags != null && (runFlags[i / 8] & (1 << (i % 8))) != 0) {
+                int runs = in.getChar();
+                char[] data = new char[2 * runs];
+                for (int r = 0; r < 2 * runs; r++) {
+                    data[r] = in.getChar();
+                }
+                container = new RunContainer(data, runs);
+            } else if (cardinalities[i] <= ARRAY_MAX) {
+                char[] values = new char[cardinalities[i]];
+                for (int v = 0; v < values.length; v++) {
+                    values[v] = in.getChar();
+                }
+                container = new ArrayContainer(values, values.length);
+            } else {
+                long[] words = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] = in.getLong();
+                }
+                container = new BitmapContainer(words, cardinalities[i]);
+            }
+            if (i > 0 && keys[i] <= keys[i - 1]) {
+                throw new IllegalArgumentException("Container keys are not ascending");
+            }
+            bitmap.append(keys[i], container);
+        }
+        buffer.position(buffer.position() + in.position());
+        return bitmap;
+    }
+
+    // ---- Object ----
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringBitmap other) || other.size != size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || containers[i].cardinality() != other.containers[i].cardinality()
+                    || !Arrays.equals(containers[i].toWords(), other.containers[i].toWords())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + containers[i].cardinality();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        PrimitiveIterator.OfInt it = iterator();
+        for (int shown = 0; it.hasNext() && shown < 20; shown++) {
+            joiner.add(Integer.toUnsignedString(it.nextInt()));
+        }
+        if (it.hasNext()) {
+            joiner.add("... (" + cardinality() + " values)");
+        }
+        return joiner.toString();
+    }
+
+    // ---- demo ----
+
+    public static void main(String[] args) {
+        System.out.println("=== Roaring Bitmap ===");
+
+        RoaringBitmap small = of(1, 2, 3, 1000, 70_000, -1);
+        System.out.println("Set: " + small + " (-1 is 4294967295 unsigned, so it sorts last)");
+        System.out.println("contains(1000): " + small.contains(1000) + ", cardinality: " + small.cardinality());
+
+        System.out.println("\n--- One container type per distribution ---");
+        RoaringBitmap sparse = new RoaringBitmap();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 100_000; i++) {
+            sparse.add(random.nextInt(1 << 30));
+        }
+        RoaringBitmap dense = new RoaringBitmap();
+        for (int i = 0; i < 1_000_000; i += 2) {
+            dense.add(i);
+        }
+        RoaringBitmap clustered = new RoaringBitmap();
+        for (int start = 0; start < 10_000_000; start += 100_000) {
+            clustered.addRange(start, start + 5_000);
+        }
+        String[] names = {"sparse", "dense", "clustered"};
+        RoaringBitmap[] bitmaps = {sparse, dense, clustered};
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("%-9s %,9d values, %,10d bytes (%s)%n", names[i], bitmaps[i].cardinality(),
+                    bitmaps[i].sizeInBytes(), bitmaps[i].containerStats());
+        }
+
+        System.out.println("\n--- Set operations ---");
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap multiplesOf3 = new RoaringBitmap();
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+            if (i % 3 == 0) {
+                multiplesOf3.add(i);
+            }
+        }
+        System.out.println("evens AND multiplesOf3: " + and(evens, multiplesOf3));
+        System.out.println("|evens OR multiplesOf3|: " + or(evens, multiplesOf3).cardinality());
+        System.out.println("|evens ANDNOT multiplesOf3|: " + andNot(evens, multiplesOf3).cardinality());
+        System.out.println("|dense AND clustered| (no materialization): " + andCardinality(dense, clustered));
+
+        System.out.println("\n--- Portable serialization ---");
+        byte[] bytes = clustered.toByteArray();
+        RoaringBitmap copy = deserialize(ByteBuffer.wrap(bytes));
+        System.out.println("clustered: " + bytes.length + " bytes serialized, round trip equal: " + copy.equals(clustered));
+        System.out.println("(benchmark vs HashSet<Integer> and BitSet: Benchmarks.RoaringBitmapBenchmark)");
+    }
+}
@@ -0,0 +1,530 @@
+package Sort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * EXTERNALSORTER OVERVIEW:
+ * - Sorts record files far larger than the heap (external merge sort)
+ * - Phase 1 (runs): read `runLength` records into memory, sort them with
+ *   Arrays.parallelSort, spill the run to a temp file
+ * - Phase 2 (merge): k-way merge of the runs through a LOSER TREE; more
+ *   than `fanIn` runs are merged in several passes
+ * - Records are (de)serialized by a RecordCodec into ByteBuffers; all file
+ *   I/O goes through FileChannels with large direct buffers
+ * - Stable: equal records keep their input order
+ *
+ * LOSER TREE (k runs, k-1 internal nodes):
+ * Each internal node remembers the LOSER of the match played there; the
+ * overall winner sits in tree[0]. After the winner's run advances, only
+ * the matches on its leaf-to-root path are replayed: log2(k) comparisons
+ * per record, versus ~2 log2(k) for a binary heap's sift-down.
+ *
+ * COST (n records, r runs, fan-in f):
+ * - CPU: O(n log n) run sorting + O(n log r) merging
+ * - I/O: every record is written and read 1 + ceil(log_f r) times
+ * - Memory: runLength records + fanIn × bufferBytes of direct buffers
+ *
+ * PROS:
+ * - Input size bounded by disk, not heap
+ * - Large sequential reads/writes only (no random I/O)
+ * - Spill and merge throughput reported per sort (Stats)
+ *
+ * CONS:
+ * - Records must fit in codec.maxRecordBytes() once encoded
+ * - Reading, sorting and spilling a run are not overlapped
+ *
+ * WHEN TO USE:
+ * - Nightly jobs sorting record files (logs, exports) bigger than memory
+ */
+public final class ExternalSorter<T> {
+
+    // Binary record format; encode must not write more than maxRecordBytes()
+    public interface RecordCodec<T> {
+        int maxRecordBytes();
+
+        void encode(T record, ByteBuffer out);
+
+        T decode(ByteBuffer in);
+    }
+
+    // What one sort did; throughput in MB/s of encoded bytes
+    public record Stats(long records, int runs, int mergePasses, long spilledBytes, long mergedBytes,
+                        long sortNanos, long spillNanos, long mergeNanos) {
+
+        public double spillMegabytesPerSecond() {
+            return megabytesPerSecond(spilledBytes, spillNanos);
+        }
+
+        public double mergeMegabytesPerSecond() {
+            return megabytesPerSecond(mergedBytes, mergeNanos);
+        }
+
+        private static double megabytesPerSecond(long bytes, long nanos) {
+            return nanos == 0 ? 0 : bytes / 1e6 / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d records, %d runs, %d merge passes | run sort %d ms"
+                            + " | spill %,d bytes at %.1f MB/s | merge %,d bytes at %.1f MB/s",
+                    records, runs, mergePasses, sortNanos / 1_000_000,
+                    spilledBytes, spillMegabytesPerSecond(), mergedBytes, mergeMegabytesPerSecond());
+        }
+    }
+
+    private final RecordCodec<T> codec;
+    private final Comparator<? super T> comparator;
+    private final int runLength;
+    private final int fanIn;
+    private final int bufferBytes;
+    private final Path tempDirectory;
+
+    private ExternalSorter(Builder<T> builder) {
+        this.codec = builder.codec;
+        this.comparator = builder.comparator;
+        this.runLength = builder.runLength > 0 ? builder.runLength : defaultRunLength(codec);
+        this.fanIn = builder.fanIn;
+        this.bufferBytes = Math.max(builder.bufferBytes, 2 * codec.maxRecordBytes());
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    // A quarter of the max heap, guessing ~64 bytes of object overhead per record
+    private static int defaultRunLength(RecordCodec<?> codec) {
+        long perRecord = codec.maxRecordBytes() + 64L;
+        return (int) Math.max(10_000, Math.min(Integer.MAX_VALUE - 8, Runtime.getRuntime().maxMemory() / 4 / perRecord));
+    }
+
+    public static <T> Builder<T> builder(RecordCodec<T> codec) {
+        return new Builder<>(codec);
+    }
+
+    public static final class Builder<T> {
+        private final RecordCodec<T> codec;
+        private Comparator<? super T> comparator;
+        private int runLength;
+        private int fanIn = 64;
+        private int bufferBytes = 1 << 18;
+        private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+        private Builder(RecordCodec<T> codec) {
+            this.codec = Objects.requireNonNull(codec);
+        }
+
+        public Builder<T> comparator(Comparator<? super T> comparator) {
+            this.comparator = Objects.requireNonNull(comparator);
+            return this;
+        }
+
+        public <U extends Comparable<? super U>> Builder<T> key(Function<? super T, ? extends U> key) {
+            this.comparator = Comparator.comparing(key);
+            return this;
+        }
+
+        // Records per in-memory run (default: derived from the max heap)
+        public Builder<T> runLength(int records) {
+            if (records < 1) {
+                throw new IllegalArgumentException("runLength must be positive: " + records);
+            }
+            this.runLength = records;
+            return this;
+        }
+
+        // Runs merged at once; more runs → extra merge passes
+        public Builder<T> fanIn(int runs) {
+            if (runs < 2) {
+                throw new IllegalArgumentException("fanIn must be >= 2: " + runs);
+            }
+            this.fanIn = runs;
+            return this;
+        }
+
+        // Direct buffer per open run / output file
+        public Builder<T> bufferBytes(int bytes) {
+            if (bytes < 1) {
+                throw new IllegalArgumentException("bufferBytes must be positive: " + bytes);
+            }
+            this.bufferBytes = bytes;
+            return this;
+        }
+
+        public Builder<T> tempDirectory(Path directory) {
+            this.tempDirectory = Objects.requireNonNull(directory);
+            return this;
+        }
+
+        public ExternalSorter<T> build() {
+            if (comparator == null) {
+                throw new IllegalStateException("A comparator or key extractor is required");
+            }
+            return new ExternalSorter<>(this);
+        }
+    }
+
+    // ---- sorting ----
+
+    // Sorts the records of a codec-encoded file into output
+    public Stats sort(Path input, Path output) throws IOException {
+        try (RunReader reader = new RunReader(input)) {
+            return sort(reader.iterator(), output);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Sorts non-null records from any source into a codec-encoded output file
+    @SuppressWarnings("unchecked")
+    public Stats sort(Iterator<? extends T> input, Path output) throws IOException {
+        Meter meter = new Meter();
+        List<Path> temps = new ArrayList<>();
+        try {
+            List<Path> runs = new ArrayList<>();
+            T[] run = (T[]) new Object[Math.min(runLength, 1 << 12)];
+            do {
+                int n = 0;
+                while (n < runLength && input.hasNext()) {
+                    if (n == run.length) {
+                        run = Arrays.copyOf(run, (int) Math.min(runLength, 2L * n));
+                    }
+                    run[n++] = Objects.requireNonNull(input.next(), "null record");
+                }
+                long start = System.nanoTime();
+                Arrays.parallelSort(run, 0, n, comparator);
+                meter.sortNanos += System.nanoTime() - start;
+                meter.records += n;
+                meter.runs++;
+                if (runs.isEmpty() && !input.hasNext()) {
+                    // Everything fit in one run: no temp file, no merge
+                    spill(run, n, output, meter);
+                    return meter.stats(0);
+                }
+                Path file = Files.createTempFile(tempDirectory, "run-", ".bin");
+                temps.add(file);
+                runs.add(file);
+                spill(run, n, file, meter);
+            } while (input.hasNext());
+            run = null; // let the last run be collected before merging
+            return meter.stats(merge(runs, output, temps, meter));
+        } finally {
+            for (Path temp : temps) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // Streams the records of a codec-encoded file (e.g. a sort output) to action
+    public void forEachRecord(Path file, Consumer<? super T> action) throws IOException {
+        try (RunReader reader = new RunReader(file)) {
+            for (T record = reader.next(); record != null; record = reader.next()) {
+                action.accept(record);
+            }
+        }
+    }
+
+    private void spill(T[] run, int n, Path file, Meter meter) throws IOException {
+        long start = System.nanoTime();
+        try (RunWriter writer = new RunWriter(file)) {
+            for (int i = 0; i < n; i++) {
+                writer.write(run[i]);
+            }
+            meter.spilledBytes += writer.finish();
+        }
+        meter.spillNanos += System.nanoTime() - start;
+    }
+
+    // Merges runs fanIn at a time until one pass can write output; returns the pass count
+    private int merge(List<Path> runs, Path output, List<Path> temps, Meter meter) throws IOException {
+        long start = System.nanoTime();
+        int passes = 0;
+        while (runs.size() > fanIn) {
+            List<Path> next = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                if (group.size() == 1) {
+                    next.add(group.get(0));
+                    continue;
+                }
+                Path merged = Files.createTempFile(tempDirectory, "merge-", ".bin");
+                temps.add(merged);
+                meter.mergedBytes += mergeInto(group, merged);
+                for (Path consumed : group) {
+                    Files.delete(consumed);
+                    temps.remove(consumed);
+                }
+                next.add(merged);
+            }
+            runs = next;
+            passes++;
+        }
+        meter.mergedBytes += mergeInto(runs, output);
+        meter.mergeNanos += System.nanoTime() - start;
+        return passes + 1;
+    }
+
+    // One k-way merge through a loser tree; returns the bytes written
+    @SuppressWarnings("unchecked")
+    private long mergeInto(List<Path> inputs, Path output) throws IOException {
+        int k = inputs.size();
+        List<RunReader> readers = new ArrayList<>(k);
+        try (RunWriter writer = new RunWriter(output)) {
+            T[] heads = (T[]) new Object[k];
+            for (int i = 0; i < k; i++) {
+                readers.add(new RunReader(inputs.get(i)));
+                heads[i] = readers.get(i).next();
+            }
+            LoserTree<T> tree = new LoserTree<>(heads, comparator);
+            for (int w = tree.winner(); heads[w] != null; w = tree.winner()) {
+                writer.write(heads[w]);
+                heads[w] = readers.get(w).next();
+                tree.replay();
+            }
+            return writer.finish();
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    // ---- loser tree ----
+
+    /*
+     * heads[i] is the current record of run i (null = run exhausted, loses
+     * to everything). Leaves are the virtual nodes k..2k-1; tree[1..k-1]
+     * hold the loser of each match, tree[0] the winner. Ties go to the lower
+     * run index, which keeps the merge stable.
+     */
+    private static final class LoserTree<T> {
+        private final T[] heads;
+        private final Comparator<? super T> comparator;
+        private final int[] tree;
+
+        LoserTree(T[] heads, Comparator<? super T> comparator) {
+            this.heads = heads;
+            this.comparator = comparator;
+            int k = heads.length;
+            tree = new int[k];
+            int[] winners = new int[2 * k];
+            for (int i = 0; i < k; i++) {
+                winners[k + i] = i;
+            }
+            for (int node = k - 1; node > 0; node--) {
+                int left = winners[2 * node];
+                int right = winners[2 * node + 1];
+                boolean leftWins = beats(left, right);
+                winners[node] = leftWins ? left : right;
+                tree[node] = leftWins ? right : left;
+            }
+            tree[0] = winners[1];
+        }
+
+        int winner() {
+            return tree[0];
+        }
+
+        // The winner's head changed: replay its path to the root - log2(k) comparisons
+        void replay() {
+            int candidate = tree[0];
+            for (int node = (candidate + heads.length) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], candidate)) {
+                    int loser = candidate;
+                    candidate = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = candidate;
+        }
+
+        private boolean beats(int a, int b) {
+            T x = heads[a];
+            T y = heads[b];
+            if (x == null || y == null) {
+                return y == null && (x != null || a < b);
+            }
+            int c = comparator.compare(x, y);
+            return c < 0 || (c == 0 && a < b);
+        }
+    }
+
+    // ---- buffered channel I/O ----
+
+    private final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes);
+        private final int maxRecordBytes = codec.maxRecordBytes();
+        private long bytes;
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        }
+
+        void write(T record) throws IOException {
+            if (buffer.remaining() < maxRecordBytes) {
+                drain();
+            }
+            codec.encode(record, buffer);
+        }
+
+        // Writes out everything buffered so far; returns the file's total byte count
+        long finish() throws IOException {
+            drain();
+            return bytes;
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel.isOpen()) {
+                drain();
+                channel.close();
+            }
+        }
+    }
+
+    private final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes).flip();
+        private final int maxRecordBytes = codec.maxRecordBytes();
+        private boolean eof;
+
+        RunReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+
+        // Next record, null at the end of the file
+        T next() throws IOException {
+            if (buffer.remaining() < maxRecordBytes && !eof) {
+                buffer.compact();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+            }
+            return buffer.hasRemaining() ? codec.decode(buffer) : null;
+        }
+
+        Iterator<T> iterator() {
+            return new Iterator<>() {
+                private T next = read();
+
+                private T read() {
+                    try {
+                        return RunReader.this.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public T next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    T current = next;
+                    next = read();
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class Meter {
+        long records;
+        int runs;
+        long spilledBytes;
+        long mergedBytes;
+        long sortNanos;
+        long spillNanos;
+        long mergeNanos;
+
+        Stats stats(int mergePasses) {
+            return new Stats(records, runs, mergePasses, spilledBytes, mergedBytes, sortNanos, spillNanos, mergeNanos);
+        }
+    }
+
+    // Student-style demo record (same shape as List.ComparatorImpl's Student)
+    private record Student(String name, int marks) {
+    }
+
+    // marks (4 bytes) + name length (2 bytes) + name bytes (at most 58)
+    private static final RecordCodec<Student> STUDENT_CODEC = new RecordCodec<>() {
+        @Override
+        public int maxRecordBytes() {
+            return 64;
+        }
+
+        @Override
+        public void encode(Student s, ByteBuffer out) {
+            byte[] name = s.name().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 58) {
+                throw new IllegalArgumentException("Name too long: " + s.name());
+            }
+            out.putInt(s.marks()).putShort((short) name.length).put(name);
+        }
+
+        @Override
+        public Student decode(ByteBuffer in) {
+            int marks = in.getInt();
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            return new Student(new String(name, StandardCharsets.UTF_8), marks);
+        }
+    };
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== External Merge Sort ===");
+        Random random = new Random(11);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            students.add(new Student("student-" + i, random.nextInt(101)));
+        }
+        Path output = Files.createTempFile("students-sorted-", ".bin");
+        try {
+            // Tiny runs and fan-in to force spilling and two merge passes
+            ExternalSorter<Student> sorter = ExternalSorter.builder(STUDENT_CODEC)
+                    .comparator(Comparator.comparingInt(Student::marks).reversed())
+                    .runLength(50_000)
+                    .fanIn(8)
+                    .build();
+            Stats stats = sorter.sort(students.iterator(), output);
+            System.out.println(stats);
+
+            List<Student> sorted = new ArrayList<>();
+            sorter.forEachRecord(output, sorted::add);
+            System.out.println("First: " + sorted.get(0) + ", last: " + sorted.get(sorted.size() - 1));
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+}
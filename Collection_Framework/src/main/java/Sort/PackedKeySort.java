@@ -0,0 +1,315 @@
+package Sort;
+
+import Sort.ComparatorCompiler.Direction;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/*
+ * PACKEDKEYSORT OVERVIEW:
+ * - Multi-field sort that computes a NORMALIZED BINARY KEY per record once,
+ *   instead of calling getter → compare on each of the O(n log n) comparisons
+ * - Each field is encoded so that unsigned byte order == field order:
+ *   int/long: big-endian with the sign bit flipped
+ *   double:   IEEE bits, negative values fully inverted
+ *   String:   first `prefixChars` UTF-16 chars, 2 bytes each, zero padded
+ *   DESC:     every byte of the field inverted
+ * - The key ends after the first String field: a tied prefix does not mean
+ *   equal strings, so later fields only take part in the tie comparator
+ * - The first 8 key bytes form a long sorted with RadixSort (no comparisons);
+ *   records whose 8-byte prefixes tie are ordered by the remaining key bytes,
+ *   and only if the whole key ties by the full comparator
+ *
+ * KEY FOR (marks DESC, name ASC with 6 chars):
+ *   [~marks ^ sign : 4 bytes][n a m e _ _ : 12 bytes]  = 16 bytes
+ *   prefix long = marks + first 2 chars; rest = chars 3..6
+ *
+ * COMPARATOR SORT vs PACKED KEYS (n records):
+ * Comparator:  n log n × (2 getters + compareInt + maybe String.compareTo)
+ * Packed keys: n key encodings + radix passes over a long[] + a few tie
+ *              comparisons; the full comparator only runs on true key ties
+ *
+ * PROS:
+ * - Records are touched a handful of times instead of ~2 log n times
+ * - Strings beyond the prefix still compare correctly (comparator fallback)
+ * - Stable
+ *
+ * CONS:
+ * - key bytes + 8 bytes prefix + RadixSort buffers per record of extra memory
+ * - Long shared string prefixes (URLs, "student-…") tie a lot and fall back
+ *
+ * WHEN TO USE:
+ * - Millions of records sorted by a few numeric / short string fields
+ */
+public final class PackedKeySort<T> {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // One field of the key: its width in bytes and order-preserving encoder
+    private interface Component<T> {
+        int width();
+
+        void encode(T record, byte[] key, int at);
+    }
+
+    // Recognized by the builder: ends the encoded key
+    private record StringPrefix<T>(Function<? super T, String> field, int prefixChars, boolean desc)
+            implements Component<T> {
+        public int width() {
+            return 2 * prefixChars;
+        }
+
+        public void encode(T record, byte[] key, int at) {
+            String s = field.apply(record);
+            int n = Math.min(prefixChars, s.length());
+            for (int i = 0; i < prefixChars; i++) {
+                putBits(i < n ? s.charAt(i) : 0, 2, desc, key, at + 2 * i);
+            }
+        }
+    }
+
+    private final List<Component<T>> components;
+    private final Comparator<? super T> comparator;
+    private final int keyBytes;
+
+    private PackedKeySort(Builder<T> builder) {
+        this.components = List.copyOf(builder.components);
+        this.comparator = builder.comparator;
+        this.keyBytes = builder.keyBytes;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static final class Builder<T> {
+        private final List<Component<T>> components = new ArrayList<>();
+        private Comparator<? super T> comparator;
+        private int keyBytes;
+        private boolean truncated;
+
+        private Builder<T> add(Component<T> component, Comparator<T> fieldOrder, Direction direction) {
+            Comparator<T> order = direction == Direction.DESC ? fieldOrder.reversed() : fieldOrder;
+            comparator = comparator == null ? order : thenComparing(comparator, order);
+            if (!truncated) {
+                // A tie on a string prefix says nothing about the full strings, so
+                // fields after it cannot be encoded: they only take part in the comparator
+                components.add(component);
+                keyBytes += component.width();
+                truncated = component instanceof StringPrefix;
+            }
+            return this;
+        }
+
+        private static <T> Comparator<T> thenComparing(Comparator<? super T> first, Comparator<T> second) {
+            return (a, b) -> {
+                int c = first.compare(a, b);
+                return c != 0 ? c : second.compare(a, b);
+            };
+        }
+
+        public Builder<T> intKey(ToIntFunction<? super T> field, Direction direction) {
+            boolean desc = direction == Direction.DESC;
+            return add(new Component<>() {
+                public int width() {
+                    return Integer.BYTES;
+                }
+
+                public void encode(T record, byte[] key, int at) {
+                    putBits(field.applyAsInt(record) ^ Integer.MIN_VALUE, Integer.BYTES, desc, key, at);
+                }
+            }, Comparator.comparingInt(field), direction);
+        }
+
+        public Builder<T> longKey(ToLongFunction<? super T> field, Direction direction) {
+            boolean desc = direction == Direction.DESC;
+            return add(new Component<>() {
+                public int width() {
+                    return Long.BYTES;
+                }
+
+                public void encode(T record, byte[] key, int at) {
+                    putBits(field.applyAsLong(record) ^ Long.MIN_VALUE, Long.BYTES, desc, key, at);
+                }
+            }, Comparator.comparingLong(field), direction);
+        }
+
+        // Same order as Double.compare (-0.0 < 0.0, NaN last)
+        public Builder<T> doubleKey(ToDoubleFunction<? super T> field, Direction direction) {
+            boolean desc = direction == Direction.DESC;
+            return add(new Component<>() {
+                public int width() {
+                    return Long.BYTES;
+                }
+
+                public void encode(T record, byte[] key, int at) {
+                    long bits = Double.doubleToLongBits(field.applyAsDouble(record));
+                    putBits(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE, Long.BYTES, desc, key, at);
+                }
+            }, Comparator.comparingDouble(field), direction);
+        }
+
+        // First prefixChars chars of a non-null string; String.compareTo on ties
+        public Builder<T> stringKey(Function<? super T, String> field, int prefixChars, Direction direction) {
+            if (prefixChars < 1) {
+                throw new IllegalArgumentException("prefixChars must be positive: " + prefixChars);
+            }
+            return add(new StringPrefix<>(field, prefixChars, direction == Direction.DESC),
+                    Comparator.comparing(field), direction);
+        }
+
+        public PackedKeySort<T> build() {
+            if (components.isEmpty()) {
+                throw new IllegalStateException("At least one key field is required");
+            }
+            return new PackedKeySort<>(this);
+        }
+    }
+
+    // Big-endian low `bytes` bytes of bits, inverted for descending order
+    private static void putBits(long bits, int bytes, boolean desc, byte[] key, int at) {
+        if (desc) {
+            bits = ~bits;
+        }
+        for (int i = bytes - 1; i >= 0; i--) {
+            key[at + i] = (byte) bits;
+            bits >>>= 8;
+        }
+    }
+
+    // ---- sorting ----
+
+    public void sort(T[] array) {
+        int[] order = sortedPermutation(Arrays.asList(array));
+        Object[] copy = array.clone();
+        for (int i = 0; i < order.length; i++) {
+            @SuppressWarnings("unchecked") T record = (T) copy[order[i]];
+            array[i] = record;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void sort(List<T> list) {
+        Object[] records = list.toArray();
+        int[] order = sortedPermutation((List<T>) Arrays.asList(records));
+        ListIterator<T> it = list.listIterator();
+        for (int index : order) {
+            it.next();
+            it.set((T) records[index]);
+        }
+    }
+
+    // Stable ascending order: result[i] = index of the i-th record
+    public int[] sortedPermutation(List<? extends T> records) {
+        int n = records.size();
+        int width = keyBytes;
+        byte[] keys = new byte[Math.multiplyExact(n, width)];
+        long[] prefixes = new long[n];
+        IntStream range = IntStream.range(0, n);
+        (n >= PARALLEL_THRESHOLD ? range.parallel() : range).forEach(i -> {
+            T record = records.get(i);
+            int at = i * width;
+            for (Component<T> component : components) {
+                component.encode(record, keys, at);
+                at += component.width();
+            }
+            prefixes[i] = prefix(keys, i * width, width) ^ Long.MIN_VALUE; // unsigned → signed order
+        });
+
+        int[] order = RadixSort.sortedPermutation(prefixes);
+        int[] scratch = null;
+        for (int from = 0; from < n; ) {
+            long p = prefixes[order[from]];
+            int to = from + 1;
+            while (to < n && prefixes[order[to]] == p) {
+                to++;
+            }
+            if (to - from > 1) {
+                if (scratch == null) {
+                    scratch = new int[n];
+                }
+                sortTies(order, from, to, scratch, (a, b) -> {
+                    int c = width > Long.BYTES
+                            ? Arrays.compareUnsigned(keys, a * width + Long.BYTES, (a + 1) * width,
+                                                     keys, b * width + Long.BYTES, (b + 1) * width)
+                            : 0;
+                    return c != 0 ? c : comparator.compare(records.get(a), records.get(b));
+                });
+            }
+            from = to;
+        }
+        return order;
+    }
+
+    private static long prefix(byte[] keys, int at, int width) {
+        long p = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            p = (p << 8) | (i < width ? keys[at + i] & 0xFF : 0);
+        }
+        return p;
+    }
+
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    // Stable merge sort of order[from, to) - insertion sort for short ranges
+    private static void sortTies(int[] order, int from, int to, int[] scratch, IndexComparator cmp) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int v = order[i];
+                int j = i - 1;
+                while (j >= from && cmp.compare(order[j], v) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortTies(order, from, mid, scratch, cmp);
+        sortTies(order, mid, to, scratch, cmp);
+        if (cmp.compare(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            order[k] = j >= to || (i < mid && cmp.compare(scratch[i], scratch[j]) <= 0) ? scratch[i++] : scratch[j++];
+        }
+    }
+
+    // The comparator implied by the key fields (also used for ties)
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    // Student-style demo record (same shape as List.ComparatorImpl's Student)
+    private record Student(String name, int marks) {
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Packed Sort Keys ===");
+        List<Student> students = new ArrayList<>(List.of(
+                new Student("Lakshay", 69),
+                new Student("Harsh", 89),
+                new Student("Abhijeet", 45),
+                new Student("Vishal", 99),
+                new Student("Sarah", 69),
+                new Student("Saraswati", 69),
+                new Student("Sarah", 69)));
+
+        // marks DESC, then name ASC: 4 + 2×4 = 12 key bytes, "Sarah"/"Saraswati" tie on the prefix
+        PackedKeySort<Student> sorter = PackedKeySort.<Student>builder()
+                .intKey(Student::marks, Direction.DESC)
+                .stringKey(Student::name, 4, Direction.ASC)
+                .build();
+        sorter.sort(students);
+        students.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,276 @@
+package Sort;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/*
+ * RADIXSORT OVERVIEW:
+ * - Sorts records by a numeric key pulled out once with a key extractor
+ *   (ToIntFunction / ToLongFunction) instead of a Comparator
+ * - Stable LSD (least significant digit first) radix sort, 8 bits per pass:
+ *   4 passes for int keys, 8 passes for long keys
+ * - Sorts (key, index) pairs, then applies the resulting permutation to
+ *   the records in one O(n) pass
+ *
+ * ONE PASS (digit = 8 bits):
+ * 1. histogram: count keys per digit value (256 buckets)
+ * 2. prefix sum: bucket start offsets
+ * 3. scatter:   move each (key, index) to its bucket, in input order → stable
+ *
+ * PARALLEL PASS:
+ * Each worker histograms its own slice; offsets are laid out digit-major,
+ * worker-minor, so worker w writes bucket d right after workers 0..w-1 did.
+ * That keeps equal keys in input order across workers (still stable).
+ *
+ * COMPARISON SORT vs RADIX SORT:
+ * List.sort(comparator): O(n log n) comparator calls, each a lambda call
+ *                        plus two field loads through object references
+ * RadixSort:             O(passes × n) over primitive arrays; the records
+ *                        are touched twice (key extraction, permute)
+ *
+ * PROS:
+ * - No comparator calls, linear time in n
+ * - Passes where every key shares the digit are skipped (small key ranges
+ *   such as marks 0..100 need a single pass)
+ * - Parallel histogram/scatter for large inputs (common ForkJoinPool)
+ *
+ * CONS:
+ * - Only numeric keys (use a comparator for strings / multi-field keys)
+ * - O(n) extra memory: key and index arrays, double-buffered
+ *
+ * WHEN TO USE:
+ * - Millions of records sorted by an int/long field (ids, timestamps, scores)
+ */
+public final class RadixSort {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private RadixSort() {
+    }
+
+    // ---- record sorting ----
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, ToIntFunction<? super T> key) {
+        Object[] records = list.toArray();
+        int[] keys = new int[records.length];
+        for (int i = 0; i < records.length; i++) {
+            keys[i] = key.applyAsInt((T) records[i]);
+        }
+        writeBack(list, records, sortedPermutation(keys));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sortByLong(List<T> list, ToLongFunction<? super T> key) {
+        Object[] records = list.toArray();
+        long[] keys = new long[records.length];
+        for (int i = 0; i < records.length; i++) {
+            keys[i] = key.applyAsLong((T) records[i]);
+        }
+        writeBack(list, records, sortedPermutation(keys));
+    }
+
+    public static <T> void sort(T[] array, ToIntFunction<? super T> key) {
+        int[] keys = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = key.applyAsInt(array[i]);
+        }
+        permute(array, sortedPermutation(keys));
+    }
+
+    public static <T> void sortByLong(T[] array, ToLongFunction<? super T> key) {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = key.applyAsLong(array[i]);
+        }
+        permute(array, sortedPermutation(keys));
+    }
+
+    // ---- permutations ----
+
+    // Stable ascending order: result[i] = index of the i-th smallest key
+    public static int[] sortedPermutation(int[] keys) {
+        int n = keys.length;
+        int[] srcKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            srcKeys[i] = keys[i] ^ Integer.MIN_VALUE; // flip sign bit: signed order as unsigned digits
+        }
+        int[] srcIdx = identity(n);
+        int[] dstKeys = new int[n];
+        int[] dstIdx = new int[n];
+        int workers = workersFor(n);
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            if (pass(srcKeys, srcIdx, dstKeys, dstIdx, shift, workers)) {
+                int[] t = srcKeys; srcKeys = dstKeys; dstKeys = t;
+                t = srcIdx; srcIdx = dstIdx; dstIdx = t;
+            }
+        }
+        return srcIdx;
+    }
+
+    public static int[] sortedPermutation(long[] keys) {
+        int n = keys.length;
+        long[] srcKeys = new long[n];
+        for (int i = 0; i < n; i++) {
+            srcKeys[i] = keys[i] ^ Long.MIN_VALUE;
+        }
+        int[] srcIdx = identity(n);
+        long[] dstKeys = new long[n];
+        int[] dstIdx = new int[n];
+        int workers = workersFor(n);
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if (pass(srcKeys, srcIdx, dstKeys, dstIdx, shift, workers)) {
+                long[] t = srcKeys; srcKeys = dstKeys; dstKeys = t;
+                int[] u = srcIdx; srcIdx = dstIdx; dstIdx = u;
+            }
+        }
+        return srcIdx;
+    }
+
+    // One stable counting pass on the digit at `shift`; false if every key has the same digit
+    private static boolean pass(int[] srcKeys, int[] srcIdx, int[] dstKeys, int[] dstIdx, int shift, int workers) {
+        int n = srcKeys.length;
+        int[][] counts = new int[workers][BUCKETS];
+        forEachSlice(n, workers, (w, from, to) -> {
+            int[] c = counts[w];
+            for (int i = from; i < to; i++) {
+                c[(srcKeys[i] >>> shift) & MASK]++;
+            }
+        });
+        if (isSingleBucket(counts, n)) {
+            return false;
+        }
+        int[][] offsets = toOffsets(counts);
+        forEachSlice(n, workers, (w, from, to) -> {
+            int[] o = offsets[w];
+            for (int i = from; i < to; i++) {
+                int k = srcKeys[i];
+                int pos = o[(k >>> shift) & MASK]++;
+                dstKeys[pos] = k;
+                dstIdx[pos] = srcIdx[i];
+            }
+        });
+        return true;
+    }
+
+    private static boolean pass(long[] srcKeys, int[] srcIdx, long[] dstKeys, int[] dstIdx, int shift, int workers) {
+        int n = srcKeys.length;
+        int[][] counts = new int[workers][BUCKETS];
+        forEachSlice(n, workers, (w, from, to) -> {
+            int[] c = counts[w];
+            for (int i = from; i < to; i++) {
+                c[(int) (srcKeys[i] >>> shift) & MASK]++;
+            }
+        });
+        if (isSingleBucket(counts, n)) {
+            return false;
+        }
+        int[][] offsets = toOffsets(counts);
+        forEachSlice(n, workers, (w, from, to) -> {
+            int[] o = offsets[w];
+            for (int i = from; i < to; i++) {
+                long k = srcKeys[i];
+                int pos = o[(int) (k >>> shift) & MASK]++;
+                dstKeys[pos] = k;
+                dstIdx[pos] = srcIdx[i];
+            }
+        });
+        return true;
+    }
+
+    // Digit-major, worker-minor start offsets → stable across workers
+    private static int[][] toOffsets(int[][] counts) {
+        int workers = counts.length;
+        int[][] offsets = new int[workers][BUCKETS];
+        int running = 0;
+        for (int d = 0; d < BUCKETS; d++) {
+            for (int w = 0; w < workers; w++) {
+                offsets[w][d] = running;
+                running += counts[w][d];
+            }
+        }
+        return offsets;
+    }
+
+    private static boolean isSingleBucket(int[][] counts, int n) {
+        for (int d = 0; d < BUCKETS; d++) {
+            int total = 0;
+            for (int[] c : counts) {
+                total += c[d];
+            }
+            if (total != 0) {
+                return total == n;
+            }
+        }
+        return true;
+    }
+
+    private interface SliceTask {
+        void run(int worker, int from, int to);
+    }
+
+    private static void forEachSlice(int n, int workers, SliceTask task) {
+        if (workers == 1) {
+            task.run(0, 0, n);
+            return;
+        }
+        int slice = (n + workers - 1) / workers;
+        IntStream.range(0, workers).parallel()
+                .forEach(w -> task.run(w, Math.min(n, w * slice), Math.min(n, (w + 1) * slice)));
+    }
+
+    private static int workersFor(int n) {
+        if (n < PARALLEL_THRESHOLD) {
+            return 1;
+        }
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), n / PARALLEL_THRESHOLD));
+    }
+
+    private static int[] identity(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+        return idx;
+    }
+
+    private static <T> void permute(T[] array, int[] order) {
+        Object[] copy = array.clone();
+        for (int i = 0; i < order.length; i++) {
+            @SuppressWarnings("unchecked") T record = (T) copy[order[i]];
+            array[i] = record;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeBack(List<T> list, Object[] records, int[] order) {
+        ListIterator<T> it = list.listIterator();
+        for (int index : order) {
+            it.next();
+            it.set((T) records[index]);
+        }
+    }
+
+    // Student-style demo record (same shape as List.ComparatorImpl's Student)
+    private record Student(String name, int marks) {
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Radix Sort by Key Extractor ===");
+        List<Student> students = new ArrayList<>(List.of(
+                new Student("Lakshay", 69),
+                new Student("Harsh", 89),
+                new Student("Abhijeet", 45),
+                new Student("Vishal", 99),
+                new Student("Sarah", 69)));
+
+        // Key extracted once per record, no comparator calls
+        RadixSort.sort(students, Student::marks);
+        System.out.println("Sorted by marks (stable, Lakshay before Sarah):");
+        students.forEach(System.out::println);
+    }
+}
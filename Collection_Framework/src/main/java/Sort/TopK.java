@@ -0,0 +1,331 @@
+package Sort;
+
+import java.util.*;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/*
+ * TOPK OVERVIEW:
+ * - "Top 100 of 50M" without sorting 50M elements: stream the input through
+ *   a BOUNDED heap that keeps only the k best elements seen so far
+ * - The heap is ordered so the root is the WORST kept element; a new element
+ *   that does not beat the root is rejected with one comparison
+ * - 4-ary heap: half the depth of a binary heap, and the 4 children of a
+ *   node sit next to each other in the array (one or two cache lines)
+ * - Parallel variant: one heap per slice, heaps merged at the end
+ * - Collector for streams (parallel streams merge the per-thread heaps)
+ * - Quickselect (nth_element) and partialSort over arrays and lists
+ *
+ * ORDER: "smallest" means first in comparator order; largest(...) is the
+ * same with the comparator reversed. Results come back sorted.
+ *
+ * FULL SORT vs TOPK vs QUICKSELECT (n elements, k kept):
+ * list.sort + subList:   O(n log n) time, sorts in place (or copies n)
+ * TopK heap:             O(n log k) worst, ~O(n) when most elements are
+ *                        rejected at the root; O(k) memory; any Iterable
+ * select / partialSort:  O(n) average + O(k log k); needs the n elements in
+ *                        an array and reorders them
+ *
+ * PROS:
+ * - Single pass over any Iterable/stream, memory bounded by k
+ * - Parallel slices scale with cores; merge costs O(workers × k log k)
+ *
+ * CONS:
+ * - For k close to n a plain sort is simpler and as fast
+ * - Ties at the k-th position: earlier elements win in the sequential API;
+ *   the parallel API makes no such promise
+ *
+ * WHEN TO USE:
+ * - Leaderboards, "top N by score", nearest-k queries over large inputs
+ */
+public final class TopK<T> {
+    private static final int ARITY = 4;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private Object[] heap;
+    private int size;
+
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be >= 0: " + k);
+        }
+        this.k = k;
+        this.comparator = Objects.requireNonNull(comparator);
+        this.heap = new Object[Math.min(k, 16)];
+    }
+
+    // ---- bounded heap ----
+
+    // Keeps e if it is among the k smallest seen so far - O(1) reject, O(log4 k) insert
+    public boolean offer(T e) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+            }
+            heap[size] = e;
+            siftUp(size++);
+            return true;
+        }
+        if (k == 0 || comparator.compare(e, worst()) >= 0) {
+            return false;
+        }
+        heap[0] = e;
+        siftDown(0);
+        return true;
+    }
+
+    // Adds every element kept by other - O(other.size × log k)
+    public TopK<T> merge(TopK<? extends T> other) {
+        for (int i = 0; i < other.size; i++) {
+            @SuppressWarnings("unchecked") T e = (T) other.heap[i];
+            offer(e);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The k-th smallest so far (the element a newcomer must beat) - O(1)
+    @SuppressWarnings("unchecked")
+    public T worst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) heap[0];
+    }
+
+    // Kept elements in comparator order - O(k log k)
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        T[] sorted = (T[]) Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, comparator);
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareAt(int i, int j) {
+        return comparator.compare((T) heap[i], (T) heap[j]);
+    }
+
+    // Max-heap by comparator: parent >= children
+    @SuppressWarnings("unchecked")
+    private void siftUp(int i) {
+        Object e = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (comparator.compare((T) e, (T) heap[parent]) <= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = e;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void siftDown(int i) {
+        Object e = heap[i];
+        while (true) {
+            int first = ARITY * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int largest = first;
+            int end = Math.min(first + ARITY, size);
+            for (int c = first + 1; c < end; c++) {
+                if (compareAt(c, largest) > 0) {
+                    largest = c;
+                }
+            }
+            if (comparator.compare((T) heap[largest], (T) e) <= 0) {
+                break;
+            }
+            heap[i] = heap[largest];
+            i = largest;
+        }
+        heap[i] = e;
+    }
+
+    // ---- one-shot API ----
+
+    // The k first elements in comparator order, sorted - O(n log k), O(k) memory
+    public static <T> List<T> smallest(Iterable<? extends T> source, int k, Comparator<? super T> comparator) {
+        TopK<T> top = new TopK<>(k, comparator);
+        for (T e : source) {
+            top.offer(e);
+        }
+        return top.toSortedList();
+    }
+
+    // The k last elements in comparator order, largest first
+    public static <T> List<T> largest(Iterable<? extends T> source, int k, Comparator<? super T> comparator) {
+        return smallest(source, k, Collections.reverseOrder(comparator));
+    }
+
+    // Per-slice heaps on the common ForkJoinPool, merged at the end
+    public static <T> List<T> parallelSmallest(List<? extends T> list, int k, Comparator<? super T> comparator) {
+        List<? extends T> source = list instanceof RandomAccess ? list : new ArrayList<>(list);
+        int n = source.size();
+        int workers = n < PARALLEL_THRESHOLD ? 1
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), n / PARALLEL_THRESHOLD));
+        int slice = (n + workers - 1) / workers;
+        return IntStream.range(0, workers).parallel()
+                .mapToObj(w -> {
+                    TopK<T> top = new TopK<>(k, comparator);
+                    for (int i = w * slice, end = Math.min(n, (w + 1) * slice); i < end; i++) {
+                        top.offer(source.get(i));
+                    }
+                    return top;
+                })
+                .reduce(TopK::merge)
+                .orElseGet(() -> new TopK<>(k, comparator))
+                .toSortedList();
+    }
+
+    public static <T> List<T> parallelLargest(List<? extends T> list, int k, Comparator<? super T> comparator) {
+        return parallelSmallest(list, k, Collections.reverseOrder(comparator));
+    }
+
+    // stream.collect(TopK.collector(100, comparator)); parallel streams merge per-thread heaps
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return Collector.of(
+                () -> new TopK<T>(k, comparator),
+                TopK::offer,
+                TopK::merge,
+                TopK::toSortedList,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    // ---- quickselect (nth_element) ----
+
+    /*
+     * Reorders a so that a[n] holds the element a full sort would put there,
+     * everything before it is <= and everything after it is >=.
+     * O(n) average: median-of-3 pivot, 3-way partition (duplicates stop the
+     * search early); falls back to sorting the remaining range after
+     * 2 log2(n) rounds, so the worst case stays O(n log n).
+     */
+    public static <T> void select(T[] a, int n, Comparator<? super T> comparator) {
+        Objects.checkIndex(n, a.length);
+        int lo = 0;
+        int hi = a.length - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(a.length));
+        while (lo < hi) {
+            if (budget-- == 0) {
+                Arrays.sort(a, lo, hi + 1, comparator);
+                return;
+            }
+            T pivot = medianOf3(a[lo], a[(lo + hi) >>> 1], a[hi], comparator);
+            int lt = lo;
+            int i = lo;
+            int gt = hi;
+            while (i <= gt) {
+                int c = comparator.compare(a[i], pivot);
+                if (c < 0) {
+                    swap(a, lt++, i++);
+                } else if (c > 0) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            // [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            if (n < lt) {
+                hi = lt - 1;
+            } else if (n > gt) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Sorts only the first k positions of a - O(n + k log k) average
+    public static <T> void partialSort(T[] a, int k, Comparator<? super T> comparator) {
+        if (k < 0 || k > a.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        if (k == 0) {
+            return;
+        }
+        if (k < a.length) {
+            select(a, k - 1, comparator);
+        }
+        Arrays.sort(a, 0, k, comparator);
+    }
+
+    // List versions: work on an array copy and write the order back
+    @SuppressWarnings("unchecked")
+    public static <T> void select(List<T> list, int n, Comparator<? super T> comparator) {
+        T[] a = (T[]) list.toArray();
+        select(a, n, comparator);
+        writeBack(list, a);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void partialSort(List<T> list, int k, Comparator<? super T> comparator) {
+        T[] a = (T[]) list.toArray();
+        partialSort(a, k, comparator);
+        writeBack(list, a);
+    }
+
+    private static <T> T medianOf3(T a, T b, T c, Comparator<? super T> comparator) {
+        if (comparator.compare(a, b) > 0) {
+            T t = a; a = b; b = t;
+        }
+        if (comparator.compare(b, c) > 0) {
+            b = c;
+            if (comparator.compare(a, b) > 0) {
+                b = a;
+            }
+        }
+        return b;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        Object t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static <T> void writeBack(List<T> list, T[] a) {
+        ListIterator<T> it = list.listIterator();
+        for (T e : a) {
+            it.next();
+            it.set(e);
+        }
+    }
+
+    // Student-style demo record (same shape as List.ComparatorImpl's Student)
+    private record Student(String name, int marks) {
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Top-K and Partial Sort ===");
+        List<Student> students = List.of(
+                new Student("Lakshay", 69),
+                new Student("Harsh", 89),
+                new Student("Abhijeet", 45),
+                new Student("Vishal", 99),
+                new Student("Sarah", 72));
+        Comparator<Student> byMarks = Comparator.comparingInt(Student::marks);
+
+        System.out.println("Top 3 by marks (heap):   " + largest(students, 3, byMarks));
+        System.out.println("Bottom 2 via collector:  " + students.stream().collect(collector(2, byMarks)));
+
+        Student[] array = students.toArray(new Student[0]);
+        select(array, array.length / 2, byMarks);
+        System.out.println("Median by quickselect:   " + array[array.length / 2]);
+
+        Random random = new Random(7);
+        List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            scores.add(random.nextInt(10_000_000));
+        }
+        System.out.println("Top 5 of 1M (parallel):  " + parallelLargest(scores, 5, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,39 @@
+package Benchmarks;
+
+import Benchmarks.VirtualThreadStress.Config;
+import Benchmarks.VirtualThreadStress.Op;
+import Benchmarks.VirtualThreadStress.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadStressTests {
+
+    private static final Map<Op, Integer> MIX = new EnumMap<>(Map.of(
+            Op.ADD, 30, Op.GET, 30, Op.REMOVE, 30, Op.ITERATE, 5, Op.CRITICAL, 5));
+
+    // The unsafe ArrayList control is left out: whether it breaks depends on the carrier count
+    @Test
+    void threadSafeListsKeepTheirInvariants() throws InterruptedException {
+        Config config = new Config(2_000, 20, MIX, 10_000, 49);
+        for (String structure : List.of("Vector", "synchronizedList", "CopyOnWriteArrayList", "StampedList",
+                "ConcurrentVector")) {
+            Result result = VirtualThreadStress.run(structure, config);
+            assertTrue(result.passed(), structure + ": " + result.violations() + ", crashes " + result.crashes());
+            assertEquals(0, result.iterationFailures(), structure);
+            assertTrue(result.opsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void invalidConfigsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Config(0, 1, MIX, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Config(1_000_001, 1, MIX, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Config(1_000_000, 10_000, MIX, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Config(1, 1, Map.of(Op.ADD, 0), 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> VirtualThreadStress.run("LinkedList", new Config(1, 1, MIX, 0, 0)));
+    }
+}
@@ -0,0 +1,70 @@
+package Filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockedBloomFilterTests {
+
+    private static final int ITEMS = 100_000;
+
+    @Test
+    void noFalseNegativesAndFppNearTarget() {
+        for (double fpp : new double[]{0.1, 0.01, 0.001}) {
+            BlockedBloomFilter<String> filter = BlockedBloomFilter.create(ITEMS, fpp);
+            for (int i = 0; i < ITEMS; i++) {
+                filter.add("key-" + i);
+            }
+            assertEquals(ITEMS, filter.count());
+            for (int i = 0; i < ITEMS; i++) {
+                assertTrue(filter.mightContain("key-" + i), "false negative for key-" + i);
+            }
+            int falsePositives = 0;
+            int probes = 200_000;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+            double measured = (double) falsePositives / probes;
+            // Blocking costs some accuracy; allow 2x the target plus sampling noise
+            assertTrue(measured < 2 * fpp + 0.001, "fpp " + fpp + " measured " + measured);
+            assertEquals(fpp, filter.expectedFpp(), fpp);
+        }
+    }
+
+    @Test
+    void serializedFormAndUnionKeepEveryItem() throws IOException {
+        BlockedBloomFilter<Long> left = BlockedBloomFilter.create(10_000, 0.01);
+        BlockedBloomFilter<Long> right = BlockedBloomFilter.create(10_000, 0.01);
+        for (long i = 0; i < 5_000; i++) {
+            left.add(i);
+            right.add(-i - 1);
+        }
+        byte[] bytes = left.toByteArray();
+        BlockedBloomFilter<Long> copy = BlockedBloomFilter.readFrom(new ByteArrayInputStream(bytes), FilterHash.defaultHasher());
+        assertEquals(left.count(), copy.count());
+        assertEquals(left.bitSize(), copy.bitSize());
+        assertEquals(left.hashFunctions(), copy.hashFunctions());
+        for (long i = -20_000; i < 20_000; i++) {
+            assertEquals(left.mightContain(i), copy.mightContain(i));
+        }
+
+        left.addAll(right);
+        for (long i = -5_000; i < 5_000; i++) {
+            assertTrue(left.mightContain(i));
+        }
+        assertEquals(10_000, left.count());
+        assertThrows(IllegalArgumentException.class, () -> left.addAll(BlockedBloomFilter.create(10, 0.01)));
+        assertThrows(UnsupportedOperationException.class, () -> left.remove(1L));
+        assertThrows(IllegalArgumentException.class,
+                () -> BlockedBloomFilter.readFrom(new ByteArrayInputStream(new byte[64]), FilterHash.defaultHasher()));
+
+        left.clear();
+        assertEquals(0, left.count());
+        assertFalse(left.mightContain(1L));
+    }
+}
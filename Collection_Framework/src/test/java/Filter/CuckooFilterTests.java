@@ -0,0 +1,83 @@
+package Filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuckooFilterTests {
+
+    @Test
+    void noFalseNegativesAfterInsertsAndRemovals() {
+        int items = 100_000;
+        CuckooFilter<Long> filter = CuckooFilter.create(items, 0.01);
+        SplittableRandom random = new SplittableRandom(45);
+        long[] keys = random.longs(items).toArray();
+        for (long key : keys) {
+            assertTrue(filter.add(key));
+        }
+        assertEquals(items, filter.count());
+        // Remove every other key: the rest must still be found
+        for (int i = 0; i < items; i += 2) {
+            assertTrue(filter.remove(keys[i]));
+        }
+        assertEquals(items / 2, filter.count());
+        for (int i = 1; i < items; i += 2) {
+            assertTrue(filter.mightContain(keys[i]), "false negative at " + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives / 200_000.0 < 0.02, "measured fpp " + falsePositives / 200_000.0);
+        assertTrue(filter.supportsRemoval());
+    }
+
+    @Test
+    void fullFilterRejectsAndRecoversAfterRemoval() {
+        CuckooFilter<Integer> filter = CuckooFilter.create(1_000, 0.01);
+        int added = 0;
+        while (filter.add(added)) {
+            added++;
+        }
+        assertTrue(filter.isFull());
+        assertTrue(added >= filter.capacity() * 0.9, "fills to a high load before rejecting: " + added);
+        assertEquals(added, filter.count());
+        for (int i = 0; i < added; i++) {
+            assertTrue(filter.mightContain(i), "false negative for " + i + " once full");
+        }
+        assertFalse(filter.add(-1), "rejected items are not added");
+
+        assertTrue(filter.remove(0));
+        assertFalse(filter.isFull(), "the stashed fingerprint moves into the freed slot");
+        for (int i = 1; i < added; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+        assertTrue(filter.add(-1));
+    }
+
+    @Test
+    void serializedFormRoundTrips() throws IOException {
+        CuckooFilter<String> filter = CuckooFilter.create(5_000, 0.001);
+        for (int i = 0; i < 5_000; i++) {
+            filter.add("k" + i);
+        }
+        CuckooFilter<String> copy = CuckooFilter.readFrom(new ByteArrayInputStream(filter.toByteArray()),
+                FilterHash.defaultHasher());
+        assertEquals(filter.count(), copy.count());
+        assertEquals(filter.fingerprintBits(), copy.fingerprintBits());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(filter.mightContain("k" + i), copy.mightContain("k" + i));
+        }
+        copy.clear();
+        assertEquals(0, copy.count());
+        assertFalse(copy.mightContain("k1"));
+        assertThrows(IllegalArgumentException.class,
+                () -> CuckooFilter.readFrom(new ByteArrayInputStream(new byte[64]), FilterHash.defaultHasher()));
+    }
+}
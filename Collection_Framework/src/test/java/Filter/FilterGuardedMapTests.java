@@ -0,0 +1,85 @@
+package Filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterGuardedMapTests {
+
+    private static void matchesHashMap(MembershipFilter<Integer> filter, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Integer, Integer> initial = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            initial.put(i * 3, i);
+        }
+        Map<Integer, Integer> expected = new HashMap<>(initial);
+        FilterGuardedMap<Integer, Integer> map = new FilterGuardedMap<>(new HashMap<>(initial), filter);
+        for (int step = 0; step < 50_000; step++) {
+            Integer key = random.nextInt(20_000);
+            switch (random.nextInt(6)) {
+                case 0 -> assertEquals(expected.put(key, step), map.put(key, step));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                case 2 -> assertEquals(expected.containsKey(key), map.containsKey(key));
+                case 3 -> assertEquals(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertTrue(map.skippedLookups() > 0);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(3));
+    }
+
+    @Test
+    void bloomGuardedMapMatchesHashMap() {
+        matchesHashMap(BlockedBloomFilter.create(20_000, 0.01), 46);
+    }
+
+    @Test
+    void cuckooGuardedMapMatchesHashMap() {
+        matchesHashMap(CuckooFilter.create(20_000, 0.01), 47);
+    }
+
+    // Once the filter rejects a key it no longer covers the map, so every lookup must reach the map
+    @Test
+    void fullFilterFallsBackToTheMap() {
+        FilterGuardedMap<Integer, String> map = new FilterGuardedMap<>(new HashMap<>(), CuckooFilter.create(10, 0.01));
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, "v" + i);
+        }
+        assertTrue(map.filterRejections() > 0);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("v" + i, map.get(i));
+        }
+        long skipped = map.skippedLookups();
+        assertNull(map.get(5_000));
+        assertEquals(skipped, map.skippedLookups(), "a lossy filter never answers alone");
+        assertNull(map.get("not an Integer"));
+    }
+
+    // The guard owns the delegate: keys present at construction are tracked, keys written behind its back are not
+    @Test
+    void keysWrittenPastTheGuardAreFalseNegatives() {
+        Map<Integer, String> delegate = new HashMap<>(Map.of(1, "one", 2, "two"));
+        FilterGuardedMap<Integer, String> map = new FilterGuardedMap<>(delegate, BlockedBloomFilter.create(1_000, 0.001));
+        assertEquals("one", map.get(1));
+        assertEquals("two", map.get(2));
+
+        delegate.put(3, "three");
+        assertEquals(3, map.size());
+        assertNull(map.get(3), "the filter never saw 3");
+        assertFalse(map.containsKey(3));
+        map.put(3, "three");
+        assertEquals("three", map.get(3));
+
+        // Removing through the live entry set only leaves a stale filter entry
+        map.entrySet().removeIf(e -> e.getKey() == 1);
+        assertFalse(map.containsKey(1));
+        assertEquals(1, map.falsePositives());
+        assertEquals(Map.of(2, "two", 3, "three"), map);
+    }
+}
@@ -0,0 +1,87 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigIntListTests {
+
+    @Test
+    void appendsAcrossChunkBoundaries() {
+        for (BigIntList list : new BigIntList[]{BigIntList.onHeap(4), BigIntList.offHeap(4)}) {
+            try (list) {
+                for (int i = 0; i < 1_000; i++) {
+                    list.add(i * 3);
+                }
+                assertEquals(1_000, list.size());
+                assertEquals(999 * 3, list.get(999));
+                assertEquals(48, list.set(16, -1));
+                assertEquals(-1, list.get(16));
+                assertEquals(999 * 3, list.removeLast());
+                assertEquals(999, list.size());
+
+                long expected = 0;
+                for (int i = 0; i < 999; i++) {
+                    expected += i == 16 ? -1 : i * 3;
+                }
+                assertEquals(expected, list.sum());
+                assertEquals(expected, list.stream().asLongStream().sum());
+                assertEquals(expected, list.parallelStream().asLongStream().sum());
+                assertThrows(IndexOutOfBoundsException.class, () -> list.get(999));
+            }
+        }
+    }
+
+    @Test
+    void spliteratorSplitsOnChunkBoundaries() {
+        try (BigIntList list = BigIntList.onHeap(4)) {
+            for (int i = 0; i < 100; i++) {
+                list.add(i);
+            }
+            Spliterator.OfInt suffix = list.spliterator();
+            Spliterator.OfInt prefix = suffix.trySplit();
+            assertNotNull(prefix);
+            assertEquals(48, prefix.estimateSize());
+            int[] first = {-1};
+            suffix.tryAdvance((int value) -> first[0] = value);
+            assertEquals(48, first[0]);
+        }
+    }
+
+    @Test
+    void closedListFailsFast() {
+        BigIntList list = BigIntList.offHeap(4);
+        list.add(1);
+        list.add(2);
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        list.close();
+        list.close();
+        assertTrue(list.isClosed());
+        assertEquals(0, list.size());
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(3));
+        assertThrows(IllegalStateException.class, list::stream);
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    @Test
+    void closeFreesDirectMemoryWithoutGc() {
+        BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+        long before = direct.getMemoryUsed();
+        BigIntList list = BigIntList.offHeap(20);
+        for (int i = 0; i < 3 << 20; i++) {
+            list.add(i);
+        }
+        assertTrue(direct.getMemoryUsed() - before >= 3L << 22, "three 4 MB chunks allocated");
+        list.close();
+        assertTrue(direct.getMemoryUsed() - before < 1 << 22, "chunks freed by close()");
+    }
+}
@@ -0,0 +1,119 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingCopyOnWriteListTests {
+
+    @Test
+    void singleWritesAndBatchesMatchArrayList() {
+        SplittableRandom random = new SplittableRandom(37);
+        CoalescingCopyOnWriteList<Integer> list = new CoalescingCopyOnWriteList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 10_000; step++) {
+            Integer value = random.nextInt(100);
+            switch (random.nextInt(7)) {
+                case 0, 1 -> assertEquals(expected.add(value), list.add(value));
+                case 2 -> {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, value);
+                    list.add(index, value);
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                }
+                case 4 -> assertEquals(expected.remove(value), list.remove(value));
+                case 5 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                }
+                default -> {
+                    int adds = random.nextInt(20);
+                    list.batch(m -> {
+                        for (int i = 0; i < adds; i++) {
+                            m.add(i);
+                        }
+                        m.removeIf(v -> v % 10 == 9);
+                    });
+                    for (int i = 0; i < adds; i++) {
+                        expected.add(i);
+                    }
+                    expected.removeIf(v -> v % 10 == 9);
+                }
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.indexOf(42), list.indexOf(42));
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(new CoalescingCopyOnWriteList<>(expected), list);
+    }
+
+    @Test
+    void batchIsAllOrNothingAndItsMutatorExpires() {
+        CoalescingCopyOnWriteList<String> list = new CoalescingCopyOnWriteList<>(List.of("a", "b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.batch(m -> {
+            m.add("c");
+            m.remove(10);
+        }));
+        assertEquals(List.of("a", "b"), list);
+
+        List<CoalescingCopyOnWriteList.Mutator<String>> leaked = new ArrayList<>();
+        list.batch(m -> {
+            m.set(0, "z");
+            assertTrue(m.contains("b"));
+            leaked.add(m);
+        });
+        assertEquals(List.of("z", "b"), list);
+        assertThrows(IllegalStateException.class, () -> leaked.get(0).add("late"));
+    }
+
+    @Test
+    void iteratorsAndSubListsAreSnapshots() {
+        CoalescingCopyOnWriteList<Integer> list = new CoalescingCopyOnWriteList<>(List.of(1, 2, 3));
+        Iterator<Integer> it = list.iterator();
+        List<Integer> sub = list.subList(0, 2);
+        list.clear();
+        list.add(9);
+        List<Integer> seen = new ArrayList<>();
+        it.forEachRemaining(seen::add);
+        assertEquals(List.of(1, 2, 3), seen);
+        assertEquals(List.of(1, 2), sub);
+        assertThrows(UnsupportedOperationException.class, () -> list.iterator().remove());
+    }
+
+    @Test
+    void writeCombiningPublishesOnCountFlushOrDelay() throws InterruptedException {
+        CoalescingCopyOnWriteList<Integer> list = CoalescingCopyOnWriteList.writeCombining(3, Duration.ofHours(1));
+        list.add(1);
+        list.add(2);
+        assertTrue(list.isEmpty(), "two pending writes stay private");
+        assertTrue(list.remove((Object) 1), "writes see earlier unpublished writes");
+        assertEquals(List.of(2), list, "third write publishes the window");
+
+        list.add(3);
+        assertEquals(List.of(2), list);
+        list.flush();
+        assertEquals(List.of(2, 3), list);
+
+        CoalescingCopyOnWriteList<Integer> timed = CoalescingCopyOnWriteList.writeCombining(1_000, Duration.ofMillis(20));
+        timed.add(7);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (timed.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of(7), timed);
+
+        assertThrows(IllegalArgumentException.class, () -> CoalescingCopyOnWriteList.writeCombining(0, Duration.ofMillis(1)));
+        assertThrows(IllegalArgumentException.class, () -> CoalescingCopyOnWriteList.writeCombining(1, Duration.ZERO));
+    }
+}
@@ -0,0 +1,129 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentVectorTests {
+
+    @Test
+    void endOperationsMatchArrayList() {
+        SplittableRandom random = new SplittableRandom(39);
+        ConcurrentVector<Integer> vector = new ConcurrentVector<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(1_000);
+            switch (random.nextInt(5)) {
+                case 0, 1 -> assertTrue(vector.add(value) & expected.add(value));
+                case 2 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), vector.set(index, value));
+                    }
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        int last = expected.size() - 1;
+                        assertEquals(expected.remove(last), vector.remove(last));
+                    }
+                }
+                default -> {
+                    List<Integer> batch = List.of(value, value + 1);
+                    vector.addAll(batch);
+                    expected.addAll(batch);
+                }
+            }
+            assertEquals(expected.size(), vector.size());
+        }
+        assertEquals(expected, vector);
+
+        expected.replaceAll(v -> v * 2);
+        vector.replaceAll(v -> v * 2);
+        expected.sort(Comparator.reverseOrder());
+        vector.sort(Comparator.reverseOrder());
+        assertEquals(expected, vector);
+        vector.clear();
+        assertThrows(NoSuchElementException.class, vector::removeLast);
+    }
+
+    @Test
+    void positionShiftingMutatorsAreRejected() {
+        ConcurrentVector<String> vector = new ConcurrentVector<>(List.of("a", "b", "c"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.remove(3));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(0, "x"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.removeIf("a"::equals));
+        assertThrows(UnsupportedOperationException.class, () -> vector.removeAll(List.of("a")));
+        assertThrows(UnsupportedOperationException.class, () -> vector.retainAll(List.of("a")));
+        assertThrows(UnsupportedOperationException.class, () -> vector.iterator().remove());
+        assertEquals(List.of("a", "b", "c"), vector);
+        assertEquals("c", vector.remove(2));
+    }
+
+    @Test
+    void snapshotsAndIteratorsIgnoreLaterWrites() {
+        ConcurrentVector<Integer> vector = new ConcurrentVector<>(List.of(1, 2, 3));
+        PersistentVector<Integer> snapshot = vector.snapshot();
+        Iterator<Integer> it = vector.iterator();
+        vector.add(4);
+        vector.set(0, 0);
+        vector.removeLast();
+        assertEquals(List.of(1, 2, 3), snapshot);
+        List<Integer> seen = new ArrayList<>();
+        it.forEachRemaining(seen::add);
+        assertEquals(List.of(1, 2, 3), seen);
+        assertEquals(List.of(0, 2, 3), vector);
+    }
+
+    // Appenders only grow the list, so a remover holding a stale index must either remove exactly
+    // the element it saw at that index or refuse; it must never take an element appended after the read
+    @Test
+    void removeByStaleIndexNeverTakesANewerElement() throws Exception {
+        ConcurrentVector<Long> vector = new ConcurrentVector<>();
+        int appenders = 3;
+        int perAppender = 20_000;
+        Set<Long> removed = new HashSet<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(appenders + 1)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < appenders; t++) {
+                long id = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perAppender; i++) {
+                        vector.add(id << 32 | i);
+                    }
+                }));
+            }
+            Future<?> remover = pool.submit(() -> {
+                for (int attempt = 0; attempt < 20_000; attempt++) {
+                    PersistentVector<Long> seen = vector.snapshot();
+                    if (seen.isEmpty()) {
+                        continue;
+                    }
+                    int index = seen.size() - 1;
+                    try {
+                        Long taken = vector.remove(index);
+                        assertEquals(seen.get(index), taken);
+                        removed.add(taken);
+                    } catch (ConcurrentModificationException | UnsupportedOperationException e) {
+                        // the list grew after the read: refusing is the correct outcome
+                    }
+                }
+            });
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            remover.get();
+        }
+        Set<Long> all = new HashSet<>(vector);
+        assertEquals(vector.size(), all.size(), "no element is duplicated");
+        all.addAll(removed);
+        assertEquals(appenders * perAppender, all.size(), "every append is either present or was removed once");
+        assertEquals(appenders * perAppender, vector.size() + removed.size());
+    }
+}
@@ -0,0 +1,73 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EliminationStackTests {
+
+    @Test
+    void singleThreadedLifoMatchesArrayDeque() {
+        SplittableRandom random = new SplittableRandom(36);
+        EliminationStack<Integer> stack = new EliminationStack<>(2);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (random.nextInt(3) < 2) {
+                int value = random.nextInt();
+                stack.push(value);
+                expected.push(value);
+            } else {
+                assertEquals(expected.poll(), stack.pop());
+            }
+            assertEquals(expected.peek(), stack.peek());
+            assertEquals(expected.isEmpty(), stack.isEmpty());
+        }
+    }
+
+    @Test
+    void rejectsNullsAndEmptyPopsReturnNull() {
+        EliminationStack<String> stack = new EliminationStack<>();
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+        assertNull(stack.pop());
+        assertNull(stack.peek());
+        assertThrows(IllegalArgumentException.class, () -> new EliminationStack<>(0));
+    }
+
+    @Test
+    @Timeout(60)
+    void everyPushIsPoppedExactlyOnceUnderContention() throws InterruptedException {
+        int threads = 8;
+        int perThread = 50_000;
+        EliminationStack<Integer> stack = new EliminationStack<>(threads / 2);
+        AtomicIntegerArray seen = new AtomicIntegerArray(threads * perThread);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        stack.push(base + i);
+                        Integer value;
+                        while ((value = stack.pop()) == null) {
+                            Thread.yield();
+                        }
+                        seen.incrementAndGet(value);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "stalled");
+        for (int i = 0; i < seen.length(); i++) {
+            assertEquals(1, seen.get(i), "element " + i);
+        }
+        assertTrue(stack.isEmpty());
+    }
+}
@@ -0,0 +1,188 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionEngineTests {
+
+    private static final String OPEN = "([{";
+    private static final String CLOSE = ")]}";
+    private static final String OPERATORS = "+-*/%";
+
+    // Writes a random fully bracketed expression to `out` and returns its value (exact long arithmetic)
+    private static long tree(SplittableRandom random, int depth, StringBuilder out) {
+        int kind = depth == 0 ? 0 : random.nextInt(5);
+        if (kind == 0) {
+            long value = random.nextInt(8) == 0 ? random.nextLong(Long.MAX_VALUE) : random.nextInt(100);
+            out.append(value);
+            return value;
+        }
+        int bracket = random.nextInt(3);
+        out.append(OPEN.charAt(bracket));
+        long value;
+        if (kind == 1) {
+            out.append('-');
+            value = Math.negateExact(tree(random, depth - 1, out));
+        } else {
+            long left = tree(random, depth - 1, out);
+            char op = OPERATORS.charAt(random.nextInt(OPERATORS.length()));
+            out.append(' ').append(op).append(' ');
+            long right = tree(random, depth - 1, out);
+            value = apply(left, op, right);
+        }
+        out.append(CLOSE.charAt(bracket));
+        return value;
+    }
+
+    private static long apply(long left, char op, long right) {
+        return switch (op) {
+            case '+' -> Math.addExact(left, right);
+            case '-' -> Math.subtractExact(left, right);
+            case '*' -> Math.multiplyExact(left, right);
+            case '/' -> Math.divideExact(left, right);
+            default -> left % right;
+        };
+    }
+
+    @Test
+    void bracketedExpressionsMatchReferenceEvaluation() {
+        SplittableRandom random = new SplittableRandom(35);
+        ExpressionEngine engine = new ExpressionEngine();
+        int evaluated = 0;
+        for (int round = 0; round < 5_000; round++) {
+            StringBuilder text = new StringBuilder();
+            long expected;
+            try {
+                expected = tree(random, random.nextInt(6), text);
+            } catch (ArithmeticException e) {
+                continue; // generation stopped mid-expression; overflow is covered by the flat test
+            }
+            assertEquals(expected, engine.evaluate(text), text.toString());
+            assertEquals(ExpressionEngine.VALID, engine.errorOffset());
+            assertEquals(ExpressionEngine.VALID, engine.validate(text), text.toString());
+            evaluated++;
+        }
+        assertTrue(evaluated > 3_000);
+    }
+
+    @Test
+    void flatExpressionsFollowPrecedenceAndLeftAssociativity() {
+        SplittableRandom random = new SplittableRandom(36);
+        ExpressionEngine engine = new ExpressionEngine();
+        for (int round = 0; round < 5_000; round++) {
+            int n = 1 + random.nextInt(8);
+            long[] operands = new long[n];
+            char[] ops = new char[n - 1];
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                operands[i] = random.nextInt(50);
+                if (i > 0) {
+                    ops[i - 1] = OPERATORS.charAt(random.nextInt(OPERATORS.length()));
+                    text.append(random.nextBoolean() ? " " : "").append(ops[i - 1]);
+                }
+                text.append(random.nextBoolean() ? " " : "").append(operands[i]);
+            }
+            Long expected;
+            try {
+                expected = referenceFlat(operands, ops);
+            } catch (ArithmeticException e) {
+                expected = null;
+            }
+            if (expected == null) {
+                assertThrows(IllegalArgumentException.class, () -> engine.evaluate(text), text.toString());
+                assertNotEquals(ExpressionEngine.VALID, engine.errorOffset());
+            } else {
+                assertEquals(expected, engine.evaluate(text), text.toString());
+            }
+        }
+    }
+
+    // Multiplicative runs first, then additive, both left to right
+    private static long referenceFlat(long[] operands, char[] ops) {
+        List<Long> terms = new ArrayList<>();
+        List<Character> additive = new ArrayList<>();
+        long term = operands[0];
+        for (int i = 0; i < ops.length; i++) {
+            if (ops[i] == '+' || ops[i] == '-') {
+                terms.add(term);
+                additive.add(ops[i]);
+                term = operands[i + 1];
+            } else {
+                term = apply(term, ops[i], operands[i + 1]);
+            }
+        }
+        terms.add(term);
+        long result = terms.get(0);
+        for (int i = 0; i < additive.size(); i++) {
+            result = apply(result, additive.get(i), terms.get(i + 1));
+        }
+        return result;
+    }
+
+    @Test
+    void unaryOperatorsBindTighterThanBinaryOnes() {
+        ExpressionEngine engine = new ExpressionEngine();
+        assertEquals(-6, engine.evaluate("-2 * 3"));
+        assertEquals(-2, engine.evaluate("-[2 * {10 - 4}] % 5"));
+        assertEquals(5, engine.evaluate("--5"));
+        assertEquals(7, engine.evaluate("+7"));
+        assertEquals(1, engine.evaluate("3 - -2 * -1"));
+        assertEquals(Long.MAX_VALUE, engine.evaluate(Long.toString(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void errorsReportTheOffendingOffset() {
+        ExpressionEngine engine = new ExpressionEngine();
+        assertEquals(3, engine.validate("{[(])}"));
+        assertEquals(0, engine.validate("((x)"));
+        assertEquals(2, engine.validate("()]"));
+        assertEquals(ExpressionEngine.VALID, engine.validate("{[()()]} no operators checked"));
+
+        assertEquals(4, offsetOf(engine, "1 + (2 * 3"));
+        assertEquals(2, offsetOf(engine, "1 / 0"));
+        assertEquals(4, offsetOf(engine, "1 * * 2"));
+        assertEquals(2, offsetOf(engine, "1 x"));
+        assertEquals(0, offsetOf(engine, ""));
+        assertEquals(19, offsetOf(engine, "92233720368547758070"));
+        assertEquals(20, offsetOf(engine, Long.MAX_VALUE + " + 1"));
+    }
+
+    private static long offsetOf(ExpressionEngine engine, String text) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> engine.evaluate(text));
+        assertTrue(e.getMessage().endsWith("at offset " + engine.errorOffset()), e.getMessage());
+        return engine.errorOffset();
+    }
+
+    @Test
+    void inputsSpanningManyChunksAgreeAcrossSources() {
+        // Deep nesting and long operand runs cross the 64K chunk boundary several times
+        int depth = 50_000;
+        StringBuilder text = new StringBuilder();
+        text.append("(".repeat(depth)).append(1);
+        for (int i = 0; i < depth; i++) {
+            text.append(i % 2 == 0 ? " + 1)" : " * 1)");
+        }
+        ExpressionEngine engine = new ExpressionEngine();
+        long expected = engine.evaluate(text);
+        assertEquals((depth + 1) / 2 + 1, expected);
+        assertEquals(expected, engine.evaluate(new StringReader(text.toString())));
+
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 10);
+        buffer.position(5);
+        buffer.put(bytes);
+        buffer.flip().position(5);
+        assertEquals(expected, engine.evaluate(buffer));
+        assertEquals(5, buffer.position(), "bulk reads leave the position alone");
+
+        text.setCharAt(text.length() - 1, ']');
+        assertEquals(text.length() - 1, engine.validate(text));
+        assertEquals(text.length() - 1, engine.validate(ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.US_ASCII))));
+    }
+}
@@ -0,0 +1,114 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayListTests {
+
+    @Test
+    void matchesArrayListUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(26);
+        IntArrayList list = new IntArrayList();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(100);
+            switch (random.nextInt(8)) {
+                case 0, 1 -> {
+                    list.add(value);
+                    expected.add(value);
+                }
+                case 2 -> {
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), list.removeAt(index));
+                    }
+                }
+                case 4 -> assertEquals(expected.remove(Integer.valueOf(value)), list.removeValue(value));
+                case 5 -> {
+                    int[] values = random.ints(random.nextInt(5), 0, 100).toArray();
+                    int index = random.nextInt(expected.size() + 1);
+                    list.addAll(index, values);
+                    for (int i = 0; i < values.length; i++) {
+                        expected.add(index + i, values[i]);
+                    }
+                }
+                case 6 -> {
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+                    assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+                }
+                default -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                }
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+
+        Collections.sort(expected);
+        list.sort();
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), list.sum());
+    }
+
+    @Test
+    void bulkRemovalsCompactInPlace() {
+        IntArrayList list = IntArrayList.of(5, 1, 4, 1, 5, 9, 2, 6);
+        list.removeRange(1, 3);
+        assertEquals(IntArrayList.of(5, 1, 5, 9, 2, 6), list);
+        assertTrue(list.removeAll(IntArrayList.of(5, 2)));
+        assertEquals(IntArrayList.of(1, 9, 6), list);
+        assertFalse(list.removeAll(IntArrayList.of(7)));
+    }
+
+    @Test
+    void subListWritesThroughToParent() {
+        IntArrayList list = IntArrayList.of(9, 8, 7, 6, 5);
+        IntArrayList.View view = list.subList(1, 4);
+        view.sort();
+        assertEquals(IntArrayList.of(9, 6, 7, 8, 5), list);
+        assertEquals(1, view.indexOf(7));
+        view.set(0, 42);
+        assertEquals(42, list.get(1));
+    }
+
+    @Test
+    void subListFailsFastAfterParentChanges() {
+        IntArrayList list = IntArrayList.of(3, 1, 2);
+        IntArrayList.View added = list.subList(0, 2);
+        list.add(4);
+        assertThrows(ConcurrentModificationException.class, added::size);
+
+        IntArrayList.View sorted = list.subList(0, 2);
+        list.sort();
+        assertThrows(ConcurrentModificationException.class, () -> sorted.get(0));
+
+        IntArrayList.View parallelSorted = list.subList(0, 2);
+        list.parallelSort();
+        assertThrows(ConcurrentModificationException.class, parallelSorted::toArray);
+    }
+
+    @Test
+    void wrapSharesTheArray() {
+        int[] values = {1, 2, 3, 0};
+        IntArrayList list = IntArrayList.wrap(values, 3);
+        assertSame(values, list.elements());
+        list.add(4);
+        assertArrayEquals(new int[]{1, 2, 3, 4}, values);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(4));
+    }
+}
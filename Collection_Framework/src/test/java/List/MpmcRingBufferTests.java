@@ -0,0 +1,270 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcRingBufferTests {
+
+    @Test
+    void singleThreadedFifoMatchesArrayDeque() {
+        SplittableRandom random = new SplittableRandom(32);
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(10);
+        assertEquals(16, queue.capacity());
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertEquals(expected.size() < 16 && expected.offer(value), queue.offer(value));
+                case 2 -> assertEquals(expected.poll(), queue.poll());
+                default -> {
+                    Integer[] batch = random.ints(random.nextInt(6)).boxed().toArray(Integer[]::new);
+                    int accepted = queue.offerAll(batch, 0, batch.length);
+                    assertEquals(Math.min(batch.length, 16 - expected.size()), accepted);
+                    expected.addAll(Arrays.asList(batch).subList(0, accepted));
+                }
+            }
+            assertEquals(expected.peek(), queue.peek());
+            assertEquals(expected.size(), queue.size());
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(expected.size(), queue.drainTo(drained));
+        assertEquals(new ArrayList<>(expected), drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void drainToRespectsMaxElements() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(8);
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i);
+        }
+        List<Integer> first = new ArrayList<>();
+        assertEquals(3, queue.drainTo(first, 3));
+        assertEquals(List.of(0, 1, 2), first);
+        assertEquals(5, queue.size());
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(queue));
+    }
+
+    @Test
+    @Timeout(10)
+    void drainToLosesOnlyTheElementTheTargetRejects() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(8, MpmcRingBuffer.WaitStrategy.SPIN);
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i);
+        }
+        List<Integer> accepted = new ArrayList<>();
+        Collection<Integer> rejectsThree = new AbstractCollection<>() {
+            @Override
+            public boolean add(Integer value) {
+                if (value == 3) {
+                    throw new IllegalArgumentException("rejected " + value);
+                }
+                return accepted.add(value);
+            }
+
+            @Override
+            public Iterator<Integer> iterator() {
+                return accepted.iterator();
+            }
+
+            @Override
+            public int size() {
+                return accepted.size();
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(rejectsThree));
+        assertEquals(List.of(0, 1, 2), accepted);
+        assertEquals(List.of(4, 5, 6, 7), new ArrayList<>(queue), "the rest stays queued");
+
+        // The slot of the rejected element is free again: four more offers fit, a fifth does not
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(100 + i), "slot " + i + " was left claimed");
+        }
+        assertFalse(queue.offer(999));
+        List<Integer> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        assertEquals(List.of(4, 5, 6, 7, 100, 101, 102, 103), drained);
+    }
+
+    @Test
+    void iterationAndRemovalMatchArrayDeque() {
+        SplittableRandom random = new SplittableRandom(33);
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(16);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(20);
+            switch (random.nextInt(5)) {
+                // Removed slots hold capacity until a consumer passes them
+                case 0, 1 -> assertEquals(queue.remainingCapacity() > 0 && expected.offer(value), queue.offer(value));
+                case 2 -> assertEquals(expected.poll(), queue.poll());
+                case 3 -> assertEquals(expected.remove(value), queue.remove(value));
+                default -> {
+                    Iterator<Integer> it = queue.iterator();
+                    Iterator<Integer> reference = expected.iterator();
+                    while (reference.hasNext()) {
+                        int next = reference.next();
+                        assertEquals(next, it.next());
+                        if (next % 3 == 0) {
+                            it.remove();
+                            reference.remove();
+                        }
+                    }
+                    assertFalse(it.hasNext());
+                    assertThrows(NoSuchElementException.class, it::next);
+                }
+            }
+            assertEquals(expected.peek(), queue.peek());
+            assertEquals(expected.isEmpty(), queue.isEmpty());
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(queue));
+            assertEquals(expected.size(), queue.size());
+        }
+        // Inherited Collection methods work on top of the iterator
+        queue.clear();
+        queue.addAll(List.of(1, 2, 3, 4, 5));
+        assertTrue(queue.contains(3));
+        assertFalse(queue.contains(9));
+        assertTrue(queue.containsAll(List.of(1, 5)));
+        assertArrayEquals(new Object[]{1, 2, 3, 4, 5}, queue.toArray());
+        assertTrue(queue.removeAll(List.of(2, 4)));
+        assertTrue(queue.retainAll(List.of(1, 3)));
+        assertEquals(List.of(1, 3), queue.stream().toList());
+        assertEquals(2, queue.size());
+        assertThrows(IllegalStateException.class, () -> queue.iterator().remove());
+    }
+
+    // remove(Object) races consumers: each element is either removed or consumed, never both
+    @Test
+    @Timeout(60)
+    void concurrentRemovalAndConsumptionNeverOverlap() throws InterruptedException {
+        int total = 100_000;
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(64, MpmcRingBuffer.WaitStrategy.YIELD);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        Thread producer = Thread.ofPlatform().start(() -> {
+            try {
+                for (int i = 0; i < total; i++) {
+                    queue.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread remover = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < total; i += 2) {
+                if (queue.remove(i)) {
+                    seen.incrementAndGet(i);
+                }
+            }
+        });
+        int handled = 0;
+        while (producer.isAlive() || remover.isAlive() || !queue.isEmpty()) {
+            Integer value = queue.poll();
+            if (value != null) {
+                seen.incrementAndGet(value);
+                handled++;
+            } else {
+                Thread.yield();
+            }
+        }
+        producer.join();
+        remover.join();
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i), "element " + i);
+        }
+        assertTrue(handled <= total);
+        assertEquals(0, queue.size());
+        assertEquals(64, queue.remainingCapacity(), "removed slots are reclaimed once consumers pass them");
+    }
+
+    @Test
+    void timedPollAndOfferGiveUpAtTheDeadline() throws InterruptedException {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(2, MpmcRingBuffer.WaitStrategy.PARK);
+        assertNull(queue.poll(5, TimeUnit.MILLISECONDS));
+        queue.put(1);
+        queue.put(2);
+        assertFalse(queue.offer(3, 5, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.take());
+    }
+
+    @Test
+    @Timeout(60)
+    void everyElementIsConsumedExactlyOnceUnderContention() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        for (MpmcRingBuffer.WaitStrategy strategy : MpmcRingBuffer.WaitStrategy.values()) {
+            if (strategy == MpmcRingBuffer.WaitStrategy.SPIN
+                    && Runtime.getRuntime().availableProcessors() < producers + consumers) {
+                continue;  // spinners need a core each, or they only progress once per time slice
+            }
+            MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(64, strategy);
+            AtomicIntegerArray seen = new AtomicIntegerArray(total);
+            CountDownLatch done = new CountDownLatch(producers + consumers);
+            int[] consumed = new int[consumers];
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                boolean batched = p % 2 == 0;
+                Thread.ofPlatform().start(() -> {
+                    try {
+                        Integer[] batch = new Integer[16];
+                        for (int i = 0; i < perProducer; ) {
+                            if (batched) {
+                                int n = Math.min(batch.length, perProducer - i);
+                                for (int k = 0; k < n; k++) {
+                                    batch[k] = base + i + k;
+                                }
+                                int accepted = queue.offerAll(batch, 0, n);
+                                for (int k = accepted; k < n; k++) {
+                                    queue.put(batch[k]);
+                                }
+                                i += n;
+                            } else {
+                                queue.put(base + i++);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            int share = total / consumers;
+            for (int c = 0; c < consumers; c++) {
+                int id = c;
+                Thread.ofPlatform().start(() -> {
+                    try {
+                        List<Integer> batch = new ArrayList<>();
+                        while (consumed[id] < share) {
+                            batch.clear();
+                            if (id % 2 == 0 && queue.drainTo(batch, share - consumed[id]) > 0) {
+                                batch.forEach(v -> seen.incrementAndGet(v));
+                                consumed[id] += batch.size();
+                            } else {
+                                seen.incrementAndGet(queue.take());
+                                consumed[id]++;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS), strategy + " stalled");
+            for (int i = 0; i < total; i++) {
+                assertEquals(1, seen.get(i), strategy + ": element " + i);
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentVectorTests {
+
+    @Test
+    void versionsMatchArrayListAndStayUntouched() {
+        SplittableRandom random = new SplittableRandom(38);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> frozen = new ArrayList<>();
+        // Grows past 32 (tail), 1024 (second level) and 32768 (third level), then shrinks back
+        for (int step = 0; step < 120_000; step++) {
+            int op = random.nextInt(10);
+            if (step > 80_000) {
+                op = op < 7 ? 9 : op;
+            }
+            if (op < 6) {
+                int value = random.nextInt();
+                vector = vector.plus(value);
+                expected.add(value);
+            } else if (op < 8) {
+                if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    int value = random.nextInt();
+                    vector = vector.with(index, value);
+                    expected.set(index, value);
+                }
+            } else if (!expected.isEmpty()) {
+                vector = vector.minusLast();
+                expected.remove(expected.size() - 1);
+            }
+            if (step % 4_000 == 0) {
+                versions.add(vector);
+                frozen.add(new ArrayList<>(expected));
+            }
+            assertEquals(expected.size(), vector.size());
+        }
+        assertEquals(expected, vector);
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(frozen.get(i), versions.get(i), "version " + i);
+        }
+    }
+
+    @Test
+    void builderAndFactoriesMatchRepeatedPlus() {
+        for (int n : new int[]{0, 1, 31, 32, 33, 1_024, 1_057, 33_000}) {
+            List<Integer> source = new ArrayList<>();
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for (int i = 0; i < n; i++) {
+                source.add(i);
+                appended = appended.plus(i);
+            }
+            PersistentVector<Integer> built = PersistentVector.from(source);
+            assertEquals(appended, built, "n=" + n);
+            List<Integer> visited = new ArrayList<>();
+            built.forEach(visited::add);
+            assertEquals(source, visited);
+        }
+        assertEquals(List.of("A", "B", "C"), PersistentVector.of("A", "B", "C"));
+    }
+
+    @Test
+    void listMutatorsAndBadIndicesAreRejected() {
+        PersistentVector<String> vector = PersistentVector.of("a", "b");
+        assertThrows(UnsupportedOperationException.class, () -> vector.add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, "c"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.iterator().remove());
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.with(-1, "c"));
+        assertThrows(NoSuchElementException.class, () -> PersistentVector.empty().minusLast());
+
+        PersistentVector.Builder<String> builder = PersistentVector.builder();
+        builder.build();
+        assertThrows(IllegalStateException.class, () -> builder.add("late"));
+    }
+}
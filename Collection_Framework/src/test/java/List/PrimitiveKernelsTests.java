@@ -0,0 +1,154 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against SimdKernels under mvn -P simd, against ScalarKernels otherwise
+class PrimitiveKernelsTests {
+    private static final int[] SIZES = {0, 1, 7, 8, 15, 16, 17, 63, 64, 65, 1_000};
+
+    @Test
+    void intKernelsMatchPlainLoops() {
+        SplittableRandom random = new SplittableRandom(29);
+        for (int size : SIZES) {
+            int[] a = random.ints(size + 6, -1_000, 1_000).toArray();
+            int from = Math.min(3, size);
+            int to = from + size;
+            for (int probe = 0; probe < 20; probe++) {
+                int value = probe < 10 ? a[random.nextInt(a.length)] : 5_000;
+                assertEquals(naiveIndexOf(a, from, to, value), PrimitiveKernels.indexOf(a, from, to, value));
+            }
+            assertArrayEquals(Arrays.stream(a, from, to).filter(v -> v > 100).toArray(),
+                    PrimitiveKernels.filterGreaterThan(a, from, to, 100));
+            assertEquals(Arrays.stream(a, from, to).asLongStream().sum(), PrimitiveKernels.sum(a, from, to));
+            assertEquals(Arrays.stream(a, from, to).min().orElse(Integer.MAX_VALUE), PrimitiveKernels.min(a, from, to));
+            assertEquals(Arrays.stream(a, from, to).max().orElse(Integer.MIN_VALUE), PrimitiveKernels.max(a, from, to));
+        }
+    }
+
+    @Test
+    void intSumDoesNotOverflow() {
+        int[] a = new int[100];
+        Arrays.fill(a, Integer.MAX_VALUE);
+        assertEquals(100L * Integer.MAX_VALUE, PrimitiveKernels.sum(a, 0, a.length));
+    }
+
+    @Test
+    void longKernelsMatchPlainLoops() {
+        SplittableRandom random = new SplittableRandom(30);
+        for (int size : SIZES) {
+            long[] a = random.longs(size + 2, Long.MIN_VALUE / 4, Long.MAX_VALUE / 4).toArray();
+            int from = Math.min(1, size);
+            int to = from + size;
+            long present = size == 0 ? 0 : a[to - 1];
+            int expected = -1;
+            for (int i = from; i < to; i++) {
+                if (a[i] == present) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, PrimitiveKernels.indexOf(a, from, to, present));
+            assertArrayEquals(Arrays.stream(a, from, to).filter(v -> v > 0).toArray(),
+                    PrimitiveKernels.filterGreaterThan(a, from, to, 0L));
+            assertEquals(Arrays.stream(a, from, to).sum(), PrimitiveKernels.sum(a, from, to));
+            assertEquals(Arrays.stream(a, from, to).min().orElse(Long.MAX_VALUE), PrimitiveKernels.min(a, from, to));
+            assertEquals(Arrays.stream(a, from, to).max().orElse(Long.MIN_VALUE), PrimitiveKernels.max(a, from, to));
+        }
+    }
+
+    @Test
+    void floatKernelsMatchPlainLoops() {
+        SplittableRandom random = new SplittableRandom(31);
+        for (int size : SIZES) {
+            float[] a = new float[size];
+            double sum = 0;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            int matches = 0;
+            for (int i = 0; i < size; i++) {
+                a[i] = (float) random.nextDouble(-100, 100);
+                sum += a[i];
+                min = Math.min(min, a[i]);
+                max = Math.max(max, a[i]);
+                matches += a[i] > 50 ? 1 : 0;
+            }
+            assertEquals(sum, PrimitiveKernels.sum(a, 0, size), 1e-2);
+            assertEquals(min, PrimitiveKernels.min(a, 0, size));
+            assertEquals(max, PrimitiveKernels.max(a, 0, size));
+            assertEquals(matches, PrimitiveKernels.filterGreaterThan(a, 0, size, 50f).length);
+            assertEquals(size == 0 ? -1 : size - 1, PrimitiveKernels.indexOf(a, 0, size, size == 0 ? 0f : a[size - 1]));
+        }
+    }
+
+    @Test
+    void prefixSumsAreInclusive() {
+        int[] ints = {1, 2, 3, 4, 5};
+        PrimitiveKernels.prefixSum(ints, 1, 4);
+        assertArrayEquals(new int[]{1, 2, 5, 9, 5}, ints);
+        long[] longs = {1, 1, 1};
+        PrimitiveKernels.prefixSum(longs, 0, 3);
+        assertArrayEquals(new long[]{1, 2, 3}, longs);
+    }
+
+    @Test
+    void intArrayListOverloadsUseLiveElementsOnly() {
+        IntArrayList list = new IntArrayList(64);
+        for (int i = 0; i < 40; i++) {
+            list.add(i);
+        }
+        list.removeRange(30, 40);
+        assertEquals(-1, PrimitiveKernels.indexOf(list, 35));
+        assertTrue(PrimitiveKernels.contains(list, 29));
+        assertEquals(435, PrimitiveKernels.sum(list));
+        assertEquals(IntArrayList.of(27, 28, 29), PrimitiveKernels.filterGreaterThan(list, 26));
+    }
+
+    private static int naiveIndexOf(int[] a, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Before the up-front check an inverted range returned an empty result from most kernels and
+    // NegativeArraySizeException from filterGreaterThan
+    @Test
+    void invalidRangesAreRejected() {
+        int[] ints = new int[10];
+        long[] longs = new long[10];
+        float[] floats = new float[10];
+        int[][] ranges = {{5, 3}, {-1, 4}, {0, 11}, {11, 11}};
+        for (int[] range : ranges) {
+            int from = range[0];
+            int to = range[1];
+            String name = Arrays.toString(range);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.indexOf(ints, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.indexOf(longs, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.indexOf(floats, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.filterGreaterThan(ints, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.filterGreaterThan(longs, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.filterGreaterThan(floats, from, to, 0), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.sum(ints, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.sum(longs, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.sum(floats, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.min(ints, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.min(longs, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.min(floats, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.max(ints, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.max(longs, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.max(floats, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.prefixSum(ints, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.prefixSum(longs, from, to), name);
+            assertThrows(IndexOutOfBoundsException.class, () -> PrimitiveKernels.prefixSum(floats, from, to), name);
+        }
+        assertArrayEquals(new int[0], PrimitiveKernels.filterGreaterThan(ints, 10, 10, 0), "empty range at the end");
+        assertEquals(-1, PrimitiveKernels.indexOf(ints, 4, 4, 0));
+    }
+}
@@ -0,0 +1,162 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StampedListTests {
+
+    @Test
+    void matchesArrayListUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(33);
+        StampedList<Integer> list = new StampedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            Integer value = random.nextInt(200);
+            switch (random.nextInt(9)) {
+                case 0, 1 -> assertEquals(expected.add(value), list.add(value));
+                case 2 -> {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, value);
+                    list.add(index, value);
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                }
+                case 4 -> assertEquals(expected.remove(value), list.remove(value));
+                case 5 -> {
+                    boolean absent = !expected.contains(value);
+                    if (absent) {
+                        expected.add(value);
+                    }
+                    assertEquals(absent, list.addIfAbsent(value));
+                }
+                case 6 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        expected.set(index, expected.get(index) + 1);
+                        assertEquals(expected.get(index), list.computeAt(index, v -> v + 1));
+                    }
+                }
+                case 7 -> {
+                    assertEquals(expected.indexOf(value), list.indexOf(value));
+                    assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+                }
+                default -> {
+                    int matched = (int) expected.stream().filter(v -> v % 7 == 0).count();
+                    expected.removeIf(v -> v % 7 == 0);
+                    assertEquals(matched, list.replaceAllIf(v -> v % 7 == 0, null));
+                }
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+        assertArrayEquals(expected.toArray(), list.toArray());
+
+        expected.sort(null);
+        list.sort(null);
+        assertEquals(expected, list);
+        assertEquals(expected.size(), list.replaceAllIf(v -> true, v -> -v));
+        assertEquals(-expected.get(0), list.get(0));
+    }
+
+    @Test
+    void iteratorsAndSubListsAreSnapshots() {
+        StampedList<String> list = new StampedList<>(List.of("a", "b", "c"));
+        Iterator<String> it = list.iterator();
+        List<String> sub = list.subList(1, 3);
+        list.add("d");
+        list.remove("b");
+        List<String> seen = new ArrayList<>();
+        it.forEachRemaining(seen::add);
+        assertEquals(List.of("a", "b", "c"), seen);
+        assertEquals(List.of("b", "c"), sub);
+        assertThrows(UnsupportedOperationException.class, () -> sub.set(0, "x"));
+    }
+
+    @Test
+    void transactionViewIsClosedAfterTheTransaction() {
+        StampedList<Integer> list = new StampedList<>();
+        List<List<Integer>> leaked = new ArrayList<>();
+        list.transaction(view -> {
+            view.add(1);
+            view.add(0, 0);
+            leaked.add(view);
+        });
+        assertEquals(List.of(0, 1), list);
+        assertThrows(IllegalStateException.class, () -> leaked.get(0).get(0));
+        assertEquals(2, (int) list.withReadLock(List::size));
+        assertThrows(UnsupportedOperationException.class, () -> list.withReadLock(view -> view.add(5)));
+    }
+
+    @Test
+    void compoundOperationsAreAtomicAcrossThreads() throws Exception {
+        StampedList<Integer> list = new StampedList<>();
+        StampedList<Integer> counter = new StampedList<>(List.of(0));
+        int threads = 8;
+        int perThread = 2_000;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        list.addIfAbsent(i % 500);
+                        counter.computeAt(0, v -> v + 1);
+                        counter.transaction(view -> view.set(0, view.get(0) + 1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(500, list.size());
+        assertEquals(500, new HashSet<>(list).size());
+        assertEquals(2 * threads * perThread, counter.get(0));
+    }
+
+    // clear() swaps in a smaller array, so a scan pairing the old size with the new array would overrun it
+    @Test
+    void optimisticIndexOfSurvivesConcurrentClears() throws Exception {
+        StampedList<Integer> list = new StampedList<>();
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            Future<?> writer = pool.submit(() -> {
+                for (int round = 0; round < 2_000; round++) {
+                    for (int i = 0; i < 100; i++) {
+                        list.add(i);
+                    }
+                    list.clear();
+                }
+            });
+            while (!writer.isDone()) {
+                assertEquals(-1, list.indexOf(-1));
+                list.addIfAbsent(-2);
+            }
+            writer.get();
+        }
+    }
+
+    // StampedLock is not reentrant: a callback run under the lock would deadlock on its own write
+    @Test
+    @Timeout(10)
+    void forEachCallbackMayWriteToTheList() {
+        StampedList<Integer> list = new StampedList<>(List.of(1, 2, 3));
+        List<Integer> seen = new ArrayList<>();
+        list.forEach(x -> {
+            seen.add(x);
+            list.add(x * 10);
+        });
+        assertEquals(List.of(1, 2, 3), seen, "iterates the snapshot taken before the writes");
+        assertEquals(List.of(1, 2, 3, 10, 20, 30), list);
+        assertThrows(NullPointerException.class, () -> list.forEach(null));
+    }
+}
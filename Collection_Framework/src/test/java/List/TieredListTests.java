@@ -0,0 +1,86 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredListTests {
+
+    @Test
+    void matchesArrayListUnderRandomPositionalOperations() {
+        SplittableRandom random = new SplittableRandom(28);
+        TieredList<Integer> list = new TieredList<>();
+        List<Integer> expected = new ArrayList<>();
+        // Grows past several k² rebuild thresholds (256, 1024, 4096) and shrinks again
+        for (int step = 0; step < 60_000; step++) {
+            int value = random.nextInt();
+            int op = random.nextInt(10);
+            if (step > 40_000 && op < 5) {
+                op += 5;
+            }
+            switch (op) {
+                case 0, 1 -> {
+                    list.add(value);
+                    expected.add(value);
+                }
+                case 2, 3, 4 -> {
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                }
+                case 5, 6, 7 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                }
+                case 8 -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                }
+                default -> {
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals(expected.get(index), list.get(index));
+                    }
+                }
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+        assertArrayEquals(expected.toArray(), list.toArray());
+        List<Integer> visited = new ArrayList<>();
+        list.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void copyConstructorAndBoundsChecks() {
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            source.add("v" + i);
+        }
+        TieredList<String> list = new TieredList<>(source);
+        assertEquals(source, list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1_001, "x"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.add(0, "again");
+        assertEquals(List.of("again"), list);
+    }
+
+    @Test
+    void iteratorFailsFastAfterStructuralChange() {
+        TieredList<Integer> list = new TieredList<>(List.of(1, 2, 3));
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        list.add(1, 9);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+}
@@ -0,0 +1,107 @@
+package List;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledDequeTests {
+
+    @Test
+    void matchesArrayDequeUnderRandomOperations() {
+        SplittableRandom random = new SplittableRandom(31);
+        UnrolledDeque<Integer> deque = new UnrolledDeque<>(4);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 50_000; step++) {
+            Integer value = random.nextInt(50);
+            switch (random.nextInt(9)) {
+                case 0, 1 -> {
+                    deque.addFirst(value);
+                    expected.addFirst(value);
+                }
+                case 2, 3 -> {
+                    deque.addLast(value);
+                    expected.addLast(value);
+                }
+                case 4 -> assertEquals(expected.pollFirst(), deque.pollFirst());
+                case 5 -> assertEquals(expected.pollLast(), deque.pollLast());
+                case 6 -> assertEquals(expected.removeFirstOccurrence(value), deque.removeFirstOccurrence(value));
+                case 7 -> assertEquals(expected.removeLastOccurrence(value), deque.removeLastOccurrence(value));
+                default -> {
+                    assertEquals(expected.peekFirst(), deque.peekFirst());
+                    assertEquals(expected.peekLast(), deque.peekLast());
+                }
+            }
+            assertEquals(expected.size(), deque.size());
+        }
+        assertIterableEquals(expected, deque);
+        Iterable<Integer> expectedDescending = expected::descendingIterator;
+        Iterable<Integer> descending = deque::descendingIterator;
+        assertIterableEquals(expectedDescending, descending);
+    }
+
+    @Test
+    void iteratorRemoveMatchesArrayDeque() {
+        SplittableRandom random = new SplittableRandom(32);
+        for (int round = 0; round < 200; round++) {
+            List<Integer> values = random.ints(random.nextInt(40), 0, 10).boxed().toList();
+            UnrolledDeque<Integer> deque = new UnrolledDeque<>(values);
+            ArrayDeque<Integer> expected = new ArrayDeque<>(values);
+            boolean descending = random.nextBoolean();
+            Iterator<Integer> it = descending ? deque.descendingIterator() : deque.iterator();
+            Iterator<Integer> ex = descending ? expected.descendingIterator() : expected.iterator();
+            while (ex.hasNext()) {
+                assertTrue(it.hasNext());
+                Integer next = ex.next();
+                assertEquals(next, it.next());
+                if (next % 3 == 0) {
+                    ex.remove();
+                    it.remove();
+                }
+            }
+            assertFalse(it.hasNext());
+            assertIterableEquals(expected, deque);
+        }
+    }
+
+    @Test
+    void iteratorFailsFastAfterStructuralChange() {
+        UnrolledDeque<String> deque = new UnrolledDeque<>(List.of("a", "b", "c"));
+        Iterator<String> it = deque.iterator();
+        it.next();
+        deque.addLast("d");
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void rejectsNullsAndEmptyRemovals() {
+        UnrolledDeque<String> deque = new UnrolledDeque<>();
+        assertThrows(NullPointerException.class, () -> deque.addFirst(null));
+        assertThrows(NullPointerException.class, () -> new UnrolledDeque<>(Arrays.asList("a", null)));
+        assertThrows(NoSuchElementException.class, deque::removeFirst);
+        assertThrows(NoSuchElementException.class, deque::getLast);
+        assertNull(deque.pollLast());
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledDeque<>(1));
+    }
+
+    @Test
+    void copyConstructorDoesNotCallOverridableAddAll() {
+        class CountingDeque extends UnrolledDeque<Integer> {
+            int addAllCalls;
+
+            CountingDeque(Collection<Integer> c) {
+                super(c);
+            }
+
+            @Override
+            public boolean addAll(Collection<? extends Integer> c) {
+                addAllCalls++;
+                return super.addAll(c);
+            }
+        }
+        CountingDeque deque = new CountingDeque(List.of(1, 2, 3));
+        assertEquals(0, deque.addAllCalls);
+        assertIterableEquals(List.of(1, 2, 3), deque);
+    }
+}
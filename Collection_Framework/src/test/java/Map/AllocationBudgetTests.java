@@ -0,0 +1,66 @@
+package Map;
+
+import com.learning301.testsupport.AllocationBudget;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllocationBudgetTests {
+
+    private static volatile int sink;
+
+    @Test
+    void lruCacheGetIsAllocationFree() {
+        LruCacheImpl cache = new LruCacheImpl(1_000);
+        String[] keys = new String[1_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + i;
+            cache.put(keys[i], i);
+        }
+        int[] next = {0};
+        AllocationBudget.assertAllocationFree("LruCacheImpl.get (hit)",
+                () -> sink = cache.get(keys[next[0]++ % keys.length]));
+        AllocationBudget.assertAllocationFree("LruCacheImpl.get (miss)", () -> sink = cache.get("absent"));
+    }
+
+    // The loop bodies of IdentityHashMapImpl.performanceDemo: put(key, i) boxes every i > 127
+    @Test
+    void performanceDemoLoopsBoxTheirValues() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(new String("key" + i));
+        }
+        HashMap<String, Integer> hashMap = new HashMap<>();
+        int[] i = {1_000};
+        Runnable hashMapBody = () -> {
+            String key = keys.get(i[0] % keys.size());
+            hashMap.put(key, i[0]++);
+            sink = hashMap.get(key);
+        };
+        AssertionError exceeded = assertThrows(AssertionError.class,
+                () -> AllocationBudget.assertAllocationFree("HashMap put(key, i) + get", hashMapBody));
+        assertTrue(exceeded.getMessage().contains("budget 0"), exceeded.getMessage());
+        AllocationBudget.Measurement boxed = AllocationBudget.assertAtMost(16, "HashMap put(key, i) + get", hashMapBody);
+        assertTrue(boxed.bytesPerInvocation() > 0, boxed.toString());
+
+        IdentityHashMap<String, Integer> identityMap = new IdentityHashMap<>();
+        Integer[] preboxed = new Integer[keys.size()];
+        for (int k = 0; k < preboxed.length; k++) {
+            preboxed[k] = 1_000 + k;
+        }
+        AllocationBudget.assertAllocationFree("IdentityHashMap put(key, preboxed) + get", () -> {
+            int k = i[0]++ % keys.size();
+            String key = keys.get(k);
+            identityMap.put(key, preboxed[k]);
+            sink = identityMap.get(key);
+        });
+    }
+
+    @Test
+    void invalidBudgetsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AllocationBudget.assertAtMost(-1, "x", () -> { }));
+        assertThrows(IllegalArgumentException.class, () -> AllocationBudget.measure("x", 0, () -> { }));
+    }
+}
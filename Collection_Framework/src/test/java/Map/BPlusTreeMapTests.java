@@ -0,0 +1,179 @@
+package Map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BPlusTreeMapTests {
+
+    // Compares every navigation query at key against the reference map
+    private static void assertSameNavigation(NavigableMap<Integer, Integer> expected,
+                                             NavigableMap<Integer, Integer> map, int key) {
+        assertEquals(expected.get(key), map.get(key), "get " + key);
+        assertEquals(expected.containsKey(key), map.containsKey(key));
+        assertEquals(expected.lowerEntry(key), map.lowerEntry(key), "lower " + key);
+        assertEquals(expected.floorEntry(key), map.floorEntry(key), "floor " + key);
+        assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key), "ceiling " + key);
+        assertEquals(expected.higherEntry(key), map.higherEntry(key), "higher " + key);
+        assertEquals(expected.firstEntry(), map.firstEntry());
+        assertEquals(expected.lastEntry(), map.lastEntry());
+    }
+
+    private static void assertSameMap(NavigableMap<Integer, Integer> expected, NavigableMap<Integer, Integer> map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(new ArrayList<>(expected.descendingMap().keySet()), new ArrayList<>(map.descendingMap().keySet()));
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    // Small node capacities force deep trees, splits and empty-leaf unlinking
+    @Test
+    void randomOperationsMatchTreeMap() {
+        SplittableRandom random = new SplittableRandom(46);
+        for (int capacity : new int[]{4, 5, 16, BPlusTreeMap.DEFAULT_NODE_CAPACITY}) {
+            for (int range : new int[]{50, 2_000}) {
+                TreeMap<Integer, Integer> expected = new TreeMap<>();
+                BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>(null, capacity);
+                for (int step = 0; step < 20_000; step++) {
+                    int key = random.nextInt(range);
+                    switch (random.nextInt(6)) {
+                        case 0, 1, 2 -> {
+                            int value = random.nextInt();
+                            assertEquals(expected.put(key, value), map.put(key, value));
+                        }
+                        case 3 -> assertEquals(expected.remove(key), map.remove(key));
+                        case 4 -> assertEquals(expected.pollFirstEntry(), map.pollFirstEntry());
+                        default -> assertSameNavigation(expected, map, key);
+                    }
+                    assertEquals(expected.size(), map.size());
+                }
+                assertSameMap(expected, map);
+                for (int key = -1; key <= range; key++) {
+                    assertSameNavigation(expected, map, key);
+                }
+                while (!expected.isEmpty()) {
+                    assertEquals(expected.pollLastEntry(), map.pollLastEntry());
+                }
+                assertTrue(map.isEmpty());
+                assertNull(map.firstEntry());
+                assertThrows(NoSuchElementException.class, map::firstKey);
+            }
+        }
+    }
+
+    @Test
+    void rangeViewsMatchTreeMap() {
+        SplittableRandom random = new SplittableRandom(47);
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>(null, 4);
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(1_000);
+            expected.put(key, i);
+            map.put(key, i);
+        }
+        for (int round = 0; round < 300; round++) {
+            int from = random.nextInt(-10, 1_010);
+            int to = from + random.nextInt(300);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            NavigableMap<Integer, Integer> expectedView = expected.subMap(from, fromInclusive, to, toInclusive);
+            NavigableMap<Integer, Integer> view = map.subMap(from, fromInclusive, to, toInclusive);
+            if (random.nextBoolean()) {
+                expectedView = expectedView.descendingMap();
+                view = view.descendingMap();
+            }
+            assertSameMap(expectedView, view);
+            int probe = random.nextInt(from - 5, to + 6);
+            assertSameNavigation(expectedView, view, probe);
+
+            // Nested bounds must lie in the view; an inclusive one strictly inside it
+            int bound = random.nextInt(from, to + 1);
+            boolean inclusive = bound > from && bound < to && random.nextBoolean();
+            assertEquals(new ArrayList<>(expectedView.headMap(bound, inclusive).keySet()),
+                    new ArrayList<>(view.headMap(bound, inclusive).keySet()));
+            assertEquals(new ArrayList<>(expectedView.tailMap(bound, inclusive).keySet()),
+                    new ArrayList<>(view.tailMap(bound, inclusive).keySet()));
+            int outside = random.nextBoolean() ? from - 1 : to + 1;
+            NavigableMap<Integer, Integer> finalView = view;
+            assertThrows(IllegalArgumentException.class, () -> finalView.headMap(outside, false));
+
+            // Writes through a view land in the backing map
+            int key = random.nextInt(from, to + 1);
+            if (expectedView.containsKey(key) || (key > from || fromInclusive) && (key < to || toInclusive)) {
+                assertEquals(expectedView.put(key, -round), view.put(key, -round));
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> map.subMap(from, fromInclusive, to, toInclusive).put(key, 0));
+            }
+            if (round % 10 == 0) {
+                assertEquals(expectedView.pollFirstEntry(), view.pollFirstEntry());
+            }
+            assertSameMap(expected, map);
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(10, true, 5, true));
+        assertThrows(IllegalArgumentException.class, () -> map.headMap(100).tailMap(200));
+    }
+
+    @Test
+    void iteratorRemoveAndSetValueWriteThrough() {
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>(null, 4);
+        for (int i = 0; i < 300; i++) {
+            expected.put(i, i);
+            map.put(i, i);
+        }
+        for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Integer> entry = it.next();
+            if (entry.getKey() % 3 == 0) {
+                it.remove();
+                expected.remove(entry.getKey());
+            } else if (entry.getKey() % 3 == 1) {
+                assertEquals(entry.getKey(), entry.setValue(-entry.getKey()));
+                expected.put(entry.getKey(), -entry.getKey());
+                assertEquals(Map.entry(entry.getKey(), -entry.getKey()), entry);
+            }
+        }
+        assertSameMap(expected, map);
+
+        Iterator<Integer> descending = map.descendingKeySet().iterator();
+        while (descending.hasNext()) {
+            if (descending.next() % 2 == 0) {
+                descending.remove();
+            }
+        }
+        expected.keySet().removeIf(k -> k % 2 == 0);
+        assertSameMap(expected, map);
+
+        Iterator<Integer> keys = map.keySet().iterator();
+        assertThrows(IllegalStateException.class, keys::remove);
+        keys.next();
+        map.put(1_000, 0);
+        assertThrows(ConcurrentModificationException.class, keys::next);
+    }
+
+    @Test
+    void bulkLoadBuildsTheSameMap() {
+        SplittableRandom random = new SplittableRandom(48);
+        for (int n : new int[]{0, 1, 63, 64, 65, 10_000}) {
+            TreeMap<String, Integer> sorted = new TreeMap<>(Comparator.reverseOrder());
+            while (sorted.size() < n) {
+                sorted.put(Integer.toString(random.nextInt(1_000_000), 36), sorted.size());
+            }
+            BPlusTreeMap<String, Integer> map = BPlusTreeMap.fromSorted(sorted);
+            assertEquals(sorted, map);
+            assertEquals(new ArrayList<>(sorted.keySet()), new ArrayList<>(map.keySet()));
+            assertSame(sorted.comparator(), map.comparator());
+
+            BPlusTreeMap<String, Integer> copy = new BPlusTreeMap<>(Comparator.reverseOrder());
+            copy.putAll(sorted);
+            copy.put("new-key", -1);
+            sorted.put("new-key", -1);
+            assertEquals(sorted, copy);
+        }
+        List<Map.Entry<Integer, Integer>> unsorted = List.of(Map.entry(2, 0), Map.entry(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> BPlusTreeMap.bulkLoad(unsorted.iterator(), null));
+        assertThrows(IllegalArgumentException.class, () -> new BPlusTreeMap<Integer, Integer>(null, 3));
+    }
+}
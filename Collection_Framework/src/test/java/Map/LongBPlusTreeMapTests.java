@@ -0,0 +1,116 @@
+package Map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongBPlusTreeMapTests {
+
+    private static List<Map.Entry<Long, String>> range(LongBPlusTreeMap<String> map, long from, long to) {
+        List<Map.Entry<Long, String>> out = new ArrayList<>();
+        map.forEachInRange(from, to, (k, v) -> out.add(Map.entry(k, v)));
+        return out;
+    }
+
+    private static void assertSameCursors(TreeMap<Long, String> expected, LongBPlusTreeMap<String> map, long key) {
+        Map.Entry<Long, String> ceiling = expected.ceilingEntry(key);
+        LongBPlusTreeMap<String>.Cursor cursor = map.ceiling(key);
+        assertEquals(ceiling != null, cursor.isValid(), "ceiling " + key);
+        if (ceiling != null) {
+            assertEquals(ceiling.getKey(), cursor.key());
+            assertEquals(ceiling.getValue(), cursor.value());
+            Map.Entry<Long, String> higher = expected.higherEntry(ceiling.getKey());
+            assertEquals(higher != null, cursor.next());
+            if (higher != null) {
+                assertEquals(higher.getKey(), cursor.key());
+            }
+        }
+        Map.Entry<Long, String> floor = expected.floorEntry(key);
+        cursor = map.floor(key);
+        assertEquals(floor != null, cursor.isValid(), "floor " + key);
+        if (floor != null) {
+            assertEquals(floor.getKey(), cursor.key());
+            Map.Entry<Long, String> lower = expected.lowerEntry(floor.getKey());
+            assertEquals(lower != null, cursor.prev());
+            if (lower != null) {
+                assertEquals(lower.getValue(), cursor.value());
+            }
+        }
+    }
+
+    @Test
+    void randomOperationsMatchTreeMap() {
+        SplittableRandom random = new SplittableRandom(46);
+        for (int capacity : new int[]{4, 7, BPlusTreeMap.DEFAULT_NODE_CAPACITY}) {
+            TreeMap<Long, String> expected = new TreeMap<>();
+            LongBPlusTreeMap<String> map = new LongBPlusTreeMap<>(capacity);
+            for (int step = 0; step < 30_000; step++) {
+                long key = random.nextInt(3) == 0 ? random.nextLong() : random.nextLong(-500, 500);
+                switch (random.nextInt(6)) {
+                    case 0, 1, 2 -> {
+                        String value = "v" + step;
+                        assertEquals(expected.put(key, value), map.put(key, value));
+                    }
+                    case 3 -> assertEquals(expected.remove(key), map.remove(key));
+                    case 4 -> {
+                        long to = key + random.nextLong(200);
+                        assertEquals(new ArrayList<>(expected.subMap(key, to).entrySet()), range(map, key, to));
+                        assertEquals(expected.subMap(key, to).size(), map.countInRange(key, to));
+                    }
+                    default -> {
+                        assertEquals(expected.get(key), map.get(key));
+                        assertEquals(expected.containsKey(key), map.containsKey(key));
+                        assertSameCursors(expected, map, key);
+                    }
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            assertEquals(new ArrayList<>(expected.entrySet()), range(map, Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(expected.firstKey(), map.firstKey());
+            assertEquals(expected.lastKey(), map.lastKey());
+            for (Long key : new ArrayList<>(expected.keySet())) {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertTrue(map.isEmpty());
+            assertThrows(NoSuchElementException.class, map::firstKey);
+            assertFalse(map.ceiling(0).isValid());
+            assertThrows(NoSuchElementException.class, () -> map.floor(0).key());
+        }
+    }
+
+    @Test
+    void bulkLoadMatchesIncrementalInserts() {
+        SplittableRandom random = new SplittableRandom(47);
+        for (int n : new int[]{0, 1, 64, 65, 100_000}) {
+            TreeMap<Long, String> expected = new TreeMap<>();
+            while (expected.size() < n) {
+                long key = random.nextLong();
+                expected.put(key, Long.toHexString(key));
+            }
+            long[] keys = expected.keySet().stream().mapToLong(Long::longValue).toArray();
+            String[] values = expected.values().toArray(String[]::new);
+            LongBPlusTreeMap<String> map = LongBPlusTreeMap.bulkLoad(keys, values);
+            assertEquals(n, map.size());
+            assertEquals(new ArrayList<>(expected.entrySet()), range(map, Long.MIN_VALUE, Long.MAX_VALUE));
+            if (n > 0) {
+                assertEquals(expected.lastKey(), map.lastKey());
+            }
+            for (int i = 0; i < 1_000; i++) {
+                long key = random.nextLong();
+                assertSameCursors(expected, map, key);
+                long to = random.nextBoolean() ? Long.MAX_VALUE : key + (random.nextLong() >>> 8);
+                if (to > key) {
+                    assertEquals(expected.subMap(key, to).size(), map.countInRange(key, to));
+                }
+            }
+            map.put(0, "zero");
+            expected.put(0L, "zero");
+            assertEquals(new ArrayList<>(expected.entrySet()), range(map, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        assertThrows(IllegalArgumentException.class, () -> LongBPlusTreeMap.bulkLoad(new long[]{1, 1}, new String[2]));
+        assertThrows(IllegalArgumentException.class, () -> LongBPlusTreeMap.bulkLoad(new long[]{1}, new String[2]));
+        assertThrows(IllegalArgumentException.class, () -> new LongBPlusTreeMap<String>(3));
+    }
+}
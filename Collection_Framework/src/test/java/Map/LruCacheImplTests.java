@@ -0,0 +1,61 @@
+package Map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheImplTests {
+
+    private static List<String> keys(LruCacheImpl cache) {
+        List<String> keys = new ArrayList<>();
+        cache.entrySet().forEach(e -> keys.add(e.getKey()));
+        return keys;
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedKey() {
+        LruCacheImpl cache = new LruCacheImpl(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a"), "a becomes most recently used");
+        cache.put("d", 4);
+        assertFalse(cache.containsKey("b"));
+        assertEquals(-1, cache.get("b"));
+        assertEquals(List.of("c", "a", "d"), keys(cache));
+
+        cache.put("c", 30);
+        assertEquals(List.of("a", "d", "c"), keys(cache), "put refreshes recency");
+        assertEquals(3, cache.size());
+    }
+
+    // Reference model: a list ordered from least to most recently used
+    @Test
+    void randomAccessMatchesRecencyList() {
+        SplittableRandom random = new SplittableRandom(43);
+        LruCacheImpl cache = new LruCacheImpl(16);
+        List<String> order = new ArrayList<>();
+        Map<String, Integer> values = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            String key = "k" + random.nextInt(40);
+            if (random.nextBoolean()) {
+                int value = random.nextInt(1_000);
+                cache.put(key, value);
+                values.put(key, value);
+                order.remove(key);
+                order.add(key);
+                if (order.size() > 16) {
+                    values.remove(order.remove(0));
+                }
+            } else {
+                assertEquals(values.getOrDefault(key, -1), cache.get(key));
+                if (order.remove(key)) {
+                    order.add(key);
+                }
+            }
+            assertEquals(order, keys(cache));
+        }
+    }
+}
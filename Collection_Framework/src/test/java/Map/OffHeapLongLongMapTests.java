@@ -0,0 +1,97 @@
+package Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLongLongMapTests {
+
+    @TempDir
+    Path dir;
+
+    private static void assertSameEntries(Map<Long, Long> expected, OffHeapLongLongMap map) {
+        assertEquals(expected.size(), map.size());
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach((k, v) -> assertNull(actual.put(k, v), "key " + k + " visited twice"));
+        assertEquals(expected, actual);
+    }
+
+    // Small key ranges force long probe runs, so removals exercise backward-shift deletion
+    @Test
+    void matchesHashMapThroughResizesAndRemovals() {
+        SplittableRandom random = new SplittableRandom(44);
+        for (long range : new long[]{64, 5_000, Long.MAX_VALUE}) {
+            try (OffHeapLongLongMap map = OffHeapLongLongMap.allocate(0)) {
+                Map<Long, Long> expected = new HashMap<>();
+                for (int step = 0; step < 50_000; step++) {
+                    long key = range == Long.MAX_VALUE ? random.nextLong() : random.nextLong(range) - range / 2;
+                    switch (random.nextInt(4)) {
+                        case 0, 1 -> {
+                            long value = random.nextLong();
+                            map.put(key, value);
+                            expected.put(key, value);
+                        }
+                        case 2 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                        default -> {
+                            assertEquals(expected.getOrDefault(key, -1L), map.getOrDefault(key, -1));
+                            assertEquals(expected.containsKey(key), map.containsKey(key));
+                        }
+                    }
+                    assertEquals(expected.size(), map.size());
+                }
+                assertSameEntries(expected, map);
+                assertTrue(map.capacity() * 0.75 >= map.size());
+                map.clear();
+                assertTrue(map.isEmpty());
+                assertFalse(map.containsKey(0));
+            }
+        }
+    }
+
+    @Test
+    void fileBackedTableSurvivesReopenAndResize() throws IOException {
+        Path file = dir.resolve("ids.map");
+        Map<Long, Long> expected = new HashMap<>();
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.mapFile(file, 10)) {
+            assertTrue(map.isFileBacked());
+            for (long k = -100; k < 1_000; k++) {
+                map.put(k * 7919, k);
+                expected.put(k * 7919, k);
+            }
+        }
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.mapFile(file, 0)) {
+            assertSameEntries(expected, map);
+            assertEquals(0, map.getOrDefault(0, -1), "the zero key is persisted in the header");
+            map.remove(7919);
+            expected.remove(7919L);
+            map.force();
+        }
+        try (OffHeapLongLongMap map = OffHeapLongLongMap.mapFile(file, 0)) {
+            assertSameEntries(expected, map);
+            assertEquals(map.capacity() * 16 + 64, Files.size(file));
+        }
+
+        Path bogus = Files.write(dir.resolve("bogus.map"), new byte[128]);
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongLongMap.mapFile(bogus, 0));
+    }
+
+    @Test
+    void closedMapsFailFast() {
+        OffHeapLongLongMap map = OffHeapLongLongMap.allocate(100);
+        map.put(1, 2);
+        map.close();
+        map.close();
+        assertThrows(IllegalStateException.class, () -> map.getOrDefault(1, 0));
+        assertThrows(IllegalStateException.class, () -> map.put(3, 4));
+        assertThrows(IllegalStateException.class, () -> map.forEach((k, v) -> { }));
+
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongLongMap.allocate(10, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongLongMap.allocate(-1));
+    }
+}
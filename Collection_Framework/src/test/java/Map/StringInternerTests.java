@@ -0,0 +1,119 @@
+package Map;
+
+import com.learning301.testsupport.AllocationBudget;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringInternerTests {
+
+    private static volatile String sink;
+
+    // Results are held strongly, so only eviction (never GC) can shrink the table
+    @Test
+    void sizeNeverExceedsMaxEntries() {
+        int[][] configs = {{10, 64}, {1, 1}, {1, 64}, {7, 4}, {100, 16}, {1_000, 64}, {5_000, 2}};
+        for (int[] config : configs) {
+            StringInterner interner = new StringInterner(config[0], config[1]);
+            List<String> held = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                String value = "value-" + i;
+                String canonical = interner.intern(value);
+                assertEquals(value, canonical);
+                held.add(canonical);
+                assertTrue(interner.size() <= config[0], Arrays.toString(config) + " size " + interner.size());
+            }
+            StringInterner.Stats stats = interner.stats();
+            assertTrue(stats.size() > 0);
+            assertEquals(10_000, stats.misses());
+            assertEquals(10_000 - stats.size(), stats.evictions(), Arrays.toString(config));
+        }
+    }
+
+    @Test
+    void equalStringsShareOneInstance() throws Exception {
+        StringInterner interner = new StringInterner(1_000);
+        String first = interner.intern(new String("ACTIVE"));
+        assertSame(first, interner.intern(new String("ACTIVE")));
+        assertNotSame(first, interner.intern(new String("CLOSED")));
+        assertEquals(1, interner.stats().hits());
+        assertEquals(2, interner.stats().misses());
+        assertEquals(0.5, new StringInterner.Stats(1, 1, 0, 0, 0).hitRate());
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    List<String> out = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        out.add(interner.intern("key" + i));
+                    }
+                    return out;
+                }));
+            }
+            List<String> reference = results.get(0).get();
+            for (Future<List<String>> result : results) {
+                List<String> values = result.get();
+                for (int i = 0; i < values.size(); i++) {
+                    assertSame(reference.get(i), values.get(i), "key" + i);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void byteSliceHitsReturnTheCanonicalStringWithoutAllocating() {
+        StringInterner interner = new StringInterner(1_000);
+        byte[] line = "US,ACTIVE,42".getBytes(StandardCharsets.US_ASCII);
+        String us = interner.intern(line, 0, 2);
+        assertEquals("US", us);
+        assertSame(us, interner.intern(new String("US")));
+        String active = interner.intern(new String("ACTIVE"));
+        assertSame(active, interner.intern(line, 3, 6));
+        assertEquals("", interner.intern(line, 5, 0));
+
+        byte[] utf8 = "Zürich,CH".getBytes(StandardCharsets.UTF_8);
+        String city = interner.intern(utf8, 0, utf8.length - 3);
+        assertEquals("Zürich", city);
+        assertSame(city, interner.intern(new String("Zürich")));
+
+        AllocationBudget.assertAllocationFree("intern(bytes) hit", () -> sink = interner.intern(line, 3, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> interner.intern(line, 10, 5));
+    }
+
+    @Test
+    void unreferencedStringsAreExpungedAfterGc() throws InterruptedException {
+        StringInterner interner = new StringInterner(10_000, 1);
+        String kept = interner.intern(new String("kept"));
+        for (int i = 0; i < 1_000; i++) {
+            interner.intern("garbage-" + i);
+        }
+        assertEquals(1_001, interner.size());
+        // Cleared entries are expunged by the next write to the stripe
+        for (int attempt = 0; attempt < 50 && interner.stats().collected() == 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            interner.intern("probe-" + attempt);
+        }
+        StringInterner.Stats stats = interner.stats();
+        assertTrue(stats.collected() > 0, "nothing was collected: " + stats);
+        assertTrue(stats.size() < 1_001, stats.toString());
+        assertEquals(0, stats.evictions());
+        assertSame(kept, interner.intern(new String("kept")), "strongly held strings stay canonical");
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StringInterner(0));
+        assertThrows(IllegalArgumentException.class, () -> new StringInterner(10, 3));
+        assertThrows(IllegalArgumentException.class, () -> new StringInterner(10, 0));
+        assertThrows(NullPointerException.class, () -> new StringInterner(10).intern(null));
+    }
+}
@@ -0,0 +1,194 @@
+package Set;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTests {
+
+    private static TreeSet<Integer> unsignedSet() {
+        return new TreeSet<>(Integer::compareUnsigned);
+    }
+
+    // Mixes the three container shapes: sparse values, dense chunks and long runs,
+    // including chunks above 2^31 (negative ints) that must sort last
+    private static RoaringBitmap random(SplittableRandom random, TreeSet<Integer> expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int[] chunks = {0, 1, 2, 0x7FFF, 0x8000, 0xFFFF};
+        for (int part = 0; part < 8; part++) {
+            int high = chunks[random.nextInt(chunks.length)] << 16;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    for (int i = random.nextInt(200); i > 0; i--) {
+                        int value = high | random.nextInt(1 << 16);
+                        bitmap.add(value);
+                        expected.add(value);
+                    }
+                }
+                case 1 -> {
+                    for (int i = random.nextInt(4_000, 20_000); i > 0; i--) {
+                        int value = high | random.nextInt(1 << 16);
+                        bitmap.add(value);
+                        expected.add(value);
+                    }
+                }
+                default -> {
+                    long start = Integer.toUnsignedLong(high) + random.nextInt(1 << 16);
+                    long end = Math.min(start + random.nextInt(100_000), 1L << 32);
+                    bitmap.addRange(start, end);
+                    for (long v = start; v < end; v++) {
+                        expected.add((int) v);
+                    }
+                }
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertSameValues(TreeSet<Integer> expected, RoaringBitmap bitmap) {
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected.isEmpty(), bitmap.isEmpty());
+        int[] values = expected.stream().mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(values, bitmap.toArray());
+        List<Integer> visited = new ArrayList<>();
+        bitmap.forEachInt(visited::add);
+        assertEquals(new ArrayList<>(expected), visited);
+    }
+
+    @Test
+    void pointOperationsMatchUnsignedTreeSet() {
+        SplittableRandom random = new SplittableRandom(47);
+        TreeSet<Integer> expected = unsignedSet();
+        RoaringBitmap bitmap = random(random, expected);
+        for (int step = 0; step < 100_000; step++) {
+            int value = random.nextBoolean() ? random.nextInt() : random.nextInt(3 << 16);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    bitmap.add(value);
+                    expected.add(value);
+                }
+                case 1 -> assertEquals(expected.remove(value), bitmap.remove(value));
+                default -> assertEquals(expected.contains(value), bitmap.contains(value));
+            }
+        }
+        assertSameValues(expected, bitmap);
+        for (Integer value : new ArrayList<>(expected)) {
+            assertTrue(bitmap.remove(value));
+        }
+        assertTrue(bitmap.isEmpty());
+        assertEquals("{}", bitmap.toString());
+
+        assertEquals("{1, 4294967295}", RoaringBitmap.of(-1, 1).toString());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.addRange(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.addRange(0, (1L << 32) + 1));
+    }
+
+    @Test
+    void setOperationsMatchUnsignedTreeSet() {
+        SplittableRandom random = new SplittableRandom(48);
+        for (int round = 0; round < 12; round++) {
+            TreeSet<Integer> left = unsignedSet();
+            TreeSet<Integer> right = unsignedSet();
+            RoaringBitmap a = random(random, left);
+            RoaringBitmap b = random(random, right);
+            if (random.nextBoolean()) {
+                a.runOptimize();
+            }
+
+            TreeSet<Integer> and = unsignedSet();
+            and.addAll(left);
+            and.retainAll(right);
+            TreeSet<Integer> or = unsignedSet();
+            or.addAll(left);
+            or.addAll(right);
+            TreeSet<Integer> andNot = unsignedSet();
+            andNot.addAll(left);
+            andNot.removeAll(right);
+
+            assertSameValues(and, RoaringBitmap.and(a, b));
+            assertSameValues(or, RoaringBitmap.or(a, b));
+            assertSameValues(andNot, RoaringBitmap.andNot(a, b));
+            assertEquals(and.size(), RoaringBitmap.andCardinality(a, b));
+
+            RoaringBitmap inPlace = a.copy();
+            inPlace.or(b);
+            assertSameValues(or, inPlace);
+            inPlace.andNot(b);
+            assertSameValues(andNot, inPlace);
+            inPlace = a.copy();
+            inPlace.and(b);
+            assertSameValues(and, inPlace);
+            assertSameValues(left, a);
+            assertSameValues(right, b);
+        }
+    }
+
+    @Test
+    void runOptimizeKeepsValuesAndShrinks() {
+        TreeSet<Integer> expected = unsignedSet();
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value = 0; value < 200_000; value++) {
+            bitmap.add(value);
+            expected.add(value);
+        }
+        long before = bitmap.sizeInBytes();
+        assertTrue(bitmap.runOptimize());
+        assertFalse(bitmap.runOptimize(), "already optimal");
+        assertTrue(bitmap.sizeInBytes() < before / 100, bitmap.containerStats());
+        assertSameValues(expected, bitmap);
+        assertEquals(bitmap, RoaringBitmap.of(expected.stream().mapToInt(Integer::intValue).toArray()),
+                "equality ignores the container representation");
+
+        // Mutating a run container converts it back, values stay the same
+        bitmap.remove(100);
+        expected.remove(100);
+        bitmap.add(300_000);
+        expected.add(300_000);
+        assertSameValues(expected, bitmap);
+    }
+
+    @Test
+    void serializationRoundTripsEveryContainerType() {
+        SplittableRandom random = new SplittableRandom(49);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> expected = unsignedSet();
+            RoaringBitmap bitmap = random(random, expected);
+            if (round % 2 == 0) {
+                bitmap.runOptimize();
+            }
+            byte[] bytes = bitmap.toByteArray();
+            assertEquals(bitmap.serializedSizeInBytes(), bytes.length);
+            RoaringBitmap copy = RoaringBitmap.deserialize(ByteBuffer.wrap(bytes));
+            assertEquals(bitmap, copy);
+            assertEquals(bitmap.hashCode(), copy.hashCode());
+            assertSameValues(expected, copy);
+
+            // Two bitmaps back to back in one buffer: positions advance past each
+            ByteBuffer buffer = ByteBuffer.allocate(2 * bytes.length + 3);
+            buffer.put((byte) 7);
+            bitmap.serialize(buffer);
+            bitmap.serialize(buffer);
+            buffer.flip().get();
+            assertEquals(bitmap, RoaringBitmap.deserialize(buffer));
+            assertEquals(bitmap, RoaringBitmap.deserialize(buffer));
+            assertEquals(0, buffer.remaining());
+        }
+        assertTrue(RoaringBitmap.deserialize(ByteBuffer.wrap(new RoaringBitmap().toByteArray())).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RoaringBitmap.deserialize(ByteBuffer.wrap(new byte[8])));
+    }
+
+    // Known bytes of the portable format: cookie 12346, one container of key 0 holding {1, 2}
+    @Test
+    void serializedLayoutFollowsThePortableFormat() {
+        ByteBuffer expected = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(12346).putInt(1)
+                .putChar((char) 0).putChar((char) 1)
+                .putInt(16)
+                .putChar((char) 1).putChar((char) 2);
+        assertArrayEquals(Arrays.copyOf(expected.array(), expected.position()), RoaringBitmap.of(1, 2).toByteArray());
+    }
+}
@@ -0,0 +1,134 @@
+package Sort;
+
+import Sort.ComparatorCompiler.Direction;
+import Sort.ComparatorCompiler.Nulls;
+import Sort.ComparatorCompiler.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparatorCompilerTests {
+
+    record Row(String dept, int level, long salary, double score, Integer rank, boolean active, char grade) {
+    }
+
+    private static final List<String> FIELDS = List.of("dept", "level", "salary", "score", "rank", "active", "grade");
+
+    // The reference for one key, built from the JDK's comparing/thenComparing combinators
+    private static Comparator<Row> reference(SortKey key) {
+        boolean desc = key.direction() == Direction.DESC;
+        Comparator<Row> primitive = switch (key.field()) {
+            case "level" -> Comparator.comparingInt(Row::level);
+            case "salary" -> Comparator.comparingLong(Row::salary);
+            case "score" -> Comparator.comparingDouble(Row::score);
+            case "active" -> Comparator.comparing(Row::active);
+            case "grade" -> Comparator.comparing(Row::grade);
+            default -> null;
+        };
+        if (primitive != null) {
+            return desc ? primitive.reversed() : primitive;
+        }
+        Function<Row, ? extends Comparable<?>> extractor = key.field().equals("dept") ? Row::dept : Row::rank;
+        return nullable(extractor, desc, key.nulls());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Row> nullable(Function<Row, ? extends Comparable<?>> extractor, boolean desc, Nulls nulls) {
+        Comparator<Comparable> order = desc ? Comparator.<Comparable>reverseOrder() : Comparator.<Comparable>naturalOrder();
+        Comparator<Comparable> withNulls = nulls == Nulls.FIRST ? Comparator.nullsFirst(order) : Comparator.nullsLast(order);
+        return Comparator.comparing((Function) extractor, withNulls);
+    }
+
+    private static Row row(SplittableRandom random) {
+        double[] specialScores = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, 1.5};
+        return new Row(
+                random.nextInt(5) == 0 ? null : "d" + random.nextInt(4),
+                random.nextInt(-2, 3),
+                random.nextInt(3) == 0 ? Long.MIN_VALUE + random.nextInt(2) : random.nextLong(-2, 3),
+                random.nextInt(4) == 0 ? specialScores[random.nextInt(specialScores.length)] : random.nextInt(3) / 2.0,
+                random.nextInt(4) == 0 ? null : random.nextInt(3),
+                random.nextBoolean(),
+                (char) ('a' + random.nextInt(3)));
+    }
+
+    @Test
+    void randomSpecsAgreeWithThenComparingChains() {
+        SplittableRandom random = new SplittableRandom(39);
+        for (int round = 0; round < 300; round++) {
+            List<String> fields = new ArrayList<>(FIELDS);
+            Collections.shuffle(fields, new Random(random.nextLong()));
+            List<SortKey> keys = new ArrayList<>();
+            Comparator<Row> expected = null;
+            for (String field : fields.subList(0, 1 + random.nextInt(fields.size()))) {
+                SortKey key = new SortKey(field,
+                        random.nextBoolean() ? Direction.ASC : Direction.DESC,
+                        random.nextBoolean() ? Nulls.FIRST : Nulls.LAST);
+                keys.add(key);
+                expected = expected == null ? reference(key) : expected.thenComparing(reference(key));
+            }
+            Comparator<Row> compiled = ComparatorCompiler.compile(MethodHandles.lookup(), Row.class, keys);
+
+            List<Row> rows = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                rows.add(row(random));
+            }
+            for (int i = 0; i < 1_000; i++) {
+                Row a = rows.get(random.nextInt(rows.size()));
+                Row b = rows.get(random.nextInt(rows.size()));
+                assertEquals(Integer.signum(expected.compare(a, b)), Integer.signum(compiled.compare(a, b)),
+                        keys + ": " + a + " vs " + b);
+            }
+            List<Row> sortedExpected = new ArrayList<>(rows);
+            sortedExpected.sort(expected);
+            rows.sort(compiled);
+            assertEquals(sortedExpected, rows, keys.toString());
+        }
+    }
+
+    public static class Bean {
+        public final int id;
+        private final String name;
+
+        Bean(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Object getPayload() {
+            return name;
+        }
+    }
+
+    @Test
+    void fieldsAndGettersOfPlainClasses() {
+        Comparator<Bean> compiled = ComparatorCompiler.compile(MethodHandles.lookup(), Bean.class,
+                SortKey.desc("name").nullsLast(), SortKey.asc("id"));
+        Comparator<Bean> expected = Comparator.comparing(Bean::getName, Comparator.nullsLast(Comparator.<String>reverseOrder()))
+                .thenComparingInt(b -> b.id);
+        List<Bean> beans = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            beans.add(new Bean(i % 7, i % 5 == 0 ? null : "n" + i % 3));
+        }
+        List<Bean> sorted = new ArrayList<>(beans);
+        sorted.sort(expected);
+        beans.sort(compiled);
+        assertEquals(sorted, beans);
+    }
+
+    @Test
+    void badSpecsAreRejected() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        assertThrows(IllegalArgumentException.class, () -> ComparatorCompiler.compile(lookup, Bean.class));
+        assertThrows(IllegalArgumentException.class, () -> ComparatorCompiler.compile(lookup, Bean.class, SortKey.asc("missing")));
+        assertThrows(IllegalArgumentException.class, () -> ComparatorCompiler.compile(lookup, Bean.class, SortKey.asc("payload")));
+        assertThrows(NullPointerException.class, () -> new SortKey("id", null, Nulls.FIRST));
+    }
+}
@@ -0,0 +1,130 @@
+package Sort;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSorterTests {
+
+    record Event(long key, int seq) {
+    }
+
+    private static final ExternalSorter.RecordCodec<Event> CODEC = new ExternalSorter.RecordCodec<>() {
+        @Override
+        public int maxRecordBytes() {
+            return Long.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Event record, ByteBuffer out) {
+            out.putLong(record.key()).putInt(record.seq());
+        }
+
+        @Override
+        public Event decode(ByteBuffer in) {
+            return new Event(in.getLong(), in.getInt());
+        }
+    };
+
+    @TempDir
+    Path dir;
+
+    private static List<Event> events(int n, int keyBound, SplittableRandom random) {
+        List<Event> events = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            events.add(new Event(random.nextLong(keyBound) - keyBound / 2, i));
+        }
+        return events;
+    }
+
+    private List<Event> read(ExternalSorter<Event> sorter, Path file) throws IOException {
+        List<Event> out = new ArrayList<>();
+        sorter.forEachRecord(file, out::add);
+        return out;
+    }
+
+    private long tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().matches("(run|merge)-.*")).count();
+        }
+    }
+
+    // List.sort is stable, so equal keys must come out in seq (input) order
+    @Test
+    void outputMatchesStableSortAcrossRunAndPassCounts() throws IOException {
+        SplittableRandom random = new SplittableRandom(41);
+        int[][] configs = {
+                // records, runLength, fanIn, merge passes
+                {0, 100, 4, 0},
+                {50, 100, 4, 0},       // one run, no merge
+                {1_000, 100, 64, 1},   // 10 runs
+                {5_000, 37, 2, 8},     // 136 runs → 68 → 34 → 17 → 9 → 5 → 3 → 2 → output
+                {20_000, 1_000, 3, 3}, // 20 runs → 7 → 3 → output
+        };
+        for (int[] config : configs) {
+            List<Event> input = events(config[0], 50, random);
+            ExternalSorter<Event> sorter = ExternalSorter.builder(CODEC)
+                    .comparator(Comparator.comparingLong(Event::key))
+                    .runLength(config[1])
+                    .fanIn(config[2])
+                    .bufferBytes(64)
+                    .tempDirectory(dir)
+                    .build();
+            Path output = dir.resolve("out-" + config[0] + ".bin");
+            ExternalSorter.Stats stats = sorter.sort(input.iterator(), output);
+
+            List<Event> expected = new ArrayList<>(input);
+            expected.sort(Comparator.comparingLong(Event::key));
+            assertEquals(expected, read(sorter, output), Arrays.toString(config));
+            assertEquals(config[0], stats.records());
+            assertEquals(config[3], stats.mergePasses());
+            assertEquals(Math.max(1, (config[0] + config[1] - 1) / config[1]), stats.runs());
+            assertEquals(12L * config[0], Files.size(output));
+            assertEquals(0, tempFiles(), "temp runs are deleted");
+        }
+    }
+
+    @Test
+    void fileToFileSortWithKeyExtractor() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Event> input = events(3_000, Integer.MAX_VALUE, random);
+        ExternalSorter<Event> sorter = ExternalSorter.builder(CODEC)
+                .key(Event::key)
+                .runLength(256)
+                .fanIn(4)
+                .tempDirectory(dir)
+                .build();
+        Path unsorted = dir.resolve("unsorted.bin");
+        ExternalSorter<Event> copier = ExternalSorter.builder(CODEC)
+                .comparator((a, b) -> 0)
+                .runLength(Integer.MAX_VALUE)
+                .build();
+        copier.sort(input.iterator(), unsorted);
+        assertEquals(input, read(copier, unsorted), "a single run with a constant comparator keeps input order");
+
+        Path sorted = dir.resolve("sorted.bin");
+        ExternalSorter.Stats stats = sorter.sort(unsorted, sorted);
+        assertEquals(2, stats.mergePasses()); // 12 runs → 3 → output
+        List<Event> expected = new ArrayList<>(input);
+        expected.sort(Comparator.comparingLong(Event::key));
+        assertEquals(expected, read(sorter, sorted));
+    }
+
+    @Test
+    void invalidConfigurationIsRejected() {
+        assertThrows(IllegalStateException.class, () -> ExternalSorter.builder(CODEC).build());
+        assertThrows(IllegalArgumentException.class, () -> ExternalSorter.builder(CODEC).fanIn(1));
+        assertThrows(IllegalArgumentException.class, () -> ExternalSorter.builder(CODEC).runLength(0));
+        ExternalSorter<Event> sorter = ExternalSorter.builder(CODEC).key(Event::key).tempDirectory(dir).build();
+        Iterator<Event> withNull = Arrays.asList(new Event(1, 0), null).iterator();
+        assertThrows(NullPointerException.class, () -> sorter.sort(withNull, dir.resolve("never.bin")));
+    }
+}
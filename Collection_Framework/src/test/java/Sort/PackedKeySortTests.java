@@ -0,0 +1,117 @@
+package Sort;
+
+import Sort.ComparatorCompiler.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedKeySortTests {
+
+    record Rec(int id, int i, long l, double d, String s, String t) {
+    }
+
+    private static final double[] SPECIAL = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, -Double.MIN_VALUE, Double.MIN_VALUE};
+    private static final String[] WORDS = {"", "a", "a\0", "ab", "abc", "abcdefgh", "abcdefgi", "student-0001",
+            "student-0002", "zz", "\uffff", "\ud83d\ude00"};
+
+    private static Rec rec(int id, SplittableRandom random) {
+        return new Rec(id,
+                random.nextInt(4) == 0 ? (random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE) : random.nextInt(-3, 4),
+                random.nextInt(4) == 0 ? (random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE) : random.nextLong(-3, 4),
+                random.nextInt(3) == 0 ? SPECIAL[random.nextInt(SPECIAL.length)] : random.nextInt(-2, 3) / 2.0,
+                WORDS[random.nextInt(WORDS.length)],
+                WORDS[random.nextInt(WORDS.length)]);
+    }
+
+    // Adds one random field to the builder and returns the equivalent JDK comparator
+    private static Comparator<Rec> addField(PackedKeySort.Builder<Rec> builder, int field, Direction direction,
+                                            SplittableRandom random) {
+        Comparator<Rec> order = switch (field) {
+            case 0 -> {
+                builder.intKey(Rec::i, direction);
+                yield Comparator.comparingInt(Rec::i);
+            }
+            case 1 -> {
+                builder.longKey(Rec::l, direction);
+                yield Comparator.comparingLong(Rec::l);
+            }
+            case 2 -> {
+                builder.doubleKey(Rec::d, direction);
+                yield Comparator.comparingDouble(Rec::d);
+            }
+            case 3 -> {
+                builder.stringKey(Rec::s, 1 + random.nextInt(6), direction);
+                yield Comparator.comparing(Rec::s);
+            }
+            default -> {
+                builder.stringKey(Rec::t, 1 + random.nextInt(6), direction);
+                yield Comparator.comparing(Rec::t);
+            }
+        };
+        return direction == Direction.DESC ? order.reversed() : order;
+    }
+
+    // List.sort is stable, so the whole order (ids included) must match
+    @Test
+    void randomSpecsMatchStableComparatorSort() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 300; round++) {
+            PackedKeySort.Builder<Rec> builder = PackedKeySort.builder();
+            Comparator<Rec> expectedOrder = null;
+            List<Integer> fields = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+            Collections.shuffle(fields, new Random(random.nextLong()));
+            for (int field : fields.subList(0, 1 + random.nextInt(fields.size()))) {
+                Direction direction = random.nextBoolean() ? Direction.ASC : Direction.DESC;
+                Comparator<Rec> order = addField(builder, field, direction, random);
+                expectedOrder = expectedOrder == null ? order : expectedOrder.thenComparing(order);
+            }
+            PackedKeySort<Rec> sorter = builder.build();
+            int n = random.nextInt(round % 50 == 0 ? 100_000 : 2_000);
+            List<Rec> records = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                records.add(rec(i, random));
+            }
+            List<Rec> expected = new ArrayList<>(records);
+            expected.sort(expectedOrder);
+
+            List<Rec> list = new ArrayList<>(records);
+            sorter.sort(list);
+            assertEquals(expected, list, "round " + round);
+
+            Rec[] array = records.toArray(Rec[]::new);
+            sorter.sort(array);
+            assertEquals(expected, Arrays.asList(array));
+
+            int[] order = sorter.sortedPermutation(records);
+            for (int i = 0; i < n; i++) {
+                assertSame(expected.get(i), records.get(order[i]));
+            }
+        }
+    }
+
+    @Test
+    void comparatorMatchesTheKeyFields() {
+        PackedKeySort<Rec> sorter = PackedKeySort.<Rec>builder()
+                .intKey(Rec::i, Direction.DESC)
+                .stringKey(Rec::s, 2, Direction.ASC)
+                .build();
+        Rec a = new Rec(0, 5, 0, 0, "abc", "");
+        Rec b = new Rec(1, 5, 0, 0, "abd", "");
+        Rec c = new Rec(2, 6, 0, 0, "zzz", "");
+        assertTrue(sorter.comparator().compare(a, b) < 0, "ties on the 2-char prefix fall back to compareTo");
+        assertTrue(sorter.comparator().compare(c, a) < 0, "DESC on the int field");
+        List<Rec> list = new ArrayList<>(List.of(b, a, c));
+        sorter.sort(list);
+        assertEquals(List.of(c, a, b), list);
+    }
+
+    @Test
+    void invalidSpecsAreRejected() {
+        assertThrows(IllegalStateException.class, () -> PackedKeySort.<Rec>builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedKeySort.<Rec>builder().stringKey(Rec::s, 0, Direction.ASC));
+    }
+}
@@ -0,0 +1,77 @@
+package Sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixSortTests {
+
+    record Row(int id, int intKey, long longKey) {
+    }
+
+    private static List<Row> rows(int n, SplittableRandom random, int intBound) {
+        List<Row> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int intKey = intBound > 0 ? random.nextInt(-intBound, intBound) : random.nextInt();
+            long longKey = switch (random.nextInt(4)) {
+                case 0 -> Long.MIN_VALUE + random.nextInt(3);
+                case 1 -> Long.MAX_VALUE - random.nextInt(3);
+                default -> random.nextLong();
+            };
+            rows.add(new Row(i, intKey, longKey));
+        }
+        return rows;
+    }
+
+    // List.sort is stable: equal keys keep their input (id) order
+    @Test
+    void intKeysMatchStableComparatorSort() {
+        SplittableRandom random = new SplittableRandom(30);
+        for (int n : new int[]{0, 1, 2, 255, 256, 1_000, 100_000, 300_000}) {
+            for (int bound : new int[]{0, 100}) {
+                List<Row> actual = rows(n, random, bound);
+                List<Row> expected = new ArrayList<>(actual);
+                expected.sort(Comparator.comparingInt(Row::intKey));
+                RadixSort.sort(actual, Row::intKey);
+                assertEquals(expected, actual, "n=" + n + ", bound=" + bound);
+            }
+        }
+    }
+
+    @Test
+    void longKeysMatchStableComparatorSort() {
+        SplittableRandom random = new SplittableRandom(31);
+        for (int n : new int[]{0, 1, 1_000, 200_000}) {
+            Row[] actual = rows(n, random, 0).toArray(Row[]::new);
+            Row[] expected = actual.clone();
+            Arrays.sort(expected, Comparator.comparingLong(Row::longKey));
+            RadixSort.sortByLong(actual, Row::longKey);
+            assertArrayEquals(expected, actual, "n=" + n);
+        }
+    }
+
+    @Test
+    void permutationsAreStableAndSigned() {
+        int[] keys = {3, -1, Integer.MIN_VALUE, 3, Integer.MAX_VALUE, -1, 0};
+        assertArrayEquals(new int[]{2, 1, 5, 6, 0, 3, 4}, RadixSort.sortedPermutation(keys));
+        long[] longKeys = {5L, Long.MIN_VALUE, -5L, Long.MAX_VALUE, 5L};
+        assertArrayEquals(new int[]{1, 2, 0, 4, 3}, RadixSort.sortedPermutation(longKeys));
+    }
+
+    @Test
+    void arrayAndListOverloadsAgree() {
+        SplittableRandom random = new SplittableRandom(32);
+        List<Row> list = rows(5_000, random, 50);
+        Row[] array = list.toArray(Row[]::new);
+        RadixSort.sort(list, Row::intKey);
+        RadixSort.sort(array, Row::intKey);
+        assertEquals(List.of(array), list);
+
+        List<Row> linked = new LinkedList<>(list);
+        RadixSort.sortByLong(linked, Row::longKey);
+        RadixSort.sortByLong(array, Row::longKey);
+        assertEquals(List.of(array), linked);
+    }
+}
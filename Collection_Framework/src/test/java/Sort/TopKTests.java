@@ -0,0 +1,130 @@
+package Sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTests {
+
+    record Item(int id, int score) {
+    }
+
+    private static final Comparator<Item> BY_SCORE = Comparator.comparingInt(Item::score);
+
+    private static List<Item> items(int n, int bound, SplittableRandom random) {
+        List<Item> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new Item(i, random.nextInt(bound)));
+        }
+        return items;
+    }
+
+    // Ties may keep different ids, so results are compared by score
+    private static List<Integer> scores(List<Item> items) {
+        return items.stream().map(Item::score).collect(Collectors.toList());
+    }
+
+    private static List<Integer> expectedSmallest(List<Item> items, int k, Comparator<Item> order) {
+        List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(order);
+        return scores(sorted.subList(0, Math.min(k, sorted.size())));
+    }
+
+    @Test
+    void heapResultsMatchSortedPrefix() {
+        SplittableRandom random = new SplittableRandom(40);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(2_000);
+            int k = random.nextInt(50) == 0 ? n + random.nextInt(5) : random.nextInt(100);
+            List<Item> items = items(n, 1 + random.nextInt(500), random);
+            assertEquals(expectedSmallest(items, k, BY_SCORE), scores(TopK.smallest(items, k, BY_SCORE)));
+            assertEquals(expectedSmallest(items, k, BY_SCORE.reversed()), scores(TopK.largest(items, k, BY_SCORE)));
+            assertEquals(expectedSmallest(items, k, BY_SCORE),
+                    scores(items.parallelStream().collect(TopK.collector(k, BY_SCORE))));
+        }
+    }
+
+    @Test
+    void parallelSlicesMatchSequential() {
+        SplittableRandom random = new SplittableRandom(41);
+        List<Item> items = items(300_000, 1_000_000, random);
+        for (int k : new int[]{0, 1, 100, 5_000}) {
+            assertEquals(scores(TopK.smallest(items, k, BY_SCORE)), scores(TopK.parallelSmallest(items, k, BY_SCORE)));
+            assertEquals(scores(TopK.largest(items, k, BY_SCORE)), scores(TopK.parallelLargest(items, k, BY_SCORE)));
+        }
+        LinkedList<Item> linked = new LinkedList<>(items.subList(0, 70_000));
+        assertEquals(expectedSmallest(linked, 10, BY_SCORE), scores(TopK.parallelSmallest(linked, 10, BY_SCORE)));
+    }
+
+    @Test
+    void incrementalHeapTracksWorstAndMerges() {
+        TopK<Integer> left = new TopK<>(3, Comparator.naturalOrder());
+        assertThrows(NoSuchElementException.class, left::worst);
+        for (int v : new int[]{9, 4, 7, 1}) {
+            left.offer(v);
+        }
+        assertEquals(7, left.worst());
+        assertFalse(left.offer(8), "does not beat the worst kept element");
+        TopK<Integer> right = new TopK<>(3, Comparator.naturalOrder());
+        right.offer(0);
+        right.offer(5);
+        assertEquals(List.of(0, 1, 4), left.merge(right).toSortedList());
+        assertEquals(3, left.size());
+
+        TopK<Integer> none = new TopK<>(0, Comparator.naturalOrder());
+        assertFalse(none.offer(1));
+        assertEquals(List.of(), none.toSortedList());
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(-1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void selectPartitionsAroundTheNthElement() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(3_000);
+            Integer[] a = new Integer[n];
+            int shape = random.nextInt(4);
+            for (int i = 0; i < n; i++) {
+                a[i] = switch (shape) {
+                    case 0 -> i;                    // sorted
+                    case 1 -> n - i;                // reversed
+                    case 2 -> 7;                    // all equal
+                    default -> random.nextInt(n);   // random with duplicates
+                };
+            }
+            Integer[] sorted = a.clone();
+            Arrays.sort(sorted);
+            int nth = random.nextInt(n);
+            TopK.select(a, nth, Comparator.naturalOrder());
+            assertEquals(sorted[nth], a[nth]);
+            for (int i = 0; i < n; i++) {
+                assertTrue(i < nth ? a[i] <= a[nth] : a[i] >= a[nth], "position " + i);
+            }
+            Integer[] multiset = a.clone();
+            Arrays.sort(multiset);
+            assertArrayEquals(sorted, multiset, "select only permutes");
+        }
+    }
+
+    @Test
+    void partialSortOrdersThePrefix() {
+        SplittableRandom random = new SplittableRandom(43);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(2_000);
+            int k = random.nextInt(n + 1);
+            List<Integer> list = new ArrayList<>(random.ints(n, 0, 100).boxed().toList());
+            List<Integer> sorted = new ArrayList<>(list);
+            sorted.sort(null);
+            TopK.partialSort(list, k, Comparator.naturalOrder());
+            assertEquals(sorted.subList(0, k), list.subList(0, k));
+            List<Integer> rest = new ArrayList<>(list.subList(k, n));
+            rest.sort(null);
+            assertEquals(sorted.subList(k, n), rest);
+        }
+        assertThrows(IllegalArgumentException.class, () -> TopK.partialSort(new Integer[2], 3, Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> TopK.select(new Integer[2], 2, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.learning301.designpatttern;
+
+import com.learning301.designpatttern.CreationalDesignPattern.SingletonPattern.WithPattern.AppSettings;
+import com.learning301.testsupport.AllocationBudget;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllocationBudgetTests {
+
+    private static volatile Object sink;
+
+    @Test
+    void singletonAccessIsAllocationFree() {
+        AllocationBudget.assertAllocationFree("AppSettings.getInstance", () -> sink = AppSettings.getInstance());
+    }
+
+    @Test
+    void allocatingPathExceedsBudget() {
+        assertThrows(AssertionError.class,
+                () -> AllocationBudget.assertAtMost(8, "new Object[4]", 10_000, () -> sink = new Object[4]));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.learning301.oops;
+
+import com.learning301.testsupport.AllocationBudget;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllocationBudgetTests {
+
+    private static volatile Object sink;
+
+    @Test
+    void replacingPaymentMethodIsAllocationFree() {
+        PaymentService service = new PaymentService();
+        PaymentMethds wallet = new Wallet("w-1");
+        service.addPaymentMethods("wallet", wallet);
+        AllocationBudget.assertAllocationFree("PaymentService.addPaymentMethods (existing name)",
+                () -> service.addPaymentMethods("wallet", wallet));
+    }
+
+    @Test
+    void allocatingPathExceedsBudget() {
+        assertThrows(AssertionError.class,
+                () -> AllocationBudget.assertAtMost(8, "new Object[4]", 10_000, () -> sink = new Object[4]));
+    }
+
+}
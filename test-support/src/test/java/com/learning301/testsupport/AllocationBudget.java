@@ -0,0 +1,129 @@
+package com.learning301.testsupport;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ * ALLOCATION BUDGET OVERVIEW:
+ * - Measures how many heap bytes a code path allocates per invocation
+ * - Fails (AssertionError) when the path allocates more than declared
+ * - No test-framework dependency: an AssertionError is a failed test in
+ *   JUnit, so any @Test can declare a budget for the code it exercises
+ * - One source file shared by the test builds of Collection_Framework,
+ *   LLD_Core and DesignPatttern (build-helper add-test-source; the modules
+ *   have no common parent and differ in Java release, so no test-jar)
+ *
+ * HOW IT MEASURES:
+ * com.sun.management.ThreadMXBean.getCurrentThreadAllocatedBytes() is a
+ * per-thread counter the JVM bumps on every TLAB refill and outside-TLAB
+ * allocation, so it is exact and ignores other threads (JIT, GC, JMH).
+ *
+ *   warmup:  run the action `invocations` times so the JIT compiles it
+ *            (escape analysis then removes allocations that never escape —
+ *            the numbers describe compiled, steady-state code)
+ *   measure: ROUNDS × (counter before, run N times, counter after)
+ *   result:  the smallest round minus the counter's own overhead, / N
+ *
+ * Taking the smallest round drops one-off allocations (class loading,
+ * lazy initialization, a resize) that are not part of the steady state.
+ *
+ * vs JMH -prof gc (gc.alloc.rate.norm):
+ * - Same counter, but runs inside a unit test in milliseconds and fails it
+ * - No forked JVM, so profile pollution from earlier tests is possible:
+ *   treat small non-zero results with care, budget 0 is the strict check
+ *
+ * WHEN TO USE:
+ * - Guard hot paths that must stay allocation-free (cache hits, lookups)
+ * - Catch regressions like hidden boxing, varargs arrays, iterators, lambdas
+ */
+public final class AllocationBudget {
+    private static final int ROUNDS = 5;
+    private static final int DEFAULT_INVOCATIONS = 100_000;
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final long COUNTER_OVERHEAD = counterOverhead();
+
+    private AllocationBudget() {
+    }
+
+    public record Measurement(String name, long invocations, long allocatedBytes) {
+        public double bytesPerInvocation() {
+            return (double) allocatedBytes / invocations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f bytes/invocation (%,d bytes over %,d invocations)",
+                    name, bytesPerInvocation(), allocatedBytes, invocations);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot count per-thread allocated bytes");
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+
+    // Bytes the counter reads themselves report (0 on HotSpot, measured anyway)
+    private static long counterOverhead() {
+        long smallest = Long.MAX_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            long after = THREADS.getCurrentThreadAllocatedBytes();
+            smallest = Math.min(smallest, after - before);
+        }
+        return smallest;
+    }
+
+    // ---- measuring ----
+
+    public static Measurement measure(String name, Runnable action) {
+        return measure(name, DEFAULT_INVOCATIONS, action);
+    }
+
+    // Warmup + ROUNDS rounds of `invocations` calls; O(invocations × (ROUNDS + 1))
+    public static Measurement measure(String name, int invocations, Runnable action) {
+        if (invocations <= 0) {
+            throw new IllegalArgumentException("invocations must be > 0: " + invocations);
+        }
+        for (int i = 0; i < invocations; i++) {
+            action.run();
+        }
+        long smallest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < invocations; i++) {
+                action.run();
+            }
+            long after = THREADS.getCurrentThreadAllocatedBytes();
+            smallest = Math.min(smallest, after - before - COUNTER_OVERHEAD);
+        }
+        return new Measurement(name, invocations, Math.max(0, smallest));
+    }
+
+    // ---- asserting ----
+
+    // Throws AssertionError if the action allocates more than maxBytesPerInvocation on average
+    public static Measurement assertAtMost(long maxBytesPerInvocation, String name, int invocations, Runnable action) {
+        if (maxBytesPerInvocation < 0) {
+            throw new IllegalArgumentException("maxBytesPerInvocation must be >= 0: " + maxBytesPerInvocation);
+        }
+        Measurement measurement = measure(name, invocations, action);
+        if (measurement.allocatedBytes() > maxBytesPerInvocation * measurement.invocations()) {
+            throw new AssertionError("Allocation budget exceeded: " + measurement
+                    + ", budget " + maxBytesPerInvocation + " bytes/invocation");
+        }
+        return measurement;
+    }
+
+    public static Measurement assertAtMost(long maxBytesPerInvocation, String name, Runnable action) {
+        return assertAtMost(maxBytesPerInvocation, name, DEFAULT_INVOCATIONS, action);
+    }
+
+    public static Measurement assertAllocationFree(String name, Runnable action) {
+        return assertAtMost(0, name, DEFAULT_INVOCATIONS, action);
+    }
+}